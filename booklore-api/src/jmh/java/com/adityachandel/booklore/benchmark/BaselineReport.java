@@ -0,0 +1,152 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and writes a Markdown report.
+ * <p>
+ * A benchmark counts as a regression (or improvement) only when its score moved by more than the threshold
+ * percentage and the two scores' error intervals do not overlap, so run-to-run noise is not reported.
+ * <p>
+ * Usage: {@code BaselineReport <results.json> <baseline.json> <report.md> [thresholdPercent] [failOnRegression]}
+ */
+public final class BaselineReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    enum Verdict {REGRESSION, IMPROVEMENT, UNCHANGED, NEW, REMOVED}
+
+    record Score(String benchmark, String params, String mode, double score, double error, String unit) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    record Row(String benchmark, String params, Score baseline, Score current, Double changePercent, Verdict verdict) {
+    }
+
+    private BaselineReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: BaselineReport <results.json> <baseline.json> <report.md> [thresholdPercent] [failOnRegression]");
+            System.exit(2);
+        }
+        Path resultsFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        Path reportFile = Path.of(args[2]);
+        double threshold = args.length > 3 ? Double.parseDouble(args[3]) : 10.0;
+        boolean failOnRegression = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+        if (!Files.exists(resultsFile)) {
+            System.err.println("No benchmark results at " + resultsFile + ", run the jmh task first");
+            System.exit(2);
+        }
+        Map<String, Score> current = read(resultsFile);
+        Map<String, Score> baseline = Files.exists(baselineFile) ? read(baselineFile) : Map.of();
+
+        List<Row> rows = compare(baseline, current, threshold);
+        String report = render(rows, baselineFile, Files.exists(baselineFile), threshold);
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, report);
+        System.out.println(report);
+
+        long regressions = rows.stream().filter(row -> row.verdict() == Verdict.REGRESSION).count();
+        if (failOnRegression && regressions > 0) {
+            System.err.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode node : MAPPER.readTree(file.toFile())) {
+            String benchmark = node.path("benchmark").asText();
+            String params = params(node.path("params"));
+            JsonNode metric = node.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            Score score = new Score(benchmark, params, node.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText());
+            scores.put(benchmark + " " + params, score);
+        }
+        return scores;
+    }
+
+    static List<Row> compare(Map<String, Score> baseline, Map<String, Score> current, double thresholdPercent) {
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || !before.unit().equals(now.unit())) {
+                rows.add(new Row(now.benchmark(), now.params(), null, now, null, Verdict.NEW));
+                continue;
+            }
+            double change = before.score() == 0 ? 0 : (now.score() - before.score()) / before.score() * 100;
+            boolean significant = Math.abs(now.score() - before.score()) > before.error() + now.error()
+                    && Math.abs(change) > thresholdPercent;
+            boolean worse = now.higherIsBetter() ? change < 0 : change > 0;
+            Verdict verdict = !significant ? Verdict.UNCHANGED : worse ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+            rows.add(new Row(now.benchmark(), now.params(), before, now, change, verdict));
+        }
+        for (Map.Entry<String, Score> entry : baseline.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                Score before = entry.getValue();
+                rows.add(new Row(before.benchmark(), before.params(), before, null, null, Verdict.REMOVED));
+            }
+        }
+        rows.sort(Comparator.comparing(Row::verdict).thenComparing(Row::benchmark).thenComparing(Row::params));
+        return rows;
+    }
+
+    private static String render(List<Row> rows, Path baselineFile, boolean hasBaseline, double threshold) {
+        StringBuilder sb = new StringBuilder("# Benchmark comparison\n\n");
+        if (!hasBaseline) {
+            sb.append("No baseline found at `").append(baselineFile).append("`; run `jmhSaveBaseline` to store one.\n\n");
+        } else {
+            Map<Verdict, Long> counts = new EnumMap<>(Verdict.class);
+            rows.forEach(row -> counts.merge(row.verdict(), 1L, Long::sum));
+            sb.append("Threshold: ").append(threshold).append("% outside the error margins. ");
+            counts.forEach((verdict, count) -> sb.append(verdict.name().toLowerCase(Locale.ROOT)).append(": ").append(count).append("  "));
+            sb.append("\n\n");
+        }
+        sb.append("| Benchmark | Params | Baseline | Current | Change | Verdict |\n");
+        sb.append("|---|---|---:|---:|---:|---|\n");
+        for (Row row : rows) {
+            sb.append("| ").append(shortName(row.benchmark()))
+                    .append(" | ").append(row.params().isEmpty() ? "-" : row.params())
+                    .append(" | ").append(format(row.baseline()))
+                    .append(" | ").append(format(row.current()))
+                    .append(" | ").append(row.changePercent() == null ? "-" : String.format(Locale.ROOT, "%+.1f%%", row.changePercent()))
+                    .append(" | ").append(row.verdict().name())
+                    .append(" |\n");
+        }
+        return sb.toString();
+    }
+
+    private static String params(JsonNode params) {
+        if (params.isMissingNode() || params.isEmpty()) return "";
+        SortedMap<String, String> sorted = new TreeMap<>();
+        params.fields().forEachRemaining(field -> sorted.put(field.getKey(), field.getValue().asText()));
+        StringJoiner joiner = new StringJoiner(", ");
+        sorted.forEach((key, value) -> joiner.add(key + "=" + value));
+        return joiner.toString();
+    }
+
+    private static String shortName(String benchmark) {
+        int methodDot = benchmark.lastIndexOf('.');
+        int classDot = methodDot > 0 ? benchmark.lastIndexOf('.', methodDot - 1) : -1;
+        return benchmark.substring(classDot + 1);
+    }
+
+    private static String format(Score score) {
+        if (score == null) return "-";
+        return String.format(Locale.ROOT, "%.3f ± %.3f %s", score.score(), score.error(), score.unit());
+    }
+}
@@ -0,0 +1,43 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.adityachandel.booklore.mapper.ShelfMapper;
+import com.adityachandel.booklore.mapper.ShelfMapperImpl;
+import com.adityachandel.booklore.mapper.v2.BookMapperV2;
+import com.adityachandel.booklore.mapper.v2.BookMapperV2Impl;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookMapperBenchmark {
+
+    private BookMapperV2 mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        BookMapperV2Impl impl = new BookMapperV2Impl();
+        // The generated mapper expects Spring to inject its ShelfMapper.
+        for (Field field : BookMapperV2Impl.class.getDeclaredFields()) {
+            if (field.getType() == ShelfMapper.class) {
+                field.setAccessible(true);
+                field.set(impl, new ShelfMapperImpl());
+            }
+        }
+        mapper = impl;
+    }
+
+    @Benchmark
+    public void toDTO(LibraryState library, Blackhole blackhole) {
+        for (BookEntity book : library.books) {
+            blackhole.consume(mapper.toDTO(book));
+        }
+    }
+}
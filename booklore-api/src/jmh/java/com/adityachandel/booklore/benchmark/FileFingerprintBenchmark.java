@@ -0,0 +1,44 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.adityachandel.booklore.service.file.FileFingerprint;
+import org.apache.commons.io.file.PathUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileFingerprintBenchmark {
+
+    @Param({"EPUB", "PDF", "CBZ"})
+    public SyntheticFiles.Format format;
+
+    @Param({"1048576", "33554432"})
+    public long sizeBytes;
+
+    private Path directory;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void createFixture() throws IOException {
+        directory = Files.createTempDirectory("booklore-jmh-");
+        file = SyntheticFiles.create(directory, format, sizeBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFixture() throws IOException {
+        PathUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public String generateHash() {
+        return FileFingerprint.generateHash(file);
+    }
+}
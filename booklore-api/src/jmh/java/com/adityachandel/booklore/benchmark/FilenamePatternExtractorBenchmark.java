@@ -0,0 +1,58 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.adityachandel.booklore.model.entity.AuthorEntity;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.BookMetadataEntity;
+import com.adityachandel.booklore.service.bookdrop.FilenamePatternExtractor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilenamePatternExtractorBenchmark {
+
+    @Param({
+            "{SeriesName} #{SeriesNumber} - {Title} ({Published:yyyy}) - {Authors}",
+            "{Authors} - {Title}",
+            "* - {Title} [{ISBN13}]"
+    })
+    public String pattern;
+
+    private FilenamePatternExtractor extractor;
+    private List<String> filenames;
+
+    @Setup(Level.Trial)
+    public void setUp(LibraryState library) {
+        extractor = new FilenamePatternExtractor(null, null);
+        filenames = new ArrayList<>(library.books.size());
+        for (BookEntity book : library.books) {
+            BookMetadataEntity m = book.getMetadata();
+            String authors = m.getAuthors().stream().map(AuthorEntity::getName).collect(Collectors.joining(", "));
+            String series = m.getSeriesName() != null ? m.getSeriesName() : "Standalone";
+            int number = m.getSeriesNumber() != null ? m.getSeriesNumber().intValue() : 1;
+            filenames.add(series + " #" + number + " - " + m.getTitle() + " (" + m.getPublishedDate().getYear() + ") - "
+                    + authors + " [" + m.getIsbn13() + "].epub");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Benchmark
+    public void extractFromFilename(Blackhole blackhole) {
+        for (String filename : filenames) {
+            blackhole.consume(extractor.extractFromFilename(filename, pattern));
+        }
+    }
+}
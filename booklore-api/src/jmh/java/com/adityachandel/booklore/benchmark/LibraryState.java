@@ -0,0 +1,27 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.adityachandel.booklore.model.dto.BookMetadata;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+/**
+ * A generated library shared by the metadata benchmarks. Each benchmark invocation processes the whole library,
+ * so scores scale with {@code bookCount} and are reported per library pass.
+ */
+@State(Scope.Benchmark)
+public class LibraryState {
+
+    @Param({"1000", "10000", "100000"})
+    public int bookCount;
+
+    public List<BookEntity> books;
+    public List<BookMetadata> incomingMetadata;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        books = SyntheticLibrary.books(bookCount);
+        incomingMetadata = SyntheticLibrary.incomingMetadata(books);
+    }
+}
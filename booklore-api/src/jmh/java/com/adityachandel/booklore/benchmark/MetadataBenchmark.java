@@ -0,0 +1,37 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.adityachandel.booklore.model.MetadataClearFlags;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.util.BookUtils;
+import com.adityachandel.booklore.util.MetadataChangeDetector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataBenchmark {
+
+    private final MetadataClearFlags clearFlags = new MetadataClearFlags();
+
+    @Benchmark
+    public void detectChanges(LibraryState library, Blackhole blackhole) {
+        List<BookEntity> books = library.books;
+        for (int i = 0; i < books.size(); i++) {
+            blackhole.consume(MetadataChangeDetector.isDifferent(library.incomingMetadata.get(i), books.get(i).getMetadata(), clearFlags));
+        }
+    }
+
+    @Benchmark
+    public void buildSearchText(LibraryState library, Blackhole blackhole) {
+        for (BookEntity book : library.books) {
+            blackhole.consume(BookUtils.buildSearchText(book.getMetadata()));
+        }
+    }
+}
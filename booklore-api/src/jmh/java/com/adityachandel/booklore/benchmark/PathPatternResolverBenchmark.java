@@ -0,0 +1,31 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.util.PathPatternResolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathPatternResolverBenchmark {
+
+    @Param({
+            "{authors}/<{series}/><{seriesIndex}. >{title}< - {authors}>< ({year})>",
+            "{language}/{publisher}/{title}<: {subtitle}>< [{isbn}]>.{extension}",
+            "{currentFilename}"
+    })
+    public String pattern;
+
+    @Benchmark
+    public void resolvePattern(LibraryState library, Blackhole blackhole) {
+        for (BookEntity book : library.books) {
+            blackhole.consume(PathPatternResolver.resolvePattern(book, pattern));
+        }
+    }
+}
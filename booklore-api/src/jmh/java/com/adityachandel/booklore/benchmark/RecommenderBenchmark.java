@@ -0,0 +1,39 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.service.recommender.BookSimilarityService;
+import com.adityachandel.booklore.service.recommender.BookVectorService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecommenderBenchmark {
+
+    private final BookSimilarityService similarityService = new BookSimilarityService();
+    private final BookVectorService vectorService = new BookVectorService();
+
+    /**
+     * Scores one book against every other book, as the recommendation task does per book.
+     */
+    @Benchmark
+    public void calculateSimilarity(LibraryState library, Blackhole blackhole) {
+        BookEntity target = library.books.get(library.books.size() / 2);
+        for (BookEntity candidate : library.books) {
+            blackhole.consume(similarityService.calculateSimilarity(target, candidate));
+        }
+    }
+
+    @Benchmark
+    public void generateEmbedding(LibraryState library, Blackhole blackhole) {
+        for (BookEntity book : library.books) {
+            blackhole.consume(vectorService.generateEmbedding(book));
+        }
+    }
+}
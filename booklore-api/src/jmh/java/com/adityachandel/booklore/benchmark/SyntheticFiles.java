@@ -0,0 +1,191 @@
+package com.adityachandel.booklore.benchmark;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes structurally valid EPUB, PDF and CBZ fixtures of roughly a requested size. Content is pseudo-random but
+ * seeded, so a fixture of a given format and size is identical between runs.
+ */
+final class SyntheticFiles {
+
+    enum Format {EPUB, PDF, CBZ}
+
+    private static final int PAGE_IMAGE_VARIANTS = 6;
+
+    private SyntheticFiles() {
+    }
+
+    static Path create(Path directory, Format format, long targetBytes) throws IOException {
+        Path file = directory.resolve("fixture-" + targetBytes + "." + format.name().toLowerCase());
+        Random random = new Random(format.ordinal() * 31L + targetBytes);
+        switch (format) {
+            case EPUB -> writeEpub(file, targetBytes, random);
+            case PDF -> writePdf(file, targetBytes, random);
+            case CBZ -> writeCbz(file, targetBytes, random);
+        }
+        return file;
+    }
+
+    private static void writeEpub(Path file, long targetBytes, Random random) throws IOException {
+        try (CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+             ZipOutputStream zip = new ZipOutputStream(counter)) {
+            byte[] mimetype = "application/epub+zip".getBytes(StandardCharsets.US_ASCII);
+            ZipEntry mimetypeEntry = new ZipEntry("mimetype");
+            mimetypeEntry.setMethod(ZipEntry.STORED);
+            mimetypeEntry.setSize(mimetype.length);
+            CRC32 crc = new CRC32();
+            crc.update(mimetype);
+            mimetypeEntry.setCrc(crc.getValue());
+            zip.putNextEntry(mimetypeEntry);
+            zip.write(mimetype);
+            zip.closeEntry();
+
+            putText(zip, "META-INF/container.xml", """
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <container version="1.0" xmlns="urn:oasis:names:tc:opendocument:xmlns:container">
+                      <rootfiles><rootfile full-path="OEBPS/content.opf" media-type="application/oebps-package+xml"/></rootfiles>
+                    </container>
+                    """);
+
+            List<String> chapters = new ArrayList<>();
+            while (counter.getByteCount() < targetBytes) {
+                String name = "chapter" + (chapters.size() + 1) + ".xhtml";
+                chapters.add(name);
+                putText(zip, "OEBPS/" + name, chapter(random, chapters.size()));
+                zip.flush();
+            }
+            putText(zip, "OEBPS/content.opf", opf(chapters));
+        }
+    }
+
+    private static void writePdf(Path file, long targetBytes, Random random) throws IOException {
+        List<byte[]> images = pageImages(random);
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            long written = 0;
+            int pageNumber = 0;
+            while (written < targetBytes) {
+                byte[] jpeg = images.get(pageNumber % images.size());
+                PDPage page = new PDPage(PDRectangle.A5);
+                document.addPage(page);
+                PDImageXObject image = PDImageXObject.createFromByteArray(document, jpeg, "page" + pageNumber);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.drawImage(image, 20, 60, page.getMediaBox().getWidth() - 40, page.getMediaBox().getHeight() - 100);
+                    content.beginText();
+                    content.setFont(font, 10);
+                    content.newLineAtOffset(20, 30);
+                    content.showText("Page " + (pageNumber + 1));
+                    content.endText();
+                }
+                written += jpeg.length;
+                pageNumber++;
+            }
+            document.save(file.toFile());
+        }
+    }
+
+    private static void writeCbz(Path file, long targetBytes, Random random) throws IOException {
+        List<byte[]> images = pageImages(random);
+        try (CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+             ZipOutputStream zip = new ZipOutputStream(counter)) {
+            int pageNumber = 0;
+            while (counter.getByteCount() < targetBytes) {
+                zip.putNextEntry(new ZipEntry(String.format("page%04d.jpg", ++pageNumber)));
+                zip.write(images.get(pageNumber % images.size()));
+                zip.closeEntry();
+                zip.flush();
+            }
+        }
+    }
+
+    private static List<byte[]> pageImages(Random random) throws IOException {
+        List<byte[]> images = new ArrayList<>(PAGE_IMAGE_VARIANTS);
+        for (int i = 0; i < PAGE_IMAGE_VARIANTS; i++) {
+            BufferedImage image = new BufferedImage(900, 1350, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            for (int panel = 0; panel < 400; panel++) {
+                graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+                graphics.fillRect(random.nextInt(900), random.nextInt(1350), 10 + random.nextInt(200), 10 + random.nextInt(200));
+            }
+            graphics.dispose();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", out);
+            images.add(out.toByteArray());
+        }
+        return images;
+    }
+
+    private static void putText(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String chapter(Random random, int number) {
+        StringBuilder body = new StringBuilder();
+        for (int paragraph = 0; paragraph < 40; paragraph++) {
+            body.append("<p>");
+            for (int word = 0; word < 120; word++) {
+                int length = 2 + random.nextInt(8);
+                for (int c = 0; c < length; c++) {
+                    body.append((char) ('a' + random.nextInt(26)));
+                }
+                body.append(' ');
+            }
+            body.append("</p>\n");
+        }
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <html xmlns="http://www.w3.org/1999/xhtml"><head><title>Chapter %d</title></head>
+                <body><h1>Chapter %d</h1>
+                %s</body></html>
+                """.formatted(number, number, body);
+    }
+
+    private static String opf(List<String> chapters) {
+        StringBuilder manifest = new StringBuilder();
+        StringBuilder spine = new StringBuilder();
+        for (int i = 0; i < chapters.size(); i++) {
+            manifest.append("<item id=\"c").append(i).append("\" href=\"").append(chapters.get(i))
+                    .append("\" media-type=\"application/xhtml+xml\"/>\n");
+            spine.append("<itemref idref=\"c").append(i).append("\"/>\n");
+        }
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <package xmlns="http://www.idpf.org/2007/opf" version="3.0" unique-identifier="id">
+                  <metadata xmlns:dc="http://purl.org/dc/elements/1.1/">
+                    <dc:identifier id="id">urn:uuid:00000000-0000-0000-0000-000000000000</dc:identifier>
+                    <dc:title>Benchmark Fixture</dc:title>
+                    <dc:language>en</dc:language>
+                  </metadata>
+                  <manifest>
+                %s  </manifest>
+                  <spine>
+                %s  </spine>
+                </package>
+                """.formatted(manifest, spine);
+    }
+}
@@ -0,0 +1,207 @@
+package com.adityachandel.booklore.benchmark;
+
+import com.adityachandel.booklore.model.dto.BookMetadata;
+import com.adityachandel.booklore.model.entity.*;
+import com.adityachandel.booklore.model.enums.BookFileType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic generator for library-sized metadata sets. The same seed and size always produce the same books,
+ * so results of different runs (and of a run against a stored baseline) measure the same work.
+ */
+final class SyntheticLibrary {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "ri", "men", "tha", "vor", "el", "sun", "dar", "quin", "bel", "ost", "ra", "mi", "zen",
+            "tor", "ash", "fen", "gal", "hol", "ir", "jus", "kel", "lum", "nor", "pe", "sa", "ve", "wyn", "é", "ø"
+    };
+    private static final String[] LANGUAGES = {"en", "de", "fr", "es", "it", "nl", "pt", "ja", "zh", "ru"};
+    private static final BookFileType[] TYPES = {BookFileType.EPUB, BookFileType.EPUB, BookFileType.PDF, BookFileType.CBX};
+
+    private final Random random;
+    private final String[] words;
+    private final List<String> authorNames;
+    private final List<String> categoryNames;
+    private final List<String> moodNames;
+    private final List<String> tagNames;
+    private final List<String> seriesNames;
+    private final List<String> publishers;
+
+    private SyntheticLibrary(long seed, int bookCount) {
+        this.random = new Random(seed);
+        this.words = distinct(4000, () -> word(2 + random.nextInt(3))).toArray(String[]::new);
+        this.authorNames = distinct(Math.max(50, bookCount / 8), () -> capitalize(word(2)) + " " + capitalize(word(3)));
+        this.categoryNames = distinct(200, () -> capitalize(phrase(1 + random.nextInt(2))));
+        this.moodNames = distinct(40, () -> capitalize(word(2)));
+        this.tagNames = distinct(500, () -> phrase(1 + random.nextInt(2)));
+        this.seriesNames = distinct(Math.max(20, bookCount / 20), () -> "The " + capitalize(phrase(1 + random.nextInt(3))));
+        this.publishers = distinct(300, () -> capitalize(phrase(1 + random.nextInt(2))) + " Press");
+    }
+
+    static List<BookEntity> books(int bookCount) {
+        return new SyntheticLibrary(42L, bookCount).generateBooks(bookCount);
+    }
+
+    /**
+     * Incoming metadata for each book, as a metadata provider or the edit dialog would send it: most fields equal
+     * to the stored ones, roughly one book in five with a changed title, author or category.
+     */
+    static List<BookMetadata> incomingMetadata(List<BookEntity> books) {
+        Random random = new Random(7L);
+        List<BookMetadata> result = new ArrayList<>(books.size());
+        for (BookEntity book : books) {
+            BookMetadataEntity m = book.getMetadata();
+            BookMetadata dto = BookMetadata.builder()
+                    .bookId(book.getId())
+                    .title(m.getTitle())
+                    .subtitle(m.getSubtitle())
+                    .publisher(m.getPublisher())
+                    .publishedDate(m.getPublishedDate())
+                    .description(m.getDescription())
+                    .seriesName(m.getSeriesName())
+                    .seriesNumber(m.getSeriesNumber())
+                    .seriesTotal(m.getSeriesTotal())
+                    .isbn13(m.getIsbn13())
+                    .isbn10(m.getIsbn10())
+                    .pageCount(m.getPageCount())
+                    .language(m.getLanguage())
+                    .goodreadsRating(m.getGoodreadsRating())
+                    .authors(names(m.getAuthors(), AuthorEntity::getName))
+                    .categories(names(m.getCategories(), CategoryEntity::getName))
+                    .moods(names(m.getMoods(), MoodEntity::getName))
+                    .tags(names(m.getTags(), TagEntity::getName))
+                    .build();
+            switch (random.nextInt(15)) {
+                case 0 -> dto.setTitle(dto.getTitle() + " (Revised)");
+                case 1 -> dto.getAuthors().add("Another Author");
+                case 2 -> dto.getCategories().add("Fiction");
+                default -> {
+                }
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private List<BookEntity> generateBooks(int bookCount) {
+        LibraryEntity library = LibraryEntity.builder().id(1L).name("Benchmark Library").build();
+        LibraryPathEntity libraryPath = LibraryPathEntity.builder().id(1L).library(library).path("/books").build();
+
+        Map<String, AuthorEntity> authors = entities(authorNames, (id, name) -> AuthorEntity.builder().id(id).name(name).build());
+        Map<String, CategoryEntity> categories = entities(categoryNames, (id, name) -> CategoryEntity.builder().id(id).name(name).build());
+        Map<String, MoodEntity> moods = entities(moodNames, (id, name) -> MoodEntity.builder().id(id).name(name).build());
+        Map<String, TagEntity> tags = entities(tagNames, (id, name) -> TagEntity.builder().id(id).name(name).build());
+
+        List<BookEntity> books = new ArrayList<>(bookCount);
+        for (int i = 1; i <= bookCount; i++) {
+            BookFileType type = TYPES[random.nextInt(TYPES.length)];
+            String title = capitalize(phrase(1 + random.nextInt(6)));
+            boolean inSeries = random.nextInt(3) == 0;
+
+            BookMetadataEntity metadata = BookMetadataEntity.builder()
+                    .bookId((long) i)
+                    .title(title)
+                    .subtitle(random.nextInt(4) == 0 ? capitalize(phrase(3 + random.nextInt(5))) : null)
+                    .publisher(pick(publishers))
+                    .publishedDate(LocalDate.of(1900 + random.nextInt(125), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .description(capitalize(phrase(40 + random.nextInt(120))) + ".")
+                    .seriesName(inSeries ? pick(seriesNames) : null)
+                    .seriesNumber(inSeries ? (float) (1 + random.nextInt(12)) + (random.nextInt(10) == 0 ? 0.5f : 0f) : null)
+                    .seriesTotal(inSeries ? 12 : null)
+                    .isbn13("978" + String.format("%010d", random.nextLong(10_000_000_000L)))
+                    .isbn10(String.format("%010d", random.nextLong(10_000_000_000L)))
+                    .pageCount(80 + random.nextInt(900))
+                    .language(LANGUAGES[random.nextInt(LANGUAGES.length)])
+                    .rating(random.nextInt(5) == 0 ? null : 1 + random.nextDouble() * 4)
+                    .goodreadsRating(1 + random.nextDouble() * 4)
+                    .authors(sample(authors, 1 + (random.nextInt(6) == 0 ? random.nextInt(4) : 0)))
+                    .categories(sample(categories, 1 + random.nextInt(4)))
+                    .moods(sample(moods, random.nextInt(3)))
+                    .tags(sample(tags, random.nextInt(6)))
+                    .build();
+
+            String extension = type == BookFileType.CBX ? "cbz" : type.name().toLowerCase(Locale.ROOT);
+            BookEntity book = BookEntity.builder()
+                    .id((long) i)
+                    .bookType(type)
+                    .fileName(title + "." + extension)
+                    .fileSubPath(metadata.getAuthors().iterator().next().getName())
+                    .fileSizeKb(100L + random.nextInt(50_000))
+                    .library(library)
+                    .libraryPath(libraryPath)
+                    .addedOn(Instant.ofEpochSecond(1_600_000_000L + random.nextInt(100_000_000)))
+                    .currentHash(Long.toHexString(random.nextLong()))
+                    .metadata(metadata)
+                    .shelves(new HashSet<>())
+                    .build();
+            metadata.setBook(book);
+            books.add(book);
+        }
+        return books;
+    }
+
+    private <T> Set<T> sample(Map<String, T> pool, int count) {
+        List<T> values = new ArrayList<>(pool.values());
+        Set<T> result = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            result.add(values.get(random.nextInt(values.size())));
+        }
+        return result;
+    }
+
+    private <T> Map<String, T> entities(List<String> names, EntityFactory<T> factory) {
+        Map<String, T> result = new LinkedHashMap<>();
+        long id = 1;
+        for (String name : names) {
+            result.put(name, factory.create(id++, name));
+        }
+        return result;
+    }
+
+    private static <T> Set<String> names(Set<T> entities, java.util.function.Function<T, String> name) {
+        return entities.stream().map(name).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private List<String> distinct(int count, java.util.function.Supplier<String> supplier) {
+        Set<String> result = new LinkedHashSet<>();
+        int attempts = 0;
+        while (result.size() < count && attempts++ < count * 20) {
+            result.add(supplier.get());
+        }
+        return new ArrayList<>(result);
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private String phrase(int wordCount) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(words[random.nextInt(words.length)]);
+        }
+        return sb.toString();
+    }
+
+    private String word(int syllables) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String capitalize(String value) {
+        return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    @FunctionalInterface
+    private interface EntityFactory<T> {
+        T create(long id, String name);
+    }
+}
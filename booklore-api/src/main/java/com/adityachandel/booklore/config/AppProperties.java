@@ -16,6 +16,10 @@ public class AppProperties {
     private RemoteAuth remoteAuth;
     private Swagger swagger = new Swagger();
     private Boolean forceDisableOidc = false;
+    private Tasks tasks = new Tasks();
+    private Cluster cluster = new Cluster();
+    private Startup startup = new Startup();
+    private CoverCache coverCache = new CoverCache();
 
     @Getter
     @Setter
@@ -35,4 +39,37 @@ public class AppProperties {
     public static class Swagger {
         private boolean enabled = true;
     }
+
+    @Getter
+    @Setter
+    public static class Tasks {
+        private int diskIoConcurrency = 1;
+        private int cpuConcurrency = 2;
+        private int networkConcurrency = 2;
+        private int databaseConcurrency = 2;
+        private int syncWaitSeconds = 30;
+    }
+
+    @Getter
+    @Setter
+    public static class Cluster {
+        private boolean enabled = false;
+        private String nodeId;
+        private int leaseSeconds = 30;
+        private int heartbeatSeconds = 10;
+        private long relayPollMillis = 500;
+        private int eventRetentionMinutes = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Startup {
+        private boolean fast = false;
+    }
+
+    @Getter
+    @Setter
+    public static class CoverCache {
+        private int maxMemoryMb = 64;
+    }
 }
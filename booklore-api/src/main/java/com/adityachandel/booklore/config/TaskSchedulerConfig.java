@@ -1,5 +1,7 @@
 package com.adityachandel.booklore.config;
 
+import com.adityachandel.booklore.service.cluster.LeadershipChangedEvent;
+import com.adityachandel.booklore.service.startup.StartupPhaseService;
 import com.adityachandel.booklore.service.task.TaskService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,10 +17,21 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class TaskSchedulerConfig {
 
     private final TaskService taskService;
+    private final StartupPhaseService startupPhaseService;
 
     @EventListener(ApplicationReadyEvent.class)
     public void initializeScheduledTasks() {
-        log.info("Application ready, initializing scheduled tasks");
-        taskService.initializeScheduledTasks();
+        startupPhaseService.defer("scheduled-tasks", () -> {
+            log.info("Initializing scheduled tasks");
+            taskService.initializeScheduledTasks();
+            taskService.resumeUnfinishedTasks();
+        });
+    }
+
+    @EventListener
+    public void onLeadershipChanged(LeadershipChangedEvent event) {
+        if (event.isLeader()) {
+            taskService.resumeUnfinishedTasks();
+        }
     }
 }
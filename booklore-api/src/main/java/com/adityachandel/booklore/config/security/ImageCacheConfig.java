@@ -13,11 +13,8 @@ public class ImageCacheConfig {
     public FilterRegistrationBean<ImageCachingFilter> imageCachingFilterRegistration() {
         FilterRegistrationBean<ImageCachingFilter> registrationBean = new FilterRegistrationBean<>();
         registrationBean.setFilter(new ImageCachingFilter());
-        registrationBean.addUrlPatterns(
-                "/api/v1/media/book/*/cover",
-                "/api/v1/media/book/*/thumbnail",
-                "/api/v1/media/book/*/backup-cover"
-        );
+        // Servlet patterns can't wildcard a middle segment; the filter narrows the match itself.
+        registrationBean.addUrlPatterns("/api/v1/media/book/*");
         registrationBean.setOrder(Ordered.LOWEST_PRECEDENCE);
         return registrationBean;
     }
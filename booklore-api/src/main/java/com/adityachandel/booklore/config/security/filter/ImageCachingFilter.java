@@ -4,22 +4,30 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.stereotype.Component;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.regex.Pattern;
 
-@Component
+/**
+ * Adds a short-lived cache header to the legacy, unversioned image routes. The
+ * hash-addressed routes ({@code /book/{id}/cover/{hash}}) set their own
+ * {@code Cache-Control} and are left alone. Registered by {@code ImageCacheConfig}.
+ */
 public class ImageCachingFilter extends OncePerRequestFilter {
 
+    private static final Pattern LEGACY_IMAGE_PATH = Pattern.compile("^/api/v1/media/book/\\d+/(cover|thumbnail|backup-cover)$");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !LEGACY_IMAGE_PATH.matcher(request.getRequestURI()).matches();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        String uri = request.getRequestURI();
-        if (uri.startsWith("/api/v1/media/book/") && (uri.contains("/cover") || uri.contains("/thumbnail") || uri.contains("/backup-cover"))) {
-            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=3600");
-            response.setHeader(HttpHeaders.EXPIRES, String.valueOf(System.currentTimeMillis() + 3600_000));
-        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=3600");
+        response.setDateHeader(HttpHeaders.EXPIRES, System.currentTimeMillis() + 3600_000);
         filterChain.doFilter(request, response);
     }
 }
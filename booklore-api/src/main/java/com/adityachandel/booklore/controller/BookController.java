@@ -11,19 +11,22 @@ import com.adityachandel.booklore.model.dto.request.ReadStatusUpdateRequest;
 import com.adityachandel.booklore.model.dto.request.ShelvesAssignmentRequest;
 import com.adityachandel.booklore.model.dto.response.BookDeletionResponse;
 import com.adityachandel.booklore.model.enums.ResetProgressType;
+import com.adityachandel.booklore.service.book.BookContentService;
 import com.adityachandel.booklore.service.book.BookService;
 import com.adityachandel.booklore.service.metadata.BookMetadataService;
 import com.adityachandel.booklore.service.recommender.BookRecommendationService;
+import com.adityachandel.booklore.service.reader.EpubReaderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -40,6 +43,8 @@ import java.util.Set;
 public class BookController {
 
     private final BookService bookService;
+    private final BookContentService bookContentService;
+    private final EpubReaderService epubReaderService;
     private final BookRecommendationService bookRecommendationService;
     private final BookMetadataService bookMetadataService;
 
@@ -68,6 +73,7 @@ public class BookController {
     @Operation(summary = "Delete books", description = "Delete one or more books by their IDs. Requires admin or delete permission.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Books deleted successfully"),
+        @ApiResponse(responseCode = "207", description = "Books deleted, but some of their files are still on disk"),
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PreAuthorize("@securityUtil.canDeleteBook() or @securityUtil.isAdmin()")
@@ -94,13 +100,35 @@ public class BookController {
         return ResponseEntity.ok(bookMetadataService.getComicInfoMetadata(bookId));
     }
 
-    @Operation(summary = "Get book content", description = "Retrieve the binary content of a book for reading.")
-    @ApiResponse(responseCode = "200", description = "Book content returned successfully")
+    @Operation(summary = "Get book content", description = "Retrieve the binary content of a book for reading. Supports byte ranges and conditional requests.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Book content returned successfully"),
+        @ApiResponse(responseCode = "206", description = "Requested byte range returned successfully"),
+        @ApiResponse(responseCode = "304", description = "Book content not modified")
+    })
     @GetMapping("/{bookId}/content")
     @CheckBookAccess(bookIdParam = "bookId")
-    public ResponseEntity<ByteArrayResource> getBookContent(
-            @Parameter(description = "ID of the book") @PathVariable long bookId) throws IOException {
-        return bookService.getBookContent(bookId);
+    public void getBookContent(
+            @Parameter(description = "ID of the book") @PathVariable long bookId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        bookContentService.streamBookContent(bookId, request, response);
+    }
+
+    @Operation(summary = "Get EPUB entry", description = "Retrieve a single file from inside an EPUB, such as a chapter, stylesheet or image, so readers can load books lazily.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "EPUB entry returned successfully"),
+        @ApiResponse(responseCode = "304", description = "EPUB entry not modified"),
+        @ApiResponse(responseCode = "404", description = "EPUB entry not found")
+    })
+    @GetMapping("/{bookId}/epub/{*entryPath}")
+    @CheckBookAccess(bookIdParam = "bookId")
+    public void getEpubEntry(
+            @Parameter(description = "ID of the book") @PathVariable long bookId,
+            @Parameter(description = "Path of the entry inside the EPUB") @PathVariable String entryPath,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        epubReaderService.streamEntry(bookId, entryPath, request, response);
     }
 
     @Operation(summary = "Download book", description = "Download the book file. Requires download permission or admin.")
@@ -1,6 +1,8 @@
 package com.adityachandel.booklore.controller;
 
 import com.adityachandel.booklore.service.book.BookService;
+import com.adityachandel.booklore.service.book.CoverImageCache;
+import com.adityachandel.booklore.service.book.ThumbnailBatchService;
 import com.adityachandel.booklore.service.bookdrop.BookDropService;
 import com.adityachandel.booklore.service.reader.CbxReaderService;
 import com.adityachandel.booklore.service.reader.PdfReaderService;
@@ -11,18 +13,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 @Tag(name = "Book Media", description = "Endpoints for retrieving book media such as covers, thumbnails, and pages")
@@ -32,19 +40,47 @@ import java.util.regex.Pattern;
 public class BookMediaController {
 
     private static final Pattern NON_ASCII_PATTERN = Pattern.compile("[^\\x00-\\x7F]");
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
 
     private final BookService bookService;
     private final PdfReaderService pdfReaderService;
     private final CbxReaderService cbxReaderService;
     private final BookDropService bookDropService;
     private final IconService iconService;
+    private final ThumbnailBatchService thumbnailBatchService;
 
     @Operation(summary = "Get book thumbnail", description = "Retrieve the thumbnail image for a specific book.")
     @ApiResponse(responseCode = "200", description = "Book thumbnail returned successfully")
     @GetMapping("/book/{bookId}/thumbnail")
     public ResponseEntity<Resource> getBookThumbnail(
             @Parameter(description = "ID of the book") @PathVariable long bookId) {
-        return ResponseEntity.ok(bookService.getBookThumbnail(bookId));
+        return bookService.getThumbnailImage(bookId)
+                .map(image -> imageResponse(image, null))
+                .orElseGet(() -> ResponseEntity.ok(bookService.getBookThumbnail(bookId)));
+    }
+
+    @Operation(summary = "Get book thumbnail by cover hash", description = "Retrieve the thumbnail image for a specific book. While the hash matches the current cover the response may be cached indefinitely.")
+    @ApiResponse(responseCode = "200", description = "Book thumbnail returned successfully")
+    @GetMapping("/book/{bookId}/thumbnail/{coverHash}")
+    public ResponseEntity<Resource> getBookThumbnailByHash(
+            @Parameter(description = "ID of the book") @PathVariable long bookId,
+            @Parameter(description = "Cover hash from the book metadata") @PathVariable String coverHash) {
+        return bookService.getThumbnailImage(bookId)
+                .map(image -> imageResponse(image, cacheControlFor(coverHash.equals(image.hash()))))
+                .orElseGet(() -> ResponseEntity.ok(bookService.getBookThumbnail(bookId)));
+    }
+
+    @Operation(summary = "Get thumbnails of several books", description = "Retrieve up to " + ThumbnailBatchService.MAX_BATCH_SIZE + " thumbnails in one multipart/mixed response. Each part has the book id in its X-Book-Id header; books without a thumbnail are left out.")
+    @ApiResponse(responseCode = "200", description = "Thumbnails returned successfully")
+    @GetMapping("/books/thumbnails")
+    public void getBookThumbnails(
+            @Parameter(description = "IDs of the books") @RequestParam List<Long> ids,
+            HttpServletResponse response) throws IOException {
+        List<Long> bookIds = thumbnailBatchService.resolveBatch(ids);
+        String boundary = "thumbnails-" + UUID.randomUUID().toString().replace("-", "");
+        response.setContentType("multipart/mixed; boundary=" + boundary);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        thumbnailBatchService.writeThumbnails(bookIds, boundary, response.getOutputStream());
     }
 
     @Operation(summary = "Get book cover", description = "Retrieve the cover image for a specific book.")
@@ -52,7 +88,23 @@ public class BookMediaController {
     @GetMapping("/book/{bookId}/cover")
     public ResponseEntity<Resource> getBookCover(
             @Parameter(description = "ID of the book") @PathVariable long bookId) {
-        return ResponseEntity.ok(bookService.getBookCover(bookId));
+        return bookService.getCoverImage(bookId)
+                .map(image -> imageResponse(image, null))
+                .orElseGet(() -> ResponseEntity.ok(bookService.getBookCover(bookId)));
+    }
+
+    @Operation(summary = "Get book cover by cover hash", description = "Retrieve the cover image for a specific book. While the hash matches the current cover the response may be cached indefinitely.")
+    @ApiResponse(responseCode = "200", description = "Book cover returned successfully")
+    @GetMapping("/book/{bookId}/cover/{coverHash}")
+    public ResponseEntity<Resource> getBookCoverByHash(
+            @Parameter(description = "ID of the book") @PathVariable long bookId,
+            @Parameter(description = "Cover hash from the book metadata") @PathVariable String coverHash) {
+        boolean current = bookService.getThumbnailImage(bookId)
+                .map(thumbnail -> coverHash.equals(thumbnail.hash()))
+                .orElse(false);
+        return bookService.getCoverImage(bookId)
+                .map(image -> imageResponse(image, cacheControlFor(current)))
+                .orElseGet(() -> ResponseEntity.ok(bookService.getBookCover(bookId)));
     }
 
     @Operation(summary = "Get PDF page as image", description = "Retrieve a specific page from a PDF book as an image.")
@@ -119,4 +171,22 @@ public class BookMediaController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The cover hash is the thumbnail's content hash, so a URL carrying the current hash never changes meaning and
+     * can be cached for good. A stale hash still gets the current image, but the browser must revalidate it.
+     */
+    private CacheControl cacheControlFor(boolean currentHash) {
+        return currentHash ? IMMUTABLE : CacheControl.noCache();
+    }
+
+    private ResponseEntity<Resource> imageResponse(CoverImageCache.CachedImage image, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .eTag(image.hash());
+        if (cacheControl != null) {
+            builder.cacheControl(cacheControl);
+        }
+        return builder.body(new ByteArrayResource(image.data()));
+    }
+}
@@ -2,6 +2,7 @@ package com.adityachandel.booklore.controller;
 
 import com.adityachandel.booklore.model.dto.BookdropFile;
 import com.adityachandel.booklore.model.dto.BookdropFileNotification;
+import com.adityachandel.booklore.model.dto.KeysetPage;
 import com.adityachandel.booklore.model.dto.request.BookdropBulkEditRequest;
 import com.adityachandel.booklore.model.dto.request.BookdropFinalizeRequest;
 import com.adityachandel.booklore.model.dto.request.BookdropPatternExtractRequest;
@@ -22,9 +23,11 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Bookdrop", description = "Endpoints for managing bookdrop files and imports")
 @AllArgsConstructor
@@ -55,6 +58,18 @@ public class BookdropFileController {
         return bookDropService.getFilesByStatus(status, pageable);
     }
 
+    @Operation(summary = "Scroll bookdrop files by status", description = "Retrieve bookdrop files after an opaque cursor, in id order. Totals are only counted when requested.")
+    @ApiResponse(responseCode = "200", description = "Bookdrop files returned successfully")
+    @GetMapping("/files/scroll")
+    @PreAuthorize("@securityUtil.canAccessBookdrop() or @securityUtil.isAdmin()")
+    public KeysetPage<BookdropFile> scrollFilesByStatus(
+            @Parameter(description = "Status to filter files by") @RequestParam(required = false) String status,
+            @Parameter(description = "Cursor returned by the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of files per page") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Whether to count all matching files") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return bookDropService.getFilesByStatusAfter(status, cursor, Math.clamp(size, 1, 500), includeTotal);
+    }
+
     @Operation(summary = "Discard selected bookdrop files", description = "Discard selected bookdrop files based on selection criteria.")
     @ApiResponse(responseCode = "200", description = "Files discarded successfully")
     @PostMapping("/files/discard")
@@ -94,6 +109,15 @@ public class BookdropFileController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(summary = "Stream a pattern extraction preview", description = "Match a filename pattern against every selected file without saving anything. Results are streamed in batches as server-sent events, followed by the totals.")
+    @ApiResponse(responseCode = "200", description = "Pattern extraction preview streamed successfully")
+    @PostMapping(value = "/files/extract-pattern/preview", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@securityUtil.canAccessBookdrop() or @securityUtil.isAdmin()")
+    public SseEmitter streamPatternPreview(
+            @Parameter(description = "Pattern extraction request") @Valid @RequestBody BookdropPatternExtractRequest request) {
+        return filenamePatternExtractor.streamPreview(request);
+    }
+
     @Operation(summary = "Bulk edit metadata for selected files", description = "Apply metadata changes to multiple selected files at once.")
     @ApiResponse(responseCode = "200", description = "Bulk edit completed")
     @PostMapping("/files/bulk-edit")
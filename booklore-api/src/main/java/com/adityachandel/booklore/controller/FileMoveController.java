@@ -1,18 +1,23 @@
 package com.adityachandel.booklore.controller;
 
+import com.adityachandel.booklore.model.dto.request.FileMovePlanRequest;
 import com.adityachandel.booklore.model.dto.request.FileMoveRequest;
+import com.adityachandel.booklore.service.file.FileMovePlanService;
 import com.adityachandel.booklore.service.file.FileMoveService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @AllArgsConstructor
 @RestController
@@ -21,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class FileMoveController {
 
     private final FileMoveService fileMoveService;
+    private final FileMovePlanService fileMovePlanService;
 
     @Operation(summary = "Move files", description = "Bulk move files to a different location within the library.")
     @ApiResponse(responseCode = "200", description = "Files moved successfully")
@@ -30,4 +36,12 @@ public class FileMoveController {
         fileMoveService.bulkMoveFiles(request);
         return ResponseEntity.ok().build();
     }
+
+    @Operation(summary = "Preview a naming pattern", description = "Resolve the target path of every book in a library for a naming pattern without moving anything. The plan is streamed in batches and flags collisions, existing files and over-long paths.")
+    @ApiResponse(responseCode = "200", description = "Move plan streamed successfully")
+    @PostMapping(value = "/move/plan", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@securityUtil.canManageLibrary() or @securityUtil.isAdmin()")
+    public SseEmitter planMoves(@Parameter(description = "File move plan request") @RequestBody @Valid FileMovePlanRequest request) {
+        return fileMovePlanService.stream(request);
+    }
 }
@@ -1,11 +1,22 @@
 package com.adityachandel.booklore.controller;
 
 import com.adityachandel.booklore.model.dto.Book;
+import com.adityachandel.booklore.model.dto.request.UploadSessionRequest;
+import com.adityachandel.booklore.model.dto.response.UploadSessionResponse;
 import com.adityachandel.booklore.service.upload.FileUploadService;
+import com.adityachandel.booklore.service.upload.ResumableUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -25,6 +36,7 @@ import java.io.IOException;
 public class FileUploadController {
 
     private final FileUploadService fileUploadService;
+    private final ResumableUploadService resumableUploadService;
 
     @Operation(summary = "Upload a file", description = "Upload a file to a specific library and path. Requires upload permission or admin.")
     @ApiResponse(responseCode = "204", description = "File uploaded successfully")
@@ -52,4 +64,53 @@ public class FileUploadController {
         }
         return ResponseEntity.ok(fileUploadService.uploadFileBookDrop(file));
     }
+
+    @Operation(summary = "Start a resumable upload", description = "Start a chunked upload to a library path, or to BookDrop when no library is given. Requires upload permission or admin.")
+    @ApiResponse(responseCode = "200", description = "Upload session created successfully")
+    @PreAuthorize("@securityUtil.isAdmin() or @securityUtil.canUpload()")
+    @PostMapping("/upload/sessions")
+    public ResponseEntity<UploadSessionResponse> createUploadSession(
+            @Parameter(description = "File name, size and target") @RequestBody @Valid UploadSessionRequest request) {
+        return ResponseEntity.ok(resumableUploadService.createSession(request));
+    }
+
+    @Operation(summary = "Get a resumable upload", description = "Get the offset to resume a chunked upload from.")
+    @ApiResponse(responseCode = "200", description = "Upload session returned successfully")
+    @PreAuthorize("@securityUtil.isAdmin() or @securityUtil.canUpload()")
+    @GetMapping("/upload/sessions/{uploadId}")
+    public ResponseEntity<UploadSessionResponse> getUploadSession(
+            @Parameter(description = "Upload ID") @PathVariable String uploadId) {
+        return ResponseEntity.ok(resumableUploadService.getSession(uploadId));
+    }
+
+    @Operation(summary = "Upload a chunk", description = "Write the request body at the given offset. The X-Chunk-Checksum header must hold the hex SHA-256 of the body.")
+    @ApiResponse(responseCode = "200", description = "Chunk written successfully")
+    @PreAuthorize("@securityUtil.isAdmin() or @securityUtil.canUpload()")
+    @PutMapping(value = "/upload/sessions/{uploadId}", consumes = "application/octet-stream")
+    public ResponseEntity<UploadSessionResponse> uploadChunk(
+            @Parameter(description = "Upload ID") @PathVariable String uploadId,
+            @Parameter(description = "Offset of the chunk in the file") @RequestParam long offset,
+            @Parameter(description = "Hex SHA-256 of the chunk") @RequestHeader("X-Chunk-Checksum") String checksum,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(resumableUploadService.writeChunk(uploadId, offset, checksum, request.getInputStream()));
+    }
+
+    @Operation(summary = "Complete a resumable upload", description = "Move a fully received upload into its library path or BookDrop.")
+    @ApiResponse(responseCode = "200", description = "Upload completed successfully")
+    @PreAuthorize("@securityUtil.isAdmin() or @securityUtil.canUpload()")
+    @PostMapping("/upload/sessions/{uploadId}/complete")
+    public ResponseEntity<UploadSessionResponse> completeUploadSession(
+            @Parameter(description = "Upload ID") @PathVariable String uploadId) {
+        return ResponseEntity.ok(resumableUploadService.complete(uploadId));
+    }
+
+    @Operation(summary = "Cancel a resumable upload", description = "Discard a chunked upload and the bytes received so far.")
+    @ApiResponse(responseCode = "204", description = "Upload cancelled successfully")
+    @PreAuthorize("@securityUtil.isAdmin() or @securityUtil.canUpload()")
+    @DeleteMapping("/upload/sessions/{uploadId}")
+    public ResponseEntity<Void> abortUploadSession(
+            @Parameter(description = "Upload ID") @PathVariable String uploadId) {
+        resumableUploadService.abort(uploadId);
+        return ResponseEntity.noContent().build();
+    }
 }
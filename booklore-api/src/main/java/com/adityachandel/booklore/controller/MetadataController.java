@@ -17,11 +17,13 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -51,6 +53,17 @@ public class MetadataController {
         return ResponseEntity.ok(bookMetadataService.getProspectiveMetadataListForBookId(bookId, fetchMetadataRequest));
     }
 
+    @Operation(summary = "Stream prospective metadata for a book", description = "Stream prospective metadata for a book as server-sent events, one event per provider as soon as its results arrive. Closing the stream cancels outstanding lookups. Requires metadata edit permission or admin.")
+    @ApiResponse(responseCode = "200", description = "Prospective metadata stream opened successfully")
+    @PostMapping(value = "/{bookId}/metadata/prospective/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@securityUtil.canEditMetadata() or @securityUtil.isAdmin()")
+    @CheckBookAccess(bookIdParam = "bookId")
+    public SseEmitter streamMetadataList(
+            @Parameter(description = "Fetch metadata request") @RequestBody FetchMetadataRequest fetchMetadataRequest,
+            @Parameter(description = "ID of the book") @PathVariable Long bookId) {
+        return bookMetadataService.streamProspectiveMetadataForBookId(bookId, fetchMetadataRequest);
+    }
+
     @Operation(summary = "Update book metadata", description = "Update metadata for a book. Requires metadata edit permission or admin.")
     @ApiResponse(responseCode = "200", description = "Metadata updated successfully")
     @PutMapping("/{bookId}/metadata")
@@ -45,6 +45,7 @@ public class BookMetadata {
     private Integer doubanReviewCount;
     private String googleId;
     private Instant coverUpdatedOn;
+    private String coverHash;
     private Set<String> authors;
     private Set<String> categories;
     private Set<String> moods;
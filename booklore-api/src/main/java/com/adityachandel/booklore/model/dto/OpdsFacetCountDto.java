@@ -0,0 +1,6 @@
+package com.adityachandel.booklore.model.dto;
+
+public interface OpdsFacetCountDto {
+    String getLabel();
+    Long getTotal();
+}
@@ -0,0 +1,14 @@
+package com.adityachandel.booklore.model.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class FileMovePlanRequest {
+    @NotNull
+    private Long libraryId;
+    /**
+     * Naming pattern to preview. When empty, the library's current pattern is used.
+     */
+    private String pattern;
+}
@@ -0,0 +1,31 @@
+package com.adityachandel.booklore.model.dto.request;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequest {
+    @NotBlank(message = "File name must not be empty.")
+    private String fileName;
+
+    @NotNull(message = "File size must not be null.")
+    @Positive(message = "File size must be greater than zero.")
+    private Long fileSize;
+
+    private Long libraryId;
+    private Long pathId;
+
+    @AssertTrue(message = "Library ID and path ID must be given together, or both left out for book drop")
+    public boolean isTargetValid() {
+        return (libraryId == null) == (pathId == null);
+    }
+}
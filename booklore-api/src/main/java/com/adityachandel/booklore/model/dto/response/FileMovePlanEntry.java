@@ -0,0 +1,16 @@
+package com.adityachandel.booklore.model.dto.response;
+
+import com.adityachandel.booklore.model.enums.FileMovePlanStatus;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FileMovePlanEntry {
+    private Long bookId;
+    private String currentPath;
+    private String targetPath;
+    private FileMovePlanStatus status;
+    private Long conflictingBookId;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.adityachandel.booklore.model.dto.response;
+
+import com.adityachandel.booklore.model.enums.FileMovePlanStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class FileMovePlanSummary {
+    private Long libraryId;
+    private String pattern;
+    private long total;
+    private Map<FileMovePlanStatus, Long> counts;
+    private long durationMs;
+}
@@ -0,0 +1,17 @@
+package com.adityachandel.booklore.model.dto.response;
+
+import com.adityachandel.booklore.model.dto.BookMetadata;
+import com.adityachandel.booklore.model.enums.MetadataProvider;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ProspectiveMetadataResult {
+    private MetadataProvider provider;
+    private List<BookMetadata> metadata;
+    private boolean timedOut;
+    private String error;
+}
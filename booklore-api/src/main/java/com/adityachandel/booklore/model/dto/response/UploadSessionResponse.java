@@ -0,0 +1,18 @@
+package com.adityachandel.booklore.model.dto.response;
+
+import com.adityachandel.booklore.model.enums.BookFileType;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class UploadSessionResponse {
+    private String uploadId;
+    private String fileName;
+    private long fileSize;
+    private long offset;
+    private int chunkSize;
+    private BookFileType detectedFormat;
+    private String fileHash;
+    private boolean completed;
+}
@@ -0,0 +1,28 @@
+package com.adityachandel.booklore.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "app_migration_checkpoint")
+public class AppMigrationCheckpointEntity {
+
+    @Id
+    @Column(name = "migration_key", nullable = false, unique = true)
+    private String key;
+
+    @Column(name = "last_processed_id", nullable = false)
+    private long lastProcessedId;
+
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
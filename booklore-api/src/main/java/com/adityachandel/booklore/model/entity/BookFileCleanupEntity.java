@@ -0,0 +1,28 @@
+package com.adityachandel.booklore.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "book_file_cleanup")
+public class BookFileCleanupEntity {
+
+    @Id
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "file_path", nullable = false, length = 1000)
+    private String filePath;
+
+    @Column(name = "library_root", nullable = false, length = 1000)
+    private String libraryRoot;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -70,6 +70,9 @@ public class BookMetadataEntity {
     @Column(name = "cover_updated_on")
     private Instant coverUpdatedOn;
 
+    @Column(name = "cover_hash", length = 16, insertable = false, updatable = false)
+    private String coverHash;
+
     @Column(name = "amazon_rating")
     private Double amazonRating;
 
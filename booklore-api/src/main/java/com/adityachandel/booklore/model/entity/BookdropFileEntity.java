@@ -52,6 +52,8 @@ public class BookdropFileEntity {
 
     public enum Status {
         PENDING_REVIEW,
-        FINALIZED
+        FINALIZED,
+        /** Already in a library (same file hash); kept so rescans skip it until the user dismisses it. */
+        DUPLICATE
     }
 }
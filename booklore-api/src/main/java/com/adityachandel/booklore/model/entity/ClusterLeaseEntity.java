@@ -0,0 +1,28 @@
+package com.adityachandel.booklore.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cluster_lease")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterLeaseEntity {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "owner_node", nullable = false, length = 64)
+    private String ownerNode;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.adityachandel.booklore.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cluster_node")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterNodeEntity {
+
+    @Id
+    @Column(name = "node_id", length = 64)
+    private String nodeId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "last_seen", nullable = false)
+    private LocalDateTime lastSeen;
+}
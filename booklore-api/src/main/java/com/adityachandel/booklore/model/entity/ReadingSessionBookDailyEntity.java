@@ -0,0 +1,54 @@
+package com.adityachandel.booklore.model.entity;
+
+import com.adityachandel.booklore.model.enums.BookFileType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "reading_session_book_daily")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ReadingSessionBookDailyKey.class)
+public class ReadingSessionBookDailyEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "session_date")
+    private LocalDate sessionDate;
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "book_type")
+    private BookFileType bookType;
+
+    @Column(name = "session_count", nullable = false)
+    private Long sessionCount;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private Long totalDurationSeconds;
+
+    @Column(name = "total_progress_delta", nullable = false)
+    private Double totalProgressDelta;
+
+    @Column(name = "first_start_time", nullable = false)
+    private Instant firstStartTime;
+
+    @Column(name = "last_end_time", nullable = false)
+    private Instant lastEndTime;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", insertable = false, updatable = false)
+    private BookEntity book;
+}
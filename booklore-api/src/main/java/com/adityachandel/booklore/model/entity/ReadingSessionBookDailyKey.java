@@ -0,0 +1,41 @@
+package com.adityachandel.booklore.model.entity;
+
+import com.adityachandel.booklore.model.enums.BookFileType;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingSessionBookDailyKey implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+    private LocalDate sessionDate;
+    private Long bookId;
+    private BookFileType bookType;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReadingSessionBookDailyKey that)) return false;
+        return Objects.equals(userId, that.userId)
+                && Objects.equals(sessionDate, that.sessionDate)
+                && Objects.equals(bookId, that.bookId)
+                && bookType == that.bookType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, sessionDate, bookId, bookType);
+    }
+}
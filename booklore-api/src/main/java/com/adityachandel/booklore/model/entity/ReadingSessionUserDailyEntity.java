@@ -0,0 +1,33 @@
+package com.adityachandel.booklore.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "reading_session_user_daily")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ReadingSessionUserDailyKey.class)
+public class ReadingSessionUserDailyEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "session_date")
+    private LocalDate sessionDate;
+
+    @Column(name = "session_count", nullable = false)
+    private Long sessionCount;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private Long totalDurationSeconds;
+
+    @Column(name = "total_progress_delta", nullable = false)
+    private Double totalProgressDelta;
+}
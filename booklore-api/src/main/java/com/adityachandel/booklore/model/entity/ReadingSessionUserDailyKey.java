@@ -0,0 +1,35 @@
+package com.adityachandel.booklore.model.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingSessionUserDailyKey implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+    private LocalDate sessionDate;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReadingSessionUserDailyKey that)) return false;
+        return Objects.equals(userId, that.userId) && Objects.equals(sessionDate, that.sessionDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, sessionDate);
+    }
+}
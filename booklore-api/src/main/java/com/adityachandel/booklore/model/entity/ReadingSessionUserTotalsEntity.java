@@ -0,0 +1,34 @@
+package com.adityachandel.booklore.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "reading_session_user_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingSessionUserTotalsEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "session_count", nullable = false)
+    private Long sessionCount;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private Long totalDurationSeconds;
+
+    @Column(name = "total_progress_delta", nullable = false)
+    private Double totalProgressDelta;
+
+    @Column(name = "first_start_time", nullable = false)
+    private Instant firstStartTime;
+
+    @Column(name = "last_end_time", nullable = false)
+    private Instant lastEndTime;
+}
@@ -2,6 +2,7 @@ package com.adityachandel.booklore.model.entity;
 
 import com.adityachandel.booklore.convertor.JpaJsonConverter;
 import com.adityachandel.booklore.task.TaskStatus;
+import com.adityachandel.booklore.model.enums.TaskPriority;
 import com.adityachandel.booklore.model.enums.TaskType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -30,9 +31,16 @@ public class TaskHistoryEntity {
     @Column(nullable = false)
     private TaskStatus status;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TaskPriority priority;
+
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    @Column(name = "node_id", length = 64)
+    private String nodeId;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -96,4 +96,7 @@ public class UserBookProgressEntity {
 
     @Column(name = "personal_rating")
     private Integer personalRating;
+
+    @Column(name = "progress_client_time")
+    private Instant progressClientTime;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.adityachandel.booklore.model.enums;
+
+public enum ClusterEventType {
+    USER_MESSAGE,
+    CACHE_INVALIDATION,
+    LIBRARY_WATCH
+}
@@ -0,0 +1,10 @@
+package com.adityachandel.booklore.model.enums;
+
+public enum FileMovePlanStatus {
+    UNCHANGED,
+    MOVE,
+    COLLISION,
+    TARGET_EXISTS,
+    PATH_TOO_LONG,
+    ERROR
+}
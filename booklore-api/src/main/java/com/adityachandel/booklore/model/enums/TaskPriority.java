@@ -0,0 +1,9 @@
+package com.adityachandel.booklore.model.enums;
+
+/**
+ * Tasks started by a user are {@link #INTERACTIVE}; cron runs and resumed work are {@link #BACKGROUND}.
+ */
+public enum TaskPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
@@ -0,0 +1,12 @@
+package com.adityachandel.booklore.model.enums;
+
+/**
+ * The resource a task mostly keeps busy. Each class has its own concurrency limit, so a scan and a cache cleanup
+ * do not fight over the disk while a recommendation rebuild uses the CPU.
+ */
+public enum TaskResourceClass {
+    DISK_IO,
+    CPU,
+    NETWORK,
+    DATABASE
+}
@@ -10,7 +10,8 @@ public enum TaskType {
             true,
             false,
             "Clear CBX Cache",
-            "Clears temporarily extracted comic book files used by the reader."
+            "Clears temporarily extracted comic book files used by the reader.",
+            TaskResourceClass.DISK_IO
     ),
     CLEAR_PDF_CACHE(
             false,
@@ -18,7 +19,8 @@ public enum TaskType {
             true,
             false,
             "Clear PDF Cache",
-            "Clears temporarily generated images used by the streaming PDF reader."
+            "Clears temporarily generated images used by the streaming PDF reader.",
+            TaskResourceClass.DISK_IO
     ),
     REFRESH_LIBRARY_METADATA(
             false,
@@ -26,7 +28,8 @@ public enum TaskType {
             false,
             false,
             "Refresh Metadata",
-            "Re-reads book information (title, author, cover, etc.) from your files and updates the Booklore database."
+            "Re-reads book information (title, author, cover, etc.) from your files and updates the Booklore database.",
+            TaskResourceClass.DISK_IO
     ),
     UPDATE_BOOK_RECOMMENDATIONS(
             false,
@@ -34,7 +37,8 @@ public enum TaskType {
             true,
             false,
             "Update Book Recommendations",
-            "Analyzes your library to generate personalized book recommendations based on the books you own."
+            "Analyzes your library to generate personalized book recommendations based on the books you own.",
+            TaskResourceClass.CPU
     ),
     CLEANUP_DELETED_BOOKS(
             false,
@@ -42,7 +46,8 @@ public enum TaskType {
             true,
             false,
             "Cleanup Deleted Books",
-            "Permanently removes database entries for books you previously deleted from your libraries."
+            "Permanently removes database entries for books you previously deleted from your libraries.",
+            TaskResourceClass.DATABASE
     ),
     SYNC_LIBRARY_FILES(
             false,
@@ -50,7 +55,8 @@ public enum TaskType {
             true,
             false,
             "Sync Library Files",
-            "Scans your library folders to detect new books and removes entries for files that no longer exist."
+            "Scans your library folders to detect new books and removes entries for files that no longer exist.",
+            TaskResourceClass.DISK_IO
     ),
     CLEANUP_TEMP_METADATA(
             false,
@@ -58,7 +64,8 @@ public enum TaskType {
             true,
             false,
             "Cleanup Temporary Metadata",
-            "Removes temporary metadata files created during the bookdrop and manual metadata review processes."
+            "Removes temporary metadata files created during the bookdrop and manual metadata review processes.",
+            TaskResourceClass.DATABASE
     ),
     REFRESH_METADATA_MANUAL(
             false,
@@ -66,7 +73,26 @@ public enum TaskType {
             false,
             true,
             "Refresh Metadata",
-            "Updates metadata information for your selected books."
+            "Updates metadata information for your selected books.",
+            TaskResourceClass.NETWORK
+    ),
+    REBUILD_READING_STATS(
+            false,
+            true,
+            false,
+            false,
+            "Rebuild Reading Stats",
+            "Recomputes every user's reading heatmap, timeline and totals from their recorded reading sessions.",
+            TaskResourceClass.DATABASE
+    ),
+    DATA_MIGRATION(
+            true,
+            true,
+            false,
+            true,
+            "Data Migration",
+            "Upgrades existing library data in the background after an update.",
+            TaskResourceClass.DATABASE
     );
 
     @Getter
@@ -87,12 +113,16 @@ public enum TaskType {
     @Getter
     private final String description;
 
-    TaskType(boolean parallel, boolean async, boolean cronSupported, boolean hiddenFromUI, String name, String description) {
+    @Getter
+    private final TaskResourceClass resourceClass;
+
+    TaskType(boolean parallel, boolean async, boolean cronSupported, boolean hiddenFromUI, String name, String description, TaskResourceClass resourceClass) {
         this.parallel = parallel;
         this.async = async;
         this.cronSupported = cronSupported;
         this.hiddenFromUI = hiddenFromUI;
         this.name = name;
         this.description = description;
+        this.resourceClass = resourceClass;
     }
 }
\ No newline at end of file
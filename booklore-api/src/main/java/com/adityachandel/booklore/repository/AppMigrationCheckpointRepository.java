@@ -0,0 +1,7 @@
+package com.adityachandel.booklore.repository;
+
+import com.adityachandel.booklore.model.entity.AppMigrationCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AppMigrationCheckpointRepository extends JpaRepository<AppMigrationCheckpointEntity, String> {
+}
@@ -0,0 +1,23 @@
+package com.adityachandel.booklore.repository;
+
+import com.adityachandel.booklore.model.entity.BookFileCleanupEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookFileCleanupRepository extends JpaRepository<BookFileCleanupEntity, Long> {
+
+    @Query("SELECT c.filePath FROM BookFileCleanupEntity c")
+    List<String> findAllFilePaths();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BookFileCleanupEntity c WHERE c.bookId = :bookId")
+    void deleteByBookId(@Param("bookId") Long bookId);
+}
@@ -1,6 +1,7 @@
 package com.adityachandel.booklore.repository;
 
 import com.adityachandel.booklore.model.entity.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -17,20 +18,16 @@ public interface BookMetadataRepository extends JpaRepository<BookMetadataEntity
 
     @Modifying
     @Transactional
-    @Query("UPDATE BookMetadataEntity m SET m.coverUpdatedOn = :timestamp WHERE m.bookId = :bookId")
-    void updateCoverTimestamp(@Param("bookId") Long bookId, @Param("timestamp") Instant timestamp);
+    @Query(value = "UPDATE book_metadata SET cover_updated_on = :timestamp, cover_hash = :coverHash WHERE book_id = :bookId", nativeQuery = true)
+    void updateCover(@Param("bookId") Long bookId, @Param("timestamp") Instant timestamp, @Param("coverHash") String coverHash);
 
-    List<BookMetadataEntity> findAllByAuthorsContaining(AuthorEntity author);
-
-    List<BookMetadataEntity> findAllByCategoriesContaining(CategoryEntity category);
-
-    List<BookMetadataEntity> findAllByMoodsContaining(MoodEntity mood);
-
-    List<BookMetadataEntity> findAllByTagsContaining(TagEntity tag);
-
-    List<BookMetadataEntity> findAllBySeriesNameIgnoreCase(String seriesName);
+    @Modifying
+    @Query(value = "UPDATE book_metadata SET cover_hash = :coverHash WHERE book_id = :bookId", nativeQuery = true)
+    void updateCoverHash(@Param("bookId") Long bookId, @Param("coverHash") String coverHash);
 
-    List<BookMetadataEntity> findAllByPublisherIgnoreCase(String publisher);
+    @Query("SELECT m.bookId FROM BookMetadataEntity m WHERE m.bookId > :afterId AND m.coverHash IS NULL AND m.coverUpdatedOn IS NOT NULL ORDER BY m.bookId")
+    List<Long> findBookIdsWithoutCoverHashAfter(@Param("afterId") long afterId, Pageable pageable);
 
-    List<BookMetadataEntity> findAllByLanguageIgnoreCase(String language);
+    @Query("SELECT COUNT(m) FROM BookMetadataEntity m WHERE m.bookId > :afterId AND m.coverHash IS NULL AND m.coverUpdatedOn IS NOT NULL")
+    long countBookIdsWithoutCoverHashAfter(@Param("afterId") long afterId);
 }
@@ -1,5 +1,6 @@
 package com.adityachandel.booklore.repository;
 
+import com.adityachandel.booklore.model.dto.OpdsFacetCountDto;
 import com.adityachandel.booklore.model.entity.BookEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 
@@ -20,7 +22,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
     // ALL BOOKS - Two Query Pattern
     // ============================================
 
-    @Query("SELECT b.id FROM BookEntity b WHERE (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC")
+    @Query("SELECT b.id FROM BookEntity b WHERE (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC, b.id DESC")
     Page<Long> findBookIds(Pageable pageable);
 
     @EntityGraph(attributePaths = {"metadata", "additionalFiles", "shelves"})
@@ -31,7 +33,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
     // RECENT BOOKS - Two Query Pattern
     // ============================================
 
-    @Query("SELECT b.id FROM BookEntity b WHERE (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC")
+    @Query("SELECT b.id FROM BookEntity b WHERE (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC, b.id DESC")
     Page<Long> findRecentBookIds(Pageable pageable);
 
     // Uses same findAllWithMetadataByIds for second query
@@ -40,7 +42,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
     // BOOKS BY LIBRARY IDs - Two Query Pattern
     // ============================================
 
-    @Query("SELECT b.id FROM BookEntity b WHERE b.library.id IN :libraryIds AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC")
+    @Query("SELECT b.id FROM BookEntity b WHERE b.library.id IN :libraryIds AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC, b.id DESC")
     Page<Long> findBookIdsByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds, Pageable pageable);
 
     @EntityGraph(attributePaths = {"metadata", "additionalFiles", "shelves"})
@@ -51,7 +53,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
     // RECENT BOOKS BY LIBRARY IDs - Two Query Pattern
     // ============================================
 
-    @Query("SELECT b.id FROM BookEntity b WHERE b.library.id IN :libraryIds AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC")
+    @Query("SELECT b.id FROM BookEntity b WHERE b.library.id IN :libraryIds AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC, b.id DESC")
     Page<Long> findRecentBookIdsByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds, Pageable pageable);
 
     // Uses findAllWithMetadataByIdsAndLibraryIds for second query
@@ -60,7 +62,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
     // BOOKS BY SHELF ID - Two Query Pattern
     // ============================================
 
-    @Query("SELECT DISTINCT b.id FROM BookEntity b JOIN b.shelves s WHERE s.id = :shelfId AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC")
+    @Query("SELECT DISTINCT b.id FROM BookEntity b JOIN b.shelves s WHERE s.id = :shelfId AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.addedOn DESC, b.id DESC")
     Page<Long> findBookIdsByShelfId(@Param("shelfId") Long shelfId, Pageable pageable);
 
     @EntityGraph(attributePaths = {"metadata", "additionalFiles", "shelves"})
@@ -77,7 +79,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
             WHERE (b.deleted IS NULL OR b.deleted = false) AND (
                   m.searchText LIKE CONCAT('%', :text, '%')
             )
-            ORDER BY b.addedOn DESC
+            ORDER BY b.addedOn DESC, b.id DESC
             """)
     Page<Long> findBookIdsByMetadataSearch(@Param("text") String text, Pageable pageable);
 
@@ -97,7 +99,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
               AND (
                   m.searchText LIKE CONCAT('%', :text, '%')
               )
-            ORDER BY b.addedOn DESC
+            ORDER BY b.addedOn DESC, b.id DESC
             """)
     Page<Long> findBookIdsByMetadataSearchAndLibraryIds(@Param("text") String text, @Param("libraryIds") Collection<Long> libraryIds, Pageable pageable);
 
@@ -105,6 +107,34 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
     @Query("SELECT DISTINCT b FROM BookEntity b WHERE b.id IN :ids AND b.library.id IN :libraryIds AND (b.deleted IS NULL OR b.deleted = false)")
     List<BookEntity> findAllWithFullMetadataByIdsAndLibraryIds(@Param("ids") Collection<Long> ids, @Param("libraryIds") Collection<Long> libraryIds);
 
+    // ============================================
+    // KEYSET PAGES - seek past (addedOn, id) instead of an offset, no count query
+    // ============================================
+
+    String SEEK_AFTER = " AND (:afterId IS NULL OR b.addedOn < :afterAddedOn OR (b.addedOn = :afterAddedOn AND b.id < :afterId)) ";
+    String SEEK_ORDER = " ORDER BY b.addedOn DESC, b.id DESC";
+
+    @Query("SELECT b.id FROM BookEntity b WHERE (b.deleted IS NULL OR b.deleted = false)" + SEEK_AFTER + SEEK_ORDER)
+    List<Long> findBookIdsAfter(@Param("afterAddedOn") Instant afterAddedOn, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b.id FROM BookEntity b WHERE b.library.id IN :libraryIds AND (b.deleted IS NULL OR b.deleted = false)" + SEEK_AFTER + SEEK_ORDER)
+    List<Long> findBookIdsByLibraryIdsAfter(@Param("libraryIds") Collection<Long> libraryIds, @Param("afterAddedOn") Instant afterAddedOn, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT b.id FROM BookEntity b JOIN b.shelves s WHERE s.id = :shelfId AND (b.deleted IS NULL OR b.deleted = false)" + SEEK_AFTER + SEEK_ORDER)
+    List<Long> findBookIdsByShelfIdAfter(@Param("shelfId") Long shelfId, @Param("afterAddedOn") Instant afterAddedOn, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT b.id FROM BookEntity b LEFT JOIN b.metadata m WHERE (b.deleted IS NULL OR b.deleted = false) AND m.searchText LIKE CONCAT('%', :text, '%')" + SEEK_AFTER + SEEK_ORDER)
+    List<Long> findBookIdsByMetadataSearchAfter(@Param("text") String text, @Param("afterAddedOn") Instant afterAddedOn, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT b.id FROM BookEntity b LEFT JOIN b.metadata m WHERE (b.deleted IS NULL OR b.deleted = false) AND b.library.id IN :libraryIds AND m.searchText LIKE CONCAT('%', :text, '%')" + SEEK_AFTER + SEEK_ORDER)
+    List<Long> findBookIdsByMetadataSearchAndLibraryIdsAfter(@Param("text") String text, @Param("libraryIds") Collection<Long> libraryIds, @Param("afterAddedOn") Instant afterAddedOn, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT b.id FROM BookEntity b JOIN b.metadata m JOIN m.authors a WHERE a.name = :authorName AND (b.deleted IS NULL OR b.deleted = false)" + SEEK_AFTER + SEEK_ORDER)
+    List<Long> findBookIdsByAuthorNameAfter(@Param("authorName") String authorName, @Param("afterAddedOn") Instant afterAddedOn, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT b.id FROM BookEntity b JOIN b.metadata m JOIN m.authors a WHERE a.name = :authorName AND b.library.id IN :libraryIds AND (b.deleted IS NULL OR b.deleted = false)" + SEEK_AFTER + SEEK_ORDER)
+    List<Long> findBookIdsByAuthorNameAndLibraryIdsAfter(@Param("authorName") String authorName, @Param("libraryIds") Collection<Long> libraryIds, @Param("afterAddedOn") Instant afterAddedOn, @Param("afterId") Long afterId, Pageable pageable);
+
     // ============================================
     // RANDOM BOOKS - "Surprise Me" Feed
     // ============================================
@@ -116,27 +146,44 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
     List<Long> findRandomBookIdsByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds);
 
     // ============================================
-    // AUTHORS - Distinct Authors List
+    // AUTHOR FACETS - letter buckets and paged names with book counts
     // ============================================
 
+    String FACET_LETTERS = "('A','B','C','D','E','F','G','H','I','J','K','L','M','N','O','P','Q','R','S','T','U','V','W','X','Y','Z')";
+    String AUTHOR_IN_LETTER = " AND (:letter IS NULL OR UPPER(SUBSTRING(a.name, 1, 1)) = :letter OR (:letter = '#' AND UPPER(SUBSTRING(a.name, 1, 1)) NOT IN " + FACET_LETTERS + ")) ";
+
     @Query("""
-            SELECT DISTINCT a FROM AuthorEntity a
+            SELECT UPPER(SUBSTRING(a.name, 1, 1)) AS label, COUNT(DISTINCT a.name) AS total
+            FROM AuthorEntity a
             JOIN a.bookMetadataEntityList m
             JOIN m.book b
             WHERE (b.deleted IS NULL OR b.deleted = false)
-            ORDER BY a.name
+              AND a.name IS NOT NULL AND a.name <> ''
+            GROUP BY UPPER(SUBSTRING(a.name, 1, 1))
             """)
-    List<com.adityachandel.booklore.model.entity.AuthorEntity> findDistinctAuthors();
+    List<OpdsFacetCountDto> countAuthorsByLetter();
 
     @Query("""
-            SELECT DISTINCT a FROM AuthorEntity a
+            SELECT UPPER(SUBSTRING(a.name, 1, 1)) AS label, COUNT(DISTINCT a.name) AS total
+            FROM AuthorEntity a
             JOIN a.bookMetadataEntityList m
             JOIN m.book b
             WHERE (b.deleted IS NULL OR b.deleted = false)
               AND b.library.id IN :libraryIds
-            ORDER BY a.name
+              AND a.name IS NOT NULL AND a.name <> ''
+            GROUP BY UPPER(SUBSTRING(a.name, 1, 1))
             """)
-    List<com.adityachandel.booklore.model.entity.AuthorEntity> findDistinctAuthorsByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds);
+    List<OpdsFacetCountDto> countAuthorsByLetterAndLibraryIds(@Param("libraryIds") Collection<Long> libraryIds);
+
+    @Query("SELECT a.name AS label, COUNT(DISTINCT b.id) AS total FROM AuthorEntity a JOIN a.bookMetadataEntityList m JOIN m.book b"
+            + " WHERE (b.deleted IS NULL OR b.deleted = false) AND a.name > :afterName" + AUTHOR_IN_LETTER
+            + " GROUP BY a.name ORDER BY a.name")
+    List<OpdsFacetCountDto> findAuthorBookCounts(@Param("letter") String letter, @Param("afterName") String afterName, Pageable pageable);
+
+    @Query("SELECT a.name AS label, COUNT(DISTINCT b.id) AS total FROM AuthorEntity a JOIN a.bookMetadataEntityList m JOIN m.book b"
+            + " WHERE (b.deleted IS NULL OR b.deleted = false) AND b.library.id IN :libraryIds AND a.name > :afterName" + AUTHOR_IN_LETTER
+            + " GROUP BY a.name ORDER BY a.name")
+    List<OpdsFacetCountDto> findAuthorBookCountsByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds, @Param("letter") String letter, @Param("afterName") String afterName, Pageable pageable);
 
     // ============================================
     // BOOKS BY AUTHOR - Two Query Pattern
@@ -148,7 +195,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
             JOIN m.authors a
             WHERE a.name = :authorName
               AND (b.deleted IS NULL OR b.deleted = false)
-            ORDER BY b.addedOn DESC
+            ORDER BY b.addedOn DESC, b.id DESC
             """)
     Page<Long> findBookIdsByAuthorName(@Param("authorName") String authorName, Pageable pageable);
 
@@ -159,34 +206,46 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
             WHERE a.name = :authorName
               AND b.library.id IN :libraryIds
               AND (b.deleted IS NULL OR b.deleted = false)
-            ORDER BY b.addedOn DESC
+            ORDER BY b.addedOn DESC, b.id DESC
             """)
     Page<Long> findBookIdsByAuthorNameAndLibraryIds(@Param("authorName") String authorName, @Param("libraryIds") Collection<Long> libraryIds, Pageable pageable);
 
     // ============================================
-    // SERIES - Distinct Series List
+    // SERIES FACETS - letter buckets and paged names with book counts
     // ============================================
 
+    String SERIES_IN_LETTER = " AND (:letter IS NULL OR UPPER(SUBSTRING(m.seriesName, 1, 1)) = :letter OR (:letter = '#' AND UPPER(SUBSTRING(m.seriesName, 1, 1)) NOT IN " + FACET_LETTERS + ")) ";
+
     @Query("""
-            SELECT DISTINCT m.seriesName FROM BookMetadataEntity m
+            SELECT UPPER(SUBSTRING(m.seriesName, 1, 1)) AS label, COUNT(DISTINCT m.seriesName) AS total
+            FROM BookMetadataEntity m
             JOIN m.book b
             WHERE (b.deleted IS NULL OR b.deleted = false)
-              AND m.seriesName IS NOT NULL
-              AND m.seriesName != ''
-            ORDER BY m.seriesName
+              AND m.seriesName IS NOT NULL AND m.seriesName <> ''
+            GROUP BY UPPER(SUBSTRING(m.seriesName, 1, 1))
             """)
-    List<String> findDistinctSeries();
+    List<OpdsFacetCountDto> countSeriesByLetter();
 
     @Query("""
-            SELECT DISTINCT m.seriesName FROM BookMetadataEntity m
+            SELECT UPPER(SUBSTRING(m.seriesName, 1, 1)) AS label, COUNT(DISTINCT m.seriesName) AS total
+            FROM BookMetadataEntity m
             JOIN m.book b
             WHERE (b.deleted IS NULL OR b.deleted = false)
               AND b.library.id IN :libraryIds
-              AND m.seriesName IS NOT NULL
-              AND m.seriesName != ''
-            ORDER BY m.seriesName
+              AND m.seriesName IS NOT NULL AND m.seriesName <> ''
+            GROUP BY UPPER(SUBSTRING(m.seriesName, 1, 1))
             """)
-    List<String> findDistinctSeriesByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds);
+    List<OpdsFacetCountDto> countSeriesByLetterAndLibraryIds(@Param("libraryIds") Collection<Long> libraryIds);
+
+    @Query("SELECT m.seriesName AS label, COUNT(DISTINCT b.id) AS total FROM BookMetadataEntity m JOIN m.book b"
+            + " WHERE (b.deleted IS NULL OR b.deleted = false) AND m.seriesName > :afterName" + SERIES_IN_LETTER
+            + " GROUP BY m.seriesName ORDER BY m.seriesName")
+    List<OpdsFacetCountDto> findSeriesBookCounts(@Param("letter") String letter, @Param("afterName") String afterName, Pageable pageable);
+
+    @Query("SELECT m.seriesName AS label, COUNT(DISTINCT b.id) AS total FROM BookMetadataEntity m JOIN m.book b"
+            + " WHERE (b.deleted IS NULL OR b.deleted = false) AND b.library.id IN :libraryIds AND m.seriesName > :afterName" + SERIES_IN_LETTER
+            + " GROUP BY m.seriesName ORDER BY m.seriesName")
+    List<OpdsFacetCountDto> findSeriesBookCountsByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds, @Param("letter") String letter, @Param("afterName") String afterName, Pageable pageable);
 
     // ============================================
     // BOOKS BY SERIES - Two Query Pattern (sorted by series number)
@@ -197,7 +256,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
             JOIN b.metadata m
             WHERE m.seriesName = :seriesName
               AND (b.deleted IS NULL OR b.deleted = false)
-            ORDER BY COALESCE(m.seriesNumber, 999999), b.addedOn DESC
+            ORDER BY COALESCE(m.seriesNumber, 999999), b.addedOn DESC, b.id DESC
             """)
     Page<Long> findBookIdsBySeriesName(@Param("seriesName") String seriesName, Pageable pageable);
 
@@ -207,7 +266,7 @@ public interface BookOpdsRepository extends JpaRepository<BookEntity, Long>, Jpa
             WHERE m.seriesName = :seriesName
               AND b.library.id IN :libraryIds
               AND (b.deleted IS NULL OR b.deleted = false)
-            ORDER BY COALESCE(m.seriesNumber, 999999), b.addedOn DESC
+            ORDER BY COALESCE(m.seriesNumber, 999999), b.addedOn DESC, b.id DESC
             """)
     Page<Long> findBookIdsBySeriesNameAndLibraryIds(@Param("seriesName") String seriesName, @Param("libraryIds") Collection<Long> libraryIds, Pageable pageable);
 }
\ No newline at end of file
@@ -2,7 +2,6 @@ package com.adityachandel.booklore.repository;
 
 import com.adityachandel.booklore.model.entity.BookEntity;
 import com.adityachandel.booklore.model.entity.LibraryPathEntity;
-import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -21,6 +20,9 @@ public interface BookRepository extends JpaRepository<BookEntity, Long>, JpaSpec
 
     Optional<BookEntity> findByCurrentHash(String currentHash);
 
+    @Query("SELECT COUNT(b) > 0 FROM BookEntity b WHERE b.currentHash = :hash AND (b.deleted IS NULL OR b.deleted = false)")
+    boolean existsActiveByCurrentHash(@Param("hash") String hash);
+
     @Query("SELECT b.id FROM BookEntity b WHERE b.library.id = :libraryId AND (b.deleted IS NULL OR b.deleted = false)")
     Set<Long> findBookIdsByLibraryId(@Param("libraryId") long libraryId);
 
@@ -42,10 +44,6 @@ public interface BookRepository extends JpaRepository<BookEntity, Long>, JpaSpec
     @Query("SELECT b FROM BookEntity b WHERE b.id IN :bookIds AND (b.deleted IS NULL OR b.deleted = false)")
     List<BookEntity> findAllWithMetadataByIds(@Param("bookIds") Set<Long> bookIds);
 
-    @EntityGraph(attributePaths = {"metadata", "shelves", "libraryPath"})
-    @Query("SELECT b FROM BookEntity b WHERE b.id IN :bookIds AND (b.deleted IS NULL OR b.deleted = false)")
-    List<BookEntity> findWithMetadataByIdsWithPagination(@Param("bookIds") Set<Long> bookIds, Pageable pageable);
-
     @EntityGraph(attributePaths = {"metadata", "shelves", "libraryPath"})
     @Query("SELECT b FROM BookEntity b WHERE b.library.id = :libraryId AND (b.deleted IS NULL OR b.deleted = false)")
     List<BookEntity> findAllWithMetadataByLibraryId(@Param("libraryId") Long libraryId);
@@ -81,6 +79,27 @@ public interface BookRepository extends JpaRepository<BookEntity, Long>, JpaSpec
             """, nativeQuery = true)
     List<BookEntity> findBooksForMigrationBatch(@Param("offset") int offset, @Param("limit") int limit);
 
+    @Query("SELECT b.id FROM BookEntity b WHERE b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(b) FROM BookEntity b WHERE b.id > :afterId")
+    long countIdsAfter(@Param("afterId") long afterId);
+
+    @Query("SELECT b.id FROM BookEntity b WHERE b.id > :afterId AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(b) FROM BookEntity b WHERE b.id > :afterId AND (b.deleted IS NULL OR b.deleted = false)")
+    long countActiveIdsAfter(@Param("afterId") long afterId);
+
+    @Query("SELECT b.id FROM BookEntity b WHERE b.library.id = :libraryId AND b.id > :afterId AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.id")
+    List<Long> findActiveIdsByLibraryIdAfter(@Param("libraryId") long libraryId, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT b.id FROM BookEntity b WHERE b.id > :afterId AND b.fileSizeKb IS NULL AND (b.deleted IS NULL OR b.deleted = false) ORDER BY b.id")
+    List<Long> findIdsWithoutFileSizeAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(b) FROM BookEntity b WHERE b.id > :afterId AND b.fileSizeKb IS NULL AND (b.deleted IS NULL OR b.deleted = false)")
+    long countIdsWithoutFileSizeAfter(@Param("afterId") long afterId);
+
     @Query("""
                 SELECT DISTINCT b FROM BookEntity b
                 LEFT JOIN FETCH b.metadata m
@@ -105,15 +124,11 @@ public interface BookRepository extends JpaRepository<BookEntity, Long>, JpaSpec
                     """)
     Page<BookEntity> searchByMetadata(@Param("text") String text, Pageable pageable);
 
-    @Modifying
-    @Transactional
-    @Query("DELETE FROM BookEntity b WHERE b.deleted IS TRUE")
-    int deleteAllSoftDeleted();
+    @Query("SELECT b.id FROM BookEntity b WHERE b.deleted IS TRUE")
+    List<Long> findAllSoftDeletedIds();
 
-    @Modifying
-    @Transactional
-    @Query("DELETE FROM BookEntity b WHERE b.deleted IS TRUE AND b.deletedAt < :cutoffDate")
-    int deleteSoftDeletedBefore(@Param("cutoffDate") Instant cutoffDate);
+    @Query("SELECT b.id FROM BookEntity b WHERE b.deleted IS TRUE AND b.deletedAt < :cutoffDate")
+    List<Long> findSoftDeletedIdsBefore(@Param("cutoffDate") Instant cutoffDate);
 
     @Query("SELECT COUNT(b) FROM BookEntity b WHERE b.deleted = TRUE")
     long countAllSoftDeleted();
@@ -24,15 +24,21 @@ public interface BookdropFileRepository extends JpaRepository<BookdropFileEntity
 
     long countByStatus(Status status);
 
+    @Query("SELECT f FROM BookdropFileEntity f WHERE f.status = :status AND f.id > :afterId ORDER BY f.id")
+    List<BookdropFileEntity> findByStatusAfter(@Param("status") Status status, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT f FROM BookdropFileEntity f WHERE f.id > :afterId ORDER BY f.id")
+    List<BookdropFileEntity> findAllAfter(@Param("afterId") long afterId, Pageable pageable);
+
     @Transactional
     @Modifying
     @Query("DELETE FROM BookdropFileEntity f WHERE f.filePath LIKE CONCAT(:prefix, '%')")
     int deleteAllByFilePathStartingWith(@Param("prefix") String prefix);
 
-    @Query("SELECT f.id FROM BookdropFileEntity f WHERE f.id NOT IN :excludedIds")
+    @Query("SELECT f.id FROM BookdropFileEntity f WHERE f.id NOT IN :excludedIds AND f.status <> com.adityachandel.booklore.model.entity.BookdropFileEntity.Status.DUPLICATE")
     List<Long> findAllExcludingIdsFlat(@Param("excludedIds") List<Long> excludedIds);
 
-    @Query("SELECT f.id FROM BookdropFileEntity f")
+    @Query("SELECT f.id FROM BookdropFileEntity f WHERE f.status <> com.adityachandel.booklore.model.entity.BookdropFileEntity.Status.DUPLICATE")
     List<Long> findAllIds();
 }
 
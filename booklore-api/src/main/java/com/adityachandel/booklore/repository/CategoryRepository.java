@@ -4,6 +4,8 @@ import com.adityachandel.booklore.model.entity.CategoryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,6 @@ public interface CategoryRepository extends JpaRepository<CategoryEntity, Long>
     Optional<CategoryEntity> findByName(String categoryName);
 
     Optional<CategoryEntity> findByNameIgnoreCase(String categoryName);
+
+    List<CategoryEntity> findAllByNameIn(Collection<String> categoryNames);
 }
@@ -0,0 +1,26 @@
+package com.adityachandel.booklore.repository;
+
+import com.adityachandel.booklore.model.entity.ClusterEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ClusterEventRepository extends JpaRepository<ClusterEventEntity, Long> {
+
+    @Query("SELECT e FROM ClusterEventEntity e WHERE e.id > :afterId AND e.originNode <> :nodeId ORDER BY e.id")
+    List<ClusterEventEntity> findForeignEventsAfter(@Param("afterId") long afterId, @Param("nodeId") String nodeId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ClusterEventEntity e")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM ClusterEventEntity e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
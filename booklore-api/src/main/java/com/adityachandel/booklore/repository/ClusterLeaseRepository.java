@@ -0,0 +1,31 @@
+package com.adityachandel.booklore.repository;
+
+import com.adityachandel.booklore.model.entity.ClusterLeaseEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClusterLeaseRepository extends JpaRepository<ClusterLeaseEntity, String> {
+
+    /**
+     * Takes or extends a lease. Succeeds when the caller already holds it or it has expired; timestamps come from
+     * the database clock so instances with skewed clocks agree on expiry. Returns the number of updated rows.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE cluster_lease
+            SET acquired_at = IF(owner_node = :nodeId, acquired_at, NOW(3)),
+                owner_node  = :nodeId,
+                expires_at  = NOW(3) + INTERVAL :leaseSeconds SECOND
+            WHERE name = :name
+              AND (owner_node = :nodeId OR expires_at < NOW(3))
+            """, nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("nodeId") String nodeId, @Param("leaseSeconds") int leaseSeconds);
+
+    @Modifying
+    @Query(value = "UPDATE cluster_lease SET owner_node = '', expires_at = NOW(3) WHERE name = :name AND owner_node = :nodeId", nativeQuery = true)
+    int release(@Param("name") String name, @Param("nodeId") String nodeId);
+}
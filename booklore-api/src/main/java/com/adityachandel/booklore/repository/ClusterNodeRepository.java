@@ -0,0 +1,27 @@
+package com.adityachandel.booklore.repository;
+
+import com.adityachandel.booklore.model.entity.ClusterNodeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClusterNodeRepository extends JpaRepository<ClusterNodeEntity, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO cluster_node (node_id, started_at, last_seen)
+            VALUES (:nodeId, NOW(3), NOW(3))
+            ON DUPLICATE KEY UPDATE last_seen = NOW(3)
+            """, nativeQuery = true)
+    void heartbeat(@Param("nodeId") String nodeId);
+
+    @Query(value = "SELECT COUNT(*) FROM cluster_node WHERE node_id = :nodeId AND last_seen > NOW(3) - INTERVAL :timeoutSeconds SECOND", nativeQuery = true)
+    long countAlive(@Param("nodeId") String nodeId, @Param("timeoutSeconds") int timeoutSeconds);
+
+    @Modifying
+    @Query(value = "DELETE FROM cluster_node WHERE last_seen < NOW(3) - INTERVAL :timeoutSeconds SECOND", nativeQuery = true)
+    int deleteStale(@Param("timeoutSeconds") int timeoutSeconds);
+}
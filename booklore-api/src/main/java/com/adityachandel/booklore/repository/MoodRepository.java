@@ -4,6 +4,8 @@ import com.adityachandel.booklore.model.entity.MoodEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,6 @@ public interface MoodRepository extends JpaRepository<MoodEntity, Long> {
     Optional<MoodEntity> findByName(String moodName);
 
     Optional<MoodEntity> findByNameIgnoreCase(String moodName);
+
+    List<MoodEntity> findAllByNameIn(Collection<String> moodNames);
 }
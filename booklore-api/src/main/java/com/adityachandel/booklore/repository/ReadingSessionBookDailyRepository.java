@@ -0,0 +1,71 @@
+package com.adityachandel.booklore.repository;
+
+import com.adityachandel.booklore.model.dto.ReadingSessionTimelineDto;
+import com.adityachandel.booklore.model.entity.ReadingSessionBookDailyEntity;
+import com.adityachandel.booklore.model.entity.ReadingSessionBookDailyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReadingSessionBookDailyRepository extends JpaRepository<ReadingSessionBookDailyEntity, ReadingSessionBookDailyKey> {
+
+    @Query("""
+            SELECT
+                b.id as bookId,
+                b.metadata.title as bookTitle,
+                d.bookType as bookFileType,
+                MIN(d.firstStartTime) as startDate,
+                MAX(d.lastEndTime) as endDate,
+                SUM(d.sessionCount) as totalSessions,
+                SUM(d.totalDurationSeconds) as totalDurationSeconds
+            FROM ReadingSessionBookDailyEntity d
+            JOIN d.book b
+            WHERE d.userId = :userId
+            AND d.sessionDate BETWEEN :from AND :to
+            GROUP BY b.id, b.metadata.title, d.bookType
+            ORDER BY MIN(d.firstStartTime)
+            """)
+    List<ReadingSessionTimelineDto> findTimelineByUserAndDateRange(@Param("userId") Long userId,
+                                                                   @Param("from") LocalDate from,
+                                                                   @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO reading_session_book_daily (user_id, session_date, book_id, book_type, session_count,
+                                                    total_duration_seconds, total_progress_delta, first_start_time, last_end_time)
+            SELECT rs.user_id, DATE(rs.start_time), rs.book_id, rs.book_type, 1,
+                   rs.duration_seconds, rs.progress_delta, rs.start_time, rs.end_time
+            FROM reading_sessions rs
+            WHERE rs.id = :sessionId
+            ON DUPLICATE KEY UPDATE
+                session_count = reading_session_book_daily.session_count + 1,
+                total_duration_seconds = reading_session_book_daily.total_duration_seconds + VALUES(total_duration_seconds),
+                total_progress_delta = reading_session_book_daily.total_progress_delta + VALUES(total_progress_delta),
+                first_start_time = LEAST(reading_session_book_daily.first_start_time, VALUES(first_start_time)),
+                last_end_time = GREATEST(reading_session_book_daily.last_end_time, VALUES(last_end_time))
+            """, nativeQuery = true)
+    void addSession(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @Query(value = "DELETE FROM reading_session_book_daily WHERE user_id IN (:userIds)", nativeQuery = true)
+    void deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO reading_session_book_daily (user_id, session_date, book_id, book_type, session_count,
+                                                    total_duration_seconds, total_progress_delta, first_start_time, last_end_time)
+            SELECT rs.user_id, DATE(rs.start_time), rs.book_id, rs.book_type, COUNT(*),
+                   SUM(rs.duration_seconds), SUM(rs.progress_delta), MIN(rs.start_time), MAX(rs.end_time)
+            FROM reading_sessions rs
+            WHERE rs.user_id IN (:userIds)
+            GROUP BY rs.user_id, DATE(rs.start_time), rs.book_id, rs.book_type
+            """, nativeQuery = true)
+    void rebuildForUsers(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,79 @@
+package com.adityachandel.booklore.repository;
+
+import com.adityachandel.booklore.model.dto.ReadingSessionCountDto;
+import com.adityachandel.booklore.model.entity.ReadingSessionUserDailyEntity;
+import com.adityachandel.booklore.model.entity.ReadingSessionUserDailyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReadingSessionUserDailyRepository extends JpaRepository<ReadingSessionUserDailyEntity, ReadingSessionUserDailyKey> {
+
+    @Query("""
+            SELECT d.sessionDate as date, d.sessionCount as count
+            FROM ReadingSessionUserDailyEntity d
+            WHERE d.userId = :userId
+            AND d.sessionDate BETWEEN :from AND :to
+            ORDER BY d.sessionDate
+            """)
+    List<ReadingSessionCountDto> findSessionCountsByUserAndDateRange(@Param("userId") Long userId,
+                                                                     @Param("from") LocalDate from,
+                                                                     @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO reading_session_user_daily (user_id, session_date, session_count, total_duration_seconds, total_progress_delta)
+            SELECT rs.user_id, DATE(rs.start_time), 1, rs.duration_seconds, rs.progress_delta
+            FROM reading_sessions rs
+            WHERE rs.id = :sessionId
+            ON DUPLICATE KEY UPDATE
+                session_count = reading_session_user_daily.session_count + 1,
+                total_duration_seconds = reading_session_user_daily.total_duration_seconds + VALUES(total_duration_seconds),
+                total_progress_delta = reading_session_user_daily.total_progress_delta + VALUES(total_progress_delta)
+            """, nativeQuery = true)
+    void addSession(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE reading_session_user_daily d
+            JOIN (SELECT rs.user_id, DATE(rs.start_time) AS session_date, COUNT(*) AS session_count,
+                         SUM(rs.duration_seconds) AS duration_seconds, SUM(rs.progress_delta) AS progress_delta
+                  FROM reading_sessions rs
+                  WHERE rs.book_id IN (:bookIds)
+                  GROUP BY rs.user_id, DATE(rs.start_time)) removed
+                ON removed.user_id = d.user_id AND removed.session_date = d.session_date
+            SET d.session_count = d.session_count - removed.session_count,
+                d.total_duration_seconds = d.total_duration_seconds - removed.duration_seconds,
+                d.total_progress_delta = d.total_progress_delta - removed.progress_delta
+            """, nativeQuery = true)
+    void subtractBooks(@Param("bookIds") Collection<Long> bookIds);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM reading_session_user_daily
+            WHERE session_count <= 0
+            AND user_id IN (SELECT rs.user_id FROM reading_sessions rs WHERE rs.book_id IN (:bookIds))
+            """, nativeQuery = true)
+    void deleteEmptiedByBooks(@Param("bookIds") Collection<Long> bookIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM reading_session_user_daily WHERE user_id IN (:userIds)", nativeQuery = true)
+    void deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO reading_session_user_daily (user_id, session_date, session_count, total_duration_seconds, total_progress_delta)
+            SELECT rs.user_id, DATE(rs.start_time), COUNT(*), SUM(rs.duration_seconds), SUM(rs.progress_delta)
+            FROM reading_sessions rs
+            WHERE rs.user_id IN (:userIds)
+            GROUP BY rs.user_id, DATE(rs.start_time)
+            """, nativeQuery = true)
+    void rebuildForUsers(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,79 @@
+package com.adityachandel.booklore.repository;
+
+import com.adityachandel.booklore.model.entity.ReadingSessionUserTotalsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ReadingSessionUserTotalsRepository extends JpaRepository<ReadingSessionUserTotalsEntity, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO reading_session_user_totals (user_id, session_count, total_duration_seconds, total_progress_delta,
+                                                     first_start_time, last_end_time)
+            SELECT rs.user_id, 1, rs.duration_seconds, rs.progress_delta, rs.start_time, rs.end_time
+            FROM reading_sessions rs
+            WHERE rs.id = :sessionId
+            ON DUPLICATE KEY UPDATE
+                session_count = reading_session_user_totals.session_count + 1,
+                total_duration_seconds = reading_session_user_totals.total_duration_seconds + VALUES(total_duration_seconds),
+                total_progress_delta = reading_session_user_totals.total_progress_delta + VALUES(total_progress_delta),
+                first_start_time = LEAST(reading_session_user_totals.first_start_time, VALUES(first_start_time)),
+                last_end_time = GREATEST(reading_session_user_totals.last_end_time, VALUES(last_end_time))
+            """, nativeQuery = true)
+    void addSession(@Param("sessionId") Long sessionId);
+
+    /**
+     * Takes the sessions of the given books out of their readers' totals. The first start and last end time are
+     * looked up again in the per-book rollup only when one of the removed sessions defined them.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE reading_session_user_totals t
+            JOIN (SELECT rs.user_id, COUNT(*) AS session_count, SUM(rs.duration_seconds) AS duration_seconds,
+                         SUM(rs.progress_delta) AS progress_delta, MIN(rs.start_time) AS first_start_time,
+                         MAX(rs.end_time) AS last_end_time
+                  FROM reading_sessions rs
+                  WHERE rs.book_id IN (:bookIds)
+                  GROUP BY rs.user_id) removed
+                ON removed.user_id = t.user_id
+            SET t.session_count = t.session_count - removed.session_count,
+                t.total_duration_seconds = t.total_duration_seconds - removed.duration_seconds,
+                t.total_progress_delta = t.total_progress_delta - removed.progress_delta,
+                t.first_start_time = IF(removed.first_start_time > t.first_start_time, t.first_start_time,
+                    COALESCE((SELECT MIN(bd.first_start_time) FROM reading_session_book_daily bd
+                              WHERE bd.user_id = t.user_id AND bd.book_id NOT IN (:bookIds)), t.first_start_time)),
+                t.last_end_time = IF(removed.last_end_time < t.last_end_time, t.last_end_time,
+                    COALESCE((SELECT MAX(bd.last_end_time) FROM reading_session_book_daily bd
+                              WHERE bd.user_id = t.user_id AND bd.book_id NOT IN (:bookIds)), t.last_end_time))
+            """, nativeQuery = true)
+    void subtractBooks(@Param("bookIds") Collection<Long> bookIds);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM reading_session_user_totals
+            WHERE session_count <= 0
+            AND user_id IN (SELECT rs.user_id FROM reading_sessions rs WHERE rs.book_id IN (:bookIds))
+            """, nativeQuery = true)
+    void deleteEmptiedByBooks(@Param("bookIds") Collection<Long> bookIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM reading_session_user_totals WHERE user_id IN (:userIds)", nativeQuery = true)
+    void deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO reading_session_user_totals (user_id, session_count, total_duration_seconds, total_progress_delta,
+                                                     first_start_time, last_end_time)
+            SELECT rs.user_id, COUNT(*), SUM(rs.duration_seconds), SUM(rs.progress_delta), MIN(rs.start_time), MAX(rs.end_time)
+            FROM reading_sessions rs
+            WHERE rs.user_id IN (:userIds)
+            GROUP BY rs.user_id
+            """, nativeQuery = true)
+    void rebuildForUsers(@Param("userIds") Collection<Long> userIds);
+}
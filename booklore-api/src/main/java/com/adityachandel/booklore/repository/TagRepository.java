@@ -4,6 +4,8 @@ import com.adityachandel.booklore.model.entity.TagEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,6 @@ public interface TagRepository extends JpaRepository<TagEntity, Long> {
     Optional<TagEntity> findByName(String tagName);
 
     Optional<TagEntity> findByNameIgnoreCase(String tagName);
+
+    List<TagEntity> findAllByNameIn(Collection<String> tagNames);
 }
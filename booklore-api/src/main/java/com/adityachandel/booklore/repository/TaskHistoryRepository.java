@@ -1,10 +1,13 @@
 package com.adityachandel.booklore.repository;
 
 import com.adityachandel.booklore.model.entity.TaskHistoryEntity;
+import com.adityachandel.booklore.task.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +17,6 @@ public interface TaskHistoryRepository extends JpaRepository<TaskHistoryEntity,
            "(SELECT MAX(t2.createdAt) FROM TaskHistoryEntity t2 WHERE t2.type = t.type) " +
            "ORDER BY t.createdAt DESC")
     List<TaskHistoryEntity> findLatestTaskForEachType();
+
+    List<TaskHistoryEntity> findByStatusInAndCreatedAtBeforeOrderByCreatedAtAsc(Collection<TaskStatus> statuses, LocalDateTime createdBefore);
 }
@@ -4,9 +4,13 @@ import com.adityachandel.booklore.config.AppProperties;
 import com.adityachandel.booklore.exception.ApiError;
 import com.adityachandel.booklore.model.dto.request.SvgIconCreateRequest;
 import com.adityachandel.booklore.model.dto.response.SvgIconBatchResponse;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.cluster.ClusterMessageEvent;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -31,9 +35,11 @@ public class IconService {
 
     private static final Pattern INVALID_FILENAME_CHARS_PATTERN = Pattern.compile("[^a-zA-Z0-9._-]");
     private final AppProperties appProperties;
+    private final ClusterEventRelay clusterEventRelay;
 
     private final ConcurrentHashMap<String, String> svgCache = new ConcurrentHashMap<>();
 
+    private static final String CACHE_NAME = "svg-icons";
     private static final String ICONS_DIR = "icons";
     private static final String SVG_DIR = "svg";
     private static final String SVG_EXTENSION = ".svg";
@@ -47,6 +53,10 @@ public class IconService {
         try {
             Path iconsPath = getIconsSvgPath();
             if (Files.exists(iconsPath)) {
+                if (appProperties.getStartup().isFast()) {
+                    log.info("Fast startup, SVG icons will be loaded on first use");
+                    return;
+                }
                 loadIconsIntoCache();
                 log.info("Loaded {} SVG icons into cache", svgCache.size());
             } else {
@@ -93,6 +103,7 @@ public class IconService {
                     StandardOpenOption.TRUNCATE_EXISTING);
 
             updateCache(filename, request.getSvgData());
+            clusterEventRelay.publish(ClusterEventType.CACHE_INVALIDATION, CACHE_NAME, filename);
 
             log.info("SVG icon saved successfully: {}", filename);
         } catch (IOException e) {
@@ -179,6 +190,7 @@ public class IconService {
 
             Files.delete(filePath);
             svgCache.remove(filename);
+            clusterEventRelay.publish(ClusterEventType.CACHE_INVALIDATION, CACHE_NAME, filename);
 
             log.info("SVG icon deleted successfully: {}", filename);
         } catch (IOException e) {
@@ -223,6 +235,13 @@ public class IconService {
         return new PageImpl<>(pageContent, PageRequest.of(page, size), totalElements);
     }
 
+    @EventListener
+    public void onClusterMessage(ClusterMessageEvent event) {
+        if (event.getType() == ClusterEventType.CACHE_INVALIDATION && CACHE_NAME.equals(event.getTarget()) && event.getPayload() != null) {
+            svgCache.remove(event.getPayload());
+        }
+    }
+
     private void updateCache(String filename, String content) {
         if (!svgCache.containsKey(filename) && svgCache.size() >= MAX_CACHE_SIZE) {
             String firstKey = svgCache.keys().nextElement();
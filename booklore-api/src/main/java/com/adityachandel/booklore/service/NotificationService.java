@@ -6,9 +6,11 @@ import com.adityachandel.booklore.model.entity.UserPermissionsEntity;
 import com.adityachandel.booklore.model.enums.PermissionType;
 import com.adityachandel.booklore.model.websocket.Topic;
 import com.adityachandel.booklore.repository.UserRepository;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.event.LibraryContentChangedEvent;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.EnumSet;
@@ -22,11 +24,16 @@ import static com.adityachandel.booklore.util.UserPermissionUtils.hasPermission;
 @AllArgsConstructor
 public class NotificationService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private static final Set<Topic> CONTENT_TOPICS = EnumSet.of(
+            Topic.BOOK_ADD, Topic.BOOK_UPDATE, Topic.BOOKS_REMOVE, Topic.BOOK_METADATA_UPDATE, Topic.BOOK_METADATA_BATCH_UPDATE);
+
+    private final ClusterEventRelay clusterEventRelay;
     private final AuthenticationService authenticationService;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void sendMessage(Topic topic, Object message) {
+        publishContentChange(topic);
         try {
             var user = authenticationService.getAuthenticatedUser();
             if (user == null) {
@@ -34,13 +41,14 @@ public class NotificationService {
                 return;
             }
             String username = user.getUsername();
-            messagingTemplate.convertAndSendToUser(username, topic.getPath(), message);
+            clusterEventRelay.sendToUser(username, topic.getPath(), message);
         } catch (Exception e) {
             log.error("Error sending message to topic {}: {}", topic, e.getMessage(), e);
         }
     }
 
     public void sendMessageToPermissions(Topic topic, Object message, Set<PermissionType> permissionTypes) {
+        publishContentChange(topic);
         if (permissionTypes == null || permissionTypes.isEmpty()) return;
 
         Set<PermissionType> permissionSet = EnumSet.noneOf(PermissionType.class);
@@ -53,7 +61,7 @@ public class NotificationService {
                 if (perms != null) {
                     for (PermissionType p : permissionSet) {
                         if (hasPermission(perms, p)) {
-                            messagingTemplate.convertAndSendToUser(user.getUsername(), topic.getPath(), message);
+                            clusterEventRelay.sendToUser(user.getUsername(), topic.getPath(), message);
                             break;
                         }
                     }
@@ -63,4 +71,14 @@ public class NotificationService {
             log.error("Error sending message to users with permissions {}: {}", permissionSet, e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Book add, update and remove notifications are sent wherever library contents change, so they double as the
+     * signal for caches derived from those contents.
+     */
+    private void publishContentChange(Topic topic) {
+        if (CONTENT_TOPICS.contains(topic)) {
+            eventPublisher.publishEvent(new LibraryContentChangedEvent(this));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.adityachandel.booklore.service;
+
+import com.adityachandel.booklore.repository.ReadingSessionBookDailyRepository;
+import com.adityachandel.booklore.repository.ReadingSessionUserDailyRepository;
+import com.adityachandel.booklore.repository.ReadingSessionUserTotalsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Maintains the pre-aggregated reading session tables (per user and day, per user, book and day, and per user
+ * lifetime) that the heatmap, timeline and reading stats read instead of scanning {@code reading_sessions}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReadingSessionRollupService {
+
+    private final ReadingSessionUserDailyRepository userDailyRepository;
+    private final ReadingSessionBookDailyRepository bookDailyRepository;
+    private final ReadingSessionUserTotalsRepository userTotalsRepository;
+
+    /**
+     * Adds an already persisted session to every rollup. Must run in the transaction that inserted the session.
+     */
+    @Transactional
+    public void addSession(Long sessionId) {
+        userDailyRepository.addSession(sessionId);
+        bookDailyRepository.addSession(sessionId);
+        userTotalsRepository.addSession(sessionId);
+    }
+
+    /**
+     * Takes the sessions of the given books out of their readers' daily and lifetime rollups, with set-based updates
+     * that leave every other book's contribution alone. Must run in the transaction that deletes those sessions,
+     * before it does. The per-book rollup needs nothing here: its rows go with the book.
+     */
+    @Transactional
+    public void removeBooks(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) return;
+        userDailyRepository.subtractBooks(bookIds);
+        userTotalsRepository.subtractBooks(bookIds);
+        userDailyRepository.deleteEmptiedByBooks(bookIds);
+        userTotalsRepository.deleteEmptiedByBooks(bookIds);
+    }
+
+    /**
+     * Recomputes the rollups of the given users from their raw sessions.
+     */
+    @Transactional
+    public void rebuildForUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        userDailyRepository.deleteByUserIds(userIds);
+        bookDailyRepository.deleteByUserIds(userIds);
+        userTotalsRepository.deleteByUserIds(userIds);
+        userDailyRepository.rebuildForUsers(userIds);
+        bookDailyRepository.rebuildForUsers(userIds);
+        userTotalsRepository.rebuildForUsers(userIds);
+    }
+}
@@ -10,7 +10,9 @@ import com.adityachandel.booklore.model.entity.BookEntity;
 import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
 import com.adityachandel.booklore.model.entity.ReadingSessionEntity;
 import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.ReadingSessionBookDailyRepository;
 import com.adityachandel.booklore.repository.ReadingSessionRepository;
+import com.adityachandel.booklore.repository.ReadingSessionUserDailyRepository;
 import com.adityachandel.booklore.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +20,9 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,6 +35,9 @@ public class ReadingSessionService {
     private final ReadingSessionRepository readingSessionRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
+    private final ReadingSessionRollupService readingSessionRollupService;
+    private final ReadingSessionUserDailyRepository userDailyRepository;
+    private final ReadingSessionBookDailyRepository bookDailyRepository;
 
     @Transactional
     public void recordSession(ReadingSessionRequest request) {
@@ -54,6 +62,7 @@ public class ReadingSessionService {
                 .build();
 
         readingSessionRepository.save(session);
+        readingSessionRollupService.addSession(session.getId());
 
         log.info("Reading session persisted successfully: sessionId={}, userId={}, bookId={}, duration={}s", session.getId(), userId, request.getBookId(), request.getDurationSeconds());
     }
@@ -63,7 +72,7 @@ public class ReadingSessionService {
         BookLoreUser authenticatedUser = authenticationService.getAuthenticatedUser();
         Long userId = authenticatedUser.getId();
 
-        return readingSessionRepository.findSessionCountsByUserAndYear(userId, year)
+        return userDailyRepository.findSessionCountsByUserAndDateRange(userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))
                 .stream()
                 .map(dto -> ReadingSessionHeatmapResponse.builder()
                         .date(dto.getDate())
@@ -77,7 +86,12 @@ public class ReadingSessionService {
         BookLoreUser authenticatedUser = authenticationService.getAuthenticatedUser();
         Long userId = authenticatedUser.getId();
 
-        return readingSessionRepository.findSessionTimelineByUserAndWeek(userId, year, week)
+        LocalDate[] range = weekRange(year, week);
+        if (range == null) {
+            return List.of();
+        }
+
+        return bookDailyRepository.findTimelineByUserAndDateRange(userId, range[0], range[1])
                 .stream()
                 .map(dto -> ReadingSessionTimelineResponse.builder()
                         .bookId(dto.getBookId())
@@ -90,4 +104,27 @@ public class ReadingSessionService {
                         .build())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Date range of a week as numbered by MySQL's {@code WEEK(date)} (mode 0): weeks start on Sunday, days before
+     * the year's first Sunday are week 0, and the range is clamped to the year. Returns null for an empty week.
+     */
+    static LocalDate[] weekRange(int year, int week) {
+        if (week < 0 || week > 53) {
+            return null;
+        }
+        LocalDate firstDay = LocalDate.of(year, 1, 1);
+        LocalDate lastDay = LocalDate.of(year, 12, 31);
+        LocalDate firstSunday = firstDay.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+
+        LocalDate from = week == 0 ? firstDay : firstSunday.plusWeeks(week - 1L);
+        LocalDate to = week == 0 ? firstSunday.minusDays(1) : from.plusDays(6);
+        if (to.isAfter(lastDay)) {
+            to = lastDay;
+        }
+        if (from.isAfter(to)) {
+            return null;
+        }
+        return new LocalDate[]{from, to};
+    }
 }
@@ -6,12 +6,16 @@ import com.adityachandel.booklore.model.dto.BookLoreUser;
 import com.adityachandel.booklore.model.dto.request.MetadataRefreshOptions;
 import com.adityachandel.booklore.model.dto.settings.*;
 import com.adityachandel.booklore.model.entity.AppSettingEntity;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
 import com.adityachandel.booklore.model.enums.PermissionType;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.cluster.ClusterMessageEvent;
 import com.adityachandel.booklore.util.UserPermissionUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.transaction.Transactional;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -23,17 +27,21 @@ import java.util.stream.Collectors;
 @Service
 public class AppSettingService {
 
+    static final String CACHE_NAME = "app-settings";
+
     private final AppProperties appProperties;
     private final SettingPersistenceHelper settingPersistenceHelper;
     private final AuthenticationService authenticationService;
+    private final ClusterEventRelay clusterEventRelay;
 
     private volatile AppSettings appSettings;
     private final ReentrantLock lock = new ReentrantLock();
 
-    public AppSettingService(AppProperties appProperties, SettingPersistenceHelper settingPersistenceHelper, @Lazy AuthenticationService authenticationService) {
+    public AppSettingService(AppProperties appProperties, SettingPersistenceHelper settingPersistenceHelper, @Lazy AuthenticationService authenticationService, ClusterEventRelay clusterEventRelay) {
         this.appProperties = appProperties;
         this.settingPersistenceHelper = settingPersistenceHelper;
         this.authenticationService = authenticationService;
+        this.clusterEventRelay = clusterEventRelay;
     }
 
     public AppSettings getAppSettings() {
@@ -64,6 +72,19 @@ public class AppSettingService {
         setting.setVal(settingPersistenceHelper.serializeSettingValue(key, val));
         settingPersistenceHelper.appSettingsRepository.save(setting);
         refreshCache();
+        clusterEventRelay.publish(ClusterEventType.CACHE_INVALIDATION, CACHE_NAME, key.toString());
+    }
+
+    @EventListener
+    public void onClusterMessage(ClusterMessageEvent event) {
+        if (event.getType() == ClusterEventType.CACHE_INVALIDATION && CACHE_NAME.equals(event.getTarget())) {
+            lock.lock();
+            try {
+                appSettings = null;
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
     private void validatePermission(AppSettingKey key, BookLoreUser user) {
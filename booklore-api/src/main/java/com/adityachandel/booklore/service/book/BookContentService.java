@@ -0,0 +1,131 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.exception.ApiError;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.enums.BookFileType;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.util.FileRegionWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Serves book files to the web readers straight from disk. Supports single byte ranges (with {@code If-Range}) so
+ * readers can fetch only what they display, and a strong ETag built from the book hash, size and modification time
+ * for {@code 304} revalidation. The body is written by {@link FileRegionWriter}, so the file is never held on the
+ * heap.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookContentService {
+
+    private final BookRepository bookRepository;
+
+    public void streamBookContent(long bookId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BookEntity bookEntity = bookRepository.findById(bookId).orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(bookId));
+        Path file = bookEntity.getFullFilePath().toAbsolutePath().normalize();
+        if (!Files.isRegularFile(file)) {
+            throw ApiError.FILE_NOT_FOUND.createException(file.getFileName());
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String eTag = eTag(bookEntity.getCurrentHash(), length, lastModified);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, eTag, lastModified)) {
+            HttpRange range = parseSingleRange(rangeHeader);
+            if (range != null) {
+                start = range.getRangeStart(length);
+                if (start >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                end = range.getRangeEnd(length);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType(bookEntity.getBookType()).toString());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+        FileRegionWriter.write(file, start, count, request, response);
+    }
+
+    /**
+     * Strong validator for a book file. The size and modification time are included because the book hash only
+     * samples parts of the file.
+     */
+    public static String eTag(String bookHash, long length, long lastModified) {
+        String version = Long.toHexString(length) + "-" + Long.toHexString(lastModified);
+        return "\"" + (bookHash != null ? bookHash + "-" + version : version) + "\"";
+    }
+
+    /**
+     * A range is only honoured when {@code If-Range} is absent or still names the current representation: a strong
+     * ETag match, or a date equal to the file's modification time.
+     */
+    private boolean ifRangeMatches(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Multiple or malformed ranges are answered with the whole file, which the spec allows.
+     */
+    private HttpRange parseSingleRange(String rangeHeader) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed range '{}': {}", rangeHeader, e.getMessage());
+            return null;
+        }
+    }
+
+    private MediaType contentType(BookFileType bookType) {
+        if (bookType == BookFileType.PDF) {
+            return MediaType.APPLICATION_PDF;
+        }
+        if (bookType == BookFileType.EPUB) {
+            return MediaType.parseMediaType("application/epub+zip");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+}
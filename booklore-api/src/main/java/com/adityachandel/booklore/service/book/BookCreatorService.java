@@ -5,10 +5,10 @@ import com.adityachandel.booklore.model.entity.*;
 import com.adityachandel.booklore.model.enums.BookFileType;
 import com.adityachandel.booklore.repository.*;
 import com.adityachandel.booklore.service.file.FileFingerprint;
+import com.adityachandel.booklore.service.metadata.MetadataDictionaryService;
 import com.adityachandel.booklore.util.FileUtils;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -19,10 +19,9 @@ import java.util.*;
 @AllArgsConstructor
 public class BookCreatorService {
 
-    private final AuthorRepository authorRepository;
-    private final CategoryRepository categoryRepository;
     private final BookRepository bookRepository;
     private final BookMetadataRepository bookMetadataRepository;
+    private final MetadataDictionaryService metadataDictionaryService;
 
     public BookEntity createShellBook(LibraryFile libraryFile, BookFileType bookFileType) {
         Optional<BookEntity> existingBookOpt = bookRepository.findByLibraryIdAndLibraryPathIdAndFileSubPathAndFileName(
@@ -67,35 +66,18 @@ public class BookCreatorService {
         if (bookEntity.getMetadata().getCategories() == null) {
             bookEntity.getMetadata().setCategories(new HashSet<>());
         }
-        categories.stream()
-                .map(cat -> truncate(cat, 255))
-                .map(truncated -> categoryRepository.findByName(truncated)
-                        .orElseGet(() -> categoryRepository.save(CategoryEntity.builder().name(truncated).build())))
-                .forEach(catEntity -> bookEntity.getMetadata().getCategories().add(catEntity));
+        bookEntity.getMetadata().getCategories().addAll(metadataDictionaryService.categories().resolve(categories));
     }
 
     public void addAuthorsToBook(Set<String> authors, BookEntity bookEntity) {
         if (bookEntity.getMetadata().getAuthors() == null) {
             bookEntity.getMetadata().setAuthors(new HashSet<>());
         }
-        authors.stream()
-                .map(authorName -> truncate(authorName, 255))
-                .map(authorName -> authorRepository.findByName(authorName)
-                        .orElseGet(() -> authorRepository.save(AuthorEntity.builder().name(authorName).build())))
-                .forEach(authorEntity -> bookEntity.getMetadata().getAuthors().add(authorEntity));
+        bookEntity.getMetadata().getAuthors().addAll(metadataDictionaryService.authors().resolve(authors));
         bookEntity.getMetadata().updateSearchText(); // Manually trigger search text update since collection modification doesn't trigger @PreUpdate
     }
 
-    private String truncate(String input, int maxLength) {
-        if (input == null)
-            return null;
-        return input.length() <= maxLength ? input : input.substring(0, maxLength);
-    }
-
     public void saveConnections(BookEntity bookEntity) {
-        if (bookEntity.getMetadata().getAuthors() != null && !bookEntity.getMetadata().getAuthors().isEmpty()) {
-            authorRepository.saveAll(bookEntity.getMetadata().getAuthors());
-        }
         bookRepository.save(bookEntity);
         bookMetadataRepository.save(bookEntity.getMetadata());
     }
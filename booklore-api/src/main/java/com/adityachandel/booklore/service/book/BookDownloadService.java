@@ -6,9 +6,13 @@ import com.adityachandel.booklore.model.entity.BookEntity;
 import com.adityachandel.booklore.model.enums.BookFileType;
 import com.adityachandel.booklore.repository.BookRepository;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import com.adityachandel.booklore.service.cache.DiskCacheManager;
+import com.adityachandel.booklore.service.cache.DiskCacheRegion;
 import com.adityachandel.booklore.service.kobo.KepubConversionService;
 import com.adityachandel.booklore.service.kobo.CbxConversionService;
+import com.adityachandel.booklore.util.FileService;
 import com.adityachandel.booklore.util.FileUtils;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +22,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.FileSystemUtils;
 
 import java.io.File;
@@ -30,7 +35,9 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Slf4j
 @AllArgsConstructor
@@ -38,11 +45,21 @@ import java.util.regex.Pattern;
 public class BookDownloadService {
 
     private static final Pattern NON_ASCII_PATTERN = Pattern.compile("[^\\x00-\\x7F]");
+    public static final String CONVERSION_CACHE_REGION = "conversion";
+    private static final long CONVERSION_CACHE_BUDGET_BYTES = 2048L * 1024L * 1024L;
 
     private final BookRepository bookRepository;
     private final KepubConversionService kepubConversionService;
     private final CbxConversionService cbxConversionService;
     private final AppSettingService appSettingService;
+    private final FileService fileService;
+    private final DiskCacheManager diskCacheManager;
+
+    @PostConstruct
+    public void registerCache() {
+        diskCacheManager.register(new DiskCacheRegion(CONVERSION_CACHE_REGION, Path.of(fileService.getConversionCachePath()),
+                () -> CONVERSION_CACHE_BUDGET_BYTES));
+    }
 
     public ResponseEntity<Resource> downloadBook(Long bookId) {
         try {
@@ -102,7 +119,16 @@ public class BookDownloadService {
             File inputFile = new File(FileUtils.getBookFullPath(bookEntity));
             File fileToSend = inputFile;
 
+            String cacheId = null;
             if (convertCbxToEpub || convertEpubToKepub) {
+                cacheId = conversionCacheId(bookEntity, koboSettings, convertCbxToEpub);
+                File cached = findCachedConversion(cacheId);
+                if (cached != null) {
+                    setResponseHeaders(response, cached);
+                    streamFileToResponse(cached, response);
+                    log.info("Streamed cached conversion {} ({} bytes) to client", cached.getName(), cached.length());
+                    return;
+                }
                 tempDir = Files.createTempDirectory("kobo-conversion");
             }
 
@@ -115,6 +141,10 @@ public class BookDownloadService {
                     koboSettings.isForceEnableHyphenation());
             }
 
+            if (cacheId != null) {
+                fileToSend = storeConversion(cacheId, fileToSend);
+            }
+
             setResponseHeaders(response, fileToSend);
             streamFileToResponse(fileToSend, response);
 
@@ -128,6 +158,53 @@ public class BookDownloadService {
         }
     }
 
+    /**
+     * Converted books are kept per book file version and conversion settings, so sending the same book to a Kobo
+     * again skips the conversion.
+     */
+    private String conversionCacheId(BookEntity bookEntity, KoboSettings koboSettings, boolean cbxToEpub) {
+        String source = String.join("|",
+                String.valueOf(bookEntity.getCurrentHash()),
+                String.valueOf(bookEntity.getFileSizeKb()),
+                cbxToEpub ? "cbx-epub" : "epub-kepub",
+                String.valueOf(koboSettings.isForceEnableHyphenation()),
+                String.valueOf(koboSettings.getConversionImageCompressionPercentage()));
+        return bookEntity.getId() + "-" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    }
+
+    private File findCachedConversion(String cacheId) {
+        Path entryDir = Path.of(fileService.getConversionCachePath(), cacheId);
+        if (!Files.isDirectory(entryDir)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(entryDir)) {
+            Path cached = files.filter(Files::isRegularFile).findFirst().orElse(null);
+            if (cached == null) {
+                return null;
+            }
+            if (!diskCacheManager.touch(CONVERSION_CACHE_REGION, cacheId)) {
+                diskCacheManager.admit(CONVERSION_CACHE_REGION, cacheId, Files.size(cached));
+            }
+            return cached.toFile();
+        } catch (IOException e) {
+            log.warn("Failed to read cached conversion {}: {}", cacheId, e.getMessage());
+            return null;
+        }
+    }
+
+    private File storeConversion(String cacheId, File converted) {
+        Path entryDir = Path.of(fileService.getConversionCachePath(), cacheId);
+        try {
+            Files.createDirectories(entryDir);
+            Path target = Files.move(converted.toPath(), entryDir.resolve(converted.getName()), StandardCopyOption.REPLACE_EXISTING);
+            diskCacheManager.admit(CONVERSION_CACHE_REGION, cacheId, Files.size(target));
+            return target.toFile();
+        } catch (IOException e) {
+            log.warn("Failed to cache conversion {}: {}", cacheId, e.getMessage());
+            return converted;
+        }
+    }
+
     private void setResponseHeaders(HttpServletResponse response, File file) {
         response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
         response.setContentLengthLong(file.length());
@@ -0,0 +1,271 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.model.enums.PermissionType;
+import com.adityachandel.booklore.model.enums.TaskType;
+import com.adityachandel.booklore.model.websocket.LogNotification;
+import com.adityachandel.booklore.model.websocket.TaskProgressPayload;
+import com.adityachandel.booklore.model.websocket.Topic;
+import com.adityachandel.booklore.repository.BookFileCleanupRepository;
+import com.adityachandel.booklore.service.NotificationService;
+import com.adityachandel.booklore.service.cache.DiskCacheManager;
+import com.adityachandel.booklore.service.file.FileMoveHelper;
+import com.adityachandel.booklore.service.monitoring.MonitoringRegistrationService;
+import com.adityachandel.booklore.service.reader.CbxReaderService;
+import com.adityachandel.booklore.service.reader.PdfReaderService;
+import com.adityachandel.booklore.task.TaskStatus;
+import com.adityachandel.booklore.util.FileService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cleans up after deleted books on a background thread: the book file and any folders it leaves empty, the cover and
+ * metadata backup folders, and cached covers and reader pages. Jobs that fail (a locked file, a share that is briefly
+ * unavailable) are retried with a growing delay; whatever still fails after {@value #MAX_ATTEMPTS} attempts is
+ * reported to admins. Large batches report their progress as a task.
+ * <p>
+ * Book files still to be removed are recorded in {@code book_file_cleanup} in the transaction that deletes their books,
+ * so library scans skip them, and a restart picks them up again. A record goes once its file is gone.
+ */
+@Slf4j
+@Service
+public class BookFileJanitor {
+
+    static final int MAX_ATTEMPTS = 3;
+    static final long RETRY_DELAY_MS = 5_000;
+    static final int PROGRESS_INTERVAL = 100;
+
+    /**
+     * Cleanup for one deleted book. {@code bookFile} and {@code libraryRoot} are null when the file is left alone, for
+     * instance because it is already gone.
+     */
+    public record Job(long bookId, Path bookFile, Path libraryRoot) {
+    }
+
+    private final FileService fileService;
+    private final CoverImageCache coverImageCache;
+    private final DiskCacheManager diskCacheManager;
+    private final FileMoveHelper fileMoveHelper;
+    private final MonitoringRegistrationService monitoringRegistrationService;
+    private final NotificationService notificationService;
+    private final BookFileCleanupRepository bookFileCleanupRepository;
+    private final ScheduledExecutorService executor;
+
+    public BookFileJanitor(FileService fileService,
+                           CoverImageCache coverImageCache,
+                           DiskCacheManager diskCacheManager,
+                           FileMoveHelper fileMoveHelper,
+                           MonitoringRegistrationService monitoringRegistrationService,
+                           NotificationService notificationService,
+                           BookFileCleanupRepository bookFileCleanupRepository) {
+        this(fileService, coverImageCache, diskCacheManager, fileMoveHelper, monitoringRegistrationService, notificationService,
+                bookFileCleanupRepository, Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "book-file-janitor");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    BookFileJanitor(FileService fileService,
+                    CoverImageCache coverImageCache,
+                    DiskCacheManager diskCacheManager,
+                    FileMoveHelper fileMoveHelper,
+                    MonitoringRegistrationService monitoringRegistrationService,
+                    NotificationService notificationService,
+                    BookFileCleanupRepository bookFileCleanupRepository,
+                    ScheduledExecutorService executor) {
+        this.fileService = fileService;
+        this.coverImageCache = coverImageCache;
+        this.diskCacheManager = diskCacheManager;
+        this.fileMoveHelper = fileMoveHelper;
+        this.monitoringRegistrationService = monitoringRegistrationService;
+        this.notificationService = notificationService;
+        this.bookFileCleanupRepository = bookFileCleanupRepository;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the book files that were still waiting to be removed when the application last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        try {
+            List<Job> pending = bookFileCleanupRepository.findAll().stream()
+                    .map(cleanup -> new Job(cleanup.getBookId(), Path.of(cleanup.getFilePath()), Path.of(cleanup.getLibraryRoot())))
+                    .toList();
+            if (!pending.isEmpty()) {
+                log.info("Resuming file cleanup for {} deleted books", pending.size());
+                submit(pending);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to resume pending file cleanup: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues the jobs and returns immediately. Only call this once the rows of these books have been committed.
+     */
+    public void submit(List<Job> jobs) {
+        if (jobs == null || jobs.isEmpty()) {
+            return;
+        }
+        List<Job> batch = List.copyOf(jobs);
+        String taskId = batch.size() >= PROGRESS_INTERVAL ? UUID.randomUUID().toString() : null;
+        executor.execute(() -> run(batch, 1, taskId));
+    }
+
+    /**
+     * Makes the first attempt at deleting the book files on the calling thread, then queues the rest of the cleanup,
+     * including retries for the files that are still there. Returns the ids of those books.
+     */
+    public List<Long> deleteFilesAndSubmit(List<Job> jobs) {
+        if (jobs == null || jobs.isEmpty()) {
+            return List.of();
+        }
+        List<Long> failed = new ArrayList<>();
+        List<Job> remaining = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            if (deleteBookFile(job, 1)) {
+                remaining.add(new Job(job.bookId(), null, null));
+            } else {
+                failed.add(job.bookId());
+                remaining.add(job);
+            }
+        }
+        submit(remaining);
+        return failed;
+    }
+
+    void run(List<Job> jobs, int attempt, String taskId) {
+        List<Job> failed = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            if (!clean(jobs.get(i), attempt)) {
+                failed.add(jobs.get(i));
+            }
+            if (taskId != null && attempt == 1 && (i + 1) % PROGRESS_INTERVAL == 0 && i + 1 < jobs.size()) {
+                sendProgress(taskId, (i + 1) * 100 / jobs.size(),
+                        "Cleaned up files for " + (i + 1) + " of " + jobs.size() + " deleted books", TaskStatus.IN_PROGRESS);
+            }
+        }
+
+        if (!failed.isEmpty() && attempt < MAX_ATTEMPTS) {
+            log.info("Retrying file cleanup for {} deleted books in {} ms", failed.size(), RETRY_DELAY_MS * attempt);
+            executor.schedule(() -> run(failed, attempt + 1, taskId), RETRY_DELAY_MS * attempt, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        if (!failed.isEmpty()) {
+            List<Long> ids = failed.stream().map(Job::bookId).toList();
+            log.warn("Gave up cleaning up files for deleted books {}", ids);
+            notify(Topic.LOG, LogNotification.warn("Some files of deleted books could not be removed; "
+                    + "library scans skip them and cleanup is retried on the next start. Books: " + ids));
+        }
+        if (taskId != null) {
+            sendProgress(taskId, 100, failed.isEmpty()
+                    ? "Cleaned up files for " + jobs.size() + " deleted books"
+                    : "Cleaned up files for deleted books, " + failed.size() + " could not be removed",
+                    failed.isEmpty() ? TaskStatus.COMPLETED : TaskStatus.FAILED);
+        }
+    }
+
+    /**
+     * Runs every step even when an earlier one fails. The steps are idempotent, so a retry simply runs the job again.
+     */
+    boolean clean(Job job, int attempt) {
+        long bookId = job.bookId();
+        boolean ok = true;
+
+        if (attempt == 1) {
+            coverImageCache.invalidate(bookId);
+            diskCacheManager.remove(CbxReaderService.CACHE_REGION, String.valueOf(bookId));
+            diskCacheManager.remove(PdfReaderService.CACHE_REGION, String.valueOf(bookId));
+        }
+
+        ok &= deleteTree(Path.of(fileService.getImagesFolder(bookId)));
+        ok &= deleteTree(Path.of(fileService.getBookMetadataBackupPath(bookId)));
+        ok &= deleteBookFile(job, attempt);
+        return ok;
+    }
+
+    private boolean deleteBookFile(Job job, int attempt) {
+        Path bookFile = job.bookFile();
+        if (bookFile == null) {
+            return true;
+        }
+        if (Files.exists(bookFile)) {
+            try {
+                monitoringRegistrationService.unregisterSpecificPath(bookFile.getParent());
+                Files.delete(bookFile);
+                log.info("Deleted book file: {}", bookFile);
+                fileMoveHelper.deleteEmptyParentDirsUpToLibraryFolders(bookFile.getParent(), Set.of(job.libraryRoot()));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to delete book file {} (attempt {}): {}", bookFile, attempt, e.getMessage());
+                return false;
+            }
+        }
+        try {
+            bookFileCleanupRepository.deleteByBookId(job.bookId());
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear the pending cleanup of book {}: {}", job.bookId(), e.getMessage());
+        }
+        return true;
+    }
+
+    private boolean deleteTree(Path root) {
+        if (!Files.exists(root)) {
+            return true;
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", root, e.getMessage());
+            return false;
+        }
+    }
+
+    private void sendProgress(String taskId, int progress, String message, TaskStatus status) {
+        notify(Topic.TASK_PROGRESS, TaskProgressPayload.builder()
+                .taskId(taskId)
+                .taskType(TaskType.CLEANUP_DELETED_BOOKS)
+                .message(message)
+                .progress(progress)
+                .taskStatus(status)
+                .build());
+    }
+
+    private void notify(Topic topic, Object message) {
+        try {
+            notificationService.sendMessageToPermissions(topic, message, Set.of(PermissionType.ADMIN));
+        } catch (Exception e) {
+            log.warn("Failed to send {} notification: {}", topic, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.model.entity.BookFileCleanupEntity;
+import com.adityachandel.booklore.service.ReadingSessionRollupService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hard-deletes books with set-based SQL instead of loading and removing entities one by one.
+ * <p>
+ * Ids are processed in chunks of {@value #CHUNK_SIZE}, each in its own short transaction. Within a chunk the rows of
+ * every table that hangs off a book are removed in dependency order, children first, so no cascade has to be resolved
+ * row by row. The books' reading sessions are subtracted from their readers' rollups in the same transaction. Once a
+ * chunk has committed, its files, covers and caches are handed to the {@link BookFileJanitor}. Book files to remove are
+ * recorded in {@code book_file_cleanup} within the chunk, so a scan never sees a file without its row or its record.
+ */
+@Slf4j
+@Service
+public class BookPurgeService {
+
+    static final int CHUNK_SIZE = 500;
+
+    /**
+     * Tables keyed by {@code book_id}, in the order they must be emptied: mappings and reviews reference
+     * {@code book_metadata}, everything else references {@code book} or nothing at all.
+     */
+    static final List<String> DEPENDENT_TABLES = List.of(
+            "book_metadata_category_mapping",
+            "book_metadata_author_mapping",
+            "book_metadata_mood_mapping",
+            "book_metadata_tag_mapping",
+            "public_book_review",
+            "book_metadata",
+            "book_award",
+            "book_shelf_mapping",
+            "user_book_progress",
+            "book_notes",
+            "book_marks",
+            "book_additional_file",
+            "reading_sessions",
+            "reading_session_book_daily",
+            "pdf_viewer_preference",
+            "new_pdf_viewer_preference",
+            "epub_viewer_preference",
+            "cbx_viewer_preference",
+            "metadata_fetch_proposals"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BookFileJanitor bookFileJanitor;
+    private final ReadingSessionRollupService readingSessionRollupService;
+    private final TransactionTemplate chunkTransaction;
+
+    public BookPurgeService(BookFileJanitor bookFileJanitor, ReadingSessionRollupService readingSessionRollupService,
+                            PlatformTransactionManager transactionManager) {
+        this.bookFileJanitor = bookFileJanitor;
+        this.readingSessionRollupService = readingSessionRollupService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Deletes the books and everything attached to them, then queues their covers, metadata backups and cached reader
+     * files for cleanup. With {@code deleteBookFiles} the book files themselves are queued too, along with any folders
+     * that become empty up to the library root. Returns the number of books deleted.
+     */
+    public int purge(Collection<Long> bookIds, boolean deleteBookFiles) {
+        return purge(bookIds, deleteBookFiles, null);
+    }
+
+    /**
+     * Deletes the books with their files, like {@link #purge(Collection, boolean)}, but makes the first attempt at removing each chunk's
+     * files before returning. Returns the ids of the books whose file is still on disk; the janitor keeps retrying
+     * those.
+     */
+    public List<Long> purgeWithFiles(Collection<Long> bookIds) {
+        List<Long> failedFileDeletions = new ArrayList<>();
+        purge(bookIds, true, failedFileDeletions);
+        return failedFileDeletions;
+    }
+
+    private int purge(Collection<Long> bookIds, boolean deleteBookFiles, List<Long> failedFileDeletions) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = bookIds.stream().distinct().toList();
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            List<BookFileJanitor.Job> jobs = new ArrayList<>(chunk.size());
+            Integer count = chunkTransaction.execute(status -> {
+                jobs.addAll(cleanupJobs(chunk, deleteBookFiles));
+                return deleteRows(chunk);
+            });
+            deleted += count != null ? count : 0;
+            if (failedFileDeletions != null) {
+                failedFileDeletions.addAll(bookFileJanitor.deleteFilesAndSubmit(jobs));
+            } else {
+                bookFileJanitor.submit(jobs);
+            }
+        }
+
+        log.info("Purged {} books in {} chunk(s)", deleted, (ids.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        return deleted;
+    }
+
+    private List<BookFileJanitor.Job> cleanupJobs(List<Long> chunk, boolean deleteBookFiles) {
+        if (!deleteBookFiles) {
+            return chunk.stream().map(id -> new BookFileJanitor.Job(id, null, null)).toList();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createQuery("""
+                        SELECT b.id, lp.path, b.fileSubPath, b.fileName
+                        FROM BookEntity b
+                        LEFT JOIN b.libraryPath lp
+                        WHERE b.id IN :ids
+                        """)
+                .setParameter("ids", chunk)
+                .getResultList();
+
+        List<BookFileJanitor.Job> jobs = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String root = (String) row[1];
+            String subPath = (String) row[2];
+            String fileName = (String) row[3];
+            if (root == null || subPath == null || fileName == null) {
+                jobs.add(new BookFileJanitor.Job(id, null, null));
+            } else {
+                Path bookFile = Path.of(root, subPath, fileName);
+                jobs.add(new BookFileJanitor.Job(id, bookFile, Path.of(root)));
+                entityManager.persist(new BookFileCleanupEntity(id, bookFile.toString(), root, LocalDateTime.now()));
+            }
+        }
+        return jobs;
+    }
+
+    private int deleteRows(List<Long> chunk) {
+        entityManager.flush();
+        readingSessionRollupService.removeBooks(chunk);
+        for (String table : DEPENDENT_TABLES) {
+            entityManager.createNativeQuery("DELETE FROM " + table + " WHERE book_id IN (:ids)")
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+        int deleted = entityManager.createNativeQuery("DELETE FROM book WHERE id IN (:ids)")
+                .setParameter("ids", chunk)
+                .executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+}
@@ -5,9 +5,10 @@ import com.adityachandel.booklore.model.dto.Book;
 import com.adityachandel.booklore.model.entity.BookEntity;
 import com.adityachandel.booklore.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -33,9 +34,23 @@ public class BookQueryService {
         return bookRepository.findAllWithMetadataByIds(bookIds);
     }
 
-    public List<BookEntity> findWithMetadataByIdsWithPagination(Set<Long> bookIds, int offset, int limit) {
-        Pageable pageable = PageRequest.of(offset / limit, limit);
-        return bookRepository.findWithMetadataByIdsWithPagination(bookIds, pageable);
+    /**
+     * Returns up to {@code limit} books from {@code bookIds} with an id above {@code afterId}, in id order. Pass the id
+     * of the last book of the previous batch to continue; the slice is picked from the id set, so no offset or count
+     * query is needed and the collection fetch is not paged in memory.
+     */
+    public List<BookEntity> findWithMetadataByIdsAfter(Set<Long> bookIds, long afterId, int limit) {
+        Set<Long> slice = bookIds.stream()
+                .filter(id -> id > afterId)
+                .sorted()
+                .limit(limit)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (slice.isEmpty()) {
+            return List.of();
+        }
+        return bookRepository.findAllWithMetadataByIds(slice).stream()
+                .sorted(Comparator.comparing(BookEntity::getId))
+                .toList();
     }
 
     public List<BookEntity> getAllFullBookEntities() {
@@ -17,8 +17,8 @@ import com.adityachandel.booklore.model.enums.ReadStatus;
 import com.adityachandel.booklore.model.enums.ResetProgressType;
 import com.adityachandel.booklore.repository.*;
 import com.adityachandel.booklore.service.kobo.KoboReadingStateService;
+import com.adityachandel.booklore.service.user.ReadingProgressBuffer;
 import com.adityachandel.booklore.service.user.UserProgressService;
-import com.adityachandel.booklore.service.monitoring.MonitoringRegistrationService;
 import com.adityachandel.booklore.util.FileService;
 import com.adityachandel.booklore.util.FileUtils;
 import lombok.AllArgsConstructor;
@@ -26,14 +26,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.EnumUtils;
 import org.springframework.core.io.*;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
@@ -62,8 +60,10 @@ public class BookService {
     private final BookQueryService bookQueryService;
     private final UserProgressService userProgressService;
     private final BookDownloadService bookDownloadService;
-    private final MonitoringRegistrationService monitoringRegistrationService;
     private final KoboReadingStateService koboReadingStateService;
+    private final ReadingProgressBuffer readingProgressBuffer;
+    private final CoverImageCache coverImageCache;
+    private final BookPurgeService bookPurgeService;
 
 
     private void setBookProgress(Book book, UserBookProgressEntity progress) {
@@ -153,6 +153,7 @@ public class BookService {
         BookLoreUser user = authenticationService.getAuthenticatedUser();
         BookEntity bookEntity = bookRepository.findById(bookId).orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(bookId));
 
+        readingProgressBuffer.flush(user.getId(), List.of(bookId));
         UserBookProgressEntity userProgress = userBookProgressRepository.findByUserIdAndBookId(user.getId(), bookId).orElse(new UserBookProgressEntity());
 
         Book book = bookMapper.toBook(bookEntity);
@@ -326,56 +327,48 @@ public class BookService {
         }
     }
 
-    @Transactional
     public void updateReadProgress(ReadProgressRequest request) {
         BookEntity book = bookRepository.findById(request.getBookId())
                 .orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(request.getBookId()));
 
         BookLoreUser user = authenticationService.getAuthenticatedUser();
-
-        UserBookProgressEntity progress = userBookProgressRepository
-                .findByUserIdAndBookId(user.getId(), book.getId())
-                .orElseGet(UserBookProgressEntity::new);
-
-        BookLoreUserEntity userEntity = userRepository.findById(user.getId())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        progress.setUser(userEntity);
-
-        progress.setBook(book);
-        progress.setLastReadTime(Instant.now());
-
-        Float percentage = null;
-        switch (book.getBookType()) {
-            case EPUB -> {
-                if (request.getEpubProgress() != null) {
-                    progress.setEpubProgress(request.getEpubProgress().getCfi());
-                    percentage = request.getEpubProgress().getPercentage();
+        BookFileType bookType = book.getBookType();
+        Instant now = Instant.now();
+
+        readingProgressBuffer.submit(user.getId(), book.getId(), now, progress -> {
+            progress.setLastReadTime(now);
+
+            Float percentage = null;
+            switch (bookType) {
+                case EPUB -> {
+                    if (request.getEpubProgress() != null) {
+                        progress.setEpubProgress(request.getEpubProgress().getCfi());
+                        percentage = request.getEpubProgress().getPercentage();
+                    }
                 }
-            }
-            case PDF -> {
-                if (request.getPdfProgress() != null) {
-                    progress.setPdfProgress(request.getPdfProgress().getPage());
-                    percentage = request.getPdfProgress().getPercentage();
+                case PDF -> {
+                    if (request.getPdfProgress() != null) {
+                        progress.setPdfProgress(request.getPdfProgress().getPage());
+                        percentage = request.getPdfProgress().getPercentage();
+                    }
                 }
-            }
-            case CBX -> {
-                if (request.getCbxProgress() != null) {
-                    progress.setCbxProgress(request.getCbxProgress().getPage());
-                    percentage = request.getCbxProgress().getPercentage();
+                case CBX -> {
+                    if (request.getCbxProgress() != null) {
+                        progress.setCbxProgress(request.getCbxProgress().getPage());
+                        percentage = request.getCbxProgress().getPercentage();
+                    }
                 }
             }
-        }
 
-        if (percentage != null) {
-            progress.setReadStatus(getStatus(percentage));
-            setProgressPercent(progress, book.getBookType(), percentage);
-        }
-
-        if (request.getDateFinished() != null) {
-            progress.setDateFinished(request.getDateFinished());
-        }
+            if (percentage != null) {
+                progress.setReadStatus(getStatus(percentage));
+                setProgressPercent(progress, bookType, percentage);
+            }
 
-        userBookProgressRepository.save(progress);
+            if (request.getDateFinished() != null) {
+                progress.setDateFinished(request.getDateFinished());
+            }
+        }, null);
     }
 
     private void setProgressPercent(UserBookProgressEntity progress, BookFileType type, Float percentage) {
@@ -395,6 +388,7 @@ public class BookService {
     @Transactional
     public List<Book> updateReadStatus(List<Long> bookIds, String status) {
         BookLoreUser user = authenticationService.getAuthenticatedUser();
+        readingProgressBuffer.flush(user.getId(), bookIds);
         ReadStatus readStatus = EnumUtils.getEnumIgnoreCase(ReadStatus.class, status);
 
         List<BookEntity> books = bookRepository.findAllById(bookIds);
@@ -439,6 +433,7 @@ public class BookService {
 
     public List<Book> resetProgress(List<Long> bookIds, ResetProgressType type) {
         BookLoreUser user = authenticationService.getAuthenticatedUser();
+        readingProgressBuffer.flush(user.getId(), bookIds);
         List<Book> updatedBooks = new ArrayList<>();
         Optional<BookLoreUserEntity> userEntity = userRepository.findById(user.getId());
 
@@ -490,6 +485,7 @@ public class BookService {
    @Transactional
     public List<Book> updatePersonalRating(List<Long> bookIds, Integer rating) {
         BookLoreUser user = authenticationService.getAuthenticatedUser();
+        readingProgressBuffer.flush(user.getId(), bookIds);
 
         List<BookEntity> books = bookRepository.findAllById(bookIds);
         if (books.size() != bookIds.size()) {
@@ -525,6 +521,7 @@ public class BookService {
 
     public List<Book> resetPersonalRating(List<Long> bookIds) {
         BookLoreUser user = authenticationService.getAuthenticatedUser();
+        readingProgressBuffer.flush(user.getId(), bookIds);
         List<Book> updatedBooks = new ArrayList<>();
         Optional<BookLoreUserEntity> userEntity = userRepository.findById(user.getId());
 
@@ -594,6 +591,14 @@ public class BookService {
         }
     }
 
+    public Optional<CoverImageCache.CachedImage> getThumbnailImage(long bookId) {
+        return coverImageCache.get(bookId, CoverImageCache.Kind.THUMBNAIL, Paths.get(fileService.getThumbnailFile(bookId)));
+    }
+
+    public Optional<CoverImageCache.CachedImage> getCoverImage(long bookId) {
+        return coverImageCache.get(bookId, CoverImageCache.Kind.COVER, Paths.get(fileService.getCoverFile(bookId)));
+    }
+
     public Resource getBookCover(long bookId) {
         Path coverPath = Paths.get(fileService.getCoverFile(bookId));
         try {
@@ -621,43 +626,13 @@ public class BookService {
         return bookDownloadService.downloadBook(bookId);
     }
 
-    public ResponseEntity<ByteArrayResource> getBookContent(long bookId) throws IOException {
-        BookEntity bookEntity = bookRepository.findById(bookId).orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(bookId));
-        try (FileInputStream inputStream = new FileInputStream(FileUtils.getBookFullPath(bookEntity))) {
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(new ByteArrayResource(inputStream.readAllBytes()));
-        }
-    }
-
-
-    @Transactional
+    /**
+     * Removes the books' rows and makes a first attempt at deleting their files; covers, caches and files that could
+     * not be deleted yet are cleaned up in the background by the {@link BookFileJanitor}. Answers 207 listing the
+     * books whose file is still on disk.
+     */
     public ResponseEntity<BookDeletionResponse> deleteBooks(Set<Long> ids) {
-        List<BookEntity> books = bookQueryService.findAllWithMetadataByIds(ids);
-        List<Long> failedFileDeletions = new ArrayList<>();
-        for (BookEntity book : books) {
-            Path fullFilePath = book.getFullFilePath();
-            try {
-                if (Files.exists(fullFilePath)) {
-                    monitoringRegistrationService.unregisterSpecificPath(fullFilePath.getParent());
-                    Files.delete(fullFilePath);
-                    log.info("Deleted book file: {}", fullFilePath);
-
-                    Set<Path> libraryRoots = book.getLibrary().getLibraryPaths().stream()
-                            .map(LibraryPathEntity::getPath)
-                            .map(Paths::get)
-                            .map(Path::normalize)
-                            .collect(Collectors.toSet());
-
-                    deleteEmptyParentDirsUpToLibraryFolders(fullFilePath.getParent(), libraryRoots);
-                }
-            } catch (IOException e) {
-                log.warn("Failed to delete book file: {}", fullFilePath, e);
-                failedFileDeletions.add(book.getId());
-            }
-        }
-
-        bookRepository.deleteAll(books);
+        List<Long> failedFileDeletions = bookPurgeService.purgeWithFiles(ids);
         BookDeletionResponse response = new BookDeletionResponse(ids, failedFileDeletions);
         return failedFileDeletions.isEmpty()
                 ? ResponseEntity.ok(response)
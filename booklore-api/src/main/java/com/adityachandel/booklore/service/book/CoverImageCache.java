@@ -0,0 +1,153 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.cluster.ClusterMessageEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Keeps recently served cover images in memory as plain byte arrays, within a byte budget and evicting the least
+ * recently used first. Each image carries a hash of its content, which is used as its ETag and, for thumbnails, as
+ * the cover version in cover URLs. Entries are dropped whenever a book's covers are rewritten or deleted, on this
+ * instance and on the others.
+ */
+@Slf4j
+@Service
+public class CoverImageCache {
+
+    static final String CACHE_NAME = "cover-images";
+    private static final int HASH_BYTES = 8;
+    private static final int MAX_ENTRY_SHARE = 16;
+
+    public enum Kind {
+        THUMBNAIL, COVER
+    }
+
+    public record CachedImage(byte[] data, String hash) {
+    }
+
+    private record Key(long bookId, Kind kind) {
+    }
+
+    private final ClusterEventRelay clusterEventRelay;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<Key, CachedImage> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private long usedBytes;
+    private long generation;
+
+    public CoverImageCache(AppProperties appProperties, ClusterEventRelay clusterEventRelay) {
+        this.clusterEventRelay = clusterEventRelay;
+        this.maxBytes = Math.max(0, appProperties.getCoverCache().getMaxMemoryMb()) * 1024L * 1024L;
+        this.maxEntryBytes = maxBytes / MAX_ENTRY_SHARE;
+    }
+
+    /**
+     * Returns the image, reading it from the given file on a miss. Empty when the file does not exist or cannot be
+     * read. Images larger than a sixteenth of the budget are served but not kept.
+     */
+    public Optional<CachedImage> get(long bookId, Kind kind, Path file) {
+        Key key = new Key(bookId, kind);
+        long readGeneration;
+        synchronized (this) {
+            CachedImage cached = entries.get(key);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            readGeneration = generation;
+        }
+
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read {} for book {}: {}", kind, bookId, e.getMessage());
+            return Optional.empty();
+        }
+        CachedImage image = new CachedImage(data, contentHash(data));
+
+        if (data.length <= maxEntryBytes) {
+            synchronized (this) {
+                if (generation == readGeneration) {
+                    put(key, image);
+                }
+            }
+        }
+        return Optional.of(image);
+    }
+
+    /**
+     * Drops the book's images here and on the other instances.
+     */
+    public void invalidate(long bookId) {
+        invalidateLocally(bookId);
+        clusterEventRelay.publish(ClusterEventType.CACHE_INVALIDATION, CACHE_NAME, String.valueOf(bookId));
+    }
+
+    @EventListener
+    public void onClusterMessage(ClusterMessageEvent event) {
+        if (event.getType() == ClusterEventType.CACHE_INVALIDATION && CACHE_NAME.equals(event.getTarget()) && event.getPayload() != null) {
+            invalidateLocally(Long.parseLong(event.getPayload()));
+        }
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Short hex hash of the image bytes, stable across instances and restarts.
+     */
+    public static String contentHash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, HASH_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private synchronized void invalidateLocally(long bookId) {
+        generation++;
+        for (Kind kind : Kind.values()) {
+            CachedImage removed = entries.remove(new Key(bookId, kind));
+            if (removed != null) {
+                usedBytes -= removed.data().length;
+            }
+        }
+    }
+
+    private void put(Key key, CachedImage image) {
+        CachedImage previous = entries.put(key, image);
+        if (previous != null) {
+            usedBytes -= previous.data().length;
+        }
+        usedBytes += image.data().length;
+        var iterator = entries.values().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            usedBytes -= iterator.next().data().length;
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.exception.ApiError;
+import com.adityachandel.booklore.util.FileService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes the thumbnails of many books as one {@code multipart/mixed} response, so a grid can load a screen of
+ * covers in a single request. Every part carries the book id in {@code X-Book-Id} and the cover hash as its ETag;
+ * books without a thumbnail are left out. Parts are written one by one from the cover cache, so only a single
+ * thumbnail is held for the response at a time.
+ */
+@Service
+@AllArgsConstructor
+public class ThumbnailBatchService {
+
+    public static final int MAX_BATCH_SIZE = 100;
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final CoverImageCache coverImageCache;
+    private final FileService fileService;
+
+    /**
+     * Drops duplicates and checks the batch size, before anything is written.
+     */
+    public List<Long> resolveBatch(List<Long> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            throw ApiError.INVALID_INPUT.createException("At least one book id is required");
+        }
+        List<Long> unique = new ArrayList<>(new LinkedHashSet<>(bookIds));
+        if (unique.size() > MAX_BATCH_SIZE) {
+            throw ApiError.INVALID_INPUT.createException("At most " + MAX_BATCH_SIZE + " thumbnails can be requested at once");
+        }
+        return unique;
+    }
+
+    /**
+     * Writes one part per book that has a thumbnail, in the requested order, and returns how many were written.
+     */
+    public int writeThumbnails(List<Long> bookIds, String boundary, OutputStream out) throws IOException {
+        byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        int written = 0;
+        for (Long bookId : bookIds) {
+            Optional<CoverImageCache.CachedImage> thumbnail =
+                    coverImageCache.get(bookId, CoverImageCache.Kind.THUMBNAIL, Paths.get(fileService.getThumbnailFile(bookId)));
+            if (thumbnail.isEmpty()) {
+                continue;
+            }
+            CoverImageCache.CachedImage image = thumbnail.get();
+            out.write(delimiter);
+            out.write(CRLF);
+            out.write(("Content-Type: image/jpeg\r\n"
+                    + "Content-Length: " + image.data().length + "\r\n"
+                    + "X-Book-Id: " + bookId + "\r\n"
+                    + "ETag: \"" + image.hash() + "\"\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(image.data());
+            out.write(CRLF);
+            written++;
+        }
+        out.write(delimiter);
+        out.write("--".getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+        out.flush();
+        return written;
+    }
+}
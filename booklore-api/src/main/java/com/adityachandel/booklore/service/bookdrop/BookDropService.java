@@ -9,6 +9,7 @@ import com.adityachandel.booklore.model.MetadataUpdateWrapper;
 import com.adityachandel.booklore.model.dto.BookMetadata;
 import com.adityachandel.booklore.model.dto.BookdropFile;
 import com.adityachandel.booklore.model.dto.BookdropFileNotification;
+import com.adityachandel.booklore.model.dto.KeysetPage;
 import com.adityachandel.booklore.model.dto.request.BookdropFinalizeRequest;
 import com.adityachandel.booklore.model.dto.response.BookdropFileResult;
 import com.adityachandel.booklore.model.dto.response.BookdropFinalizeResult;
@@ -31,12 +32,14 @@ import com.adityachandel.booklore.service.fileprocessor.BookFileProcessorRegistr
 import com.adityachandel.booklore.service.metadata.MetadataRefreshService;
 import com.adityachandel.booklore.service.monitoring.MonitoringRegistrationService;
 import com.adityachandel.booklore.util.FileUtils;
+import com.adityachandel.booklore.util.KeysetCursor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -86,13 +89,53 @@ public class BookDropService {
     }
 
     public Page<BookdropFile> getFilesByStatus(String status, Pageable pageable) {
-        if ("pending".equalsIgnoreCase(status)) {
-            return bookdropFileRepository.findAllByStatus(BookdropFileEntity.Status.PENDING_REVIEW, pageable).map(mapper::toDto);
+        BookdropFileEntity.Status filter = statusFilter(status);
+        if (filter != null) {
+            return bookdropFileRepository.findAllByStatus(filter, pageable).map(mapper::toDto);
         } else {
             return bookdropFileRepository.findAll(pageable).map(mapper::toDto);
         }
     }
 
+    /**
+     * Keyset variant of {@link #getFilesByStatus}: returns the files after {@code cursor} in id order without counting
+     * them, unless {@code includeTotal} asks for it.
+     */
+    public KeysetPage<BookdropFile> getFilesByStatusAfter(String status, String cursor, int size, boolean includeTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        long afterId = after != null ? after.id() : 0L;
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        BookdropFileEntity.Status filter = statusFilter(status);
+
+        List<BookdropFileEntity> files = filter != null
+                ? bookdropFileRepository.findByStatusAfter(filter, afterId, pageable)
+                : bookdropFileRepository.findAllAfter(afterId, pageable);
+
+        boolean hasNext = files.size() > size;
+        List<BookdropFileEntity> pageFiles = hasNext ? files.subList(0, size) : files;
+        Long total = null;
+        if (includeTotal) {
+            total = filter != null ? bookdropFileRepository.countByStatus(filter) : bookdropFileRepository.count();
+        }
+
+        return KeysetPage.<BookdropFile>builder()
+                .content(pageFiles.stream().map(mapper::toDto).toList())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? KeysetCursor.of(pageFiles.getLast().getId()).encode() : null)
+                .totalElements(total)
+                .build();
+    }
+
+    private BookdropFileEntity.Status statusFilter(String status) {
+        if ("pending".equalsIgnoreCase(status)) {
+            return BookdropFileEntity.Status.PENDING_REVIEW;
+        }
+        if ("duplicate".equalsIgnoreCase(status)) {
+            return BookdropFileEntity.Status.DUPLICATE;
+        }
+        return null;
+    }
+
     public Resource getBookdropCover(long bookdropId) {
         String coverPath = Paths.get(appProperties.getPathConfig(), "bookdrop_temp", bookdropId + ".jpg").toString();
         File coverFile = new File(coverPath);
@@ -320,6 +363,12 @@ public class BookDropService {
                              Long defaultPathId,
                              BookdropFinalizeResult results,
                              AtomicInteger failedCount) {
+        if (fileEntity.getStatus() == BookdropFileEntity.Status.DUPLICATE) {
+            log.warn("Skipping finalization of bookdrop file id={}, name={}: already in a library", fileEntity.getId(), fileEntity.getFileName());
+            results.getResults().add(failureResult(fileEntity.getFileName(), "File is already in a library"));
+            failedCount.incrementAndGet();
+            return;
+        }
         try {
             FileProcessingContext context = prepareFileProcessingContext(fileEntity, fileReq, defaultLibraryId, defaultPathId);
             BookdropFileResult result = moveFile(context.libraryId, context.pathId, context.metadata, fileEntity);
@@ -548,6 +597,7 @@ public class BookDropService {
     private List<BookdropFileEntity> getFilesToDelete(boolean selectAll, List<Long> excludedIds, List<Long> selectedIds) {
         if (selectAll) {
             List<BookdropFileEntity> filesToDelete = bookdropFileRepository.findAll().stream()
+                    .filter(f -> f.getStatus() != BookdropFileEntity.Status.DUPLICATE)
                     .filter(f -> excludedIds == null || !excludedIds.contains(f.getId()))
                     .toList();
             log.info("Discarding all files except excluded IDs: {}", excludedIds);
@@ -6,36 +6,72 @@ import com.adityachandel.booklore.model.enums.BookFileExtension;
 import com.adityachandel.booklore.model.enums.PermissionType;
 import com.adityachandel.booklore.model.websocket.LogNotification;
 import com.adityachandel.booklore.model.websocket.Topic;
+import com.adityachandel.booklore.repository.BookAdditionalFileRepository;
+import com.adityachandel.booklore.repository.BookRepository;
 import com.adityachandel.booklore.repository.BookdropFileRepository;
 import com.adityachandel.booklore.service.NotificationService;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import com.adityachandel.booklore.service.file.FileFingerprint;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.time.Instant;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Ingests files dropped into the bookdrop folder as a three-stage pipeline:
+ * <ol>
+ *     <li>a single dispatcher thread validates the file and registers the bookdrop entry; a file already in a
+ *     library (by {@link FileFingerprint} hash) is registered as {@code DUPLICATE} instead, so it is hashed only
+ *     once and shown for dismissal,</li>
+ *     <li>a small pool extracts the embedded metadata and cover in parallel,</li>
+ *     <li>a smaller, rate-limited pool fetches metadata from the remote providers.</li>
+ * </ol>
+ * Progress is reported as coalesced notifications instead of several broadcasts per file.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookdropEventHandlerService {
 
+    private static final int EXTRACTION_WORKERS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int FETCH_WORKERS = 2;
+    private static final long MIN_FETCH_INTERVAL_MS = 1000;
+    private static final long NOTIFICATION_INTERVAL_MS = 2000;
+    private static final Set<PermissionType> NOTIFIED_PERMISSIONS = Set.of(PermissionType.ADMIN, PermissionType.MANAGE_LIBRARY);
+
     private final BookdropFileRepository bookdropFileRepository;
+    private final BookRepository bookRepository;
+    private final BookAdditionalFileRepository bookAdditionalFileRepository;
     private final NotificationService notificationService;
     private final BookdropNotificationService bookdropNotificationService;
     private final AppSettingService appSettingService;
     private final BookdropMetadataService bookdropMetadataService;
 
     private final BlockingQueue<BookDropFileEvent> fileQueue = new LinkedBlockingQueue<>();
+    private final Set<BookDropFileEvent> queuedEvents = ConcurrentHashMap.newKeySet();
+    private final ExecutorService extractionExecutor = Executors.newFixedThreadPool(EXTRACTION_WORKERS, daemonThreadFactory("BookdropExtractor"));
+    private final ExecutorService fetchExecutor = Executors.newFixedThreadPool(FETCH_WORKERS, daemonThreadFactory("BookdropFetcher"));
+    private final ScheduledExecutorService notificationScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("BookdropNotifier"));
+
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final AtomicBoolean summaryDirty = new AtomicBoolean();
+    private final Object fetchRateLock = new Object();
+    private long nextFetchAt = 0;
+
     private volatile boolean running = true;
     private Thread workerThread;
 
@@ -43,6 +79,7 @@ public class BookdropEventHandlerService {
     public void init() {
         workerThread = new Thread(this::processQueue, "BookdropFileProcessor");
         workerThread.start();
+        notificationScheduler.scheduleWithFixedDelay(this::flushNotifications, NOTIFICATION_INTERVAL_MS, NOTIFICATION_INTERVAL_MS, TimeUnit.MILLISECONDS);
     }
 
     @PreDestroy
@@ -51,11 +88,14 @@ public class BookdropEventHandlerService {
         if (workerThread != null) {
             workerThread.interrupt();
         }
+        extractionExecutor.shutdownNow();
+        fetchExecutor.shutdownNow();
+        notificationScheduler.shutdownNow();
     }
 
     public void enqueueFile(Path file, WatchEvent.Kind<?> kind) {
         BookDropFileEvent event = new BookDropFileEvent(file, kind);
-        if (!fileQueue.contains(event)) {
+        if (queuedEvents.add(event)) {
             fileQueue.offer(event);
         }
     }
@@ -63,7 +103,9 @@ public class BookdropEventHandlerService {
     private void processQueue() {
         while (running) {
             try {
-                processFile(fileQueue.take());
+                BookDropFileEvent event = fileQueue.take();
+                queuedEvents.remove(event);
+                processFile(event);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 log.info("File processing thread interrupted, shutting down.");
@@ -77,85 +119,167 @@ public class BookdropEventHandlerService {
 
         if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
             try {
-                if (!Files.exists(file)) {
-                    log.warn("File does not exist, ignoring: {}", file);
-                    return;
+                BookdropFileEntity bookdropFileEntity = registerFile(file);
+                if (bookdropFileEntity != null) {
+                    inProgress.incrementAndGet();
+                    summaryDirty.set(true);
+                    extractionExecutor.execute(() -> extractMetadata(bookdropFileEntity.getId(), bookdropFileEntity.getFileName()));
                 }
+            } catch (RejectedExecutionException e) {
+                inProgress.decrementAndGet();
+                log.warn("Bookdrop pipeline is shutting down, file will be picked up on next start: {}", file);
+            } catch (Exception e) {
+                log.error("Error handling bookdrop file: {}", file, e);
+            }
 
-                if (Files.isDirectory(file)) {
-                    log.info("New folder detected in bookdrop, ignoring: {}", file);
-                    return;
-                }
+        } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            String deletedPath = file.toAbsolutePath().toString();
+            log.info("Detected deletion event: {}", deletedPath);
 
-                String filePath = file.toAbsolutePath().toString();
-                String fileName = file.getFileName().toString();
+            int deletedCount = bookdropFileRepository.deleteAllByFilePathStartingWith(deletedPath);
+            log.info("Deleted {} BookdropFile record(s) from database matching path: {}", deletedCount, deletedPath);
 
-                if (BookFileExtension.fromFileName(fileName).isEmpty()) {
-                    log.info("Unsupported file type detected, ignoring file: {}", fileName);
-                    return;
-                }
+            summaryDirty.set(true);
+        }
+    }
 
-                if (bookdropFileRepository.findByFilePath(filePath).isPresent()) {
-                    log.info("File already exists in Bookdrop and is pending review or acceptance: {}", filePath);
-                    return;
-                }
+    private BookdropFileEntity registerFile(Path file) throws Exception {
+        if (!Files.exists(file)) {
+            log.warn("File does not exist, ignoring: {}", file);
+            return null;
+        }
 
-                log.info("Handling new bookdrop file: {}", file);
+        if (Files.isDirectory(file)) {
+            log.info("New folder detected in bookdrop, ignoring: {}", file);
+            return null;
+        }
 
-                int queueSize = fileQueue.size();
-                notificationService.sendMessageToPermissions(
-                        Topic.LOG,
-                        LogNotification.info("Processing bookdrop file: " + fileName + " (" + queueSize + " files remaining)"),
-                        Set.of(PermissionType.ADMIN, PermissionType.MANAGE_LIBRARY)
-                );
+        String filePath = file.toAbsolutePath().toString();
+        String fileName = file.getFileName().toString();
 
-                BookdropFileEntity bookdropFileEntity = BookdropFileEntity.builder()
-                        .filePath(filePath)
-                        .fileName(fileName)
-                        .fileSize(Files.size(file))
-                        .status(BookdropFileEntity.Status.PENDING_REVIEW)
-                        .createdAt(Instant.now())
-                        .updatedAt(Instant.now())
-                        .build();
-
-                bookdropFileEntity = bookdropFileRepository.save(bookdropFileEntity);
-
-                if (appSettingService.getAppSettings().isMetadataDownloadOnBookdrop()) {
-                    bookdropMetadataService.attachInitialMetadata(bookdropFileEntity.getId());
-                    bookdropMetadataService.attachFetchedMetadata(bookdropFileEntity.getId());
-                } else {
-                    bookdropMetadataService.attachInitialMetadata(bookdropFileEntity.getId());
-                    log.info("Metadata download is disabled. Only initial metadata extracted for file: {}", bookdropFileEntity.getFileName());
-                }
+        if (BookFileExtension.fromFileName(fileName).isEmpty()) {
+            log.info("Unsupported file type detected, ignoring file: {}", fileName);
+            return null;
+        }
 
-                bookdropNotificationService.sendBookdropFileSummaryNotification();
-
-                if (fileQueue.isEmpty()) {
-                    notificationService.sendMessageToPermissions(
-                            Topic.LOG,
-                            LogNotification.info("All bookdrop files have finished processing"),
-                            Set.of(PermissionType.ADMIN, PermissionType.MANAGE_LIBRARY)
-                    );
-                } else {
-                    notificationService.sendMessageToPermissions(
-                            Topic.LOG,
-                            LogNotification.info("Finished processing bookdrop file: " + fileName + " (" + fileQueue.size() + " files remaining)"),
-                            Set.of(PermissionType.ADMIN, PermissionType.MANAGE_LIBRARY)
-                    );
-                }
+        if (bookdropFileRepository.findByFilePath(filePath).isPresent()) {
+            log.info("File is already registered in Bookdrop (pending review or duplicate), skipping: {}", filePath);
+            return null;
+        }
 
-            } catch (Exception e) {
-                log.error("Error handling bookdrop file: {}", file, e);
+        String hash = FileFingerprint.generateHash(file);
+        if (bookRepository.existsActiveByCurrentHash(hash) || bookAdditionalFileRepository.findByAltFormatCurrentHash(hash).isPresent()) {
+            log.info("Bookdrop file is already in a library, recording it as a duplicate: {}", filePath);
+            bookdropFileRepository.save(newEntry(file, BookdropFileEntity.Status.DUPLICATE));
+            duplicates.incrementAndGet();
+            summaryDirty.set(true);
+            return null;
+        }
+
+        log.info("Handling new bookdrop file: {}", file);
+        return bookdropFileRepository.save(newEntry(file, BookdropFileEntity.Status.PENDING_REVIEW));
+    }
+
+    private BookdropFileEntity newEntry(Path file, BookdropFileEntity.Status status) throws IOException {
+        return BookdropFileEntity.builder()
+                .filePath(file.toAbsolutePath().toString())
+                .fileName(file.getFileName().toString())
+                .fileSize(Files.size(file))
+                .status(status)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    private void extractMetadata(Long bookdropFileId, String fileName) {
+        boolean handedOff = false;
+        try {
+            bookdropMetadataService.attachInitialMetadata(bookdropFileId);
+            if (appSettingService.getAppSettings().isMetadataDownloadOnBookdrop()) {
+                fetchExecutor.execute(() -> fetchMetadata(bookdropFileId, fileName));
+                handedOff = true;
+            } else {
+                log.info("Metadata download is disabled. Only initial metadata extracted for file: {}", fileName);
             }
+        } catch (Exception e) {
+            log.error("Error extracting metadata for bookdrop file: {}", fileName, e);
+        } finally {
+            if (!handedOff) {
+                markCompleted();
+            }
+        }
+    }
 
-        } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
-            String deletedPath = file.toAbsolutePath().toString();
-            log.info("Detected deletion event: {}", deletedPath);
+    private void fetchMetadata(Long bookdropFileId, String fileName) {
+        try {
+            awaitFetchSlot();
+            bookdropMetadataService.attachFetchedMetadata(bookdropFileId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error fetching metadata for bookdrop file: {}", fileName, e);
+        } finally {
+            markCompleted();
+        }
+    }
 
-            int deletedCount = bookdropFileRepository.deleteAllByFilePathStartingWith(deletedPath);
-            log.info("Deleted {} BookdropFile record(s) from database matching path: {}", deletedCount, deletedPath);
+    /**
+     * Spaces out remote provider lookups so that a large drop does not hammer the metadata providers.
+     */
+    private void awaitFetchSlot() throws InterruptedException {
+        long waitMs;
+        synchronized (fetchRateLock) {
+            long now = System.currentTimeMillis();
+            long slot = Math.max(now, nextFetchAt);
+            nextFetchAt = slot + MIN_FETCH_INTERVAL_MS;
+            waitMs = slot - now;
+        }
+        if (waitMs > 0) {
+            Thread.sleep(waitMs);
+        }
+    }
+
+    private void markCompleted() {
+        inProgress.decrementAndGet();
+        completed.incrementAndGet();
+        summaryDirty.set(true);
+    }
 
+    void flushNotifications() {
+        if (!summaryDirty.getAndSet(false)) return;
+        try {
             bookdropNotificationService.sendBookdropFileSummaryNotification();
+
+            int remaining = fileQueue.size() + inProgress.get();
+            if (remaining > 0) {
+                notificationService.sendMessageToPermissions(
+                        Topic.LOG,
+                        LogNotification.info("Processing bookdrop files: " + completed.get() + " done, " + remaining + " remaining"),
+                        NOTIFIED_PERMISSIONS
+                );
+                return;
+            }
+
+            int done = completed.getAndSet(0);
+            int skipped = duplicates.getAndSet(0);
+            if (done > 0 || skipped > 0) {
+                String message = "All bookdrop files have finished processing";
+                if (skipped > 0) {
+                    message += " (" + skipped + " skipped, already in a library)";
+                }
+                notificationService.sendMessageToPermissions(Topic.LOG, LogNotification.info(message), NOTIFIED_PERMISSIONS);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to send bookdrop progress notification: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
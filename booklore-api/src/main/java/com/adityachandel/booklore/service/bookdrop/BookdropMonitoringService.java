@@ -2,12 +2,16 @@ package com.adityachandel.booklore.service.bookdrop;
 
 import com.adityachandel.booklore.config.AppProperties;
 import com.adityachandel.booklore.model.enums.BookFileExtension;
+import com.adityachandel.booklore.service.cluster.LeaderElectionService;
+import com.adityachandel.booklore.service.startup.StartupPhaseService;
+import com.adityachandel.booklore.service.cluster.LeadershipChangedEvent;
 import com.adityachandel.booklore.util.FileService;
 import com.adityachandel.booklore.util.FileUtils;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -20,6 +24,8 @@ public class BookdropMonitoringService {
 
     private final AppProperties appProperties;
     private final BookdropEventHandlerService eventHandler;
+    private final LeaderElectionService leaderElectionService;
+    private final StartupPhaseService startupPhaseService;
 
     private Path bookdrop;
     private WatchService watchService;
@@ -28,9 +34,14 @@ public class BookdropMonitoringService {
     private WatchKey watchKey;
     private volatile boolean paused;
 
-    public BookdropMonitoringService(AppProperties appProperties, BookdropEventHandlerService eventHandler) {
+    public BookdropMonitoringService(AppProperties appProperties,
+                                     BookdropEventHandlerService eventHandler,
+                                     LeaderElectionService leaderElectionService,
+                                     StartupPhaseService startupPhaseService) {
         this.appProperties = appProperties;
         this.eventHandler = eventHandler;
+        this.leaderElectionService = leaderElectionService;
+        this.startupPhaseService = startupPhaseService;
     }
 
     @PostConstruct
@@ -56,7 +67,17 @@ public class BookdropMonitoringService {
         this.watchThread = new Thread(this::processEvents, "BookdropFolderWatcher");
         this.watchThread.setDaemon(true);
         this.watchThread.start();
-        scanExistingBookdropFiles();
+        if (leaderElectionService.isLeader()) {
+            startupPhaseService.defer("bookdrop-scan", this::scanExistingBookdropFiles);
+        }
+    }
+
+    @EventListener
+    public void onLeadershipChanged(LeadershipChangedEvent event) {
+        if (event.isLeader() && bookdrop != null) {
+            log.info("Took over bookdrop monitoring, scanning for files that arrived meanwhile");
+            scanExistingBookdropFiles();
+        }
     }
 
     @PreDestroy
@@ -129,6 +150,15 @@ public class BookdropMonitoringService {
                 return;
             }
 
+            if (!leaderElectionService.isLeader()) {
+                key.pollEvents();
+                if (!key.reset()) {
+                    log.warn("WatchKey is no longer valid");
+                    break;
+                }
+                continue;
+            }
+
             for (WatchEvent<?> event : key.pollEvents()) {
                 WatchEvent.Kind<?> kind = event.kind();
 
@@ -10,16 +10,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -28,37 +35,25 @@ public class FilenamePatternExtractor {
 
     private final BookdropFileRepository bookdropFileRepository;
     private final BookdropMetadataHelper metadataHelper;
-    private final ExecutorService regexExecutor = Executors.newCachedThreadPool(runnable -> {
-        Thread thread = new Thread(runnable);
+
+    private final int extractionThreads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final ExecutorService extractionExecutor = Executors.newFixedThreadPool(extractionThreads, runnable -> {
+        Thread thread = new Thread(runnable, "bookdrop-pattern-" + threadCounter.incrementAndGet());
         thread.setDaemon(true);
         return thread;
     });
-    
+
     private static final int PREVIEW_FILE_LIMIT = 5;
-    private static final long REGEX_TIMEOUT_SECONDS = 5;
+    private static final int BATCH_SIZE = 500;
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final long STREAM_TIMEOUT_MS = Duration.ofMinutes(10).toMillis();
     private static final int TWO_DIGIT_YEAR_CUTOFF = 50;
     private static final int TWO_DIGIT_YEAR_CENTURY_BASE = 1900;
     private static final int FOUR_DIGIT_YEAR_LENGTH = 4;
     private static final int TWO_DIGIT_YEAR_LENGTH = 2;
     private static final int COMPACT_DATE_LENGTH = 8;
 
-    private static final Map<String, PlaceholderConfig> PLACEHOLDER_CONFIGS = Map.ofEntries(
-            Map.entry("SeriesName", new PlaceholderConfig("(.+?)", "seriesName")),
-            Map.entry("Title", new PlaceholderConfig("(.+?)", "title")),
-            Map.entry("Subtitle", new PlaceholderConfig("(.+?)", "subtitle")),
-            Map.entry("Authors", new PlaceholderConfig("(.+?)", "authors")),
-            Map.entry("SeriesNumber", new PlaceholderConfig("(\\d+(?:\\.\\d+)?)", "seriesNumber")),
-            Map.entry("Published", new PlaceholderConfig("(.+?)", "publishedDate")),
-            Map.entry("Publisher", new PlaceholderConfig("(.+?)", "publisher")),
-            Map.entry("Language", new PlaceholderConfig("([a-zA-Z]+)", "language")),
-            Map.entry("SeriesTotal", new PlaceholderConfig("(\\d+)", "seriesTotal")),
-            Map.entry("ISBN10", new PlaceholderConfig("(\\d{9}[0-9Xx])", "isbn10")),
-            Map.entry("ISBN13", new PlaceholderConfig("([0-9]{13})", "isbn13")),
-            Map.entry("ASIN", new PlaceholderConfig("(B[A-Za-z0-9]{9}|\\d{9}[0-9Xx])", "asin"))
-    );
-
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{(\\w+)(?::(.*?))?}|\\*");
-    
     private static final Pattern FOUR_DIGIT_YEAR_PATTERN = Pattern.compile("\\d{4}");
     private static final Pattern TWO_DIGIT_YEAR_PATTERN = Pattern.compile("\\d{2}");
     private static final Pattern COMPACT_DATE_PATTERN = Pattern.compile("\\d{8}");
@@ -73,7 +68,7 @@ public class FilenamePatternExtractor {
         );
         
         boolean isPreview = Boolean.TRUE.equals(request.getPreview());
-        ParsedPattern cachedPattern = parsePattern(request.getPattern());
+        FilenamePatternMatcher cachedPattern = FilenamePatternMatcher.compile(request.getPattern());
         
         if (cachedPattern == null) {
             log.error("Failed to parse pattern: '{}'", request.getPattern());
@@ -85,7 +80,75 @@ public class FilenamePatternExtractor {
                 : processFullExtractionInBatches(fileIds, cachedPattern);
     }
 
-    private BookdropPatternExtractResult processPreviewExtraction(List<Long> fileIds, ParsedPattern pattern) {
+    /**
+     * Previews a pattern against every selected file instead of the first few. Files are matched in parallel, batch by
+     * batch, and each batch is sent as an {@code extract-batch} event as soon as it is done; a {@code complete} event
+     * with the totals follows. Nothing is saved. Closing the connection stops the preview after the current batch.
+     */
+    public SseEmitter streamPreview(BookdropPatternExtractRequest request) {
+        List<Long> fileIds = metadataHelper.resolveFileIds(
+                Boolean.TRUE.equals(request.getSelectAll()),
+                request.getExcludedIds(),
+                request.getSelectedIds()
+        );
+        FilenamePatternMatcher pattern = FilenamePatternMatcher.compile(request.getPattern());
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+
+        Thread.ofVirtual().name("bookdrop-pattern-preview").start(() -> {
+            try {
+                BookdropPatternExtractResult summary = pattern == null
+                        ? buildEmptyResult(fileIds.size())
+                        : streamPreviewBatches(fileIds, pattern, emitter, closed);
+                if (!closed.get()) {
+                    send(emitter, closed, SseEmitter.event().name("complete").data(summary));
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                log.error("Failed to stream pattern extraction preview", e);
+                if (!closed.get()) {
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+        return emitter;
+    }
+
+    private BookdropPatternExtractResult streamPreviewBatches(List<Long> fileIds, FilenamePatternMatcher pattern,
+                                                              SseEmitter emitter, AtomicBoolean closed) {
+        int successCount = 0;
+        int processed = 0;
+        for (int batchStart = 0; batchStart < fileIds.size() && !closed.get(); batchStart += BATCH_SIZE) {
+            List<Long> batchIds = fileIds.subList(batchStart, Math.min(batchStart + BATCH_SIZE, fileIds.size()));
+            List<BookdropPatternExtractResult.FileExtractionResult> batchResults =
+                    extractAll(bookdropFileRepository.findAllById(batchIds), pattern);
+            successCount += (int) batchResults.stream().filter(BookdropPatternExtractResult.FileExtractionResult::isSuccess).count();
+            processed += batchResults.size();
+            send(emitter, closed, SseEmitter.event().name("extract-batch").data(batchResults));
+        }
+        return BookdropPatternExtractResult.builder()
+                .totalFiles(fileIds.size())
+                .successfullyExtracted(successCount)
+                .failed(processed - successCount)
+                .results(Collections.emptyList())
+                .build();
+    }
+
+    private void send(SseEmitter emitter, AtomicBoolean closed, SseEmitter.SseEventBuilder event) {
+        if (closed.get()) return;
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Pattern extraction preview stream closed by client: {}", e.getMessage());
+            closed.set(true);
+        }
+    }
+
+    private BookdropPatternExtractResult processPreviewExtraction(List<Long> fileIds, FilenamePatternMatcher pattern) {
         List<Long> limitedFileIds = fileIds.size() > PREVIEW_FILE_LIMIT
                 ? fileIds.subList(0, PREVIEW_FILE_LIMIT)
                 : fileIds;
@@ -112,8 +175,7 @@ public class FilenamePatternExtractor {
                 .build();
     }
 
-    private BookdropPatternExtractResult processFullExtractionInBatches(List<Long> fileIds, ParsedPattern pattern) {
-        final int BATCH_SIZE = 500;
+    private BookdropPatternExtractResult processFullExtractionInBatches(List<Long> fileIds, FilenamePatternMatcher pattern) {
         List<BookdropPatternExtractResult.FileExtractionResult> allResults = new ArrayList<>();
         int totalSuccessCount = 0;
         int totalFailureCount = 0;
@@ -141,15 +203,10 @@ public class FilenamePatternExtractor {
     }
 
     private BatchExtractionResult processSingleExtractionBatch(List<Long> allFileIds, int batchStart, 
-                                                                int batchEnd, ParsedPattern pattern) {
+                                                                int batchEnd, FilenamePatternMatcher pattern) {
         List<Long> batchIds = allFileIds.subList(batchStart, batchEnd);
         List<BookdropFileEntity> batchFiles = bookdropFileRepository.findAllById(batchIds);
-        List<BookdropPatternExtractResult.FileExtractionResult> batchResults = new ArrayList<>();
-        
-        for (BookdropFileEntity file : batchFiles) {
-            BookdropPatternExtractResult.FileExtractionResult result = extractFromFile(file, pattern);
-            batchResults.add(result);
-        }
+        List<BookdropPatternExtractResult.FileExtractionResult> batchResults = extractAll(batchFiles, pattern);
         
         persistExtractedMetadata(batchResults, batchFiles);
         
@@ -157,6 +214,25 @@ public class FilenamePatternExtractor {
         int failureCount = batchFiles.size() - successCount;
         return new BatchExtractionResult(batchResults, successCount, failureCount);
     }
+
+    /**
+     * Matching only reads file names, so larger batches are split across the extraction pool. Results keep the order
+     * of {@code files}.
+     */
+    private List<BookdropPatternExtractResult.FileExtractionResult> extractAll(List<BookdropFileEntity> files, FilenamePatternMatcher pattern) {
+        if (files.size() < PARALLEL_THRESHOLD) {
+            return files.stream().map(file -> extractFromFile(file, pattern)).collect(Collectors.toCollection(ArrayList::new));
+        }
+        int sliceSize = (files.size() + extractionThreads - 1) / extractionThreads;
+        List<CompletableFuture<List<BookdropPatternExtractResult.FileExtractionResult>>> slices = new ArrayList<>();
+        for (int from = 0; from < files.size(); from += sliceSize) {
+            List<BookdropFileEntity> slice = files.subList(from, Math.min(files.size(), from + sliceSize));
+            slices.add(CompletableFuture.supplyAsync(() -> slice.stream().map(file -> extractFromFile(file, pattern)).toList(), extractionExecutor));
+        }
+        List<BookdropPatternExtractResult.FileExtractionResult> results = new ArrayList<>(files.size());
+        slices.forEach(slice -> results.addAll(slice.join()));
+        return results;
+    }
     
     private BookdropPatternExtractResult buildEmptyResult(int totalFiles) {
         return BookdropPatternExtractResult.builder()
@@ -168,7 +244,7 @@ public class FilenamePatternExtractor {
     }
 
     public BookMetadata extractFromFilename(String filename, String pattern) {
-        ParsedPattern parsedPattern = parsePattern(pattern);
+        FilenamePatternMatcher parsedPattern = FilenamePatternMatcher.compile(pattern);
         if (parsedPattern == null) {
             return null;
         }
@@ -176,57 +252,26 @@ public class FilenamePatternExtractor {
         return extractFromFilenameWithParsedPattern(filename, parsedPattern);
     }
     
-    private BookMetadata extractFromFilenameWithParsedPattern(String filename, ParsedPattern parsedPattern) {
+    private BookMetadata extractFromFilenameWithParsedPattern(String filename, FilenamePatternMatcher parsedPattern) {
         String nameOnly = FilenameUtils.getBaseName(filename);
         
-        Optional<Matcher> matcherResult = executeRegexMatchingWithTimeout(parsedPattern.compiledPattern(), nameOnly);
+        String[] values = parsedPattern.match(nameOnly);
         
-        if (matcherResult.isEmpty()) {
+        if (values == null) {
             return null;
         }
         
-        Matcher matcher = matcherResult.get();
-        return buildMetadataFromMatch(matcher, parsedPattern.placeholderOrder());
-    }
-
-    private Optional<Matcher> executeRegexMatchingWithTimeout(Pattern pattern, String input) {
-        Future<Optional<Matcher>> future = regexExecutor.submit(() -> {
-            Matcher matcher = pattern.matcher(input);
-            return matcher.find() ? Optional.of(matcher) : Optional.empty();
-        });
-        
-        try {
-            return future.get(REGEX_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-            future.cancel(true);
-            log.warn("Pattern matching exceeded {} second timeout for: {}", 
-                    REGEX_TIMEOUT_SECONDS, input.substring(0, Math.min(50, input.length())));
-            return Optional.empty();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return Optional.empty();
-        } catch (ExecutionException e) {
-            log.error("Pattern matching failed: {}", e.getCause() != null ? e.getCause().getMessage() : "Unknown");
-            return Optional.empty();
-        }
+        return buildMetadataFromMatch(values, parsedPattern.placeholders());
     }
 
     @PreDestroy
-    public void shutdownRegexExecutor() {
-        regexExecutor.shutdown();
-        try {
-            if (!regexExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                regexExecutor.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            regexExecutor.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+    public void shutdown() {
+        extractionExecutor.shutdownNow();
     }
 
     private BookdropPatternExtractResult.FileExtractionResult extractFromFile(
             BookdropFileEntity file, 
-            ParsedPattern parsedPattern) {
+            FilenamePatternMatcher parsedPattern) {
         try {
             BookMetadata extracted = extractFromFilenameWithParsedPattern(file.getFileName(), parsedPattern);
             
@@ -260,145 +305,18 @@ public class FilenamePatternExtractor {
         }
     }
 
-    private ParsedPattern parsePattern(String pattern) {
-        if (pattern == null || pattern.isBlank()) {
-            return null;
-        }
-
-        List<PlaceholderMatch> placeholderMatches = findAllPlaceholders(pattern);
-        StringBuilder regexBuilder = new StringBuilder();
-        List<String> placeholderOrder = new ArrayList<>();
-        int lastEnd = 0;
-
-        for (int i = 0; i < placeholderMatches.size(); i++) {
-            PlaceholderMatch placeholderMatch = placeholderMatches.get(i);
-            
-            String literalTextBeforePlaceholder = pattern.substring(lastEnd, placeholderMatch.start);
-            regexBuilder.append(Pattern.quote(literalTextBeforePlaceholder));
-
-            String placeholderName = placeholderMatch.name;
-            String formatParameter = placeholderMatch.formatParameter;
-            
-            boolean isLastPlaceholder = (i == placeholderMatches.size() - 1);
-            boolean hasTextAfterPlaceholder = (placeholderMatch.end < pattern.length());
-            boolean shouldUseGreedyMatching = isLastPlaceholder && !hasTextAfterPlaceholder;
-
-            String regexForPlaceholder;
-            if ("*".equals(placeholderName)) {
-                regexForPlaceholder = shouldUseGreedyMatching ? "(.+)" : "(.+?)";
-            } else if ("Published".equals(placeholderName) && formatParameter != null) {
-                regexForPlaceholder = buildRegexForDateFormat(formatParameter);
-            } else {
-                PlaceholderConfig config = PLACEHOLDER_CONFIGS.get(placeholderName);
-                regexForPlaceholder = determineRegexForPlaceholder(config, shouldUseGreedyMatching);
-            }
-            
-            regexBuilder.append(regexForPlaceholder);
-            
-            String placeholderWithFormat = formatParameter != null ? placeholderName + ":" + formatParameter : placeholderName;
-            placeholderOrder.add(placeholderWithFormat);
-            lastEnd = placeholderMatch.end;
-        }
-
-        String literalTextAfterLastPlaceholder = pattern.substring(lastEnd);
-        regexBuilder.append(Pattern.quote(literalTextAfterLastPlaceholder));
-        
-        try {
-            Pattern compiledPattern = Pattern.compile(regexBuilder.toString());
-            return new ParsedPattern(compiledPattern, placeholderOrder);
-        } catch (PatternSyntaxException e) {
-            log.error("Invalid regex syntax from user input '{}': {}", pattern, e.getMessage());
-            return null;
-        }
-    }
-
-    private List<PlaceholderMatch> findAllPlaceholders(String pattern) {
-        List<PlaceholderMatch> placeholderMatches = new ArrayList<>();
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(pattern);
-        
-        while (matcher.find()) {
-            String placeholderName;
-            String formatParameter = null;
-            
-            if (matcher.group(0).equals("*")) {
-                placeholderName = "*";
-            } else {
-                placeholderName = matcher.group(1);
-                formatParameter = matcher.group(2);
-            }
-            
-            placeholderMatches.add(new PlaceholderMatch(
-                matcher.start(),
-                matcher.end(),
-                placeholderName,
-                formatParameter
-            ));
-        }
-        
-        return placeholderMatches;
-    }
-
-    private String buildRegexForDateFormat(String dateFormat) {
-        StringBuilder result = new StringBuilder();
-        int i = 0;
-        
-        while (i < dateFormat.length()) {
-            if (dateFormat.startsWith("yyyy", i)) {
-                result.append("\\d{4}");
-                i += 4;
-            } else if (dateFormat.startsWith("yy", i)) {
-                result.append("\\d{2}");
-                i += 2;
-            } else if (dateFormat.startsWith("MM", i)) {
-                result.append("\\d{2}");
-                i += 2;
-            } else if (i < dateFormat.length() && dateFormat.charAt(i) == 'M') {
-                result.append("\\d{1,2}");
-                i += 1;
-            } else if (dateFormat.startsWith("dd", i)) {
-                result.append("\\d{2}");
-                i += 2;
-            } else if (i < dateFormat.length() && dateFormat.charAt(i) == 'd') {
-                result.append("\\d{1,2}");
-                i += 1;
-            } else {
-                result.append(Pattern.quote(String.valueOf(dateFormat.charAt(i))));
-                i++;
-            }
-        }
-        
-        return "(" + result.toString() + ")";
-    }
-
-    private String determineRegexForPlaceholder(PlaceholderConfig config, boolean shouldUseGreedyMatching) {
-        if (config != null) {
-            String configuredRegex = config.regex();
-            boolean isNonGreedyTextPattern = configuredRegex.equals("(.+?)");
-            
-            if (shouldUseGreedyMatching && isNonGreedyTextPattern) {
-                return "(.+)";
-            }
-            return configuredRegex;
-        }
-        
-        return shouldUseGreedyMatching ? "(.+)" : "(.+?)";
-    }
-
-    private BookMetadata buildMetadataFromMatch(Matcher matcher, List<String> placeholderOrder) {
+    private BookMetadata buildMetadataFromMatch(String[] values, List<FilenamePatternMatcher.Placeholder> placeholders) {
         BookMetadata metadata = new BookMetadata();
 
-        for (int i = 0; i < placeholderOrder.size(); i++) {
-            String placeholderWithFormat = placeholderOrder.get(i);
-            String[] parts = placeholderWithFormat.split(":", 2);
-            String placeholderName = parts[0];
-            String formatParameter = parts.length > 1 ? parts[1] : null;
+        for (int i = 0; i < placeholders.size(); i++) {
+            FilenamePatternMatcher.Placeholder placeholder = placeholders.get(i);
             
-            if ("*".equals(placeholderName)) {
+            if ("*".equals(placeholder.name())) {
                 continue;
             }
             
-            String value = matcher.group(i + 1).trim();
-            applyValueToMetadata(metadata, placeholderName, value, formatParameter);
+            String value = values[i].trim();
+            applyValueToMetadata(metadata, placeholder.name(), value, placeholder.format());
         }
 
         return metadata;
@@ -619,12 +537,6 @@ public class FilenamePatternExtractor {
         }
     }
 
-    private record PlaceholderConfig(String regex, String metadataField) {}
-
-    private record ParsedPattern(Pattern compiledPattern, List<String> placeholderOrder) {}
-    
-    private record PlaceholderMatch(int start, int end, String name, String formatParameter) {}
-    
     private record BatchExtractionResult(List<BookdropPatternExtractResult.FileExtractionResult> results, 
                                          int successCount, int failureCount) {}
 }
@@ -0,0 +1,333 @@
+package com.adityachandel.booklore.service.bookdrop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches filenames against bookdrop placeholder patterns such as {@code {Authors} - {Title} ({Published:yyyy})}
+ * without running a regular expression over the filename.
+ * <p>
+ * A pattern is compiled once into literal and capture segments. Free-text captures end where the literal that follows
+ * them occurs, typed captures (numbers, letters, ISBNs, dates) know their possible lengths up front. Matching walks the
+ * segments left to right and remembers every (segment, position) pair that failed, so no pair is tried twice; a
+ * free-text capture additionally tries each possible end at most once, which keeps the work linear in the filename
+ * length for a given pattern instead of exponential as with a backtracking regex. The result is the one the
+ * equivalent regex would find: the leftmost match, shortest free-text captures, except a free-text capture at the very
+ * end of the pattern, which takes the rest of the name.
+ */
+final class FilenamePatternMatcher {
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{(\\w+)(?::(.*?))?}|\\*");
+    private static final String WILDCARD = "*";
+
+    private final List<Placeholder> placeholders;
+    private final Segment[] segments;
+
+    record Placeholder(String name, String format) {
+    }
+
+    private FilenamePatternMatcher(List<Placeholder> placeholders, Segment[] segments) {
+        this.placeholders = placeholders;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles a pattern, or returns {@code null} when it is blank. Unknown placeholder names match free text.
+     */
+    static FilenamePatternMatcher compile(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            return null;
+        }
+        List<Placeholder> placeholders = new ArrayList<>();
+        List<Segment> segments = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(pattern);
+        int lastEnd = 0;
+        while (matcher.find()) {
+            if (matcher.start() > lastEnd) {
+                segments.add(new Literal(pattern.substring(lastEnd, matcher.start())));
+            }
+            String name = WILDCARD.equals(matcher.group()) ? WILDCARD : matcher.group(1);
+            String format = WILDCARD.equals(name) ? null : matcher.group(2);
+            boolean atEnd = matcher.end() == pattern.length();
+            segments.add(new Capture(placeholders.size(), tokenFor(name, format, atEnd)));
+            placeholders.add(new Placeholder(name, format));
+            lastEnd = matcher.end();
+        }
+        if (lastEnd < pattern.length()) {
+            segments.add(new Literal(pattern.substring(lastEnd)));
+        }
+        return new FilenamePatternMatcher(List.copyOf(placeholders), segments.toArray(Segment[]::new));
+    }
+
+    List<Placeholder> placeholders() {
+        return placeholders;
+    }
+
+    /**
+     * Returns the captured text of every placeholder, in pattern order, or {@code null} if the name does not match.
+     */
+    String[] match(String input) {
+        Run run = new Run(input);
+        int length = input.length();
+        if (segments.length > 0 && segments[0] instanceof Literal first) {
+            for (int start = input.indexOf(first.text()); start >= 0; start = input.indexOf(first.text(), start + 1)) {
+                if (run.matchFrom(0, start)) return run.values();
+            }
+            return null;
+        }
+        for (int start = 0; start <= length; start++) {
+            if (run.matchFrom(0, start)) return run.values();
+        }
+        return null;
+    }
+
+    private static Token tokenFor(String name, String format, boolean atEnd) {
+        Token text = atEnd ? Token.REST : Token.TEXT;
+        return switch (name) {
+            case "SeriesNumber" -> Token.NUMBER;
+            case "SeriesTotal" -> Token.DIGITS;
+            case "Language" -> Token.LETTERS;
+            case "ISBN10" -> Token.ISBN10;
+            case "ISBN13" -> Token.ISBN13;
+            case "ASIN" -> Token.ASIN;
+            case "Published" -> format != null ? new DateToken(format) : text;
+            default -> text;
+        };
+    }
+
+    private final class Run {
+        private final String input;
+        private final int length;
+        private final BitSet failed;
+        private final int[] starts = new int[placeholders.size()];
+        private final int[] ends = new int[placeholders.size()];
+        private final int[] textFailedFrom = new int[segments.length];
+        private final int[] textFailedLimit = new int[segments.length];
+        private final int[] lineEnds;
+
+        Run(String input) {
+            this.input = input;
+            this.length = input.length();
+            this.failed = new BitSet((segments.length + 1) * (length + 1));
+            Arrays.fill(textFailedFrom, Integer.MAX_VALUE);
+            this.lineEnds = new int[length + 1];
+            lineEnds[length] = length;
+            for (int i = length - 1; i >= 0; i--) {
+                char c = input.charAt(i);
+                boolean terminator = c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+                lineEnds[i] = terminator ? i : lineEnds[i + 1];
+            }
+        }
+
+        boolean matchFrom(int segment, int position) {
+            if (segment == segments.length) return true;
+            int key = segment * (length + 1) + position;
+            if (failed.get(key)) return false;
+            boolean matched = segments[segment] instanceof Literal literal
+                    ? input.startsWith(literal.text(), position) && matchFrom(segment + 1, position + literal.text().length())
+                    : matchCapture(segment, (Capture) segments[segment], position);
+            if (!matched) failed.set(key);
+            return matched;
+        }
+
+        private boolean matchCapture(int segment, Capture capture, int position) {
+            if (capture.token() == Token.TEXT) {
+                return matchText(segment, capture, position);
+            }
+            if (capture.token() == Token.REST) {
+                for (int end = lineEnds[position]; end > position; end--) {
+                    if (capture(segment, capture, position, end)) return true;
+                }
+                return false;
+            }
+            for (int end : capture.token().ends(input, position)) {
+                if (capture(segment, capture, position, end)) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Where a free-text capture ends does not depend on where it started, so once it failed from some position
+         * every later start on the same line fails too, and an earlier start only has to try the ends up to that
+         * position. Each end is therefore tried at most once per segment.
+         */
+        private boolean matchText(int segment, Capture capture, int position) {
+            int limit = lineEnds[position];
+            boolean sameLine = textFailedLimit[segment] == limit && textFailedFrom[segment] != Integer.MAX_VALUE;
+            if (sameLine && position >= textFailedFrom[segment]) return false;
+            int last = sameLine ? textFailedFrom[segment] : limit;
+            if (segment + 1 < segments.length && segments[segment + 1] instanceof Literal next) {
+                String delimiter = next.text();
+                for (int at = input.indexOf(delimiter, position + 1); at >= 0 && at <= last; at = input.indexOf(delimiter, at + 1)) {
+                    if (capture(segment, capture, position, at)) return true;
+                }
+            } else {
+                for (int end = position + 1; end <= last; end++) {
+                    if (capture(segment, capture, position, end)) return true;
+                }
+            }
+            textFailedFrom[segment] = position;
+            textFailedLimit[segment] = limit;
+            return false;
+        }
+
+        private boolean capture(int segment, Capture capture, int start, int end) {
+            starts[capture.index()] = start;
+            ends[capture.index()] = end;
+            return matchFrom(segment + 1, end);
+        }
+
+        String[] values() {
+            String[] values = new String[starts.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = input.substring(starts[i], ends[i]);
+            }
+            return values;
+        }
+    }
+
+    private sealed interface Segment permits Literal, Capture {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private record Capture(int index, Token token) implements Segment {
+    }
+
+    /**
+     * A capture kind. {@link #ends} lists the positions a capture starting at {@code start} may end at, in the order
+     * the equivalent greedy regex would try them. Free-text kinds are expanded by the matcher itself.
+     */
+    private interface Token {
+        Token TEXT = (input, start) -> new int[0];
+        Token REST = (input, start) -> new int[0];
+        Token DIGITS = (input, start) -> descending(start, run(input, start, Token::isDigit));
+        Token LETTERS = (input, start) -> descending(start, run(input, start, Token::isAsciiLetter));
+        Token ISBN13 = (input, start) -> run(input, start, Token::isDigit) >= 13 ? new int[]{start + 13} : new int[0];
+        Token ISBN10 = (input, start) -> isIsbn10(input, start) ? new int[]{start + 10} : new int[0];
+        Token ASIN = (input, start) -> isAsin(input, start) || isIsbn10(input, start) ? new int[]{start + 10} : new int[0];
+        Token NUMBER = (input, start) -> {
+            int digits = run(input, start, Token::isDigit);
+            if (digits == 0) return new int[0];
+            int dot = start + digits;
+            int fraction = dot < input.length() && input.charAt(dot) == '.' ? run(input, dot + 1, Token::isDigit) : 0;
+            int[] ends = new int[fraction + digits];
+            for (int i = 0; i < fraction; i++) {
+                ends[i] = dot + 1 + fraction - i;
+            }
+            System.arraycopy(descending(start, digits), 0, ends, fraction, digits);
+            return ends;
+        };
+
+        int[] ends(String input, int start);
+
+        static int run(String input, int start, CharTest test) {
+            int end = start;
+            while (end < input.length() && test.matches(input.charAt(end))) end++;
+            return end - start;
+        }
+
+        static int[] descending(int start, int maxLength) {
+            int[] ends = new int[maxLength];
+            for (int i = 0; i < maxLength; i++) {
+                ends[i] = start + maxLength - i;
+            }
+            return ends;
+        }
+
+        static boolean isIsbn10(String input, int start) {
+            if (run(input, start, Token::isDigit) < 9 || start + 10 > input.length()) return false;
+            char check = input.charAt(start + 9);
+            return isDigit(check) || check == 'X' || check == 'x';
+        }
+
+        static boolean isAsin(String input, int start) {
+            if (start + 10 > input.length() || input.charAt(start) != 'B') return false;
+            for (int i = start + 1; i < start + 10; i++) {
+                char c = input.charAt(i);
+                if (!isDigit(c) && !isAsciiLetter(c)) return false;
+            }
+            return true;
+        }
+
+        static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        static boolean isAsciiLetter(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+    }
+
+    @FunctionalInterface
+    private interface CharTest {
+        boolean matches(char c);
+    }
+
+    /**
+     * A {@code Published} capture with an explicit format: {@code yyyy}, {@code yy}, {@code MM} and {@code dd} are
+     * fixed-width digit groups, {@code M} and {@code d} one or two digits, anything else a literal character.
+     */
+    private static final class DateToken implements Token {
+        private final int[] minDigits;
+        private final int[] maxDigits;
+        private final char[] literals;
+
+        DateToken(String format) {
+            List<int[]> parts = new ArrayList<>();
+            StringBuilder literalChars = new StringBuilder();
+            int i = 0;
+            while (i < format.length()) {
+                int[] part;
+                if (format.startsWith("yyyy", i)) {
+                    part = new int[]{4, 4};
+                    i += 4;
+                } else if (format.startsWith("yy", i) || format.startsWith("MM", i) || format.startsWith("dd", i)) {
+                    part = new int[]{2, 2};
+                    i += 2;
+                } else if (format.charAt(i) == 'M' || format.charAt(i) == 'd') {
+                    part = new int[]{1, 2};
+                    i += 1;
+                } else {
+                    part = new int[]{0, 0};
+                    literalChars.append(format.charAt(i));
+                    i += 1;
+                }
+                parts.add(part);
+                if (part[1] > 0) literalChars.append('\0');
+            }
+            this.minDigits = parts.stream().mapToInt(part -> part[0]).toArray();
+            this.maxDigits = parts.stream().mapToInt(part -> part[1]).toArray();
+            this.literals = literalChars.toString().toCharArray();
+        }
+
+        @Override
+        public int[] ends(String input, int start) {
+            List<Integer> ends = new ArrayList<>();
+            collect(input, 0, start, ends);
+            return ends.stream().distinct().mapToInt(Integer::intValue).toArray();
+        }
+
+        private void collect(String input, int part, int position, List<Integer> ends) {
+            if (part == literals.length) {
+                ends.add(position);
+                return;
+            }
+            if (maxDigits[part] == 0) {
+                if (position < input.length() && input.charAt(position) == literals[part]) {
+                    collect(input, part + 1, position + 1, ends);
+                }
+                return;
+            }
+            int available = Token.run(input, position, Token::isDigit);
+            for (int width = Math.min(maxDigits[part], available); width >= minDigits[part]; width--) {
+                collect(input, part + 1, position + width, ends);
+            }
+        }
+    }
+}
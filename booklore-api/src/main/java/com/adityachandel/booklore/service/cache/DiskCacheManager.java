@@ -0,0 +1,365 @@
+package com.adityachandel.booklore.service.cache;
+
+import com.adityachandel.booklore.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps track of everything the on-disk caches (extracted comic pages, rendered PDF pages, converted books) hold,
+ * under one shared byte budget: the sum of the budgets of the registered regions. The index lives in memory in
+ * least-recently-used order with sizes recorded on admission, so reads, admissions and evictions never walk the cache
+ * folders. Changes are appended to a small journal that is replayed and compacted on the first use after startup;
+ * only entries the journal does not know about are measured on disk then.
+ */
+@Slf4j
+@Service
+public class DiskCacheManager {
+
+    static final String JOURNAL_FILENAME = "disk-cache.journal";
+    private static final int COMPACT_MIN_RECORDS = 1_000;
+    private static final char PUT = 'P';
+    private static final char TOUCH = 'T';
+    private static final char REMOVE = 'R';
+
+    private record Entry(String region, String id, long bytes, long lastAccess) {
+    }
+
+    private final Path journalPath;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DiskCacheRegion> regions = new ConcurrentHashMap<>();
+    private final Map<String, long[]> regionBytes = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private boolean loaded;
+    private BufferedWriter journal;
+    private int journalRecords;
+
+    public DiskCacheManager(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.journalPath = Path.of(appProperties.getPathConfig(), JOURNAL_FILENAME);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void register(DiskCacheRegion region) {
+        regions.put(region.name(), region);
+        regionBytes.putIfAbsent(region.name(), new long[2]);
+        Gauge.builder("booklore.disk.cache.size", this, m -> m.getRegionSize(region.name()))
+                .tag("region", region.name())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("booklore.disk.cache.entries", this, m -> m.getRegionEntries(region.name()))
+                .tag("region", region.name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marks an entry as just read. Returns {@code false} when the entry is not indexed, in which case the caller
+     * should rebuild it and {@link #admit} it.
+     */
+    public boolean touch(String region, String id) {
+        synchronized (this) {
+            ensureLoaded();
+            Entry entry = index.get(key(region, id));
+            if (entry == null) {
+                return false;
+            }
+            long now = System.currentTimeMillis();
+            index.put(key(region, id), new Entry(region, id, entry.bytes(), now));
+            appendJournal(TOUCH + "\t" + region + "\t" + id + "\t" + now);
+        }
+        counter("booklore.disk.cache.hits", region).increment();
+        return true;
+    }
+
+    /**
+     * Records a freshly written entry and evicts least recently used entries of any region until the caches fit
+     * their shared budget again. The entry being admitted is never evicted here.
+     */
+    public void admit(String region, String id, long bytes) {
+        counter("booklore.disk.cache.misses", region).increment();
+        List<Entry> evicted;
+        synchronized (this) {
+            ensureLoaded();
+            long now = System.currentTimeMillis();
+            put(new Entry(region, id, bytes, now));
+            appendJournal(PUT + "\t" + region + "\t" + id + "\t" + bytes + "\t" + now);
+            evicted = evictOverBudget(key(region, id));
+        }
+        delete(evicted);
+    }
+
+    /**
+     * Drops an entry, for example because its source file changed, and deletes it from disk.
+     */
+    public void remove(String region, String id) {
+        Entry removed;
+        synchronized (this) {
+            ensureLoaded();
+            removed = removeEntry(key(region, id));
+            if (removed != null) {
+                appendJournal(REMOVE + "\t" + region + "\t" + id);
+            }
+        }
+        DiskCacheRegion cacheRegion = regions.get(region);
+        if (cacheRegion != null) {
+            deletePath(cacheRegion.root().resolve(id));
+        }
+    }
+
+    /**
+     * Empties a region and recreates its folder.
+     */
+    public void clear(String region) throws IOException {
+        DiskCacheRegion cacheRegion = regions.get(region);
+        if (cacheRegion == null) {
+            throw new IllegalArgumentException("Unknown cache region: " + region);
+        }
+        synchronized (this) {
+            ensureLoaded();
+            List<String> keys = index.values().stream().filter(e -> e.region().equals(region)).map(e -> key(e.region(), e.id())).toList();
+            keys.forEach(this::removeEntry);
+            compactJournal();
+        }
+        FileSystemUtils.deleteRecursively(cacheRegion.root());
+        Files.createDirectories(cacheRegion.root());
+        log.info("Cleared disk cache region {}", region);
+    }
+
+    public synchronized long getRegionSize(String region) {
+        ensureLoaded();
+        long[] stats = regionBytes.get(region);
+        return stats != null ? stats[0] : 0L;
+    }
+
+    public synchronized long getRegionEntries(String region) {
+        ensureLoaded();
+        long[] stats = regionBytes.get(region);
+        return stats != null ? stats[1] : 0L;
+    }
+
+    public synchronized long getTotalSize() {
+        ensureLoaded();
+        return totalBytes;
+    }
+
+    public long getTotalBudget() {
+        return regions.values().stream().mapToLong(r -> Math.max(0L, r.budgetBytes().getAsLong())).sum();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Failed to close disk cache journal: {}", e.getMessage());
+            }
+            journal = null;
+        }
+    }
+
+    private List<Entry> evictOverBudget(String keepKey) {
+        List<Entry> evicted = new ArrayList<>();
+        long budget = getTotalBudget();
+        Iterator<Map.Entry<String, Entry>> it = index.entrySet().iterator();
+        while (totalBytes > budget && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(keepKey)) {
+                continue;
+            }
+            Entry entry = eldest.getValue();
+            it.remove();
+            account(entry, -1);
+            evicted.add(entry);
+            appendJournal(REMOVE + "\t" + entry.region() + "\t" + entry.id());
+            counter("booklore.disk.cache.evictions", entry.region()).increment();
+        }
+        return evicted;
+    }
+
+    private void delete(List<Entry> evicted) {
+        for (Entry entry : evicted) {
+            DiskCacheRegion region = regions.get(entry.region());
+            if (region != null) {
+                deletePath(region.root().resolve(entry.id()));
+                log.info("Evicted {} cache entry {} ({} bytes) to stay within the disk cache budget", entry.region(), entry.id(), entry.bytes());
+            }
+        }
+    }
+
+    private void deletePath(Path path) {
+        try {
+            FileSystemUtils.deleteRecursively(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete cache entry {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void put(Entry entry) {
+        Entry previous = index.put(key(entry.region(), entry.id()), entry);
+        if (previous != null) {
+            account(previous, -1);
+        }
+        account(entry, 1);
+    }
+
+    private Entry removeEntry(String key) {
+        Entry removed = index.remove(key);
+        if (removed != null) {
+            account(removed, -1);
+        }
+        return removed;
+    }
+
+    private void account(Entry entry, int sign) {
+        totalBytes += sign * entry.bytes();
+        long[] stats = regionBytes.computeIfAbsent(entry.region(), r -> new long[2]);
+        stats[0] += sign * entry.bytes();
+        stats[1] += sign;
+    }
+
+    private Counter counter(String name, String region) {
+        return meterRegistry.counter(name, "region", region);
+    }
+
+    private static String key(String region, String id) {
+        return region + "/" + id;
+    }
+
+    /**
+     * Rebuilds the index from the journal, keeping only entries that still exist on disk, and adds folders the
+     * journal does not know about (for example caches written before the journal existed) with their measured size
+     * and modification time.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Map<String, Entry> replayed = replayJournal();
+        List<Entry> entries = new ArrayList<>();
+        for (DiskCacheRegion region : regions.values()) {
+            if (!Files.isDirectory(region.root())) {
+                continue;
+            }
+            try (Stream<Path> children = Files.list(region.root())) {
+                children.forEach(child -> {
+                    String id = child.getFileName().toString();
+                    Entry known = replayed.get(key(region.name(), id));
+                    entries.add(known != null ? known : measure(region.name(), id, child));
+                });
+            } catch (IOException e) {
+                log.warn("Failed to list cache region {}: {}", region.name(), e.getMessage());
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::lastAccess));
+        entries.forEach(this::put);
+        compactJournal();
+        delete(evictOverBudget(null));
+        log.info("Disk cache index loaded: {} entries, {} bytes", index.size(), totalBytes);
+    }
+
+    private Entry measure(String region, String id, Path path) {
+        long bytes = 0L;
+        long lastAccess = 0L;
+        try (Stream<Path> files = Files.walk(path)) {
+            bytes = files.filter(Files::isRegularFile).mapToLong(p -> {
+                try {
+                    return Files.size(p);
+                } catch (IOException e) {
+                    return 0L;
+                }
+            }).sum();
+            lastAccess = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            log.debug("Failed to measure cache entry {}: {}", path, e.getMessage());
+        }
+        return new Entry(region, id, bytes, lastAccess);
+    }
+
+    private Map<String, Entry> replayJournal() {
+        Map<String, Entry> replayed = new HashMap<>();
+        if (!Files.isRegularFile(journalPath)) {
+            return replayed;
+        }
+        try (Stream<String> lines = Files.lines(journalPath, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> {
+                String[] parts = line.split("\t");
+                try {
+                    if (parts.length == 5 && parts[0].charAt(0) == PUT) {
+                        replayed.put(key(parts[1], parts[2]), new Entry(parts[1], parts[2], Long.parseLong(parts[3]), Long.parseLong(parts[4])));
+                    } else if (parts.length == 4 && parts[0].charAt(0) == TOUCH) {
+                        replayed.computeIfPresent(key(parts[1], parts[2]), (k, e) -> new Entry(e.region(), e.id(), e.bytes(), Long.parseLong(parts[3])));
+                    } else if (parts.length == 3 && parts[0].charAt(0) == REMOVE) {
+                        replayed.remove(key(parts[1], parts[2]));
+                    }
+                } catch (RuntimeException e) {
+                    log.debug("Skipping malformed disk cache journal line: {}", line);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to read disk cache journal, rebuilding it from disk: {}", e.getMessage());
+        }
+        return replayed;
+    }
+
+    private void appendJournal(String record) {
+        try {
+            if (journal == null) {
+                Files.createDirectories(journalPath.getParent());
+                journal = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            journal.write(record);
+            journal.newLine();
+            journal.flush();
+            journalRecords++;
+        } catch (IOException e) {
+            log.warn("Failed to append to disk cache journal: {}", e.getMessage());
+        }
+        if (journalRecords > COMPACT_MIN_RECORDS && journalRecords > 4 * index.size()) {
+            compactJournal();
+        }
+    }
+
+    /**
+     * Rewrites the journal as one record per live entry, oldest first.
+     */
+    private void compactJournal() {
+        close();
+        Path tempPath = journalPath.resolveSibling(JOURNAL_FILENAME + ".tmp");
+        try {
+            Files.createDirectories(journalPath.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                for (Entry entry : index.values()) {
+                    writer.write(PUT + "\t" + entry.region() + "\t" + entry.id() + "\t" + entry.bytes() + "\t" + entry.lastAccess());
+                    writer.newLine();
+                }
+            }
+            Files.move(tempPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalRecords = index.size();
+        } catch (IOException e) {
+            log.warn("Failed to compact disk cache journal: {}", e.getMessage());
+        }
+    }
+}
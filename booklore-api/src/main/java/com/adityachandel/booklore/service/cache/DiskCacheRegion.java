@@ -0,0 +1,11 @@
+package com.adityachandel.booklore.service.cache;
+
+import java.nio.file.Path;
+import java.util.function.LongSupplier;
+
+/**
+ * A folder of cached entries managed by {@link DiskCacheManager}. Every direct child of {@code root} (a folder or a
+ * file) is one entry, named by its id. The budget is read on every admission, so it follows settings changes.
+ */
+public record DiskCacheRegion(String name, Path root, LongSupplier budgetBytes) {
+}
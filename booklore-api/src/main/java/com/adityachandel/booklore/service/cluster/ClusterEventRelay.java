@@ -0,0 +1,200 @@
+package com.adityachandel.booklore.service.cluster;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.model.entity.ClusterEventEntity;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.repository.ClusterEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries events between instances in cluster mode through the {@code cluster_event} table.
+ * <p>
+ * WebSocket messages are always delivered to the local broker; in cluster mode they are also written to the table so
+ * the instance holding the user's connection delivers them too. Other events (cache invalidations, watcher changes)
+ * are replayed on the other instances as {@link ClusterMessageEvent}s. Outgoing events are buffered and written in
+ * one batch per poll, so callers never wait on the database. Each instance polls for rows written by the others; ids
+ * just below the last one seen are read again because auto-increment ids can commit out of order.
+ */
+@Slf4j
+@Service
+public class ClusterEventRelay {
+
+    static final int POLL_BATCH_SIZE = 500;
+    static final int LOOKBACK_IDS = 100;
+    private static final int DELIVERED_MEMORY = 2_000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterEventRepository eventRepository;
+    private final LeaderElectionService leaderElectionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Cluster cluster;
+
+    private final Queue<ClusterEventEntity> outbox = new ConcurrentLinkedQueue<>();
+    private final Set<Long> recentlyDelivered = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > DELIVERED_MEMORY;
+        }
+    });
+    private final ScheduledExecutorService pollExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long floorId;
+    private long lastSeenId;
+    private long lastPurge;
+
+    public ClusterEventRelay(SimpMessagingTemplate messagingTemplate,
+                             ClusterEventRepository eventRepository,
+                             LeaderElectionService leaderElectionService,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             AppProperties appProperties) {
+        this.messagingTemplate = messagingTemplate;
+        this.eventRepository = eventRepository;
+        this.leaderElectionService = leaderElectionService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cluster = appProperties.getCluster();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!cluster.isEnabled()) {
+            return;
+        }
+        floorId = eventRepository.findMaxId();
+        lastSeenId = floorId;
+        long period = Math.max(50, cluster.getRelayPollMillis());
+        pollExecutor.scheduleWithFixedDelay(this::poll, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollExecutor.shutdownNow();
+        if (cluster.isEnabled()) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends a message to a user's WebSocket sessions on every instance.
+     */
+    public void sendToUser(String username, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(username, destination, payload);
+        if (!cluster.isEnabled()) {
+            return;
+        }
+        try {
+            enqueue(ClusterEventType.USER_MESSAGE, username, destination, objectMapper.writeValueAsString(payload));
+        } catch (Exception e) {
+            log.error("Failed to relay message for user {} to {}: {}", username, destination, e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes an event to the other instances. Nothing happens locally, and nothing at all outside cluster mode.
+     */
+    public void publish(ClusterEventType type, String target, String payload) {
+        if (cluster.isEnabled()) {
+            enqueue(type, target, null, payload);
+        }
+    }
+
+    private void enqueue(ClusterEventType type, String target, String destination, String payload) {
+        outbox.add(ClusterEventEntity.builder()
+                .originNode(leaderElectionService.getNodeId())
+                .type(type)
+                .target(target)
+                .destination(destination)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    void poll() {
+        try {
+            flush();
+            receive();
+            purgeIfLeader();
+        } catch (Exception e) {
+            log.warn("Cluster relay poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void flush() {
+        List<ClusterEventEntity> batch = new ArrayList<>();
+        for (ClusterEventEntity event; (event = outbox.poll()) != null; ) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> eventRepository.saveAll(batch));
+        } catch (Exception e) {
+            log.error("Failed to write {} cluster event(s): {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void receive() {
+        List<ClusterEventEntity> events;
+        do {
+            long afterId = Math.max(floorId, lastSeenId - LOOKBACK_IDS);
+            events = eventRepository.findForeignEventsAfter(afterId, leaderElectionService.getNodeId(), PageRequest.of(0, POLL_BATCH_SIZE));
+            for (ClusterEventEntity event : events) {
+                if (recentlyDelivered.add(event.getId())) {
+                    deliver(event);
+                }
+                lastSeenId = Math.max(lastSeenId, event.getId());
+            }
+        } while (events.size() == POLL_BATCH_SIZE);
+    }
+
+    private void deliver(ClusterEventEntity event) {
+        try {
+            if (event.getType() == ClusterEventType.USER_MESSAGE) {
+                messagingTemplate.convertAndSendToUser(event.getTarget(), event.getDestination(), objectMapper.readTree(event.getPayload()));
+            } else {
+                eventPublisher.publishEvent(new ClusterMessageEvent(this, event.getType(), event.getTarget(), event.getPayload()));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to deliver cluster event {} of type {}: {}", event.getId(), event.getType(), e.getMessage());
+        }
+    }
+
+    private void purgeIfLeader() {
+        long now = System.currentTimeMillis();
+        if (!leaderElectionService.isLeader() || now - lastPurge < TimeUnit.MINUTES.toMillis(1)) {
+            return;
+        }
+        lastPurge = now;
+        LocalDateTime before = LocalDateTime.now().minusMinutes(cluster.getEventRetentionMinutes());
+        Integer removed = transactionTemplate.execute(status -> eventRepository.deleteCreatedBefore(before));
+        if (removed != null && removed > 0) {
+            log.debug("Purged {} cluster event(s) older than {}", removed, before);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.adityachandel.booklore.service.cluster;
+
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * An event another instance published through the {@link ClusterEventRelay}, replayed locally.
+ */
+@Getter
+public class ClusterMessageEvent extends ApplicationEvent {
+
+    private final ClusterEventType type;
+    private final String target;
+    private final String payload;
+
+    public ClusterMessageEvent(Object source, ClusterEventType type, String target, String payload) {
+        super(source);
+        this.type = type;
+        this.target = target;
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,167 @@
+package com.adityachandel.booklore.service.cluster;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.repository.ClusterLeaseRepository;
+import com.adityachandel.booklore.repository.ClusterNodeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which instance runs singleton work (library and bookdrop watchers, cron tasks, task resumption).
+ * <p>
+ * Outside cluster mode every instance is the leader. In cluster mode the instances share a lease row in the
+ * database; the holder renews it on every heartbeat and the others take it over once it has expired. Leadership is
+ * only trusted locally until the lease would run out, so an instance that stalls past its lease stops acting as the
+ * leader before another one can take over. Changes after startup are published as {@link LeadershipChangedEvent}s.
+ */
+@Slf4j
+@Service
+public class LeaderElectionService {
+
+    static final String LEADER_LEASE = "leader";
+
+    private final AppProperties.Cluster cluster;
+    private final ClusterLeaseRepository leaseRepository;
+    private final ClusterNodeRepository nodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean leader;
+    private volatile long leaderUntilNanos;
+
+    public LeaderElectionService(AppProperties appProperties,
+                                 ClusterLeaseRepository leaseRepository,
+                                 ClusterNodeRepository nodeRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
+        this.cluster = appProperties.getCluster();
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = resolveNodeId(cluster.getNodeId());
+    }
+
+    /**
+     * The first heartbeat runs before dependent services start, so they already know whether they lead when they
+     * initialise. No event is published for it.
+     */
+    @PostConstruct
+    public void start() {
+        if (!cluster.isEnabled()) {
+            return;
+        }
+        log.info("Cluster mode enabled, node id {}", nodeId);
+        leader = renew();
+        log.info("Node {} started as {}", nodeId, leader ? "leader" : "follower");
+        long period = Math.max(1, cluster.getHeartbeatSeconds());
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, period, period, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+        if (!cluster.isEnabled()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                leaseRepository.release(LEADER_LEASE, nodeId);
+                nodeRepository.deleteById(nodeId);
+            });
+            log.info("Node {} left the cluster", nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release cluster lease for node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    public boolean isClusterEnabled() {
+        return cluster.isEnabled();
+    }
+
+    public boolean isLeader() {
+        return !cluster.isEnabled() || (leader && System.nanoTime() < leaderUntilNanos);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether the given instance has sent a heartbeat within the lease time. Outside cluster mode only this
+     * instance counts as alive.
+     */
+    public boolean isNodeAlive(String otherNodeId) {
+        if (nodeId.equals(otherNodeId)) {
+            return true;
+        }
+        if (!cluster.isEnabled() || otherNodeId == null) {
+            return false;
+        }
+        return nodeRepository.countAlive(otherNodeId, cluster.getLeaseSeconds()) > 0;
+    }
+
+    void heartbeat() {
+        boolean wasLeader = leader;
+        boolean nowLeader = renew();
+        leader = nowLeader;
+        if (wasLeader != nowLeader) {
+            log.info("Node {} {} leadership", nodeId, nowLeader ? "acquired" : "lost");
+            eventPublisher.publishEvent(new LeadershipChangedEvent(this, nowLeader));
+        }
+    }
+
+    private boolean renew() {
+        long requestedAt = System.nanoTime();
+        try {
+            Boolean acquired = transactionTemplate.execute(status -> {
+                nodeRepository.heartbeat(nodeId);
+                boolean held = leaseRepository.tryAcquire(LEADER_LEASE, nodeId, cluster.getLeaseSeconds()) > 0;
+                if (held) {
+                    nodeRepository.deleteStale(cluster.getLeaseSeconds() * 10);
+                }
+                return held;
+            });
+            if (Boolean.TRUE.equals(acquired)) {
+                leaderUntilNanos = requestedAt + TimeUnit.SECONDS.toNanos(cluster.getLeaseSeconds());
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            log.warn("Cluster heartbeat failed for node {}: {}", nodeId, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String resolveNodeId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.trim();
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "booklore";
+        }
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return (host.length() > 48 ? host.substring(0, 48) : host) + "-" + suffix;
+    }
+}
@@ -3,9 +3,9 @@ package com.adityachandel.booklore.service.event;
 import com.adityachandel.booklore.model.dto.BookLoreUser;
 import com.adityachandel.booklore.model.websocket.LogNotification;
 import com.adityachandel.booklore.model.websocket.Topic;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
 import com.adityachandel.booklore.service.user.UserService;
 import lombok.AllArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,7 +17,7 @@ import static com.adityachandel.booklore.model.websocket.LogNotification.createL
 @Service
 public class AdminEventBroadcaster {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterEventRelay clusterEventRelay;
     private final UserService userService;
 
     public void broadcastAdminEvent(String message) {
@@ -25,7 +25,7 @@ public class AdminEventBroadcaster {
                 .filter(u -> u.getPermissions().isAdmin())
                 .toList();
         for (BookLoreUser admin : admins) {
-            messagingTemplate.convertAndSendToUser(admin.getUsername(), Topic.LOG.getPath(), LogNotification.info(message));
+            clusterEventRelay.sendToUser(admin.getUsername(), Topic.LOG.getPath(), LogNotification.info(message));
         }
     }
 }
@@ -3,10 +3,11 @@ package com.adityachandel.booklore.service.event;
 import com.adityachandel.booklore.model.dto.Book;
 import com.adityachandel.booklore.model.websocket.LogNotification;
 import com.adityachandel.booklore.model.websocket.Topic;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
 import com.adityachandel.booklore.service.user.UserService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import static com.adityachandel.booklore.model.websocket.LogNotification.createLogNotification;
@@ -16,18 +17,20 @@ import static com.adityachandel.booklore.model.websocket.LogNotification.createL
 @Service
 public class BookEventBroadcaster {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterEventRelay clusterEventRelay;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void broadcastBookAddEvent(Book book) {
+        eventPublisher.publishEvent(new LibraryContentChangedEvent(this));
         Long libraryId = book.getLibraryId();
         userService.getBookLoreUsers().stream()
                 .filter(u -> u.getPermissions().isAdmin() || u.getAssignedLibraries().stream()
                         .anyMatch(lib -> lib.getId().equals(libraryId)))
                 .forEach(u -> {
                     String username = u.getUsername();
-                    messagingTemplate.convertAndSendToUser(username, Topic.BOOK_ADD.getPath(), book);
-                    messagingTemplate.convertAndSendToUser(username, Topic.LOG.getPath(), LogNotification.info("Book added: " + book.getFileName()));
+                    clusterEventRelay.sendToUser(username, Topic.BOOK_ADD.getPath(), book);
+                    clusterEventRelay.sendToUser(username, Topic.LOG.getPath(), LogNotification.info("Book added: " + book.getFileName()));
                 });
     }
 }
@@ -0,0 +1,14 @@
+package com.adityachandel.booklore.service.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published locally whenever books are added, removed or have their metadata changed, so caches derived from the
+ * library contents can drop what they hold.
+ */
+public class LibraryContentChangedEvent extends ApplicationEvent {
+
+    public LibraryContentChangedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,70 @@
+package com.adityachandel.booklore.service.file;
+
+import com.adityachandel.booklore.model.enums.BookFileType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Detects the book format from the first bytes of a file, so uploads whose content does not match their extension
+ * can be turned away before the rest of the file arrives.
+ */
+public final class BookFormatSniffer {
+
+    /**
+     * Number of leading bytes {@link #detect} looks at. PDF allows its header anywhere in the first kilobyte.
+     */
+    public static final int HEADER_BYTES = 1024;
+
+    private static final byte[] PDF = ascii("%PDF-");
+    private static final byte[] ZIP = {'P', 'K', 3, 4};
+    private static final byte[] RAR = ascii("Rar!\u001a\u0007");
+    private static final byte[] SEVEN_ZIP = {'7', 'z', (byte) 0xBC, (byte) 0xAF, 0x27, 0x1C};
+    private static final byte[] EPUB_MIMETYPE = ascii("mimetypeapplication/epub+zip");
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] XML = ascii("<?xml");
+    private static final byte[] FICTION_BOOK = ascii("<FictionBook");
+    private static final int ZIP_FIRST_NAME_OFFSET = 30;
+
+    private BookFormatSniffer() {
+    }
+
+    public static Optional<BookFileType> detect(byte[] header, int length) {
+        byte[] head = Arrays.copyOf(header, Math.min(length, header.length));
+        if (startsWith(head, 0, ZIP)) {
+            return Optional.of(startsWith(head, ZIP_FIRST_NAME_OFFSET, EPUB_MIMETYPE) ? BookFileType.EPUB : BookFileType.CBX);
+        }
+        if (startsWith(head, 0, RAR) || startsWith(head, 0, SEVEN_ZIP)) {
+            return Optional.of(BookFileType.CBX);
+        }
+        if (indexOf(head, PDF) >= 0) {
+            return Optional.of(BookFileType.PDF);
+        }
+        int textStart = startsWith(head, 0, UTF8_BOM) ? UTF8_BOM.length : 0;
+        if (startsWith(head, textStart, XML) || startsWith(head, textStart, FICTION_BOOK)) {
+            return Optional.of(BookFileType.FB2);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (data.length < offset + prefix.length) {
+            return false;
+        }
+        return Arrays.equals(data, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            if (startsWith(data, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -8,16 +8,15 @@ import java.security.NoSuchAlgorithmException;
 
 public class FileFingerprint {
 
-    public static String generateHash(Path filePath) {
-        final long base = 1024L;
-        final int blockSize = 1024;
+    static final int BLOCK_SIZE = 1024;
+    static final long[] SAMPLE_POSITIONS = samplePositions();
 
+    public static String generateHash(Path filePath) {
         try (RandomAccessFile raf = new RandomAccessFile(filePath.toFile(), "r")) {
             MessageDigest md5 = MessageDigest.getInstance("MD5");
-            byte[] buffer = new byte[blockSize];
+            byte[] buffer = new byte[BLOCK_SIZE];
 
-            for (int i = -1; i <= 10; i++) {
-                long position = base << (2 * i);
+            for (long position : SAMPLE_POSITIONS) {
                 if (position >= raf.length()) break;
 
                 raf.seek(position);
@@ -27,15 +26,27 @@ public class FileFingerprint {
                 }
             }
 
-            byte[] hash = md5.digest();
-            StringBuilder result = new StringBuilder(hash.length * 2);
-            for (byte b : hash) {
-                result.append(String.format("%02x", b));
-            }
-            return result.toString();
+            return toHex(md5.digest());
 
         } catch (IOException | NoSuchAlgorithmException e) {
             throw new RuntimeException("Failed to compute partial MD5 hash for: " + filePath, e);
         }
     }
+
+    static String toHex(byte[] hash) {
+        StringBuilder result = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+
+    private static long[] samplePositions() {
+        final long base = 1024L;
+        long[] positions = new long[12];
+        for (int i = -1; i <= 10; i++) {
+            positions[i + 1] = base << (2 * i);
+        }
+        return positions;
+    }
 }
@@ -151,7 +151,14 @@ public class FileMoveHelper {
     }
 
     public Path generateNewFilePath(BookEntity book, LibraryPathEntity libraryPathEntity, String pattern) {
-        String newRelativePathStr = PathPatternResolver.resolvePattern(book, pattern);
+        return toLibraryPath(libraryPathEntity, PathPatternResolver.resolvePattern(book, pattern));
+    }
+
+    public Path generateNewFilePath(BookEntity book, LibraryPathEntity libraryPathEntity, PathPatternResolver.CompiledPattern pattern) {
+        return toLibraryPath(libraryPathEntity, pattern.resolve(book));
+    }
+
+    private Path toLibraryPath(LibraryPathEntity libraryPathEntity, String newRelativePathStr) {
         if (newRelativePathStr.startsWith("/") || newRelativePathStr.startsWith("\\")) {
             newRelativePathStr = newRelativePathStr.substring(1);
         }
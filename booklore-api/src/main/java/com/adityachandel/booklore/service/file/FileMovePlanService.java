@@ -0,0 +1,238 @@
+package com.adityachandel.booklore.service.file;
+
+import com.adityachandel.booklore.exception.ApiError;
+import com.adityachandel.booklore.model.dto.request.FileMovePlanRequest;
+import com.adityachandel.booklore.model.dto.response.FileMovePlanEntry;
+import com.adityachandel.booklore.model.dto.response.FileMovePlanSummary;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.LibraryEntity;
+import com.adityachandel.booklore.model.enums.FileMovePlanStatus;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.LibraryRepository;
+import com.adityachandel.booklore.util.PathPatternResolver;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Dry run of a naming pattern over a whole library. Books are loaded in id-ordered chunks, their target paths are
+ * resolved in parallel with a pattern compiled once, and every chunk is checked for collisions with the targets seen
+ * so far, with existing files and with filesystem length limits before it is handed to the caller. Nothing is moved.
+ */
+@Slf4j
+@Service
+public class FileMovePlanService {
+
+    static final int CHUNK_SIZE = 500;
+    private static final int MAX_PATH_BYTES = 4096;
+    private static final int MAX_COMPONENT_BYTES = 255;
+    private static final long STREAM_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    private final BookRepository bookRepository;
+    private final LibraryRepository libraryRepository;
+    private final FileMoveHelper fileMoveHelper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final int resolverThreads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final ExecutorService resolverExecutor = Executors.newFixedThreadPool(resolverThreads, runnable -> {
+        Thread thread = new Thread(runnable, "file-move-plan-" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FileMovePlanService(BookRepository bookRepository,
+                               LibraryRepository libraryRepository,
+                               FileMoveHelper fileMoveHelper,
+                               PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.libraryRepository = libraryRepository;
+        this.fileMoveHelper = fileMoveHelper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resolverExecutor.shutdownNow();
+    }
+
+    /**
+     * Streams the plan as {@code plan-batch} events, one per chunk of books, followed by a {@code complete} event
+     * carrying the summary. Closing the connection stops the planning after the current chunk.
+     */
+    public SseEmitter stream(FileMovePlanRequest request) {
+        long libraryId = request.getLibraryId();
+        String pattern = resolveNamingPattern(libraryId, request.getPattern());
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+
+        Thread.ofVirtual().name("file-move-plan-" + libraryId).start(() -> {
+            try {
+                FileMovePlanSummary summary = plan(libraryId, pattern,
+                        batch -> send(emitter, closed, SseEmitter.event().name("plan-batch").data(batch)), closed::get);
+                if (!closed.get()) {
+                    send(emitter, closed, SseEmitter.event().name("complete").data(summary));
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                log.error("Failed to plan file moves for library {}", libraryId, e);
+                if (!closed.get()) {
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+        return emitter;
+    }
+
+    public FileMovePlanSummary plan(long libraryId, String pattern, Consumer<List<FileMovePlanEntry>> batchConsumer, BooleanSupplier cancelled) {
+        long start = System.currentTimeMillis();
+        PathPatternResolver.CompiledPattern compiledPattern = PathPatternResolver.compile(pattern);
+        Map<Path, Long> claimedTargets = new HashMap<>();
+        Map<FileMovePlanStatus, Long> counts = new EnumMap<>(FileMovePlanStatus.class);
+        long total = 0;
+        long afterId = 0;
+
+        while (!cancelled.getAsBoolean()) {
+            long cursor = afterId;
+            List<Long> ids = readOnlyTransaction.execute(status ->
+                    bookRepository.findActiveIdsByLibraryIdAfter(libraryId, cursor, PageRequest.of(0, CHUNK_SIZE)));
+            if (ids == null || ids.isEmpty()) break;
+            afterId = ids.getLast();
+
+            List<BookEntity> books = new ArrayList<>(Objects.requireNonNull(
+                    readOnlyTransaction.execute(status -> bookRepository.findBooksWithMetadataAndAuthors(ids))));
+            books.sort(Comparator.comparing(BookEntity::getId));
+
+            List<FileMovePlanEntry> entries = resolveInParallel(books, compiledPattern);
+            for (FileMovePlanEntry entry : entries) {
+                claimTarget(entry, claimedTargets);
+                counts.merge(entry.getStatus(), 1L, Long::sum);
+            }
+            total += entries.size();
+            batchConsumer.accept(entries);
+        }
+
+        return FileMovePlanSummary.builder()
+                .libraryId(libraryId)
+                .pattern(pattern)
+                .total(total)
+                .counts(counts)
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    private String resolveNamingPattern(long libraryId, String requestedPattern) {
+        LibraryEntity library = libraryRepository.findById(libraryId)
+                .orElseThrow(() -> ApiError.LIBRARY_NOT_FOUND.createException(libraryId));
+        if (requestedPattern == null || requestedPattern.isBlank()) {
+            return fileMoveHelper.getFileNamingPattern(library);
+        }
+        if (requestedPattern.endsWith("/") || requestedPattern.endsWith("\\")) {
+            return requestedPattern + "{currentFilename}";
+        }
+        return requestedPattern;
+    }
+
+    private List<FileMovePlanEntry> resolveInParallel(List<BookEntity> books, PathPatternResolver.CompiledPattern pattern) {
+        int sliceSize = Math.max(1, (books.size() + resolverThreads - 1) / resolverThreads);
+        List<CompletableFuture<List<FileMovePlanEntry>>> slices = new ArrayList<>();
+        for (int from = 0; from < books.size(); from += sliceSize) {
+            List<BookEntity> slice = books.subList(from, Math.min(books.size(), from + sliceSize));
+            slices.add(CompletableFuture.supplyAsync(() -> slice.stream().map(book -> resolve(book, pattern)).toList(), resolverExecutor));
+        }
+        List<FileMovePlanEntry> entries = new ArrayList<>(books.size());
+        slices.forEach(slice -> entries.addAll(slice.join()));
+        return entries;
+    }
+
+    private FileMovePlanEntry resolve(BookEntity book, PathPatternResolver.CompiledPattern pattern) {
+        FileMovePlanEntry.FileMovePlanEntryBuilder entry = FileMovePlanEntry.builder().bookId(book.getId());
+        try {
+            Path current = book.getFullFilePath();
+            Path target = fileMoveHelper.generateNewFilePath(book, book.getLibraryPath(), pattern);
+            entry.currentPath(current.toString()).targetPath(target.toString());
+
+            String tooLong = checkLength(target);
+            if (tooLong != null) {
+                return entry.status(FileMovePlanStatus.PATH_TOO_LONG).message(tooLong).build();
+            }
+            if (current.equals(target)) {
+                return entry.status(FileMovePlanStatus.UNCHANGED).build();
+            }
+            if (Files.exists(target) && !isSameFile(current, target)) {
+                return entry.status(FileMovePlanStatus.TARGET_EXISTS).message("A file already exists at the target path").build();
+            }
+            return entry.status(FileMovePlanStatus.MOVE).build();
+        } catch (Exception e) {
+            return entry.status(FileMovePlanStatus.ERROR).message(e.getMessage()).build();
+        }
+    }
+
+    private void claimTarget(FileMovePlanEntry entry, Map<Path, Long> claimedTargets) {
+        if (entry.getTargetPath() == null || entry.getStatus() == FileMovePlanStatus.PATH_TOO_LONG) {
+            return;
+        }
+        Long claimedBy = claimedTargets.putIfAbsent(Path.of(entry.getTargetPath()), entry.getBookId());
+        if (claimedBy != null && entry.getStatus() != FileMovePlanStatus.UNCHANGED) {
+            entry.setStatus(FileMovePlanStatus.COLLISION);
+            entry.setConflictingBookId(claimedBy);
+            entry.setMessage("Resolves to the same path as book " + claimedBy);
+        }
+    }
+
+    private String checkLength(Path target) {
+        String full = target.toString();
+        int pathBytes = full.getBytes(StandardCharsets.UTF_8).length;
+        if (pathBytes > MAX_PATH_BYTES) {
+            return "Path is " + pathBytes + " bytes, the limit is " + MAX_PATH_BYTES;
+        }
+        for (Path component : target) {
+            int componentBytes = component.toString().getBytes(StandardCharsets.UTF_8).length;
+            if (componentBytes > MAX_COMPONENT_BYTES) {
+                return "Path component '" + component + "' is " + componentBytes + " bytes, the limit is " + MAX_COMPONENT_BYTES;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSameFile(Path current, Path target) {
+        try {
+            return Files.exists(current) && Files.isSameFile(current, target);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void send(SseEmitter emitter, AtomicBoolean closed, SseEmitter.SseEventBuilder event) {
+        if (closed.get()) return;
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("File move plan stream closed by client: {}", e.getMessage());
+            closed.set(true);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.adityachandel.booklore.service.file;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the {@link FileFingerprint} hash from bytes as they are written, in order, without reading the file back.
+ * Only the sampled blocks feed the digest, so the hash is final as soon as the last sampled block of a file of the
+ * expected size has been seen, which is usually well before the end of a large file.
+ */
+public class StreamingFingerprint {
+
+    private final MessageDigest md5;
+    private long position;
+
+    public StreamingFingerprint() {
+        try {
+            this.md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    private StreamingFingerprint(MessageDigest md5, long position) {
+        this.md5 = md5;
+        this.position = position;
+    }
+
+    /**
+     * Number of leading bytes of a file of the given size that determine its hash.
+     */
+    public static long requiredBytes(long fileSize) {
+        long required = 0;
+        for (long sample : FileFingerprint.SAMPLE_POSITIONS) {
+            if (sample >= fileSize) break;
+            required = Math.min(fileSize, sample + FileFingerprint.BLOCK_SIZE);
+        }
+        return required;
+    }
+
+    public void update(byte[] data, int offset, int length) {
+        long start = position;
+        long end = position + length;
+        for (long sample : FileFingerprint.SAMPLE_POSITIONS) {
+            long sampleEnd = sample + FileFingerprint.BLOCK_SIZE;
+            if (sample >= end) break;
+            if (sampleEnd <= start) continue;
+            long from = Math.max(sample, start);
+            long to = Math.min(sampleEnd, end);
+            md5.update(data, offset + (int) (from - start), (int) (to - from));
+        }
+        position = end;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public boolean isComplete(long fileSize) {
+        return position >= requiredBytes(fileSize);
+    }
+
+    /**
+     * Hash of the bytes seen so far; equal to {@link FileFingerprint#generateHash} once {@link #isComplete} holds.
+     */
+    public String getHash() {
+        return FileFingerprint.toHex(copyDigest().digest());
+    }
+
+    public StreamingFingerprint copy() {
+        return new StreamingFingerprint(copyDigest(), position);
+    }
+
+    private MessageDigest copyDigest() {
+        try {
+            return (MessageDigest) md5.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("MD5 digest cannot be cloned", e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
@@ -22,10 +23,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.FileSystemUtils;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
 import javax.imageio.IIOImage;
+import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -34,6 +40,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for converting comic book archive files (CBX) to EPUB format.
@@ -53,6 +65,13 @@ import java.util.*;
  * <ul>
  *   <li>Maximum individual image size: 50 MB</li>
  * </ul>
+ *
+ * <h3>Page Pipeline</h3>
+ * <p>
+ * Pages are read straight from the archive and re-encoded on a small shared pool, while the calling thread writes
+ * them to the EPUB in page order as they complete. Pages waiting to be encoded or written count against a memory
+ * budget shared by all conversions, so large comics or several conversions at once cannot exhaust the heap.
+ * </p>
  * 
  * @see KepubConversionService
  */
@@ -70,11 +89,44 @@ public class CbxConversionService {
     private static final String MIMETYPE_CONTENT = "application/epub+zip";
     private static final long MAX_IMAGE_SIZE_BYTES = 50L * 1024 * 1024;
     private static final String EXTRACTED_IMAGES_SUBDIR = "cbx_extracted_images";
-    
+    private static final int ENCODER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long MEMORY_BUDGET_BYTES = Math.min(256L * 1024 * 1024, Runtime.getRuntime().maxMemory() / 4);
+    private static final int[] STANDARD_LUMINANCE_TABLE = {
+            16, 11, 10, 16, 24, 40, 51, 61,
+            12, 12, 14, 19, 26, 58, 60, 55,
+            14, 13, 16, 24, 40, 57, 69, 56,
+            14, 17, 22, 29, 51, 87, 80, 62,
+            18, 22, 37, 56, 68, 109, 103, 77,
+            24, 35, 55, 64, 81, 104, 113, 92,
+            49, 64, 78, 87, 103, 121, 120, 101,
+            72, 92, 95, 98, 112, 100, 103, 99
+    };
+    private static final int STANDARD_LUMINANCE_SUM = Arrays.stream(STANDARD_LUMINANCE_TABLE).sum();
+
     private final Configuration freemarkerConfig;
+    private final ExecutorService encoderPool;
+    private final Semaphore memoryBudget;
+    private final int memoryBudgetKib;
 
     public CbxConversionService() {
+        this(ENCODER_THREADS, MEMORY_BUDGET_BYTES);
+    }
+
+    CbxConversionService(int encoderThreads, long memoryBudgetBytes) {
         this.freemarkerConfig = initializeFreemarkerConfiguration();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.encoderPool = Executors.newFixedThreadPool(encoderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "cbx-page-encoder-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.memoryBudgetKib = (int) Math.max(1, Math.min(Integer.MAX_VALUE, memoryBudgetBytes / 1024));
+        this.memoryBudget = new Semaphore(memoryBudgetKib);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        encoderPool.shutdownNow();
     }
 
     public record EpubContentFileGroup(String contentKey, String imagePath, String htmlPath) {
@@ -85,16 +137,18 @@ public class CbxConversionService {
      * <p>
      * The conversion process:
      * <ol>
-     *   <li>Extracts all images from the archive to a temporary directory</li>
+     *   <li>Streams the images from the archive in page order; only images stored out of order are parked on disk</li>
      *   <li>Creates an EPUB structure with one XHTML page per image</li>
      *   <li>Includes proper EPUB metadata from the book entity</li>
-     *   <li>JPEG images are passed through directly; other formats are converted to JPEG (85% quality)</li>
+     *   <li>JPEG images already at or below {@code compressionPercentage} quality are passed through directly; other
+     *   images are re-encoded as JPEG at that quality, several pages at a time</li>
      * </ol>
      * </p>
      * 
      * @param cbxFile the comic book archive file (must be CBZ, CBR, or CB7)
      * @param tempDir the temporary directory where the output EPUB will be created
      * @param bookEntity the book metadata to include in the EPUB
+     * @param compressionPercentage the JPEG quality (1-100) pages are re-encoded with
      * @return the converted EPUB file
      * @throws IOException if file I/O operations fail
      * @throws TemplateException if EPUB template processing fails
@@ -115,36 +169,38 @@ public class CbxConversionService {
         return outputFile;
     }
 
-    private File executeCbxConversion(File cbxFile, File tempDir, BookEntity bookEntity,int compressionPercentage)
+    private File executeCbxConversion(File cbxFile, File tempDir, BookEntity bookEntity, int compressionPercentage)
             throws IOException, TemplateException, RarException {
-        
+
         Path epubFilePath = Paths.get(tempDir.getAbsolutePath(), cbxFile.getName() + ".epub");
         File epubFile = epubFilePath.toFile();
+        Path spillDir = Paths.get(tempDir.getAbsolutePath(), EXTRACTED_IMAGES_SUBDIR);
 
-        Path extractedImagesDir = Paths.get(tempDir.getAbsolutePath(), EXTRACTED_IMAGES_SUBDIR);
-        Files.createDirectories(extractedImagesDir);
+        try (CbxArchive archive = openArchive(cbxFile)) {
+            if (archive.imageNames().isEmpty()) {
+                throw new IllegalStateException("No valid images found in CBX file: " + cbxFile.getName());
+            }
 
-        List<Path> imagePaths = extractImagesFromCbx(cbxFile, extractedImagesDir);
-        if (imagePaths.isEmpty()) {
-            throw new IllegalStateException("No valid images found in CBX file: " + cbxFile.getName());
-        }
+            List<EpubContentFileGroup> contentGroups;
+            try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(new FileOutputStream(epubFile))) {
+                addMimetypeEntry(zipOut);
+                addMetaInfContainer(zipOut);
+                addStylesheet(zipOut);
 
-        log.debug("Extracted {} images from CBX file to disk", imagePaths.size());
+                contentGroups = addImagesAndPages(zipOut, archive, spillDir, compressionPercentage);
+                if (contentGroups.isEmpty()) {
+                    throw new IllegalStateException("No valid images found in CBX file: " + cbxFile.getName());
+                }
 
-        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(new FileOutputStream(epubFile))) {
-            addMimetypeEntry(zipOut);
-            addMetaInfContainer(zipOut);
-            addStylesheet(zipOut);
-            
-            List<EpubContentFileGroup> contentGroups = addImagesAndPages(zipOut, imagePaths,compressionPercentage);
-            
-            addContentOpf(zipOut, bookEntity, contentGroups);
-            addTocNcx(zipOut, bookEntity, contentGroups);
-            addNavXhtml(zipOut, bookEntity, contentGroups);
+                addContentOpf(zipOut, bookEntity, contentGroups);
+                addTocNcx(zipOut, bookEntity, contentGroups);
+                addNavXhtml(zipOut, bookEntity, contentGroups);
+            }
+            log.debug("Wrote {} pages from {} to EPUB", contentGroups.size(), cbxFile.getName());
+        } finally {
+            deleteDirectory(spillDir);
         }
 
-        deleteDirectory(extractedImagesDir);
-
         return epubFile;
     }
     
@@ -181,100 +237,133 @@ public class CbxConversionService {
         return config;
     }
 
-    private List<Path> extractImagesFromCbx(File cbxFile, Path extractedImagesDir) throws IOException, RarException {
+    /**
+     * Receives the image entries of an archive in the order they are stored.
+     */
+    @FunctionalInterface
+    private interface ImageEntryConsumer {
+        void accept(int position, String name, long size, InputStream inputStream) throws IOException, TemplateException;
+    }
+
+    /**
+     * An open comic archive. {@link #imageNames()} lists the image entries in stored order and
+     * {@link #forEachImage} streams them in that same order, so solid RAR and 7z archives are only decompressed once.
+     */
+    private interface CbxArchive extends Closeable {
+        List<String> imageNames();
+
+        void forEachImage(ImageEntryConsumer consumer) throws IOException, TemplateException;
+    }
+
+    private CbxArchive openArchive(File cbxFile) throws IOException, RarException {
         String fileName = cbxFile.getName().toLowerCase();
         
         if (fileName.endsWith(".cbz")) {
-            return extractImagesFromZip(cbxFile, extractedImagesDir);
+            return openZip(cbxFile);
         } else if (fileName.endsWith(".cbr")) {
-            return extractImagesFromRar(cbxFile, extractedImagesDir);
+            return openRar(cbxFile);
         } else if (fileName.endsWith(".cb7")) {
-            return extractImagesFrom7z(cbxFile, extractedImagesDir);
+            return open7z(cbxFile);
         } else {
             throw new IllegalArgumentException("Unsupported archive format: " + fileName);
         }
     }
     
-    private List<Path> extractImagesFromZip(File cbzFile, Path extractedImagesDir) throws IOException {
-        List<Path> imagePaths = new ArrayList<>();
-        
-        try (ZipFile zipFile = ZipFile.builder().setFile(cbzFile).get()) {
-            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
-                if (entry.isDirectory() || !isImageFile(entry.getName())) {
-                    continue;
-                }
-                
-                validateImageSize(entry.getName(), entry.getSize());
-                
-                try (InputStream inputStream = zipFile.getInputStream(entry)) {
-                    Path outputPath = extractedImagesDir.resolve(extractFileName(entry.getName()));
-                    Files.copy(inputStream, outputPath);
-                    imagePaths.add(outputPath);
-                } catch (Exception e) {
-                    log.warn("Error extracting image {}: {}", entry.getName(), e.getMessage());
+    private CbxArchive openZip(File cbzFile) throws IOException {
+        ZipFile zipFile = ZipFile.builder().setFile(cbzFile).get();
+        List<ZipArchiveEntry> entries = Collections.list(zipFile.getEntries()).stream()
+                .filter(entry -> !entry.isDirectory() && isImageFile(entry.getName()))
+                .toList();
+        log.debug("Found {} image entries in CBZ file", entries.size());
+
+        return new CbxArchive() {
+            @Override
+            public List<String> imageNames() {
+                return entries.stream().map(ZipArchiveEntry::getName).toList();
+            }
+
+            @Override
+            public void forEachImage(ImageEntryConsumer consumer) throws IOException, TemplateException {
+                for (int i = 0; i < entries.size(); i++) {
+                    ZipArchiveEntry entry = entries.get(i);
+                    try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                        consumer.accept(i, entry.getName(), entry.getSize(), inputStream);
+                    }
                 }
             }
-        }
-        
-        log.debug("Found {} image entries in CBZ file", imagePaths.size());
-        imagePaths.sort(Comparator.comparing(path -> path.getFileName().toString().toLowerCase()));
-        return imagePaths;
+
+            @Override
+            public void close() throws IOException {
+                zipFile.close();
+            }
+        };
     }
     
-    private List<Path> extractImagesFromRar(File cbrFile, Path extractedImagesDir) throws IOException, RarException {
-        List<Path> imagePaths = new ArrayList<>();
-        
-        try (Archive rarFile = new Archive(cbrFile)) {
-            for (FileHeader fileHeader : rarFile) {
-                if (fileHeader.isDirectory() || !isImageFile(fileHeader.getFileName())) {
-                    continue;
-                }
-                
-                validateImageSize(fileHeader.getFileName(), fileHeader.getFullUnpackSize());
-                
-                try (InputStream inputStream = rarFile.getInputStream(fileHeader)) {
-                    Path outputPath = extractedImagesDir.resolve(extractFileName(fileHeader.getFileName()));
-                    Files.copy(inputStream, outputPath);
-                    imagePaths.add(outputPath);
-                } catch (Exception e) {
-                    log.warn("Error extracting image {}: {}", fileHeader.getFileName(), e.getMessage());
+    private CbxArchive openRar(File cbrFile) throws IOException, RarException {
+        Archive rarFile = new Archive(cbrFile);
+        List<FileHeader> headers = rarFile.getFileHeaders().stream()
+                .filter(header -> !header.isDirectory() && isImageFile(header.getFileName()))
+                .toList();
+        log.debug("Found {} image entries in CBR file", headers.size());
+
+        return new CbxArchive() {
+            @Override
+            public List<String> imageNames() {
+                return headers.stream().map(FileHeader::getFileName).toList();
+            }
+
+            @Override
+            public void forEachImage(ImageEntryConsumer consumer) throws IOException, TemplateException {
+                for (int i = 0; i < headers.size(); i++) {
+                    FileHeader header = headers.get(i);
+                    try (InputStream inputStream = rarFile.getInputStream(header)) {
+                        consumer.accept(i, header.getFileName(), header.getFullUnpackSize(), inputStream);
+                    }
                 }
             }
-        }
-        
-        log.debug("Found {} image entries in CBR file", imagePaths.size());
-        imagePaths.sort(Comparator.comparing(path -> path.getFileName().toString().toLowerCase()));
-        return imagePaths;
+
+            @Override
+            public void close() throws IOException {
+                rarFile.close();
+            }
+        };
     }
     
-    private List<Path> extractImagesFrom7z(File cb7File, Path extractedImagesDir) throws IOException {
-        List<Path> imagePaths = new ArrayList<>();
-        
-        try (SevenZFile sevenZFile = SevenZFile.builder().setFile(cb7File).get()) {
-            SevenZArchiveEntry entry;
-            while ((entry = sevenZFile.getNextEntry()) != null) {
-                if (entry.isDirectory() || !isImageFile(entry.getName())) {
-                    continue;
-                }
-                
-                validateImageSize(entry.getName(), entry.getSize());
-                
-                try {
-                    Path outputPath = extractedImagesDir.resolve(extractFileName(entry.getName()));
-                    try (InputStream entryInputStream = sevenZFile.getInputStream(entry);
-                         OutputStream fileOutputStream = Files.newOutputStream(outputPath)) {
-                        entryInputStream.transferTo(fileOutputStream);
+    private CbxArchive open7z(File cb7File) throws IOException {
+        SevenZFile sevenZFile = SevenZFile.builder().setFile(cb7File).get();
+        List<String> names = new ArrayList<>();
+        for (SevenZArchiveEntry entry : sevenZFile.getEntries()) {
+            if (!entry.isDirectory() && isImageFile(entry.getName())) {
+                names.add(entry.getName());
+            }
+        }
+        log.debug("Found {} image entries in CB7 file", names.size());
+
+        return new CbxArchive() {
+            @Override
+            public List<String> imageNames() {
+                return names;
+            }
+
+            @Override
+            public void forEachImage(ImageEntryConsumer consumer) throws IOException, TemplateException {
+                int position = 0;
+                SevenZArchiveEntry entry;
+                while ((entry = sevenZFile.getNextEntry()) != null) {
+                    if (entry.isDirectory() || !isImageFile(entry.getName())) {
+                        continue;
+                    }
+                    try (InputStream inputStream = sevenZFile.getInputStream(entry)) {
+                        consumer.accept(position++, entry.getName(), entry.getSize(), inputStream);
                     }
-                    imagePaths.add(outputPath);
-                } catch (Exception e) {
-                    log.warn("Error extracting image {}: {}", entry.getName(), e.getMessage());
                 }
             }
-        }
-        
-        log.debug("Found {} image entries in CB7 file", imagePaths.size());
-        imagePaths.sort(Comparator.comparing(path -> path.getFileName().toString().toLowerCase()));
-        return imagePaths;
+
+            @Override
+            public void close() throws IOException {
+                sevenZFile.close();
+            }
+        };
     }
     
     private String extractFileName(String entryPath) {
@@ -296,17 +385,6 @@ public class CbxConversionService {
                lowerName.endsWith(".gif") || lowerName.endsWith(".bmp");
     }
 
-    private boolean isJpegFile(Path path) {
-        Set<String> jpegExtensions = Set.of(".jpg", ".jpeg");
-        String fileName = path.getFileName().toString().toLowerCase();
-        int lastDot = fileName.lastIndexOf('.');
-        if (lastDot > 0) {
-            String extension = fileName.substring(lastDot);
-            return jpegExtensions.contains(extension);
-        }
-        return false;
-    }
-
     private void addMimetypeEntry(ZipArchiveOutputStream zipOut) throws IOException {
         byte[] mimetypeBytes = MIMETYPE_CONTENT.getBytes(StandardCharsets.UTF_8);
         ZipArchiveEntry mimetypeEntry = new ZipArchiveEntry("mimetype");
@@ -340,71 +418,239 @@ public class CbxConversionService {
         zipOut.closeArchiveEntry();
     }
 
-    private List<EpubContentFileGroup> addImagesAndPages(ZipArchiveOutputStream zipOut, List<Path> imagePaths,int compressionPercentage)
-            throws IOException, TemplateException {
-        
+    /**
+     * A page handed to the encoder pool. {@code permits} is its share of the memory budget, held until the page is
+     * written.
+     */
+    private record PendingPage(Future<byte[]> image, int permits) {
+    }
+
+    /**
+     * Streams the pages out of the archive in page order, encodes them on the shared pool and writes each one as soon
+     * as it and every page before it are done. Before a page is queued its share of the memory budget is reserved;
+     * while the budget is exhausted the oldest queued page is written first, which always frees budget because that
+     * page is already being encoded.
+     */
+    private List<EpubContentFileGroup> addImagesAndPages(ZipArchiveOutputStream zipOut, CbxArchive archive, Path spillDir,
+                                                         int compressionPercentage) throws IOException, TemplateException {
         List<EpubContentFileGroup> contentGroups = new ArrayList<>();
+        Deque<PendingPage> pending = new ArrayDeque<>();
+
+        try {
+            forEachPageInOrder(archive, spillDir, (name, data) -> {
+                int permits = permitsFor(estimateMemoryCost(data));
+                while (!memoryBudget.tryAcquire(permits)) {
+                    if (pending.isEmpty()) {
+                        acquireBudget(permits);
+                        break;
+                    }
+                    writePage(zipOut, pending.poll(), contentGroups);
+                }
+                pending.add(new PendingPage(encoderPool.submit(() -> encodePage(name, data, compressionPercentage)), permits));
+
+                while (!pending.isEmpty() && pending.peek().image().isDone()) {
+                    writePage(zipOut, pending.poll(), contentGroups);
+                }
+            });
+            while (!pending.isEmpty()) {
+                writePage(zipOut, pending.poll(), contentGroups);
+            }
+        } finally {
+            for (PendingPage page : pending) {
+                page.image().cancel(true);
+                memoryBudget.release(page.permits());
+            }
+        }
+
+        return contentGroups;
+    }
+
+    private void writePage(ZipArchiveOutputStream zipOut, PendingPage page, List<EpubContentFileGroup> contentGroups)
+            throws IOException, TemplateException {
+        byte[] image;
+        try {
+            image = page.image().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while converting CBX pages");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to encode CBX page", e.getCause());
+        } finally {
+            memoryBudget.release(page.permits());
+        }
 
-        if (!imagePaths.isEmpty()) {
-            addImageToZipFromPath(zipOut, COVER_IMAGE_PATH, imagePaths.getFirst(),compressionPercentage);
+        int pageNumber = contentGroups.size() + 1;
+        String contentKey = String.format("page-%04d", pageNumber);
+        String imageFileName = contentKey + ".jpg";
+        String imagePath = IMAGE_ROOT_PATH + imageFileName;
+        String htmlPath = HTML_ROOT_PATH + contentKey + ".xhtml";
+
+        if (pageNumber == 1) {
+            addBytesEntry(zipOut, COVER_IMAGE_PATH, image);
         }
+        addBytesEntry(zipOut, imagePath, image);
 
-        for (int i = 0; i < imagePaths.size(); i++) {
-            Path imageSourcePath = imagePaths.get(i);
-            String contentKey = String.format("page-%04d", i + 1);
-            String imageFileName = contentKey + ".jpg";
-            String htmlFileName = contentKey + ".xhtml";
+        String htmlContent = generatePageHtml(imageFileName, pageNumber);
+        addBytesEntry(zipOut, htmlPath, htmlContent.getBytes(StandardCharsets.UTF_8));
 
-            String imagePath = IMAGE_ROOT_PATH + imageFileName;
-            String htmlPath = HTML_ROOT_PATH + htmlFileName;
+        contentGroups.add(new EpubContentFileGroup(contentKey, imagePath, htmlPath));
+    }
 
-            addImageToZipFromPath(zipOut, imagePath, imageSourcePath,compressionPercentage);
+    private void addBytesEntry(ZipArchiveOutputStream zipOut, String path, byte[] content) throws IOException {
+        zipOut.putArchiveEntry(new ZipArchiveEntry(path));
+        zipOut.write(content);
+        zipOut.closeArchiveEntry();
+    }
 
-            String htmlContent = generatePageHtml(imageFileName, i + 1);
-            ZipArchiveEntry htmlEntry = new ZipArchiveEntry(htmlPath);
-            zipOut.putArchiveEntry(htmlEntry);
-            zipOut.write(htmlContent.getBytes(StandardCharsets.UTF_8));
-            zipOut.closeArchiveEntry();
+    @FunctionalInterface
+    private interface PageConsumer {
+        void accept(String name, byte[] data) throws IOException, TemplateException;
+    }
 
-            contentGroups.add(new EpubContentFileGroup(contentKey, imagePath, htmlPath));
+    /**
+     * Hands every readable image to {@code consumer} in page order (file name, case-insensitive) while reading the
+     * archive once in stored order. Pages that are stored ahead of their turn are parked in {@code spillDir} until
+     * the pages before them have been handed over; for the usual archive that is already in page order nothing is
+     * written to disk. Images that cannot be read are skipped.
+     */
+    private void forEachPageInOrder(CbxArchive archive, Path spillDir, PageConsumer consumer)
+            throws IOException, TemplateException {
+        List<String> names = archive.imageNames();
+        List<Integer> byPage = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            byPage.add(i);
+        }
+        byPage.sort(Comparator.comparing(position -> extractFileName(names.get(position)).toLowerCase()));
+        int[] pageOf = new int[names.size()];
+        for (int page = 0; page < byPage.size(); page++) {
+            pageOf[byPage.get(page)] = page;
         }
 
-        return contentGroups;
+        // Page index -> parked file, or null for a page that could not be read
+        Map<Integer, Path> parked = new HashMap<>();
+        int[] next = {0};
+
+        archive.forEachImage((position, name, size, inputStream) -> {
+            validateImageSize(name, size);
+
+            byte[] data;
+            try {
+                data = inputStream.readAllBytes();
+            } catch (Exception e) {
+                log.warn("Error extracting image {}: {}", name, e.getMessage());
+                data = null;
+            }
+
+            int page = pageOf[position];
+            if (page != next[0]) {
+                parked.put(page, data == null ? null : park(spillDir, page, data));
+                return;
+            }
+            if (data != null) {
+                consumer.accept(name, data);
+            }
+            next[0]++;
+            next[0] = releaseParked(parked, next[0], names, byPage, consumer);
+        });
     }
 
-    private void addImageToZipFromPath(ZipArchiveOutputStream zipOut, String epubImagePath, Path sourceImagePath,int compressionPercentage)
-            throws IOException {
-        ZipArchiveEntry imageEntry = new ZipArchiveEntry(epubImagePath);
-        zipOut.putArchiveEntry(imageEntry);
-        
-        if (isJpegFile(sourceImagePath)) {
-            try (InputStream fis = Files.newInputStream(sourceImagePath)) {
-                fis.transferTo(zipOut);
+    private int releaseParked(Map<Integer, Path> parked, int next, List<String> names, List<Integer> byPage,
+                              PageConsumer consumer) throws IOException, TemplateException {
+        while (parked.containsKey(next)) {
+            Path file = parked.remove(next);
+            if (file != null) {
+                consumer.accept(names.get(byPage.get(next)), readParked(file));
             }
-        } else {
-            try (InputStream fis = Files.newInputStream(sourceImagePath)) {
-                BufferedImage image = ImageIO.read(fis);
-                if (image != null) {
-                    writeJpegImage(image, zipOut, compressionPercentage/100f);
-                } else {
-                    log.warn("Could not decode image {}, copying raw bytes", sourceImagePath.getFileName());
-                    try (InputStream rawStream = Files.newInputStream(sourceImagePath)) {
-                        rawStream.transferTo(zipOut);
-                    }
+            next++;
+        }
+        return next;
+    }
+
+    private Path park(Path spillDir, int page, byte[] data) throws IOException {
+        Files.createDirectories(spillDir);
+        Path file = spillDir.resolve(page + ".img");
+        Files.write(file, data);
+        return file;
+    }
+
+    private byte[] readParked(Path file) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        Files.deleteIfExists(file);
+        return data;
+    }
+
+    private void acquireBudget(int permits) throws IOException {
+        try {
+            memoryBudget.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while converting CBX pages");
+        }
+    }
+
+    private int permitsFor(long bytes) {
+        long kib = (bytes + 1023) / 1024;
+        return (int) Math.max(1, Math.min(kib, memoryBudgetKib));
+    }
+
+    /**
+     * What a page needs while it is queued: the source bytes, the decoded raster (from the image header, without
+     * decoding) and roughly as much again for the encoded result.
+     */
+    private static long estimateMemoryCost(byte[] data) {
+        long decoded = data.length * 10L;
+        try (ImageInputStream in = new MemoryCacheImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    decoded = (long) reader.getWidth(0) * reader.getHeight(0) * 4;
+                } finally {
+                    reader.dispose();
                 }
             }
+        } catch (IOException | RuntimeException e) {
+            // Unknown format or broken header, keep the rough estimate
         }
-        
-        zipOut.closeArchiveEntry();
+        return data.length * 2L + decoded;
     }
-    
-    private void writeJpegImage(BufferedImage image, ZipArchiveOutputStream zipOut, float quality) 
-            throws IOException {
+
+    /**
+     * Runs on the encoder pool. JPEG pages whose own quality is at or below the target are returned untouched, every
+     * other page is re-encoded as JPEG at the target quality. Pages that cannot be decoded are returned as they are.
+     */
+    private byte[] encodePage(String name, byte[] data, int compressionPercentage) {
+        if (isJpeg(data)) {
+            int sourceQuality = estimateJpegQuality(data);
+            if (sourceQuality < 0 || sourceQuality <= compressionPercentage) {
+                return data;
+            }
+        }
+
+        try {
+            BufferedImage image = ImageIO.read(new MemoryCacheImageInputStream(new ByteArrayInputStream(data)));
+            if (image == null) {
+                log.warn("Could not decode image {}, copying raw bytes", extractFileName(name));
+                return data;
+            }
+            return encodeJpeg(image, compressionPercentage / 100f);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not re-encode image {}, copying raw bytes: {}", extractFileName(name), e.getMessage());
+            return data;
+        }
+    }
+
+    private byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
         BufferedImage rgbImage = image;
         if (image.getType() != BufferedImage.TYPE_INT_RGB) {
             rgbImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
-            rgbImage.getGraphics().drawImage(image, 0, 0, null);
-            rgbImage.getGraphics().dispose();
+            Graphics2D graphics = rgbImage.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, null);
+            } finally {
+                graphics.dispose();
+            }
         }
         
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -422,14 +668,68 @@ public class CbxConversionService {
             param.setCompressionQuality(quality);
         }
         
-        try (ImageOutputStream ios = ImageIO.createImageOutputStream(baos)) {
+        try (ImageOutputStream ios = new MemoryCacheImageOutputStream(baos)) {
             writer.setOutput(ios);
             writer.write(null, new IIOImage(rgbImage, null, null), param);
         } finally {
             writer.dispose();
         }
         
-        zipOut.write(baos.toByteArray());
+        return baos.toByteArray();
+    }
+
+    static boolean isJpeg(byte[] data) {
+        return data.length > 3 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF;
+    }
+
+    /**
+     * Estimates the quality (1-100) a JPEG was saved with by comparing its luminance quantization table with the
+     * standard table that encoders scale by quality. Returns -1 when the file has no luminance table.
+     */
+    static int estimateJpegQuality(byte[] data) {
+        int offset = 2;
+        while (offset + 4 <= data.length) {
+            if ((data[offset] & 0xFF) != 0xFF) {
+                return -1;
+            }
+            int marker = data[offset + 1] & 0xFF;
+            if (marker == 0xFF) {
+                offset++;
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                return -1;
+            }
+            int length = ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+            int end = offset + 2 + length;
+            if (length < 2 || end > data.length) {
+                return -1;
+            }
+            if (marker == 0xDB) {
+                int table = offset + 4;
+                while (table < end) {
+                    boolean sixteenBit = (data[table] >> 4 & 0x0F) == 1;
+                    int id = data[table] & 0x0F;
+                    int valueSize = sixteenBit ? 2 : 1;
+                    if (table + 1 + 64 * valueSize > end) {
+                        return -1;
+                    }
+                    if (id == 0) {
+                        long sum = 0;
+                        for (int i = 0; i < 64; i++) {
+                            int at = table + 1 + i * valueSize;
+                            sum += sixteenBit ? ((data[at] & 0xFF) << 8) | (data[at + 1] & 0xFF) : data[at] & 0xFF;
+                        }
+                        double scale = 100.0 * sum / STANDARD_LUMINANCE_SUM;
+                        double quality = scale <= 100 ? (200 - scale) / 2 : 5000 / scale;
+                        return (int) Math.max(1, Math.min(100, Math.round(quality)));
+                    }
+                    table += 1 + 64 * valueSize;
+                }
+            }
+            offset = end;
+        }
+        return -1;
     }
 
     private String generatePageHtml(String imageFileName, int pageNumber) throws IOException, TemplateException {
@@ -0,0 +1,406 @@
+package com.adityachandel.booklore.service.kobo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.jsoup.nodes.Entities;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Turns an EPUB into a KEPUB in a single pass over the archive.
+ * <p>
+ * Every XHTML document is streamed through a StAX parser: text in the body is wrapped in numbered
+ * {@code <span class="koboSpan" id="kobo.P.S">} elements, one per sentence (these are the anchors Kobo uses for
+ * reading position, highlights and statistics), images get a span of their own, the body content is wrapped in the
+ * {@code book-columns}/{@code book-inner} divs and the Kobo style fixes are added to the head. All other entries are
+ * copied over as they are, without being recompressed. Documents that are not well-formed XML are copied unchanged,
+ * the Kobo still reads them, just without the span features.
+ */
+@Slf4j
+@Component
+public class KepubTransformer {
+
+    static final String KOBO_STYLE = "div#book-inner { margin-top: 0; margin-bottom: 0;}";
+    static final String HYPHENATION_STYLE = "* { -webkit-hyphens: auto; hyphens: auto; } "
+            + "h1, h2, h3, h4, h5, h6, td { -webkit-hyphens: none !important; hyphens: none !important; }";
+
+    private static final String MIMETYPE_CONTENT = "application/epub+zip";
+    private static final Set<String> PARAGRAPH_ELEMENTS = Set.of("p", "ol", "ul", "table", "h1", "h2", "h3", "h4", "h5", "h6");
+    private static final Set<String> SKIPPED_ELEMENTS = Set.of("script", "style", "svg", "math");
+    private static final Set<String> VOID_ELEMENTS = Set.of("area", "base", "br", "col", "embed", "hr", "img", "input",
+            "link", "meta", "param", "source", "track", "wbr");
+    private static final Set<String> XML_ENTITIES = Set.of("amp", "lt", "gt", "quot", "apos");
+    private static final Pattern SENTENCE_END = Pattern.compile("[.!?\u2026]+[\"'\u201D\u2019)\\]]*\\s+");
+
+    private final XMLInputFactory inputFactory;
+    private final XMLOutputFactory outputFactory;
+
+    public KepubTransformer() {
+        this.inputFactory = XMLInputFactory.newFactory();
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        this.outputFactory = XMLOutputFactory.newFactory();
+    }
+
+    /**
+     * Writes the KEPUB to {@code outputFile}.
+     */
+    public void transform(File epubFile, File outputFile, boolean hyphenate) throws IOException {
+        try (ZipFile source = ZipFile.builder().setFile(epubFile).get();
+             ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(outputFile)) {
+            transform(source, zipOut, hyphenate);
+        }
+    }
+
+    private void transform(ZipFile source, ZipArchiveOutputStream zipOut, boolean hyphenate) throws IOException {
+        writeMimetype(zipOut);
+        for (ZipArchiveEntry entry : Collections.list(source.getEntries())) {
+            String name = entry.getName();
+            if ("mimetype".equals(name)) {
+                continue;
+            }
+            if (!entry.isDirectory() && isContentDocument(name)) {
+                byte[] document;
+                try (InputStream inputStream = source.getInputStream(entry)) {
+                    document = inputStream.readAllBytes();
+                }
+                zipOut.putArchiveEntry(new ZipArchiveEntry(name));
+                zipOut.write(transformDocument(name, document, hyphenate));
+                zipOut.closeArchiveEntry();
+            } else {
+                try (InputStream rawStream = source.getRawInputStream(entry)) {
+                    zipOut.addRawArchiveEntry(entry, rawStream);
+                }
+            }
+        }
+    }
+
+    private void writeMimetype(ZipArchiveOutputStream zipOut) throws IOException {
+        byte[] mimetype = MIMETYPE_CONTENT.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(mimetype);
+
+        ZipArchiveEntry entry = new ZipArchiveEntry("mimetype");
+        entry.setMethod(ZipArchiveEntry.STORED);
+        entry.setSize(mimetype.length);
+        entry.setCrc(crc.getValue());
+        zipOut.putArchiveEntry(entry);
+        zipOut.write(mimetype);
+        zipOut.closeArchiveEntry();
+    }
+
+    static boolean isContentDocument(String name) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        return lowerName.endsWith(".xhtml") || lowerName.endsWith(".html") || lowerName.endsWith(".htm");
+    }
+
+    byte[] transformDocument(String name, byte[] document, boolean hyphenate) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(document.length + document.length / 2);
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(new ByteArrayInputStream(replaceHtmlEntities(document)));
+            XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            new DocumentTransform(reader, writer, hyphenate).run();
+            writer.close();
+            return out.toByteArray();
+        } catch (XMLStreamException | RuntimeException e) {
+            log.warn("Copying {} without Kobo spans, it could not be parsed: {}", name, e.getMessage());
+            return document;
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * XHTML documents routinely use HTML entities such as {@code &nbsp;} without declaring them, which an XML parser
+     * rejects. They are rewritten to numeric character references first; the five XML entities are left alone.
+     * UTF-16 documents are returned as they are.
+     */
+    static byte[] replaceHtmlEntities(byte[] document) {
+        if (document.length >= 2 && ((document[0] == (byte) 0xFE && document[1] == (byte) 0xFF)
+                || (document[0] == (byte) 0xFF && document[1] == (byte) 0xFE))) {
+            return document;
+        }
+
+        ByteArrayOutputStream out = null;
+        int copied = 0;
+        for (int i = 0; i < document.length; i++) {
+            if (document[i] != '&') {
+                continue;
+            }
+            int end = i + 1;
+            while (end < document.length && end - i <= 32 && isAsciiLetterOrDigit(document[end])) {
+                end++;
+            }
+            if (end == i + 1 || end >= document.length || document[end] != ';') {
+                continue;
+            }
+            String entity = new String(document, i + 1, end - i - 1, StandardCharsets.US_ASCII);
+            if (XML_ENTITIES.contains(entity) || !Entities.isNamedEntity(entity)) {
+                continue;
+            }
+
+            if (out == null) {
+                out = new ByteArrayOutputStream(document.length + 64);
+            }
+            out.write(document, copied, i - copied);
+            StringBuilder references = new StringBuilder();
+            Entities.getByName(entity).codePoints().forEach(codePoint -> references.append("&#").append(codePoint).append(';'));
+            out.writeBytes(references.toString().getBytes(StandardCharsets.US_ASCII));
+            copied = end + 1;
+            i = end;
+        }
+
+        if (out == null) {
+            return document;
+        }
+        out.write(document, copied, document.length - copied);
+        return out.toByteArray();
+    }
+
+    private static boolean isAsciiLetterOrDigit(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9');
+    }
+
+    /**
+     * A start tag held back until the next event shows whether the element is empty, so {@code <br/>} stays
+     * {@code <br/>} instead of becoming {@code <br></br>}.
+     */
+    private record StartTag(String prefix, String localName, String namespace, List<String[]> namespaces, List<String[]> attributes) {
+    }
+
+    /**
+     * Copies one document from reader to writer, adding the Kobo markup on the way. Paragraph numbers advance at
+     * every paragraph-like element and sentence numbers restart with each paragraph.
+     */
+    private static final class DocumentTransform {
+
+        private final XMLStreamReader reader;
+        private final XMLStreamWriter writer;
+        private final boolean hyphenate;
+
+        private StartTag pending;
+        private String prefix = "";
+        private String namespace = "";
+        private boolean inBody;
+        private int skipDepth;
+        private int paragraph;
+        private int sentence;
+        private boolean imageSpanOpen;
+
+        private DocumentTransform(XMLStreamReader reader, XMLStreamWriter writer, boolean hyphenate) {
+            this.reader = reader;
+            this.writer = writer;
+            this.hyphenate = hyphenate;
+        }
+
+        void run() throws XMLStreamException {
+            writer.writeStartDocument("utf-8", "1.0");
+            writer.writeCharacters("\n");
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event != XMLStreamConstants.END_ELEMENT) {
+                    flushPending(false);
+                }
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT -> startElement();
+                    case XMLStreamConstants.END_ELEMENT -> endElement();
+                    case XMLStreamConstants.CHARACTERS -> characters(reader.getText());
+                    case XMLStreamConstants.SPACE -> writer.writeCharacters(reader.getText());
+                    case XMLStreamConstants.CDATA -> writer.writeCData(reader.getText());
+                    case XMLStreamConstants.COMMENT -> writer.writeComment(reader.getText());
+                    case XMLStreamConstants.ENTITY_REFERENCE -> writer.writeEntityRef(reader.getLocalName());
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION -> {
+                        if (reader.getPIData() == null) {
+                            writer.writeProcessingInstruction(reader.getPITarget());
+                        } else {
+                            writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                        }
+                    }
+                    case XMLStreamConstants.DTD -> {
+                        writer.writeDTD(reader.getText());
+                        writer.writeCharacters("\n");
+                    }
+                    default -> {
+                    }
+                }
+            }
+            flushPending(false);
+            writer.writeEndDocument();
+            writer.flush();
+        }
+
+        private void startElement() throws XMLStreamException {
+            String localName = reader.getLocalName().toLowerCase(Locale.ROOT);
+            if (skipDepth > 0) {
+                skipDepth++;
+            } else if (inBody && (SKIPPED_ELEMENTS.contains(localName) || isKoboSpan(localName))) {
+                skipDepth = 1;
+            } else if (inBody && PARAGRAPH_ELEMENTS.contains(localName)) {
+                paragraph++;
+                sentence = 0;
+            } else if (inBody && localName.equals("img")) {
+                openSpan();
+                imageSpanOpen = true;
+            }
+
+            pending = captureStartTag();
+            if (skipDepth == 0 && (localName.equals("head") || localName.equals("body"))) {
+                prefix = pending.prefix();
+                namespace = pending.namespace();
+                flushPending(false);
+                if (localName.equals("body")) {
+                    writeWrapper("book-columns");
+                    writeWrapper("book-inner");
+                    inBody = true;
+                }
+            }
+        }
+
+        private void endElement() throws XMLStreamException {
+            String localName = reader.getLocalName().toLowerCase(Locale.ROOT);
+            if (pending != null) {
+                // Only void elements may self-close: browsers read <a id="x"/> or <div/> as an unclosed start tag
+                boolean isVoid = VOID_ELEMENTS.contains(localName);
+                flushPending(isVoid);
+                if (!isVoid) {
+                    writer.writeEndElement();
+                }
+            } else {
+                if (skipDepth == 0 && localName.equals("head")) {
+                    writeStyles();
+                } else if (skipDepth == 0 && localName.equals("body")) {
+                    writer.writeEndElement();
+                    writer.writeEndElement();
+                    inBody = false;
+                }
+                writer.writeEndElement();
+            }
+
+            if (skipDepth > 0) {
+                skipDepth--;
+            } else if (imageSpanOpen && localName.equals("img")) {
+                writer.writeEndElement();
+                imageSpanOpen = false;
+            }
+        }
+
+        private void characters(String text) throws XMLStreamException {
+            if (!inBody || skipDepth > 0 || text.isBlank()) {
+                writer.writeCharacters(text);
+                return;
+            }
+
+            int from = 0;
+            while (Character.isWhitespace(text.charAt(from))) {
+                from++;
+            }
+            writer.writeCharacters(text.substring(0, from));
+
+            Matcher matcher = SENTENCE_END.matcher(text);
+            while (from < text.length() && matcher.find(from)) {
+                writeSpan(text.substring(from, matcher.end()));
+                from = matcher.end();
+            }
+            if (from < text.length()) {
+                writeSpan(text.substring(from));
+            }
+        }
+
+        private boolean isKoboSpan(String localName) {
+            return localName.equals("span") && "koboSpan".equals(reader.getAttributeValue(null, "class"));
+        }
+
+        private void openSpan() throws XMLStreamException {
+            if (paragraph == 0) {
+                paragraph = 1;
+            }
+            sentence++;
+            writer.writeStartElement(prefix, "span", namespace);
+            writer.writeAttribute("class", "koboSpan");
+            writer.writeAttribute("id", "kobo." + paragraph + "." + sentence);
+        }
+
+        private void writeSpan(String text) throws XMLStreamException {
+            openSpan();
+            writer.writeCharacters(text);
+            writer.writeEndElement();
+        }
+
+        private void writeWrapper(String id) throws XMLStreamException {
+            writer.writeStartElement(prefix, "div", namespace);
+            writer.writeAttribute("id", id);
+        }
+
+        private void writeStyles() throws XMLStreamException {
+            writer.writeStartElement(prefix, "style", namespace);
+            writer.writeAttribute("type", "text/css");
+            writer.writeAttribute("class", "kobostylehacks");
+            writer.writeCharacters(hyphenate ? KOBO_STYLE + " " + HYPHENATION_STYLE : KOBO_STYLE);
+            writer.writeEndElement();
+        }
+
+        private StartTag captureStartTag() {
+            List<String[]> namespaces = new ArrayList<>(reader.getNamespaceCount());
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                namespaces.add(new String[]{reader.getNamespacePrefix(i), reader.getNamespaceURI(i)});
+            }
+            List<String[]> attributes = new ArrayList<>(reader.getAttributeCount());
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                attributes.add(new String[]{reader.getAttributePrefix(i), reader.getAttributeNamespace(i),
+                        reader.getAttributeLocalName(i), reader.getAttributeValue(i)});
+            }
+            return new StartTag(Objects.requireNonNullElse(reader.getPrefix(), ""), reader.getLocalName(),
+                    Objects.requireNonNullElse(reader.getNamespaceURI(), ""), namespaces, attributes);
+        }
+
+        private void flushPending(boolean empty) throws XMLStreamException {
+            if (pending == null) {
+                return;
+            }
+            StartTag tag = pending;
+            pending = null;
+
+            if (empty) {
+                writer.writeEmptyElement(tag.prefix(), tag.localName(), tag.namespace());
+            } else {
+                writer.writeStartElement(tag.prefix(), tag.localName(), tag.namespace());
+            }
+            for (String[] declaration : tag.namespaces()) {
+                if (declaration[0] == null || declaration[0].isEmpty()) {
+                    writer.writeDefaultNamespace(declaration[1]);
+                } else {
+                    writer.writeNamespace(declaration[0], declaration[1]);
+                }
+            }
+            for (String[] attribute : tag.attributes()) {
+                if (attribute[0] == null || attribute[0].isEmpty()) {
+                    writer.writeAttribute(attribute[2], attribute[3]);
+                } else {
+                    writer.writeAttribute(attribute[0], attribute[1], attribute[2], attribute[3]);
+                }
+            }
+        }
+    }
+}
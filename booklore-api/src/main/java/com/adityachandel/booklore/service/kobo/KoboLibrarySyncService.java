@@ -9,6 +9,7 @@ import com.adityachandel.booklore.model.entity.KoboLibrarySnapshotEntity;
 import com.adityachandel.booklore.model.entity.UserBookProgressEntity;
 import com.adityachandel.booklore.repository.KoboDeletedBookProgressRepository;
 import com.adityachandel.booklore.repository.UserBookProgressRepository;
+import com.adityachandel.booklore.service.user.ReadingProgressBuffer;
 import com.adityachandel.booklore.util.RequestUtils;
 import com.adityachandel.booklore.util.kobo.BookloreSyncTokenGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -39,9 +40,11 @@ public class KoboLibrarySyncService {
     private final UserBookProgressRepository userBookProgressRepository;
     private final KoboServerProxy koboServerProxy;
     private final ObjectMapper objectMapper;
+    private final ReadingProgressBuffer readingProgressBuffer;
 
     @Transactional
     public ResponseEntity<?> syncLibrary(BookLoreUser user, String token) {
+        readingProgressBuffer.flushUser(user.getId());
         HttpServletRequest request = RequestUtils.getCurrentRequest();
         BookloreSyncToken syncToken = Optional.ofNullable(tokenGenerator.fromRequestHeaders(request)).orElse(new BookloreSyncToken());
 
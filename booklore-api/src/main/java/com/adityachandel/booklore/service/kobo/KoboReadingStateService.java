@@ -7,22 +7,20 @@ import com.adityachandel.booklore.model.dto.KoboSyncSettings;
 import com.adityachandel.booklore.model.dto.kobo.KoboReadingState;
 import com.adityachandel.booklore.model.dto.kobo.KoboReadingStateWrapper;
 import com.adityachandel.booklore.model.dto.response.kobo.KoboReadingStateResponse;
-import com.adityachandel.booklore.model.entity.BookEntity;
-import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
 import com.adityachandel.booklore.model.entity.KoboReadingStateEntity;
 import com.adityachandel.booklore.model.entity.UserBookProgressEntity;
 import com.adityachandel.booklore.model.enums.ReadStatus;
-import com.adityachandel.booklore.repository.BookRepository;
 import com.adityachandel.booklore.repository.KoboReadingStateRepository;
 import com.adityachandel.booklore.repository.UserBookProgressRepository;
-import com.adityachandel.booklore.repository.UserRepository;
 import com.adityachandel.booklore.service.hardcover.HardcoverSyncService;
+import com.adityachandel.booklore.service.user.ReadingProgressBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -37,12 +35,11 @@ public class KoboReadingStateService {
     private final KoboReadingStateRepository repository;
     private final KoboReadingStateMapper mapper;
     private final UserBookProgressRepository progressRepository;
-    private final BookRepository bookRepository;
-    private final UserRepository userRepository;
     private final AuthenticationService authenticationService;
     private final KoboSettingsService koboSettingsService;
     private final KoboReadingStateBuilder readingStateBuilder;
     private final HardcoverSyncService hardcoverSyncService;
+    private final ReadingProgressBuffer progressBuffer;
 
     @Transactional
     public KoboReadingStateResponse saveReadingState(List<KoboReadingState> readingStates) {
@@ -111,7 +108,8 @@ public class KoboReadingStateService {
         try {
             Long bookId = Long.parseLong(entitlementId);
             BookLoreUser user = authenticationService.getAuthenticatedUser();
-            
+            progressBuffer.flush(user.getId(), List.of(bookId));
+
             return progressRepository.findByUserIdAndBookId(user.getId(), bookId)
                     .filter(progress -> progress.getKoboProgressPercent() != null || progress.getKoboLocation() != null)
                     .map(progress -> readingStateBuilder.buildReadingStateFromProgress(entitlementId, progress));
@@ -122,39 +120,29 @@ public class KoboReadingStateService {
     }
     
     private void syncKoboProgressToUserBookProgress(KoboReadingState readingState, Long userId) {
+        Long bookId;
         try {
-            Long bookId = Long.parseLong(readingState.getEntitlementId());
-            
-            Optional<BookEntity> bookOpt = bookRepository.findById(bookId);
-            if (bookOpt.isEmpty()) {
-                log.warn("Book not found for entitlement ID: {}", readingState.getEntitlementId());
-                return;
-            }
-            
-            BookEntity book = bookOpt.get();
-            Optional<BookLoreUserEntity> userOpt = userRepository.findById(userId);
-            if (userOpt.isEmpty()) {
-                log.warn("User not found: {}", userId);
-                return;
-            }
-            
-            UserBookProgressEntity progress = progressRepository.findByUserIdAndBookId(userId, bookId)
-                    .orElseGet(() -> {
-                        UserBookProgressEntity newProgress = new UserBookProgressEntity();
-                        newProgress.setUser(userOpt.get());
-                        newProgress.setBook(book);
-                        return newProgress;
-                    });
-            
-            KoboReadingState.CurrentBookmark bookmark = readingState.getCurrentBookmark();
+            bookId = Long.parseLong(readingState.getEntitlementId());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid entitlement ID format: {}", readingState.getEntitlementId());
+            return;
+        }
+
+        KoboSyncSettings settings = koboSettingsService.getCurrentUserSettings();
+        Instant now = Instant.now();
+        KoboReadingState.CurrentBookmark bookmark = readingState.getCurrentBookmark();
+        Instant clientTimestamp = parseTimestamp(bookmark != null && bookmark.getLastModified() != null
+                ? bookmark.getLastModified() : readingState.getLastModified());
+
+        progressBuffer.submit(userId, bookId, clientTimestamp, progress -> {
             if (bookmark != null) {
                 if (bookmark.getProgressPercent() != null) {
                     progress.setKoboProgressPercent(bookmark.getProgressPercent().floatValue());
                 }
-                
+
                 KoboReadingState.CurrentBookmark.Location location = bookmark.getLocation();
                 if (location != null) {
-                    log.debug("Kobo location data: value={}, type={}, source={} (length={})", 
+                    log.debug("Kobo location data: value={}, type={}, source={} (length={})",
                             location.getValue(), location.getType(), location.getSource(),
                             location.getSource() != null ? location.getSource().length() : 0);
                     progress.setKoboLocation(location.getValue());
@@ -162,33 +150,36 @@ public class KoboReadingStateService {
                     progress.setKoboLocationSource(location.getSource());
                 }
             }
-            
-            Instant now = Instant.now();
+
             progress.setKoboProgressReceivedTime(now);
             progress.setLastReadTime(now);
-            
+
             if (progress.getKoboProgressPercent() != null) {
-                updateReadStatusFromKoboProgress(progress, now);
+                updateReadStatusFromKoboProgress(progress, now, settings);
             }
-            
-            progressRepository.save(progress);
             log.debug("Synced Kobo progress: bookId={}, progress={}%", bookId, progress.getKoboProgressPercent());
-            
-            // Sync progress to Hardcover asynchronously (if enabled for this user)
-            hardcoverSyncService.syncProgressToHardcover(book.getId(), progress.getKoboProgressPercent(), userId);
-        } catch (NumberFormatException e) {
-            log.warn("Invalid entitlement ID format: {}", readingState.getEntitlementId());
+        }, progress -> hardcoverSyncService.syncProgressToHardcover(bookId, progress.getKoboProgressPercent(), userId));
+    }
+
+    private Instant parseTimestamp(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value.replace("\"", "").trim());
+        } catch (DateTimeParseException e) {
+            return null;
         }
     }
-    
-    private void updateReadStatusFromKoboProgress(UserBookProgressEntity userProgress, Instant now) {
+
+    private void updateReadStatusFromKoboProgress(UserBookProgressEntity userProgress, Instant now, KoboSyncSettings settings) {
         if (shouldPreserveCurrentStatus(userProgress, now)) {
             return;
         }
 
         double koboProgressPercent = userProgress.getKoboProgressPercent();
 
-        ReadStatus derivedStatus = deriveStatusFromProgress(koboProgressPercent);
+        ReadStatus derivedStatus = deriveStatusFromProgress(koboProgressPercent, settings);
         userProgress.setReadStatus(derivedStatus);
 
         if (derivedStatus == ReadStatus.READ && userProgress.getDateFinished() == null) {
@@ -212,9 +203,7 @@ public class KoboReadingStateService {
         return now.isBefore(statusSentTime.plusSeconds(STATUS_SYNC_BUFFER_SECONDS));
     }
     
-    private ReadStatus deriveStatusFromProgress(double progressPercent) {
-        KoboSyncSettings settings = koboSettingsService.getCurrentUserSettings();
-        
+    private ReadStatus deriveStatusFromProgress(double progressPercent, KoboSyncSettings settings) {
         float finishedThreshold = settings.getProgressMarkAsFinishedThreshold() != null 
                 ? settings.getProgressMarkAsFinishedThreshold() : 99f;
         float readingThreshold = settings.getProgressMarkAsReadingThreshold() != null 
@@ -1,6 +1,7 @@
 package com.adityachandel.booklore.service.koreader;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
@@ -14,14 +15,13 @@ import com.adityachandel.booklore.config.security.userdetails.KoreaderUserDetail
 import com.adityachandel.booklore.exception.ApiError;
 import com.adityachandel.booklore.model.dto.progress.KoreaderProgress;
 import com.adityachandel.booklore.model.entity.BookEntity;
-import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
 import com.adityachandel.booklore.model.entity.KoreaderUserEntity;
 import com.adityachandel.booklore.model.entity.UserBookProgressEntity;
 import com.adityachandel.booklore.model.enums.ReadStatus;
 import com.adityachandel.booklore.repository.BookRepository;
 import com.adityachandel.booklore.repository.KoreaderUserRepository;
 import com.adityachandel.booklore.repository.UserBookProgressRepository;
-import com.adityachandel.booklore.repository.UserRepository;
+import com.adityachandel.booklore.service.user.ReadingProgressBuffer;
 
 @Slf4j
 @AllArgsConstructor
@@ -30,8 +30,8 @@ public class KoreaderService {
 
     private final UserBookProgressRepository progressRepository;
     private final BookRepository bookRepository;
-    private final UserRepository userRepository;
     private final KoreaderUserRepository koreaderUserRepository;
+    private final ReadingProgressBuffer readingProgressBuffer;
 
     public ResponseEntity<Map<String, String>> authorizeUser() {
         KoreaderUserDetails authDetails = getAuthDetails();
@@ -45,6 +45,7 @@ public class KoreaderService {
     public KoreaderProgress getProgress(String bookHash) {
         KoreaderUserDetails authDetails = getAuthDetailsWithSyncCheck();
         BookEntity book = findBookByHash(bookHash);
+        readingProgressBuffer.flush(authDetails.getBookLoreUserId(), Collections.singleton(book.getId()));
         UserBookProgressEntity progress = findUserProgress(authDetails.getBookLoreUserId(), book.getId());
 
         log.info("getProgress: fetched progress='{}' percentage={} for userId={} bookHash={}",
@@ -68,12 +69,10 @@ public class KoreaderService {
     public void saveProgress(String bookHash, KoreaderProgress koProgress) {
         KoreaderUserDetails authDetails = getAuthDetailsWithSyncCheck();
         BookEntity book = findBookByHash(bookHash);
-        BookLoreUserEntity user = findBookLoreUser(authDetails.getBookLoreUserId());
 
-        UserBookProgressEntity userProgress = getOrCreateUserProgress(user, book);
-        updateProgressData(userProgress, koProgress);
-
-        progressRepository.save(userProgress);
+        Instant clientTimestamp = koProgress.getTimestamp() != null ? Instant.ofEpochSecond(koProgress.getTimestamp()) : null;
+        readingProgressBuffer.submit(authDetails.getBookLoreUserId(), book.getId(), clientTimestamp,
+                userProgress -> updateProgressData(userProgress, koProgress), null);
 
         log.info("saveProgress: saved progress='{}' percentage={} for userId={} bookHash={}", koProgress.getProgress(), koProgress.getPercentage(), authDetails.getBookLoreUserId(), bookHash);
     }
@@ -137,26 +136,11 @@ public class KoreaderService {
                 .orElseThrow(() -> ApiError.GENERIC_NOT_FOUND.createException("Book not found for hash " + bookHash));
     }
 
-    private BookLoreUserEntity findBookLoreUser(long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> ApiError.GENERIC_NOT_FOUND.createException("User not found with id " + userId));
-    }
-
     private UserBookProgressEntity findUserProgress(long userId, Long bookId) {
         return progressRepository.findByUserIdAndBookId(userId, bookId)
                 .orElseThrow(() -> ApiError.GENERIC_NOT_FOUND.createException("No progress found for user and book"));
     }
 
-    private UserBookProgressEntity getOrCreateUserProgress(BookLoreUserEntity user, BookEntity book) {
-        return progressRepository.findByUserIdAndBookId(user.getId(), book.getId())
-                .orElseGet(() -> {
-                    UserBookProgressEntity newProgress = new UserBookProgressEntity();
-                    newProgress.setUser(user);
-                    newProgress.setBook(book);
-                    return newProgress;
-                });
-    }
-
     private void ensureSyncEnabled(KoreaderUserDetails details) {
         if (!details.isSyncEnabled()) {
             log.warn("Sync is disabled for user '{}'", details.getUsername());
@@ -9,21 +9,20 @@ import com.adityachandel.booklore.model.websocket.Topic;
 import com.adityachandel.booklore.repository.BookAdditionalFileRepository;
 import com.adityachandel.booklore.repository.BookRepository;
 import com.adityachandel.booklore.service.NotificationService;
-import com.adityachandel.booklore.util.FileService;
+import com.adityachandel.booklore.service.book.BookPurgeService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -32,8 +31,9 @@ public class BookDeletionService {
 
     private final BookRepository bookRepository;
     private final BookAdditionalFileRepository bookAdditionalFileRepository;
-    private final FileService fileService;
     private final NotificationService notificationService;
+    private final BookPurgeService bookPurgeService;
+    private final PlatformTransactionManager transactionManager;
 
     @PersistenceContext
     private final EntityManager entityManager;
@@ -52,46 +52,40 @@ public class BookDeletionService {
         log.info("Deleted {} additional files from database", additionalFileIds.size());
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    /**
+     * Promotes a surviving alternative format where there is one and purges the remaining books. The promotions commit
+     * on their own first, so the purge does not run inside a transaction holding locks on the same tables.
+     */
     public void processDeletedLibraryFiles(List<Long> deletedBookIds, List<LibraryFile> libraryFiles) {
         if (deletedBookIds.isEmpty()) {
             return;
         }
 
-        List<BookEntity> books = bookRepository.findAllById(deletedBookIds);
-        List<Long> booksToDelete = new ArrayList<>();
-
-        for (BookEntity book : books) {
-            if (!tryPromoteAlternativeFormatToBook(book, libraryFiles)) {
-                booksToDelete.add(book.getId());
+        TransactionTemplate promotion = new TransactionTemplate(transactionManager);
+        promotion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Long> booksToDelete = promotion.execute(status -> {
+            List<Long> remaining = new ArrayList<>();
+            for (BookEntity book : bookRepository.findAllById(deletedBookIds)) {
+                if (!tryPromoteAlternativeFormatToBook(book, libraryFiles)) {
+                    remaining.add(book.getId());
+                }
             }
-        }
+            entityManager.flush();
+            entityManager.clear();
+            return remaining;
+        });
 
-        entityManager.flush();
-        entityManager.clear();
-
-        if (!booksToDelete.isEmpty()) {
+        if (booksToDelete != null && !booksToDelete.isEmpty()) {
             deleteRemovedBooks(booksToDelete);
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    /**
+     * Books whose files are already gone: their rows are purged in chunks and their covers and backups are left to the
+     * janitor.
+     */
     public void deleteRemovedBooks(List<Long> bookIds) {
-        List<BookEntity> books = bookRepository.findAllById(bookIds);
-        for (BookEntity book : books) {
-            try {
-                deleteDirectoryRecursively(Path.of(fileService.getImagesFolder(book.getId())));
-                Path backupDir = Path.of(fileService.getBookMetadataBackupPath(book.getId()));
-                if (Files.exists(backupDir)) {
-                    deleteDirectoryRecursively(backupDir);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to clean up files for book ID {}: {}", book.getId(), e.getMessage());
-            }
-        }
-        bookRepository.deleteAll(books);
-        entityManager.flush();
-        entityManager.clear();
+        bookPurgeService.purge(bookIds, false);
         notificationService.sendMessage(Topic.BOOKS_REMOVE, bookIds);
         if (bookIds.size() > 1) log.info("Books removed: {}", bookIds);
     }
@@ -140,18 +134,4 @@ public class BookDeletionService {
 
         bookRepository.save(book);
     }
-
-    private void deleteDirectoryRecursively(Path path) throws IOException {
-        if (Files.exists(path)) {
-            try (Stream<Path> walk = Files.walk(path)) {
-                walk.sorted(Comparator.reverseOrder()).forEach(p -> {
-                    try {
-                        Files.deleteIfExists(p);
-                    } catch (IOException e) {
-                        log.warn("Failed to delete file or directory: {}", p, e);
-                    }
-                });
-            }
-        }
-    }
 }
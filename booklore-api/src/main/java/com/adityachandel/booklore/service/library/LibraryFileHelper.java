@@ -4,7 +4,9 @@ import com.adityachandel.booklore.model.dto.settings.LibraryFile;
 import com.adityachandel.booklore.model.entity.LibraryEntity;
 import com.adityachandel.booklore.model.entity.LibraryPathEntity;
 import com.adityachandel.booklore.model.enums.BookFileExtension;
+import com.adityachandel.booklore.repository.BookFileCleanupRepository;
 import com.adityachandel.booklore.util.FileUtils;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -15,26 +17,40 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Component
+@RequiredArgsConstructor
 public class LibraryFileHelper {
 
+    private final BookFileCleanupRepository bookFileCleanupRepository;
+
+    /**
+     * Lists the files under the library's paths, leaving out files of deleted books that are still waiting to be
+     * removed, so they are not imported again.
+     */
     public List<LibraryFile> getLibraryFiles(LibraryEntity libraryEntity, LibraryFileProcessor processor) throws IOException {
+        Set<Path> pendingDeletion = bookFileCleanupRepository.findAllFilePaths().stream()
+                .map(Path::of)
+                .collect(Collectors.toSet());
         List<LibraryFile> allFiles = new ArrayList<>();
         for (LibraryPathEntity pathEntity : libraryEntity.getLibraryPaths()) {
-            allFiles.addAll(findLibraryFiles(pathEntity, libraryEntity, processor));
+            allFiles.addAll(findLibraryFiles(pathEntity, libraryEntity, processor, pendingDeletion));
         }
         return allFiles;
     }
 
-    private List<LibraryFile> findLibraryFiles(LibraryPathEntity pathEntity, LibraryEntity libraryEntity, LibraryFileProcessor processor) throws IOException {
+    private List<LibraryFile> findLibraryFiles(LibraryPathEntity pathEntity, LibraryEntity libraryEntity, LibraryFileProcessor processor,
+                                               Set<Path> pendingDeletion) throws IOException {
         Path libraryPath = Path.of(pathEntity.getPath());
         boolean supportsSupplementaryFiles = processor.supportsSupplementaryFiles();
 
         try (Stream<Path> stream = Files.walk(libraryPath, FileVisitOption.FOLLOW_LINKS)) {
             return stream.filter(Files::isRegularFile)
                     .filter(path -> !FileUtils.shouldIgnore(path))
+                    .filter(path -> !pendingDeletion.contains(path))
                     .map(fullPath -> {
                         String fileName = fullPath.getFileName().toString();
                         Optional<BookFileExtension> bookExtension = BookFileExtension.fromFileName(fileName);
@@ -20,7 +20,10 @@ import com.adityachandel.booklore.repository.LibraryPathRepository;
 import com.adityachandel.booklore.repository.LibraryRepository;
 import com.adityachandel.booklore.repository.UserRepository;
 import com.adityachandel.booklore.service.NotificationService;
+import com.adityachandel.booklore.service.ReadingSessionRollupService;
+import com.adityachandel.booklore.service.event.LibraryContentChangedEvent;
 import com.adityachandel.booklore.service.monitoring.MonitoringService;
+import com.adityachandel.booklore.service.startup.StartupPhaseService;
 import com.adityachandel.booklore.task.options.RescanLibraryContext;
 import com.adityachandel.booklore.util.FileService;
 import com.adityachandel.booklore.util.SecurityContextVirtualThread;
@@ -28,6 +31,7 @@ import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -45,6 +49,8 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class LibraryService {
 
+    private static final int ROLLUP_CHUNK_SIZE = 500;
+
     private final LibraryRepository libraryRepository;
     private final LibraryPathRepository libraryPathRepository;
     private final BookRepository bookRepository;
@@ -56,12 +62,15 @@ public class LibraryService {
     private final MonitoringService monitoringService;
     private final AuthenticationService authenticationService;
     private final UserRepository userRepository;
+    private final StartupPhaseService startupPhaseService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadingSessionRollupService readingSessionRollupService;
 
     @Transactional
     @PostConstruct
     public void initializeMonitoring() {
         List<Library> libraries = libraryRepository.findAll().stream().map(libraryMapper::toLibrary).collect(Collectors.toList());
-        monitoringService.registerLibraries(libraries);
+        startupPhaseService.defer("library-watchers", () -> monitoringService.registerLibraries(libraries));
         log.info("Monitoring initialized with {} libraries", libraries.size());
     }
 
@@ -120,7 +129,7 @@ public class LibraryService {
         LibraryEntity savedLibrary = libraryRepository.save(library);
 
         if (request.isWatch()) {
-            monitoringService.registerLibraries(List.of(libraryMapper.toLibrary(savedLibrary)));
+            monitoringService.registerLibrary(libraryMapper.toLibrary(savedLibrary));
         } else {
             monitoringService.unregisterLibrary(libraryId);
         }
@@ -219,6 +228,7 @@ public class LibraryService {
         return libraries.stream().map(libraryMapper::toLibrary).toList();
     }
 
+    @Transactional
     public void deleteLibrary(long id) {
         LibraryEntity library = libraryRepository.findById(id).orElseThrow(() -> ApiError.LIBRARY_NOT_FOUND.createException(id));
         library.getLibraryPaths().forEach(libraryPath -> {
@@ -227,7 +237,12 @@ public class LibraryService {
         });
         Set<Long> bookIds = library.getBookEntities().stream().map(BookEntity::getId).collect(Collectors.toSet());
         fileService.deleteBookCovers(bookIds);
+        List<Long> ids = List.copyOf(bookIds);
+        for (int from = 0; from < ids.size(); from += ROLLUP_CHUNK_SIZE) {
+            readingSessionRollupService.removeBooks(ids.subList(from, Math.min(from + ROLLUP_CHUNK_SIZE, ids.size())));
+        }
         libraryRepository.deleteById(id);
+        eventPublisher.publishEvent(new LibraryContentChangedEvent(this));
         log.info("Library deleted successfully: {}", id);
     }
 
@@ -40,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.File;
 import java.lang.reflect.Method;
@@ -74,16 +75,16 @@ public class BookMetadataService {
     private final CbxMetadataExtractor cbxMetadataExtractor;
     private final MetadataWriterFactory metadataWriterFactory;
     private final MetadataClearFlagsMapper metadataClearFlagsMapper;
+    private final ProspectiveMetadataSearchService prospectiveMetadataSearchService;
 
     public List<BookMetadata> getProspectiveMetadataListForBookId(long bookId, FetchMetadataRequest request) {
         BookEntity bookEntity = bookRepository.findById(bookId).orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(bookId));
         Book book = bookMapper.toBook(bookEntity);
-        List<List<BookMetadata>> allMetadata = request.getProviders().stream()
-                .map(provider -> CompletableFuture.supplyAsync(() -> fetchMetadataListFromAProvider(provider, book, request))
-                        .exceptionally(e -> {
-                            log.error("Error fetching metadata from provider: {}", provider, e);
-                            return List.of();
-                        }))
+        List<List<BookMetadata>> allMetadata = prospectiveMetadataSearchService.search(book, request).entrySet().stream()
+                .map(search -> search.getValue().exceptionally(e -> {
+                    log.error("Error fetching metadata from provider: {}", search.getKey(), e);
+                    return List.of();
+                }))
                 .toList()
                 .stream()
                 .map(CompletableFuture::join)
@@ -104,6 +105,11 @@ public class BookMetadataService {
         return interleavedMetadata;
     }
 
+    public SseEmitter streamProspectiveMetadataForBookId(long bookId, FetchMetadataRequest request) {
+        BookEntity bookEntity = bookRepository.findById(bookId).orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(bookId));
+        return prospectiveMetadataSearchService.stream(bookMapper.toBook(bookEntity), request);
+    }
+
     public List<BookMetadata> fetchMetadataListFromAProvider(MetadataProvider provider, Book book, FetchMetadataRequest request) {
         return getParser(provider).fetchMetadata(book, request);
     }
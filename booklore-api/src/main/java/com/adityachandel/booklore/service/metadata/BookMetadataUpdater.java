@@ -9,11 +9,7 @@ import com.adityachandel.booklore.model.dto.settings.MetadataPersistenceSettings
 import com.adityachandel.booklore.model.entity.*;
 import com.adityachandel.booklore.model.enums.BookFileType;
 import com.adityachandel.booklore.model.enums.MetadataReplaceMode;
-import com.adityachandel.booklore.repository.AuthorRepository;
 import com.adityachandel.booklore.repository.BookRepository;
-import com.adityachandel.booklore.repository.CategoryRepository;
-import com.adityachandel.booklore.repository.MoodRepository;
-import com.adityachandel.booklore.repository.TagRepository;
 import com.adityachandel.booklore.service.file.FileFingerprint;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
 import com.adityachandel.booklore.service.file.FileMoveService;
@@ -34,17 +30,13 @@ import java.time.Instant;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class BookMetadataUpdater {
 
-    private final AuthorRepository authorRepository;
-    private final CategoryRepository categoryRepository;
-    private final MoodRepository moodRepository;
-    private final TagRepository tagRepository;
+    private final MetadataDictionaryService metadataDictionaryService;
     private final BookRepository bookRepository;
     private final FileService fileService;
     private final MetadataMatchService metadataMatchService;
@@ -211,11 +203,7 @@ public class BookMetadataUpdater {
             return;
         }
 
-        Set<AuthorEntity> newAuthors = authorNames.stream()
-                .filter(name -> name != null && !name.isBlank())
-                .map(name -> authorRepository.findByName(name)
-                        .orElseGet(() -> authorRepository.save(AuthorEntity.builder().name(name).build())))
-                .collect(Collectors.toSet());
+        Set<AuthorEntity> newAuthors = metadataDictionaryService.authors().resolve(authorNames);
 
         if (newAuthors.isEmpty()) return;
 
@@ -252,11 +240,7 @@ public class BookMetadataUpdater {
             return;
         }
 
-        Set<CategoryEntity> newCategories = categoryNames.stream()
-                .filter(name -> name != null && !name.isBlank())
-                .map(name -> categoryRepository.findByName(name)
-                        .orElseGet(() -> categoryRepository.save(CategoryEntity.builder().name(name).build())))
-                .collect(Collectors.toSet());
+        Set<CategoryEntity> newCategories = metadataDictionaryService.categories().resolve(categoryNames);
 
         if (newCategories.isEmpty()) return;
 
@@ -290,11 +274,7 @@ public class BookMetadataUpdater {
             return;
         }
 
-        Set<MoodEntity> newMoods = moodNames.stream()
-                .filter(name -> name != null && !name.isBlank())
-                .map(name -> moodRepository.findByName(name)
-                        .orElseGet(() -> moodRepository.save(MoodEntity.builder().name(name).build())))
-                .collect(Collectors.toSet());
+        Set<MoodEntity> newMoods = metadataDictionaryService.moods().resolve(moodNames);
 
         if (newMoods.isEmpty()) return;
 
@@ -328,11 +308,7 @@ public class BookMetadataUpdater {
             return;
         }
 
-        Set<TagEntity> newTags = tagNames.stream()
-                .filter(name -> name != null && !name.isBlank())
-                .map(name -> tagRepository.findByName(name)
-                        .orElseGet(() -> tagRepository.save(TagEntity.builder().name(name).build())))
-                .collect(Collectors.toSet());
+        Set<TagEntity> newTags = metadataDictionaryService.tags().resolve(tagNames);
 
         if (newTags.isEmpty()) return;
 
@@ -0,0 +1,182 @@
+package com.adityachandel.booklore.service.metadata;
+
+import com.adityachandel.booklore.util.BookUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Rewrites shared metadata values (authors, categories, moods, tags, series, publishers and languages) with set-based
+ * SQL instead of loading every book that carries them.
+ * <p>
+ * Mapping tables are rewritten with one {@code INSERT IGNORE ... SELECT} per target and one {@code DELETE}, scalar
+ * columns with one {@code UPDATE}. Every operation returns the ids of the books it touched so the caller can refresh
+ * derived data for exactly those books. All methods expect to run inside the caller's transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetadataConsolidationEngine {
+
+    static final int CHUNK_SIZE = 500;
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Mapping {
+        AUTHOR("author", "book_metadata_author_mapping", "author_id"),
+        CATEGORY("category", "book_metadata_category_mapping", "category_id"),
+        MOOD("mood", "book_metadata_mood_mapping", "mood_id"),
+        TAG("tag", "book_metadata_tag_mapping", "tag_id");
+
+        private final String table;
+        private final String mappingTable;
+        private final String column;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Column {
+        SERIES("series_name", "series_name = NULL, series_number = NULL, series_total = NULL"),
+        PUBLISHER("publisher", "publisher = NULL"),
+        LANGUAGE("language", "language = NULL");
+
+        private final String name;
+        private final String clearAssignment;
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Points every book that has one of {@code fromIds} at all of {@code toIds} instead, then deletes the
+     * {@code fromIds} rows themselves. With no targets the values are simply removed from their books. Ids that are
+     * also targets are left alone, so renaming a value onto itself is a no-op. Returns the ids of the affected books.
+     */
+    public Set<Long> remap(Mapping mapping, Collection<Long> fromIds, Collection<Long> toIds) {
+        Set<Long> targets = new HashSet<>(toIds);
+        List<Long> sources = fromIds.stream().filter(id -> id != null && !targets.contains(id)).distinct().toList();
+        if (sources.isEmpty()) {
+            return Set.of();
+        }
+
+        entityManager.flush();
+        Set<Long> affected = toLongSet(entityManager.createNativeQuery(
+                        "SELECT DISTINCT book_id FROM " + mapping.getMappingTable() + " WHERE " + mapping.getColumn() + " IN (:ids)")
+                .setParameter("ids", sources)
+                .getResultList());
+
+        if (!affected.isEmpty()) {
+            for (Long target : targets) {
+                entityManager.createNativeQuery(
+                                "INSERT IGNORE INTO " + mapping.getMappingTable() + " (book_id, " + mapping.getColumn() + ") "
+                                        + "SELECT DISTINCT book_id, :target FROM " + mapping.getMappingTable()
+                                        + " WHERE " + mapping.getColumn() + " IN (:ids)")
+                        .setParameter("target", target)
+                        .setParameter("ids", sources)
+                        .executeUpdate();
+            }
+            entityManager.createNativeQuery("DELETE FROM " + mapping.getMappingTable() + " WHERE " + mapping.getColumn() + " IN (:ids)")
+                    .setParameter("ids", sources)
+                    .executeUpdate();
+        }
+        entityManager.createNativeQuery("DELETE FROM " + mapping.getTable() + " WHERE id IN (:ids)")
+                .setParameter("ids", sources)
+                .executeUpdate();
+        entityManager.clear();
+
+        log.debug("Remapped {} {} value(s) to {} on {} books", sources.size(), mapping.getTable(), targets, affected.size());
+        return affected;
+    }
+
+    /**
+     * Replaces {@code fromValues} (compared case-insensitively) with {@code toValue} on every book, or clears the
+     * column when {@code toValue} is null. Clearing a series also clears its number and total. Returns the ids of the
+     * affected books.
+     */
+    public Set<Long> rewrite(Column column, Collection<String> fromValues, String toValue) {
+        List<String> keys = fromValues.stream()
+                .filter(Objects::nonNull)
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+
+        entityManager.flush();
+        String predicate = " WHERE LOWER(" + column.getName() + ") IN (:values)";
+        Set<Long> affected = toLongSet(entityManager.createNativeQuery("SELECT book_id FROM book_metadata" + predicate)
+                .setParameter("values", keys)
+                .getResultList());
+        if (affected.isEmpty()) {
+            return affected;
+        }
+
+        if (toValue == null) {
+            entityManager.createNativeQuery("UPDATE book_metadata SET " + column.getClearAssignment() + predicate)
+                    .setParameter("values", keys)
+                    .executeUpdate();
+        } else {
+            entityManager.createNativeQuery("UPDATE book_metadata SET " + column.getName() + " = :value" + predicate)
+                    .setParameter("value", toValue)
+                    .setParameter("values", keys)
+                    .executeUpdate();
+        }
+        entityManager.clear();
+        return affected;
+    }
+
+    /**
+     * Recomputes {@code book_metadata.search_text} for the given books from their current title, subtitle, series and
+     * authors, {@value #CHUNK_SIZE} books at a time.
+     */
+    public void refreshSearchText(Collection<Long> bookIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(bookIds));
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+
+            Map<Long, List<String>> authorsByBook = new HashMap<>();
+            for (Object row : entityManager.createNativeQuery("""
+                            SELECT m.book_id, a.name
+                            FROM book_metadata_author_mapping m
+                            JOIN author a ON a.id = m.author_id
+                            WHERE m.book_id IN (:ids)
+                            """)
+                    .setParameter("ids", chunk)
+                    .getResultList()) {
+                Object[] columns = (Object[]) row;
+                authorsByBook.computeIfAbsent(((Number) columns[0]).longValue(), id -> new ArrayList<>()).add((String) columns[1]);
+            }
+
+            List<Object[]> updates = new ArrayList<>(chunk.size());
+            for (Object row : entityManager.createNativeQuery(
+                            "SELECT book_id, title, subtitle, series_name FROM book_metadata WHERE book_id IN (:ids)")
+                    .setParameter("ids", chunk)
+                    .getResultList()) {
+                Object[] columns = (Object[]) row;
+                long bookId = ((Number) columns[0]).longValue();
+                String searchText = BookUtils.buildSearchText((String) columns[1], (String) columns[2], (String) columns[3],
+                        authorsByBook.getOrDefault(bookId, List.of()));
+                updates.add(new Object[]{searchText, bookId});
+            }
+
+            jdbcTemplate.batchUpdate("UPDATE book_metadata SET search_text = ? WHERE book_id = ?", updates);
+        }
+    }
+
+    private static Set<Long> toLongSet(List<?> rows) {
+        Set<Long> ids = new LinkedHashSet<>(rows.size());
+        for (Object row : rows) {
+            ids.add(((Number) row).longValue());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,267 @@
+package com.adityachandel.booklore.service.metadata;
+
+import com.adityachandel.booklore.model.entity.AuthorEntity;
+import com.adityachandel.booklore.model.entity.CategoryEntity;
+import com.adityachandel.booklore.model.entity.MoodEntity;
+import com.adityachandel.booklore.model.entity.TagEntity;
+import com.adityachandel.booklore.repository.AuthorRepository;
+import com.adityachandel.booklore.repository.CategoryRepository;
+import com.adityachandel.booklore.repository.MoodRepository;
+import com.adityachandel.booklore.repository.TagRepository;
+import com.adityachandel.booklore.service.startup.StartupPhaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory name → id dictionary for the shared reference tables (authors, categories, moods and tags).
+ * <p>
+ * Lookups are keyed by a case-normalised name, so resolving the same few thousand names across a large
+ * import costs one {@code findAllById} per book instead of one {@code findByName} per name. Names that are
+ * not known yet are created with a single batched {@code INSERT IGNORE} and read back in one query.
+ */
+@Slf4j
+@Service
+public class MetadataDictionaryService {
+
+    static final int MAX_NAME_LENGTH = 255;
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final StartupPhaseService startupPhaseService;
+    private final NameDictionary<AuthorEntity> authors;
+    private final NameDictionary<CategoryEntity> categories;
+    private final NameDictionary<MoodEntity> moods;
+    private final NameDictionary<TagEntity> tags;
+
+    public MetadataDictionaryService(JdbcTemplate jdbcTemplate,
+                                     AuthorRepository authorRepository,
+                                     CategoryRepository categoryRepository,
+                                     MoodRepository moodRepository,
+                                     TagRepository tagRepository,
+                                     StartupPhaseService startupPhaseService) {
+        this.startupPhaseService = startupPhaseService;
+        this.authors = new NameDictionary<>("author", jdbcTemplate, authorRepository, authorRepository::findAllByNameIn, AuthorEntity::getId, AuthorEntity::getName);
+        this.categories = new NameDictionary<>("category", jdbcTemplate, categoryRepository, categoryRepository::findAllByNameIn, CategoryEntity::getId, CategoryEntity::getName);
+        this.moods = new NameDictionary<>("mood", jdbcTemplate, moodRepository, moodRepository::findAllByNameIn, MoodEntity::getId, MoodEntity::getName);
+        this.tags = new NameDictionary<>("tag", jdbcTemplate, tagRepository, tagRepository::findAllByNameIn, TagEntity::getId, TagEntity::getName);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        startupPhaseService.defer("metadata-dictionary", this::warmUp);
+    }
+
+    public void warmUp() {
+        try {
+            authors.warmUp();
+            categories.warmUp();
+            moods.warmUp();
+            tags.warmUp();
+            log.info("Metadata dictionary warmed up: {} authors, {} categories, {} moods, {} tags",
+                    authors.size(), categories.size(), moods.size(), tags.size());
+        } catch (Exception e) {
+            log.warn("Failed to warm up metadata dictionary, names will be resolved lazily: {}", e.getMessage());
+        }
+    }
+
+    public NameDictionary<AuthorEntity> authors() {
+        return authors;
+    }
+
+    public NameDictionary<CategoryEntity> categories() {
+        return categories;
+    }
+
+    public NameDictionary<MoodEntity> moods() {
+        return moods;
+    }
+
+    public NameDictionary<TagEntity> tags() {
+        return tags;
+    }
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String truncate(String name) {
+        return name.length() <= MAX_NAME_LENGTH ? name : name.substring(0, MAX_NAME_LENGTH);
+    }
+
+    public static class NameDictionary<E> {
+
+        private final String table;
+        private final JdbcTemplate jdbcTemplate;
+        private final JpaRepository<E, Long> repository;
+        private final Function<Collection<String>, List<E>> findAllByNameIn;
+        private final Function<E, Long> idOf;
+        private final Function<E, String> nameOf;
+        private final Map<String, Long> ids = new ConcurrentHashMap<>();
+        // Reverse index so renames and deletes don't scan every entry; guarded by this dictionary's monitor.
+        private final Map<Long, Set<String>> keysById = new HashMap<>();
+
+        NameDictionary(String table,
+                       JdbcTemplate jdbcTemplate,
+                       JpaRepository<E, Long> repository,
+                       Function<Collection<String>, List<E>> findAllByNameIn,
+                       Function<E, Long> idOf,
+                       Function<E, String> nameOf) {
+            this.table = table;
+            this.jdbcTemplate = jdbcTemplate;
+            this.repository = repository;
+            this.findAllByNameIn = findAllByNameIn;
+            this.idOf = idOf;
+            this.nameOf = nameOf;
+        }
+
+        synchronized void warmUp() {
+            Map<String, Long> loaded = new HashMap<>();
+            jdbcTemplate.query("SELECT id, name FROM " + table, rs -> {
+                String name = rs.getString("name");
+                if (name != null) {
+                    loaded.putIfAbsent(normalize(name), rs.getLong("id"));
+                }
+            });
+            ids.clear();
+            keysById.clear();
+            loaded.forEach(this::remember);
+        }
+
+        public int size() {
+            return ids.size();
+        }
+
+        /**
+         * Resolves the given names to managed entities, creating the ones that do not exist yet.
+         * Blank names are ignored and names longer than the column are truncated.
+         */
+        public Set<E> resolve(Collection<String> names) {
+            if (names == null || names.isEmpty()) {
+                return new HashSet<>();
+            }
+            Map<String, String> requested = new LinkedHashMap<>();
+            for (String name : names) {
+                if (name != null && !name.isBlank()) {
+                    String truncated = truncate(name);
+                    requested.putIfAbsent(normalize(truncated), truncated);
+                }
+            }
+            if (requested.isEmpty()) {
+                return new HashSet<>();
+            }
+
+            Set<E> resolved = loadCached(requested);
+            if (!requested.isEmpty()) {
+                resolved.addAll(insertAndLoad(requested));
+            }
+            return resolved;
+        }
+
+        /**
+         * Loads the cached entries and removes them from {@code requested}. Ids that no longer exist
+         * (e.g. rows removed by another transaction) are evicted and left in {@code requested}.
+         */
+        private Set<E> loadCached(Map<String, String> requested) {
+            Map<Long, String> cachedKeys = new HashMap<>();
+            for (String key : requested.keySet()) {
+                Long id = ids.get(key);
+                if (id != null) {
+                    cachedKeys.put(id, key);
+                }
+            }
+            Set<E> resolved = new HashSet<>();
+            if (cachedKeys.isEmpty()) {
+                return resolved;
+            }
+            for (E entity : repository.findAllById(new HashSet<>(cachedKeys.keySet()))) {
+                requested.remove(cachedKeys.remove(idOf.apply(entity)));
+                resolved.add(entity);
+            }
+            cachedKeys.forEach((staleId, key) -> forget(key, staleId));
+            return resolved;
+        }
+
+        private List<E> insertAndLoad(Map<String, String> missing) {
+            List<String> names = new ArrayList<>(missing.values());
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO " + table + " (name) VALUES (?)", names, INSERT_BATCH_SIZE,
+                    (ps, name) -> ps.setString(1, name));
+
+            List<E> loaded = new ArrayList<>();
+            for (E entity : findAllByNameIn.apply(names)) {
+                String key = normalize(nameOf.apply(entity));
+                missing.remove(key);
+                remember(key, idOf.apply(entity));
+                loaded.add(entity);
+            }
+            if (!missing.isEmpty()) {
+                // The column collation may fold more than case (e.g. accents), so the stored spelling can differ
+                // from the requested one. Match those one by one and remember them under the requested key.
+                for (Map.Entry<String, String> entry : missing.entrySet()) {
+                    findAllByNameIn.apply(List.of(entry.getValue())).stream().findFirst().ifPresent(entity -> {
+                        remember(entry.getKey(), idOf.apply(entity));
+                        loaded.add(entity);
+                    });
+                }
+            }
+            return loaded;
+        }
+
+        /**
+         * Records the current name of an entity, dropping any mapping left over from a previous name.
+         */
+        public synchronized void put(E entity) {
+            Long id = idOf.apply(entity);
+            String name = nameOf.apply(entity);
+            if (id == null || name == null) {
+                return;
+            }
+            forgetId(id);
+            remember(normalize(name), id);
+        }
+
+        public void evict(E entity) {
+            Long id = idOf.apply(entity);
+            if (id != null) {
+                forgetId(id);
+            }
+        }
+
+        private synchronized void remember(String key, Long id) {
+            Long previous = ids.put(key, id);
+            if (previous != null && !previous.equals(id)) {
+                unlink(previous, key);
+            }
+            keysById.computeIfAbsent(id, k -> new HashSet<>()).add(key);
+        }
+
+        private synchronized void forget(String key, Long id) {
+            if (ids.remove(key, id)) {
+                unlink(id, key);
+            }
+        }
+
+        private synchronized void forgetId(Long id) {
+            Set<String> keys = keysById.remove(id);
+            if (keys != null) {
+                keys.forEach(key -> ids.remove(key, id));
+            }
+        }
+
+        private void unlink(Long id, String key) {
+            Set<String> keys = keysById.get(id);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysById.remove(id);
+                }
+            }
+        }
+    }
+}
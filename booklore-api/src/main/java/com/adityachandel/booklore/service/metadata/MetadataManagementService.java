@@ -7,18 +7,25 @@ import com.adityachandel.booklore.model.enums.BookFileType;
 import com.adityachandel.booklore.model.enums.MergeMetadataType;
 import com.adityachandel.booklore.repository.*;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import com.adityachandel.booklore.service.event.LibraryContentChangedEvent;
 import com.adityachandel.booklore.service.file.FileFingerprint;
 import com.adityachandel.booklore.service.file.FileMoveService;
+import com.adityachandel.booklore.service.metadata.MetadataConsolidationEngine.Column;
+import com.adityachandel.booklore.service.metadata.MetadataConsolidationEngine.Mapping;
 import com.adityachandel.booklore.service.metadata.writer.MetadataWriter;
 import com.adityachandel.booklore.service.metadata.writer.MetadataWriterFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -34,7 +41,9 @@ public class MetadataManagementService {
     private final MetadataWriterFactory metadataWriterFactory;
     private final FileMoveService fileMoveService;
     private final BookRepository bookRepository;
-
+    private final MetadataDictionaryService metadataDictionaryService;
+    private final MetadataConsolidationEngine consolidationEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void consolidateMetadata(MergeMetadataType metadataType, List<String> targetValues, List<String> valuesToMerge) {
@@ -43,281 +52,21 @@ public class MetadataManagementService {
         boolean moveFile = settings.isMoveFilesToLibraryPattern();
         boolean writeToFile = settings.isSaveToOriginalFile();
 
-        switch (metadataType) {
-            case authors -> consolidateAuthors(targetValues, valuesToMerge, writeToFile, moveFile);
-            case categories -> consolidateCategories(targetValues, valuesToMerge, writeToFile, moveFile);
-            case moods -> consolidateMoods(targetValues, valuesToMerge, writeToFile, moveFile);
-            case tags -> consolidateTags(targetValues, valuesToMerge, writeToFile, moveFile);
-            case series -> consolidateSeries(targetValues, valuesToMerge, writeToFile, moveFile);
-            case publishers -> consolidatePublishers(targetValues, valuesToMerge, writeToFile, moveFile);
-            case languages -> consolidateLanguages(targetValues, valuesToMerge, writeToFile, moveFile);
-        }
-    }
-
-    private void writeMetadataToFile(List<BookMetadataEntity> metadataList, boolean moveFile) {
-        for (BookMetadataEntity metadata : metadataList) {
-            if (metadata.getBook() != null) {
-                BookEntity book = metadata.getBook();
-                boolean bookModified = false;
-
-                BookFileType bookType = book.getBookType();
-                Optional<MetadataWriter> writerOpt = metadataWriterFactory.getWriter(bookType);
-                if (writerOpt.isPresent()) {
-                    File file = book.getFullFilePath().toFile();
-                    writerOpt.get().writeMetadataToFile(file, metadata, null, null);
-                    String newHash = FileFingerprint.generateHash(book.getFullFilePath());
-                    book.setCurrentHash(newHash);
-                    bookModified = true;
-                }
-
-                if (moveFile) {
-                    FileMoveResult result = fileMoveService.moveSingleFile(book);
-                    if (result.isMoved()) {
-                        book.setFileName(result.getNewFileName());
-                        book.setFileSubPath(result.getNewFileSubPath());
-                        bookModified = true;
-                    }
-                }
-
-                if (bookModified) {
-                    bookRepository.saveAndFlush(book);
-                }
-            }
-        }
-    }
-
-    private void consolidateAuthors(List<String> targetValues, List<String> valuesToMerge, boolean writeToFile, boolean moveFile) {
-        List<AuthorEntity> targetAuthors = targetValues.stream()
-                .map(name -> authorRepository.findByNameIgnoreCase(name)
-                        .map(existing -> {
-                            existing.setName(name);
-                            return authorRepository.save(existing);
-                        })
-                        .orElseGet(() -> {
-                            AuthorEntity author = new AuthorEntity();
-                            author.setName(name);
-                            return authorRepository.save(author);
-                        }))
-                .toList();
-
-        List<AuthorEntity> authorsToMerge = valuesToMerge.stream()
-                .map(authorRepository::findByNameIgnoreCase)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList();
-
-        for (AuthorEntity oldAuthor : authorsToMerge) {
-            List<BookMetadataEntity> booksWithOldAuthor = bookMetadataRepository.findAllByAuthorsContaining(oldAuthor);
-
-            for (BookMetadataEntity metadata : booksWithOldAuthor) {
-                metadata.getAuthors().remove(oldAuthor);
-                metadata.getAuthors().addAll(targetAuthors);
-                metadata.updateSearchText(); // Manually trigger search text update since collection modification doesn't trigger @PreUpdate
-            }
-
-            bookMetadataRepository.saveAll(booksWithOldAuthor);
-            bookMetadataRepository.flush();
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithOldAuthor, moveFile);
-            }
-
-            authorRepository.delete(oldAuthor);
-        }
-
-        log.info("Consolidated {} authors into {}: {}", authorsToMerge.size(), targetValues, valuesToMerge);
-    }
-
-    private void consolidateCategories(List<String> targetValues, List<String> valuesToMerge, boolean writeToFile, boolean moveFile) {
-        List<CategoryEntity> targetCategories = targetValues.stream()
-                .map(name -> categoryRepository.findByNameIgnoreCase(name)
-                        .map(existing -> {
-                            existing.setName(name);
-                            return categoryRepository.save(existing);
-                        })
-                        .orElseGet(() -> {
-                            CategoryEntity category = new CategoryEntity();
-                            category.setName(name);
-                            return categoryRepository.save(category);
-                        }))
-                .toList();
-
-        List<CategoryEntity> categoriesToMerge = valuesToMerge.stream()
-                .map(categoryRepository::findByNameIgnoreCase)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList();
-
-        for (CategoryEntity oldCategory : categoriesToMerge) {
-            List<BookMetadataEntity> booksWithOldCategory = bookMetadataRepository.findAllByCategoriesContaining(oldCategory);
-
-            for (BookMetadataEntity metadata : booksWithOldCategory) {
-                metadata.getCategories().remove(oldCategory);
-                metadata.getCategories().addAll(targetCategories);
-            }
-
-            bookMetadataRepository.saveAll(booksWithOldCategory);
-            bookMetadataRepository.flush();
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithOldCategory, moveFile);
-            }
-
-            categoryRepository.delete(oldCategory);
-        }
-
-        log.info("Consolidated {} categories into {}: {}", categoriesToMerge.size(), targetValues, valuesToMerge);
-    }
-
-    private void consolidateMoods(List<String> targetValues, List<String> valuesToMerge, boolean writeToFile, boolean moveFile) {
-        List<MoodEntity> targetMoods = targetValues.stream()
-                .map(name -> moodRepository.findByNameIgnoreCase(name)
-                        .map(existing -> {
-                            existing.setName(name);
-                            return moodRepository.save(existing);
-                        })
-                        .orElseGet(() -> {
-                            MoodEntity mood = new MoodEntity();
-                            mood.setName(name);
-                            return moodRepository.save(mood);
-                        }))
-                .toList();
-
-        List<MoodEntity> moodsToMerge = valuesToMerge.stream()
-                .map(moodRepository::findByNameIgnoreCase)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList();
-
-        for (MoodEntity oldMood : moodsToMerge) {
-            List<BookMetadataEntity> booksWithOldMood = bookMetadataRepository.findAllByMoodsContaining(oldMood);
-
-            for (BookMetadataEntity metadata : booksWithOldMood) {
-                metadata.getMoods().remove(oldMood);
-                metadata.getMoods().addAll(targetMoods);
-            }
-
-            bookMetadataRepository.saveAll(booksWithOldMood);
-            bookMetadataRepository.flush();
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithOldMood, moveFile);
-            }
-
-            moodRepository.delete(oldMood);
-        }
-
-        log.info("Consolidated {} moods into {}: {}", moodsToMerge.size(), targetValues, valuesToMerge);
-    }
-
-    private void consolidateTags(List<String> targetValues, List<String> valuesToMerge, boolean writeToFile, boolean moveFile) {
-        List<TagEntity> targetTags = targetValues.stream()
-                .map(name -> tagRepository.findByNameIgnoreCase(name)
-                        .map(existing -> {
-                            existing.setName(name);
-                            return tagRepository.save(existing);
-                        })
-                        .orElseGet(() -> {
-                            TagEntity tag = new TagEntity();
-                            tag.setName(name);
-                            return tagRepository.save(tag);
-                        }))
-                .toList();
-
-        List<TagEntity> tagsToMerge = valuesToMerge.stream()
-                .map(tagRepository::findByNameIgnoreCase)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList();
-
-        for (TagEntity oldTag : tagsToMerge) {
-            List<BookMetadataEntity> booksWithOldTag = bookMetadataRepository.findAllByTagsContaining(oldTag);
-
-            for (BookMetadataEntity metadata : booksWithOldTag) {
-                metadata.getTags().remove(oldTag);
-                metadata.getTags().addAll(targetTags);
-            }
-
-            bookMetadataRepository.saveAll(booksWithOldTag);
-            bookMetadataRepository.flush();
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithOldTag, moveFile);
-            }
-
-            tagRepository.delete(oldTag);
-        }
-
-        log.info("Consolidated {} tags into {}: {}", tagsToMerge.size(), targetValues, valuesToMerge);
-    }
-
-    private void consolidateSeries(List<String> targetValues, List<String> valuesToMerge, boolean writeToFile, boolean moveFile) {
-        if (targetValues.size() != 1) {
-            throw new IllegalArgumentException("Series merge requires exactly one target value");
-        }
-        String targetSeriesName = targetValues.getFirst();
-
-        for (String oldSeriesName : valuesToMerge) {
-            List<BookMetadataEntity> booksWithOldSeries = bookMetadataRepository.findAllBySeriesNameIgnoreCase(oldSeriesName);
-
-            for (BookMetadataEntity metadata : booksWithOldSeries) {
-                metadata.setSeriesName(targetSeriesName);
-            }
-
-            bookMetadataRepository.saveAll(booksWithOldSeries);
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithOldSeries, moveFile);
-            }
-        }
-
-        log.info("Consolidated {} series into '{}': {}", valuesToMerge.size(), targetSeriesName, valuesToMerge);
-    }
-
-    private void consolidatePublishers(List<String> targetValues, List<String> valuesToMerge, boolean writeToFile, boolean moveFile) {
-        if (targetValues.size() != 1) {
-            throw new IllegalArgumentException("Publisher merge requires exactly one target value");
-        }
-        String targetPublisher = targetValues.getFirst();
-
-        for (String oldPublisher : valuesToMerge) {
-            List<BookMetadataEntity> booksWithOldPublisher = bookMetadataRepository.findAllByPublisherIgnoreCase(oldPublisher);
-
-            for (BookMetadataEntity metadata : booksWithOldPublisher) {
-                metadata.setPublisher(targetPublisher);
-            }
-
-            bookMetadataRepository.saveAll(booksWithOldPublisher);
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithOldPublisher, moveFile);
-            }
-        }
-
-        log.info("Consolidated {} publishers into '{}': {}", valuesToMerge.size(), targetPublisher, valuesToMerge);
-    }
-
-    private void consolidateLanguages(List<String> targetValues, List<String> valuesToMerge, boolean writeToFile, boolean moveFile) {
-        if (targetValues.size() != 1) {
-            throw new IllegalArgumentException("Language merge requires exactly one target value");
-        }
-        String targetLanguage = targetValues.getFirst();
-
-        for (String oldLanguage : valuesToMerge) {
-            List<BookMetadataEntity> booksWithOldLanguage = bookMetadataRepository.findAllByLanguageIgnoreCase(oldLanguage);
-
-            for (BookMetadataEntity metadata : booksWithOldLanguage) {
-                metadata.setLanguage(targetLanguage);
-            }
-
-            bookMetadataRepository.saveAll(booksWithOldLanguage);
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithOldLanguage, moveFile);
-            }
-        }
-
-        log.info("Consolidated {} languages into '{}': {}", valuesToMerge.size(), targetLanguage, valuesToMerge);
+        Set<Long> affectedBookIds = switch (metadataType) {
+            case authors -> consolidateNames(Mapping.AUTHOR, metadataDictionaryService.authors(), targetValues, valuesToMerge,
+                    this::findOrCreateAuthor, authorRepository::findByNameIgnoreCase, AuthorEntity::getId);
+            case categories -> consolidateNames(Mapping.CATEGORY, metadataDictionaryService.categories(), targetValues, valuesToMerge,
+                    this::findOrCreateCategory, categoryRepository::findByNameIgnoreCase, CategoryEntity::getId);
+            case moods -> consolidateNames(Mapping.MOOD, metadataDictionaryService.moods(), targetValues, valuesToMerge,
+                    this::findOrCreateMood, moodRepository::findByNameIgnoreCase, MoodEntity::getId);
+            case tags -> consolidateNames(Mapping.TAG, metadataDictionaryService.tags(), targetValues, valuesToMerge,
+                    this::findOrCreateTag, tagRepository::findByNameIgnoreCase, TagEntity::getId);
+            case series -> consolidateValues(Column.SERIES, "Series", targetValues, valuesToMerge);
+            case publishers -> consolidateValues(Column.PUBLISHER, "Publisher", targetValues, valuesToMerge);
+            case languages -> consolidateValues(Column.LANGUAGE, "Language", targetValues, valuesToMerge);
+        };
+
+        applyChanges(metadataType, affectedBookIds, writeToFile, moveFile);
     }
 
     @Transactional
@@ -326,184 +75,184 @@ public class MetadataManagementService {
         boolean moveFile = settings.isMoveFilesToLibraryPattern();
         boolean writeToFile = settings.isSaveToOriginalFile();
 
-        switch (metadataType) {
-            case authors -> deleteAuthors(valuesToDelete, writeToFile, moveFile);
-            case categories -> deleteCategories(valuesToDelete, writeToFile, moveFile);
-            case moods -> deleteMoods(valuesToDelete, writeToFile, moveFile);
-            case tags -> deleteTags(valuesToDelete, writeToFile, moveFile);
-            case series -> deleteSeries(valuesToDelete, writeToFile, moveFile);
-            case publishers -> deletePublishers(valuesToDelete, writeToFile, moveFile);
-            case languages -> deleteLanguages(valuesToDelete, writeToFile, moveFile);
-        }
+        Set<Long> affectedBookIds = switch (metadataType) {
+            case authors -> deleteNames(Mapping.AUTHOR, metadataDictionaryService.authors(), valuesToDelete,
+                    authorRepository::findByName, AuthorEntity::getId);
+            case categories -> deleteNames(Mapping.CATEGORY, metadataDictionaryService.categories(), valuesToDelete,
+                    categoryRepository::findByNameIgnoreCase, CategoryEntity::getId);
+            case moods -> deleteNames(Mapping.MOOD, metadataDictionaryService.moods(), valuesToDelete,
+                    moodRepository::findByNameIgnoreCase, MoodEntity::getId);
+            case tags -> deleteNames(Mapping.TAG, metadataDictionaryService.tags(), valuesToDelete,
+                    tagRepository::findByNameIgnoreCase, TagEntity::getId);
+            case series -> deleteValues(Column.SERIES, valuesToDelete);
+            case publishers -> deleteValues(Column.PUBLISHER, valuesToDelete);
+            case languages -> deleteValues(Column.LANGUAGE, valuesToDelete);
+        };
+
+        applyChanges(metadataType, affectedBookIds, writeToFile, moveFile);
     }
 
-    private void deleteAuthors(List<String> valuesToDelete, boolean writeToFile, boolean moveFile) {
-        List<AuthorEntity> authorsToDelete = valuesToDelete.stream()
-                .map(authorRepository::findByName)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
+    private <E> Set<Long> consolidateNames(Mapping mapping,
+                                           MetadataDictionaryService.NameDictionary<E> dictionary,
+                                           List<String> targetValues,
+                                           List<String> valuesToMerge,
+                                           Function<String, E> findOrCreate,
+                                           Function<String, Optional<E>> find,
+                                           Function<E, Long> idOf) {
+        List<E> targets = targetValues.stream().map(findOrCreate).toList();
+        targets.forEach(dictionary::put);
+        Set<Long> targetIds = targets.stream().map(idOf).collect(Collectors.toSet());
+
+        List<E> merged = valuesToMerge.stream()
+                .map(find)
+                .flatMap(Optional::stream)
+                .filter(entity -> !targetIds.contains(idOf.apply(entity)))
                 .toList();
 
-        for (AuthorEntity author : authorsToDelete) {
-            List<BookMetadataEntity> booksWithAuthor = bookMetadataRepository.findAllByAuthorsContaining(author);
-
-            for (BookMetadataEntity metadata : booksWithAuthor) {
-                metadata.getAuthors().remove(author);
-            }
-
-            bookMetadataRepository.saveAll(booksWithAuthor);
-            bookMetadataRepository.flush();
+        Set<Long> affectedBookIds = consolidationEngine.remap(mapping, merged.stream().map(idOf).toList(), targetIds);
+        merged.forEach(dictionary::evict);
 
-            if (writeToFile) {
-                writeMetadataToFile(booksWithAuthor, moveFile);
-            }
-
-            authorRepository.delete(author);
-        }
-
-        log.info("Deleted {} authors: {}", authorsToDelete.size(), valuesToDelete);
+        log.info("Consolidated {} {} values into {} on {} books: {}", merged.size(), mapping.getTable(), targetValues, affectedBookIds.size(), valuesToMerge);
+        return affectedBookIds;
     }
 
-    private void deleteCategories(List<String> valuesToDelete, boolean writeToFile, boolean moveFile) {
-        List<CategoryEntity> categoriesToDelete = valuesToDelete.stream()
-                .map(categoryRepository::findByNameIgnoreCase)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
+    private <E> Set<Long> deleteNames(Mapping mapping,
+                                      MetadataDictionaryService.NameDictionary<E> dictionary,
+                                      List<String> valuesToDelete,
+                                      Function<String, Optional<E>> find,
+                                      Function<E, Long> idOf) {
+        List<E> deleted = valuesToDelete.stream()
+                .map(find)
+                .flatMap(Optional::stream)
                 .toList();
 
-        for (CategoryEntity category : categoriesToDelete) {
-            List<BookMetadataEntity> booksWithCategory = bookMetadataRepository.findAllByCategoriesContaining(category);
-
-            for (BookMetadataEntity metadata : booksWithCategory) {
-                metadata.getCategories().remove(category);
-            }
-
-            bookMetadataRepository.saveAll(booksWithCategory);
-            bookMetadataRepository.flush();
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithCategory, moveFile);
-            }
+        Set<Long> affectedBookIds = consolidationEngine.remap(mapping, deleted.stream().map(idOf).toList(), Set.of());
+        deleted.forEach(dictionary::evict);
 
-            categoryRepository.delete(category);
-        }
-
-        log.info("Deleted {} categories: {}", categoriesToDelete.size(), valuesToDelete);
+        log.info("Deleted {} {} values from {} books: {}", deleted.size(), mapping.getTable(), affectedBookIds.size(), valuesToDelete);
+        return affectedBookIds;
     }
 
-    private void deleteMoods(List<String> valuesToDelete, boolean writeToFile, boolean moveFile) {
-        List<MoodEntity> moodsToDelete = valuesToDelete.stream()
-                .map(moodRepository::findByNameIgnoreCase)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList();
-
-        for (MoodEntity mood : moodsToDelete) {
-            List<BookMetadataEntity> booksWithMood = bookMetadataRepository.findAllByMoodsContaining(mood);
-
-            for (BookMetadataEntity metadata : booksWithMood) {
-                metadata.getMoods().remove(mood);
-            }
-
-            bookMetadataRepository.saveAll(booksWithMood);
-            bookMetadataRepository.flush();
-
-            if (writeToFile) {
-                writeMetadataToFile(booksWithMood, moveFile);
-            }
-
-            moodRepository.delete(mood);
+    private Set<Long> consolidateValues(Column column, String label, List<String> targetValues, List<String> valuesToMerge) {
+        if (targetValues.size() != 1) {
+            throw new IllegalArgumentException(label + " merge requires exactly one target value");
         }
+        String target = targetValues.getFirst();
+        Set<Long> affectedBookIds = consolidationEngine.rewrite(column, valuesToMerge, target);
 
-        log.info("Deleted {} moods: {}", moodsToDelete.size(), valuesToDelete);
+        log.info("Consolidated {} {} values into '{}' on {} books: {}", valuesToMerge.size(), column.getName(), target, affectedBookIds.size(), valuesToMerge);
+        return affectedBookIds;
     }
 
-    private void deleteTags(List<String> valuesToDelete, boolean writeToFile, boolean moveFile) {
-        List<TagEntity> tagsToDelete = valuesToDelete.stream()
-                .map(tagRepository::findByNameIgnoreCase)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList();
-
-        for (TagEntity tag : tagsToDelete) {
-            List<BookMetadataEntity> booksWithTag = bookMetadataRepository.findAllByTagsContaining(tag);
-
-            for (BookMetadataEntity metadata : booksWithTag) {
-                metadata.getTags().remove(tag);
-            }
-
-            bookMetadataRepository.saveAll(booksWithTag);
-            bookMetadataRepository.flush();
+    private Set<Long> deleteValues(Column column, List<String> valuesToDelete) {
+        Set<Long> affectedBookIds = consolidationEngine.rewrite(column, valuesToDelete, null);
 
-            if (writeToFile) {
-                writeMetadataToFile(booksWithTag, moveFile);
-            }
-
-            tagRepository.delete(tag);
-        }
-
-        log.info("Deleted {} tags: {}", tagsToDelete.size(), valuesToDelete);
+        log.info("Deleted {} {} values from {} books: {}", valuesToDelete.size(), column.getName(), affectedBookIds.size(), valuesToDelete);
+        return affectedBookIds;
     }
 
-    private void deleteSeries(List<String> valuesToDelete, boolean writeToFile, boolean moveFile) {
-        for (String seriesName : valuesToDelete) {
-            List<BookMetadataEntity> booksWithSeries = bookMetadataRepository.findAllBySeriesNameIgnoreCase(seriesName);
-
-            for (BookMetadataEntity metadata : booksWithSeries) {
-                metadata.setSeriesName(null);
-                metadata.setSeriesNumber(null);
-                metadata.setSeriesTotal(null);
-            }
-
-            if (!booksWithSeries.isEmpty()) {
-                bookMetadataRepository.saveAll(booksWithSeries);
-
-                if (writeToFile) {
-                    writeMetadataToFile(booksWithSeries, moveFile);
-                }
+    /**
+     * Brings everything derived from the rewritten values up to date for the affected books only: search text when
+     * authors or series changed, the book files when metadata is saved to them, and one content change event.
+     */
+    private void applyChanges(MergeMetadataType metadataType, Set<Long> affectedBookIds, boolean writeToFile, boolean moveFile) {
+        if (affectedBookIds.isEmpty()) {
+            return;
+        }
+        if (metadataType == MergeMetadataType.authors || metadataType == MergeMetadataType.series) {
+            consolidationEngine.refreshSearchText(affectedBookIds);
+        }
+        if (writeToFile) {
+            List<Long> ids = List.copyOf(affectedBookIds);
+            for (int from = 0; from < ids.size(); from += MetadataConsolidationEngine.CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + MetadataConsolidationEngine.CHUNK_SIZE, ids.size()));
+                writeMetadataToFile(bookMetadataRepository.getMetadataForBookIds(chunk), moveFile);
             }
         }
-
-        log.info("Deleted {} series: {}", valuesToDelete.size(), valuesToDelete);
+        eventPublisher.publishEvent(new LibraryContentChangedEvent(this));
     }
 
-    private void deletePublishers(List<String> valuesToDelete, boolean writeToFile, boolean moveFile) {
-        for (String publisher : valuesToDelete) {
-            List<BookMetadataEntity> booksWithPublisher = bookMetadataRepository.findAllByPublisherIgnoreCase(publisher);
+    private void writeMetadataToFile(List<BookMetadataEntity> metadataList, boolean moveFile) {
+        for (BookMetadataEntity metadata : metadataList) {
+            if (metadata.getBook() != null) {
+                BookEntity book = metadata.getBook();
+                boolean bookModified = false;
 
-            for (BookMetadataEntity metadata : booksWithPublisher) {
-                metadata.setPublisher(null);
-            }
+                BookFileType bookType = book.getBookType();
+                Optional<MetadataWriter> writerOpt = metadataWriterFactory.getWriter(bookType);
+                if (writerOpt.isPresent()) {
+                    File file = book.getFullFilePath().toFile();
+                    writerOpt.get().writeMetadataToFile(file, metadata, null, null);
+                    String newHash = FileFingerprint.generateHash(book.getFullFilePath());
+                    book.setCurrentHash(newHash);
+                    bookModified = true;
+                }
 
-            if (!booksWithPublisher.isEmpty()) {
-                bookMetadataRepository.saveAll(booksWithPublisher);
+                if (moveFile) {
+                    FileMoveResult result = fileMoveService.moveSingleFile(book);
+                    if (result.isMoved()) {
+                        book.setFileName(result.getNewFileName());
+                        book.setFileSubPath(result.getNewFileSubPath());
+                        bookModified = true;
+                    }
+                }
 
-                if (writeToFile) {
-                    writeMetadataToFile(booksWithPublisher, moveFile);
+                if (bookModified) {
+                    bookRepository.saveAndFlush(book);
                 }
             }
         }
-
-        log.info("Deleted {} publishers: {}", valuesToDelete.size(), valuesToDelete);
     }
 
-    private void deleteLanguages(List<String> valuesToDelete, boolean writeToFile, boolean moveFile) {
-        for (String language : valuesToDelete) {
-            List<BookMetadataEntity> booksWithLanguage = bookMetadataRepository.findAllByLanguageIgnoreCase(language);
-
-            for (BookMetadataEntity metadata : booksWithLanguage) {
-                metadata.setLanguage(null);
-            }
+    private AuthorEntity findOrCreateAuthor(String name) {
+        return authorRepository.findByNameIgnoreCase(name)
+                .map(existing -> {
+                    existing.setName(name);
+                    return authorRepository.save(existing);
+                })
+                .orElseGet(() -> {
+                    AuthorEntity author = new AuthorEntity();
+                    author.setName(name);
+                    return authorRepository.save(author);
+                });
+    }
 
-            if (!booksWithLanguage.isEmpty()) {
-                bookMetadataRepository.saveAll(booksWithLanguage);
+    private CategoryEntity findOrCreateCategory(String name) {
+        return categoryRepository.findByNameIgnoreCase(name)
+                .map(existing -> {
+                    existing.setName(name);
+                    return categoryRepository.save(existing);
+                })
+                .orElseGet(() -> {
+                    CategoryEntity category = new CategoryEntity();
+                    category.setName(name);
+                    return categoryRepository.save(category);
+                });
+    }
 
-                if (writeToFile) {
-                    writeMetadataToFile(booksWithLanguage, moveFile);
-                }
-            }
-        }
+    private MoodEntity findOrCreateMood(String name) {
+        return moodRepository.findByNameIgnoreCase(name)
+                .map(existing -> {
+                    existing.setName(name);
+                    return moodRepository.save(existing);
+                })
+                .orElseGet(() -> {
+                    MoodEntity mood = new MoodEntity();
+                    mood.setName(name);
+                    return moodRepository.save(mood);
+                });
+    }
 
-        log.info("Deleted {} languages: {}", valuesToDelete.size(), valuesToDelete);
+    private TagEntity findOrCreateTag(String name) {
+        return tagRepository.findByNameIgnoreCase(name)
+                .map(existing -> {
+                    existing.setName(name);
+                    return tagRepository.save(existing);
+                })
+                .orElseGet(() -> {
+                    TagEntity tag = new TagEntity();
+                    tag.setName(name);
+                    return tagRepository.save(tag);
+                });
     }
 }
@@ -0,0 +1,143 @@
+package com.adityachandel.booklore.service.metadata;
+
+import com.adityachandel.booklore.exception.ApiError;
+import com.adityachandel.booklore.model.dto.Book;
+import com.adityachandel.booklore.model.dto.BookMetadata;
+import com.adityachandel.booklore.model.dto.request.FetchMetadataRequest;
+import com.adityachandel.booklore.model.dto.response.ProspectiveMetadataResult;
+import com.adityachandel.booklore.model.enums.MetadataProvider;
+import com.adityachandel.booklore.service.metadata.parser.BookParser;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs prospective metadata lookups against the selected providers. The lookups are blocking HTTP and
+ * scraping calls, so they run on their own virtual-thread executor rather than the common pool, and each
+ * provider gets a deadline after which its lookup is interrupted.
+ */
+@Slf4j
+@Service
+public class ProspectiveMetadataSearchService {
+
+    static final Duration PROVIDER_DEADLINE = Duration.ofSeconds(45);
+    private static final long STREAM_TIMEOUT_MS = PROVIDER_DEADLINE.plusSeconds(15).toMillis();
+
+    private final Map<MetadataProvider, BookParser> parserMap;
+    private final ExecutorService searchExecutor;
+    private final Duration providerDeadline;
+
+    public ProspectiveMetadataSearchService(Map<MetadataProvider, BookParser> parserMap) {
+        this(parserMap, PROVIDER_DEADLINE);
+    }
+
+    ProspectiveMetadataSearchService(Map<MetadataProvider, BookParser> parserMap, Duration providerDeadline) {
+        this.parserMap = parserMap;
+        this.providerDeadline = providerDeadline;
+        this.searchExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("metadata-search-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts a lookup per provider. The returned futures complete with the provider's candidates, or
+     * exceptionally when the provider fails or misses its deadline. Cancelling a future interrupts its lookup.
+     */
+    public Map<MetadataProvider, CompletableFuture<List<BookMetadata>>> search(Book book, FetchMetadataRequest request) {
+        Map<MetadataProvider, CompletableFuture<List<BookMetadata>>> searches = new LinkedHashMap<>();
+        for (MetadataProvider provider : new LinkedHashSet<>(request.getProviders())) {
+            CompletableFuture<List<BookMetadata>> result = new CompletableFuture<>();
+            Future<?> lookup = searchExecutor.submit(() -> {
+                try {
+                    result.complete(getParser(provider).fetchMetadata(book, request));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            result.orTimeout(providerDeadline.toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((metadata, error) -> {
+                        if (error != null) {
+                            lookup.cancel(true);
+                        }
+                    });
+            searches.put(provider, result);
+        }
+        return searches;
+    }
+
+    /**
+     * Pushes each provider's candidates to the client as a {@code provider-result} event as soon as they are
+     * parsed, followed by a single {@code complete} event. Closing the connection cancels the outstanding lookups.
+     */
+    public SseEmitter stream(Book book, FetchMetadataRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Map<MetadataProvider, CompletableFuture<List<BookMetadata>>> searches = search(book, request);
+        AtomicBoolean closed = new AtomicBoolean();
+        Runnable cancel = () -> {
+            if (closed.compareAndSet(false, true)) {
+                searches.values().forEach(future -> future.cancel(true));
+            }
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+
+        searches.forEach((provider, future) -> future.whenComplete((metadata, error) -> {
+            if (error instanceof CancellationException) return;
+            ProspectiveMetadataResult.ProspectiveMetadataResultBuilder result = ProspectiveMetadataResult.builder()
+                    .provider(provider)
+                    .metadata(metadata != null ? metadata : List.of());
+            if (error instanceof TimeoutException) {
+                log.warn("Metadata provider {} did not respond within {}s", provider, providerDeadline.toSeconds());
+                result.timedOut(true);
+            } else if (error != null) {
+                log.error("Error fetching metadata from provider: {}", provider, error);
+                result.error(rootMessage(error));
+            }
+            send(emitter, closed, cancel, SseEmitter.event().name("provider-result").data(result.build()));
+        }));
+
+        CompletableFuture.allOf(searches.values().toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> {
+                    if (closed.get()) return;
+                    send(emitter, closed, cancel, SseEmitter.event().name("complete").data(searches.keySet()));
+                    emitter.complete();
+                });
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, AtomicBoolean closed, Runnable cancel, SseEmitter.SseEventBuilder event) {
+        if (closed.get()) return;
+        try {
+            synchronized (emitter) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Prospective metadata stream closed by client: {}", e.getMessage());
+            cancel.run();
+        }
+    }
+
+    private BookParser getParser(MetadataProvider provider) {
+        BookParser parser = parserMap.get(provider);
+        if (parser == null) {
+            throw ApiError.METADATA_SOURCE_NOT_IMPLEMENT_OR_DOES_NOT_EXIST.createException();
+        }
+        return parser;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
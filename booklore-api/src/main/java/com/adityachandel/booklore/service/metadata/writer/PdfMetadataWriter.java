@@ -27,9 +27,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
@@ -49,6 +53,69 @@ public class PdfMetadataWriter implements MetadataWriter {
             return;
         }
 
+        if (writeIncrementally(file.toPath(), metadataEntity, clear)) {
+            return;
+        }
+        rewriteDocument(file, metadataEntity, clear);
+    }
+
+    @Override
+    public BookFileType getSupportedBookType() {
+        return BookFileType.PDF;
+    }
+
+    /**
+     * Appends the changed Info dictionary and XMP stream to the end of the file as a PDF incremental update, so the
+     * bytes written follow the size of the metadata instead of the document. Encrypted files, and files PDFBox
+     * cannot update or read back afterwards, return {@code false} and are rewritten in full; a failed append is
+     * undone by truncating the file to its original length.
+     */
+    private boolean writeIncrementally(Path filePath, BookMetadataEntity metadataEntity, MetadataClearFlags clear) {
+        long originalLength;
+        byte[] increment;
+        try {
+            originalLength = Files.size(filePath);
+            try (PDDocument pdf = Loader.loadPDF(filePath.toFile())) {
+                if (pdf.isEncrypted()) {
+                    log.debug("PDF {} is encrypted, rewriting instead of updating incrementally", filePath.getFileName());
+                    return false;
+                }
+                applyMetadataToDocument(pdf, metadataEntity, clear);
+                IncrementOutputStream out = new IncrementOutputStream(originalLength);
+                pdf.saveIncremental(out);
+                increment = out.toByteArray();
+            }
+        } catch (Exception e) {
+            log.info("Incremental metadata update not possible for PDF {}, rewriting: {}", filePath.getFileName(), e.getMessage());
+            return false;
+        }
+
+        try {
+            try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(increment);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            try (PDDocument updated = Loader.loadPDF(filePath.toFile())) {
+                updated.getDocumentInformation();
+                updated.getDocumentCatalog().getMetadata();
+            }
+            log.info("Appended {} bytes of metadata to PDF: {}", increment.length, filePath.getFileName());
+            return true;
+        } catch (Exception e) {
+            log.warn("Incremental metadata update failed for PDF {}, rewriting: {}", filePath.getFileName(), e.getMessage());
+            try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+                channel.truncate(originalLength);
+            } catch (IOException ex) {
+                log.error("Failed to roll back incremental update of PDF {}: {}", filePath.getFileName(), ex.getMessage(), ex);
+            }
+            return false;
+        }
+    }
+
+    private void rewriteDocument(File file, BookMetadataEntity metadataEntity, MetadataClearFlags clear) {
         Path filePath = file.toPath();
         Path backupPath = null;
         boolean backupCreated = false;
@@ -94,11 +161,6 @@ public class PdfMetadataWriter implements MetadataWriter {
         }
     }
 
-    @Override
-    public BookFileType getSupportedBookType() {
-        return BookFileType.PDF;
-    }
-
     private void applyMetadataToDocument(PDDocument pdf, BookMetadataEntity entity, MetadataClearFlags clear) {
         PDDocumentInformation info = pdf.getDocumentInformation();
         MetadataCopyHelper helper = new MetadataCopyHelper(entity);
@@ -107,6 +169,7 @@ public class PdfMetadataWriter implements MetadataWriter {
         helper.copyPublisher(clear != null && clear.isPublisher(), pub -> info.setProducer(pub != null ? pub : ""));
         helper.copyAuthors(clear != null && clear.isAuthors(), authors -> info.setAuthor(authors != null ? String.join(", ", authors) : ""));
         helper.copyCategories(clear != null && clear.isCategories(), cats -> info.setKeywords(cats != null ? String.join(", ", cats) : ""));
+        info.getCOSObject().setNeedToBeUpdated(true);
 
         try {
             XMPMetadata xmp = XMPMetadata.createXMPMetadata();
@@ -150,6 +213,8 @@ public class PdfMetadataWriter implements MetadataWriter {
             PDMetadata pdMetadata = new PDMetadata(pdf);
             pdMetadata.importXMPMetadata(newXmpBytes);
             pdf.getDocumentCatalog().setMetadata(pdMetadata);
+            pdf.getDocumentCatalog().getCOSObject().setNeedToBeUpdated(true);
+            pdMetadata.getCOSObject().setNeedToBeUpdated(true);
 
             log.info("XMP metadata updated for PDF");
         } catch (Exception e) {
@@ -269,4 +334,37 @@ public class PdfMetadataWriter implements MetadataWriter {
             return true;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Receives an incremental save and keeps only what comes after the copy of the original file.
+     */
+    private static final class IncrementOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream increment = new ByteArrayOutputStream();
+        private long toSkip;
+
+        private IncrementOutputStream(long originalLength) {
+            this.toSkip = originalLength;
+        }
+
+        @Override
+        public void write(int b) {
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                increment.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            int skipped = (int) Math.min(toSkip, len);
+            toSkip -= skipped;
+            increment.write(b, off + skipped, len - skipped);
+        }
+
+        private byte[] toByteArray() {
+            return increment.toByteArray();
+        }
+    }
+}
@@ -5,19 +5,20 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @AllArgsConstructor
 public class AppMigrationStartup {
 
     private final AppMigrationService appMigrationService;
+    private final DataMigrationRunner dataMigrationRunner;
+    private final List<ChunkedMigration> chunkedMigrations;
 
     @EventListener(ApplicationReadyEvent.class)
     public void runMigrationsOnce() {
-        appMigrationService.populateMissingFileSizesOnce();
-        appMigrationService.populateMetadataScoresOnce();
-        appMigrationService.populateFileHashesOnce();
-        appMigrationService.populateCoversAndResizeThumbnails();
-        appMigrationService.populateSearchTextOnce();
-        appMigrationService.moveIconsToDataFolder();
+        chunkedMigrations.forEach(dataMigrationRunner::submit);
+        dataMigrationRunner.submitOnce("populateCoversAndResizeThumbnails", appMigrationService::populateCoversAndResizeThumbnails);
+        dataMigrationRunner.submitOnce("moveIconsToDataFolder", appMigrationService::moveIconsToDataFolder);
     }
 }
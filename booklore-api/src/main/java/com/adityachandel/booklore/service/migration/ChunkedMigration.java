@@ -0,0 +1,35 @@
+package com.adityachandel.booklore.service.migration;
+
+import java.util.List;
+
+/**
+ * A one-time data migration that is applied in id-ordered chunks by {@link DataMigrationRunner}.
+ * <p>
+ * Each chunk is committed in its own transaction together with the migration checkpoint, so an
+ * interrupted migration resumes after the last committed chunk instead of starting over.
+ */
+public interface ChunkedMigration {
+
+    /**
+     * Key recorded in {@code app_migration} once the migration has completed.
+     */
+    String getKey();
+
+    String getDescription();
+
+    default int getChunkSize() {
+        return 200;
+    }
+
+    long countRemaining(long afterId);
+
+    /**
+     * Returns up to {@code limit} ids greater than {@code afterId}, in ascending order.
+     */
+    List<Long> findNextChunk(long afterId, int limit);
+
+    /**
+     * Migrates the given ids. Called inside a transaction.
+     */
+    void migrateChunk(List<Long> ids);
+}
@@ -0,0 +1,58 @@
+package com.adityachandel.booklore.service.migration;
+
+import com.adityachandel.booklore.repository.BookMetadataRepository;
+import com.adityachandel.booklore.service.book.CoverImageCache;
+import com.adityachandel.booklore.util.FileService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class CoverHashMigration implements ChunkedMigration {
+
+    private final BookMetadataRepository bookMetadataRepository;
+    private final FileService fileService;
+
+    @Override
+    public String getKey() {
+        return "populateCoverHashes";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Hash existing thumbnails so covers can be served from versioned URLs";
+    }
+
+    @Override
+    public long countRemaining(long afterId) {
+        return bookMetadataRepository.countBookIdsWithoutCoverHashAfter(afterId);
+    }
+
+    @Override
+    public List<Long> findNextChunk(long afterId, int limit) {
+        return bookMetadataRepository.findBookIdsWithoutCoverHashAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void migrateChunk(List<Long> ids) {
+        for (Long bookId : ids) {
+            Path thumbnail = Path.of(fileService.getThumbnailFile(bookId));
+            if (!Files.isRegularFile(thumbnail)) {
+                continue;
+            }
+            try {
+                bookMetadataRepository.updateCoverHash(bookId, CoverImageCache.contentHash(Files.readAllBytes(thumbnail)));
+            } catch (IOException e) {
+                log.warn("Failed to hash thumbnail of book {}: {}", bookId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.adityachandel.booklore.service.migration;
+
+import com.adityachandel.booklore.config.security.service.AuthenticationService;
+import com.adityachandel.booklore.model.entity.AppMigrationCheckpointEntity;
+import com.adityachandel.booklore.model.entity.AppMigrationEntity;
+import com.adityachandel.booklore.model.enums.PermissionType;
+import com.adityachandel.booklore.model.enums.TaskType;
+import com.adityachandel.booklore.model.websocket.TaskProgressPayload;
+import com.adityachandel.booklore.model.websocket.Topic;
+import com.adityachandel.booklore.repository.AppMigrationCheckpointRepository;
+import com.adityachandel.booklore.repository.AppMigrationRepository;
+import com.adityachandel.booklore.service.NotificationService;
+import com.adityachandel.booklore.service.task.TaskHistoryService;
+import com.adityachandel.booklore.task.TaskStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one-time data migrations in the background on a small, bounded worker pool so that startup is not
+ * blocked by them. Chunked migrations checkpoint after every committed chunk and resume from there after a
+ * restart; progress is reported through the task history and the task progress topic.
+ */
+@Slf4j
+@Service
+public class DataMigrationRunner {
+
+    private static final int MIGRATION_WORKERS = 2;
+    private static final long MIN_NOTIFICATION_INTERVAL_MS = 1000;
+
+    private final AppMigrationRepository migrationRepository;
+    private final AppMigrationCheckpointRepository checkpointRepository;
+    private final TaskHistoryService taskHistoryService;
+    private final NotificationService notificationService;
+    private final AuthenticationService authenticationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final ExecutorService migrationExecutor = Executors.newFixedThreadPool(MIGRATION_WORKERS, runnable -> {
+        Thread thread = new Thread(runnable, "data-migration-" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean shuttingDown = false;
+
+    public DataMigrationRunner(AppMigrationRepository migrationRepository,
+                               AppMigrationCheckpointRepository checkpointRepository,
+                               TaskHistoryService taskHistoryService,
+                               NotificationService notificationService,
+                               AuthenticationService authenticationService,
+                               PlatformTransactionManager transactionManager) {
+        this.migrationRepository = migrationRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.taskHistoryService = taskHistoryService;
+        this.notificationService = notificationService;
+        this.authenticationService = authenticationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void submit(ChunkedMigration migration) {
+        migrationExecutor.execute(() -> runSafely(migration.getKey(), () -> runChunked(migration)));
+    }
+
+    /**
+     * Submits a migration that cannot be split into chunks. It is expected to record its own completion.
+     */
+    public void submitOnce(String key, Runnable migration) {
+        migrationExecutor.execute(() -> runSafely(key, () -> {
+            if (!migrationRepository.existsById(key)) {
+                migration.run();
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        migrationExecutor.shutdown();
+        try {
+            if (!migrationExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                migrationExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            migrationExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSafely(String key, Runnable migration) {
+        if (shuttingDown) return;
+        try {
+            migration.run();
+        } catch (Exception e) {
+            log.error("Data migration '{}' failed, it will be retried on next startup", key, e);
+        }
+    }
+
+    void runChunked(ChunkedMigration migration) {
+        String key = migration.getKey();
+        if (migrationRepository.existsById(key)) return;
+
+        AppMigrationCheckpointEntity checkpoint = checkpointRepository.findById(key)
+                .orElseGet(() -> new AppMigrationCheckpointEntity(key, 0L, 0L, LocalDateTime.now()));
+        long total = checkpoint.getProcessedCount() + migration.countRemaining(checkpoint.getLastProcessedId());
+        boolean resumed = checkpoint.getProcessedCount() > 0;
+
+        String taskId = UUID.randomUUID().toString();
+        taskHistoryService.createTask(taskId, TaskType.DATA_MIGRATION, authenticationService.getSystemUser().getId(), Map.of("migration", key));
+        taskHistoryService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, migration.getDescription());
+        log.info("Starting data migration '{}' ({} of {} rows already processed)", key, checkpoint.getProcessedCount(), total);
+        sendProgress(taskId, checkpoint.getProcessedCount(), total,
+                resumed ? "Resuming: " + migration.getDescription() : migration.getDescription(), TaskStatus.IN_PROGRESS);
+
+        long start = System.currentTimeMillis();
+        long lastNotificationTime = 0;
+        try {
+            while (!shuttingDown) {
+                List<Long> ids = migration.findNextChunk(checkpoint.getLastProcessedId(), migration.getChunkSize());
+                if (ids.isEmpty()) break;
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    migration.migrateChunk(ids);
+                    checkpoint.setLastProcessedId(ids.getLast());
+                    checkpoint.setProcessedCount(checkpoint.getProcessedCount() + ids.size());
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    checkpointRepository.save(checkpoint);
+                });
+
+                long now = System.currentTimeMillis();
+                if (now - lastNotificationTime >= MIN_NOTIFICATION_INTERVAL_MS) {
+                    String message = String.format("%s: %d/%d", migration.getDescription(), checkpoint.getProcessedCount(), total);
+                    taskHistoryService.updateTaskProgress(taskId, percentage(checkpoint.getProcessedCount(), total), message);
+                    sendProgress(taskId, checkpoint.getProcessedCount(), total, message, TaskStatus.IN_PROGRESS);
+                    lastNotificationTime = now;
+                }
+            }
+
+            if (shuttingDown) {
+                log.info("Data migration '{}' paused at id {} for shutdown", key, checkpoint.getLastProcessedId());
+                taskHistoryService.updateTaskStatus(taskId, TaskStatus.CANCELLED, "Paused for shutdown, will resume on next startup");
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                migrationRepository.save(new AppMigrationEntity(key, LocalDateTime.now(), migration.getDescription()));
+                checkpointRepository.deleteById(key);
+            });
+        } catch (RuntimeException e) {
+            taskHistoryService.updateTaskError(taskId, e.getMessage());
+            sendProgress(taskId, checkpoint.getProcessedCount(), total, "Failed: " + migration.getDescription(), TaskStatus.FAILED);
+            throw e;
+        }
+
+        long elapsedMs = System.currentTimeMillis() - start;
+        log.info("Data migration '{}' completed: {} rows in {} ms", key, checkpoint.getProcessedCount(), elapsedMs);
+        taskHistoryService.updateTaskStatus(taskId, TaskStatus.COMPLETED, migration.getDescription());
+        sendProgress(taskId, total, total, String.format("%s: completed in %d ms", migration.getDescription(), elapsedMs), TaskStatus.COMPLETED);
+    }
+
+    private void sendProgress(String taskId, long processed, long total, String message, TaskStatus status) {
+        TaskProgressPayload payload = TaskProgressPayload.builder()
+                .taskId(taskId)
+                .taskType(TaskType.DATA_MIGRATION)
+                .message(message)
+                .progress(percentage(processed, total))
+                .taskStatus(status)
+                .build();
+        notificationService.sendMessageToPermissions(Topic.TASK_PROGRESS, payload, Set.of(PermissionType.ADMIN));
+    }
+
+    private static int percentage(long processed, long total) {
+        if (total <= 0) return 100;
+        return (int) Math.min(100, processed * 100 / total);
+    }
+}
@@ -0,0 +1,70 @@
+package com.adityachandel.booklore.service.migration;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.service.file.FileFingerprint;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class FileHashMigration implements ChunkedMigration {
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String getKey() {
+        return "populateFileHashesV2";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Calculate and store initialHash and currentHash for all books";
+    }
+
+    @Override
+    public int getChunkSize() {
+        return 50;
+    }
+
+    @Override
+    public long countRemaining(long afterId) {
+        return bookRepository.countIdsAfter(afterId);
+    }
+
+    @Override
+    public List<Long> findNextChunk(long afterId, int limit) {
+        return bookRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void migrateChunk(List<Long> ids) {
+        List<BookEntity> books = bookRepository.findAllById(ids);
+        List<Object[]> updates = new ArrayList<>();
+        for (BookEntity book : books) {
+            Path path = book.getFullFilePath();
+            if (path == null || !Files.exists(path)) {
+                log.warn("Skipping hashing for book ID {} — file not found at path: {}", book.getId(), path);
+                continue;
+            }
+            try {
+                String hash = FileFingerprint.generateHash(path);
+                updates.add(new Object[]{hash, hash, book.getId()});
+            } catch (Exception e) {
+                log.error("Failed to compute hash for file: {}", path, e);
+            }
+        }
+        // Only the hash columns are written, so edits made to these books while the migration runs are kept.
+        jdbcTemplate.batchUpdate("UPDATE book SET initial_hash = COALESCE(initial_hash, ?), current_hash = ? WHERE id = ?", updates);
+    }
+}
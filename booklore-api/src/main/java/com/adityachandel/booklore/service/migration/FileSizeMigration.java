@@ -0,0 +1,53 @@
+package com.adityachandel.booklore.service.migration;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.util.FileUtils;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@AllArgsConstructor
+public class FileSizeMigration implements ChunkedMigration {
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String getKey() {
+        return "populateFileSizes";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Populate file size for existing books";
+    }
+
+    @Override
+    public long countRemaining(long afterId) {
+        return bookRepository.countIdsWithoutFileSizeAfter(afterId);
+    }
+
+    @Override
+    public List<Long> findNextChunk(long afterId, int limit) {
+        return bookRepository.findIdsWithoutFileSizeAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void migrateChunk(List<Long> ids) {
+        List<BookEntity> books = bookRepository.findAllById(ids);
+        List<Object[]> updates = new ArrayList<>();
+        for (BookEntity book : books) {
+            Long sizeInKb = FileUtils.getFileSizeInKb(book);
+            if (sizeInKb != null) {
+                updates.add(new Object[]{sizeInKb, book.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE book SET file_size_kb = ? WHERE id = ?", updates);
+    }
+}
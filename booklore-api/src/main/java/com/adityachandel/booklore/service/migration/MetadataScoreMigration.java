@@ -0,0 +1,51 @@
+package com.adityachandel.booklore.service.migration;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.service.metadata.MetadataMatchService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@AllArgsConstructor
+public class MetadataScoreMigration implements ChunkedMigration {
+
+    private final BookRepository bookRepository;
+    private final MetadataMatchService metadataMatchService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String getKey() {
+        return "populateMetadataScores_v2";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Calculate and store metadata match score for all books";
+    }
+
+    @Override
+    public long countRemaining(long afterId) {
+        return bookRepository.countActiveIdsAfter(afterId);
+    }
+
+    @Override
+    public List<Long> findNextChunk(long afterId, int limit) {
+        return bookRepository.findActiveIdsAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void migrateChunk(List<Long> ids) {
+        List<BookEntity> books = bookRepository.findBooksWithMetadataAndAuthors(ids);
+        List<Object[]> updates = new ArrayList<>();
+        for (BookEntity book : books) {
+            updates.add(new Object[]{metadataMatchService.calculateMatchScore(book), book.getId()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE book SET metadata_match_score = ? WHERE id = ?", updates);
+    }
+}
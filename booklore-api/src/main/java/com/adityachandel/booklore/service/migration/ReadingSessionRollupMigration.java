@@ -0,0 +1,51 @@
+package com.adityachandel.booklore.service.migration;
+
+import com.adityachandel.booklore.repository.ReadingSessionRepository;
+import com.adityachandel.booklore.service.ReadingSessionRollupService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfills the reading session rollups from existing sessions, one chunk of users at a time. Rebuilding a
+ * user replaces whatever increments were recorded for them before the backfill reached them.
+ */
+@Component
+@AllArgsConstructor
+public class ReadingSessionRollupMigration implements ChunkedMigration {
+
+    private final ReadingSessionRepository readingSessionRepository;
+    private final ReadingSessionRollupService readingSessionRollupService;
+
+    @Override
+    public String getKey() {
+        return "populateReadingSessionRollups";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Build reading session rollups";
+    }
+
+    @Override
+    public int getChunkSize() {
+        return 20;
+    }
+
+    @Override
+    public long countRemaining(long afterId) {
+        return readingSessionRepository.countUserIdsWithSessionsAfter(afterId);
+    }
+
+    @Override
+    public List<Long> findNextChunk(long afterId, int limit) {
+        return readingSessionRepository.findUserIdsWithSessionsAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void migrateChunk(List<Long> ids) {
+        readingSessionRollupService.rebuildForUsers(ids);
+    }
+}
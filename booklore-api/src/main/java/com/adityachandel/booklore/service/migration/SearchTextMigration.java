@@ -0,0 +1,65 @@
+package com.adityachandel.booklore.service.migration;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.BookMetadataEntity;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.util.BookUtils;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class SearchTextMigration implements ChunkedMigration {
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String getKey() {
+        return "populateSearchText";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Populate search_text column for all books";
+    }
+
+    @Override
+    public int getChunkSize() {
+        return 1000;
+    }
+
+    @Override
+    public long countRemaining(long afterId) {
+        return bookRepository.countActiveIdsAfter(afterId);
+    }
+
+    @Override
+    public List<Long> findNextChunk(long afterId, int limit) {
+        return bookRepository.findActiveIdsAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void migrateChunk(List<Long> ids) {
+        List<BookEntity> books = bookRepository.findBooksWithMetadataAndAuthors(ids);
+        List<Object[]> updates = new ArrayList<>();
+        for (BookEntity book : books) {
+            BookMetadataEntity m = book.getMetadata();
+            if (m != null) {
+                try {
+                    updates.add(new Object[]{BookUtils.buildSearchText(m), book.getId()});
+                } catch (Exception ex) {
+                    log.warn("Failed to build search text for book {}: {}", book.getId(), ex.getMessage());
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE book_metadata SET search_text = ? WHERE book_id = ?", updates);
+    }
+}
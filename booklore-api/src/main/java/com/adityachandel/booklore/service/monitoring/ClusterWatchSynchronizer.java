@@ -0,0 +1,44 @@
+package com.adityachandel.booklore.service.monitoring;
+
+import com.adityachandel.booklore.mapper.LibraryMapper;
+import com.adityachandel.booklore.model.entity.LibraryEntity;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.repository.LibraryRepository;
+import com.adityachandel.booklore.service.cluster.ClusterMessageEvent;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Applies library watch changes made on other instances, so that every instance watches the same folders and only
+ * the leader's watcher acts on them.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ClusterWatchSynchronizer {
+
+    private final MonitoringService monitoringService;
+    private final LibraryRepository libraryRepository;
+    private final LibraryMapper libraryMapper;
+
+    @EventListener
+    @Transactional
+    public void onClusterMessage(ClusterMessageEvent event) {
+        if (event.getType() != ClusterEventType.LIBRARY_WATCH || event.getTarget() == null) {
+            return;
+        }
+        long libraryId = Long.parseLong(event.getTarget());
+        Optional<LibraryEntity> library = libraryRepository.findById(libraryId);
+        if (MonitoringService.LIBRARY_WATCH_REGISTER.equals(event.getPayload()) && library.isPresent() && library.get().isWatch()) {
+            monitoringService.registerLibraryLocally(libraryMapper.toLibrary(library.get()));
+        } else {
+            monitoringService.unregisterLibraryLocally(libraryId);
+        }
+        log.debug("Applied {} of library {} from another instance", event.getPayload(), libraryId);
+    }
+}
@@ -55,6 +55,7 @@ public class MonitoringRegistrationService {
                         .filter(path -> !path.equals(libraryRoot))
                         .forEach(path -> monitoringService.registerPath(path, libraryId));
             }
+            monitoringService.announceLibraryRegistered(libraryId);
         } catch (Exception e) {
             log.error("Failed to register library paths for libraryId {} at {}", libraryId, libraryRoot, e);
         }
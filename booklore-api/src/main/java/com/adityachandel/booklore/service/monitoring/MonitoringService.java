@@ -2,6 +2,9 @@ package com.adityachandel.booklore.service.monitoring;
 
 import com.adityachandel.booklore.model.dto.Library;
 import com.adityachandel.booklore.model.enums.BookFileExtension;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.cluster.LeaderElectionService;
 import com.adityachandel.booklore.service.watcher.LibraryFileEventProcessor;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -21,9 +24,14 @@ import java.util.stream.Stream;
 @Service
 public class MonitoringService {
 
+    static final String LIBRARY_WATCH_REGISTER = "REGISTER";
+    static final String LIBRARY_WATCH_UNREGISTER = "UNREGISTER";
+
     private final LibraryFileEventProcessor libraryFileEventProcessor;
     private final WatchService watchService;
     private final MonitoringTask monitoringTask;
+    private final LeaderElectionService leaderElectionService;
+    private final ClusterEventRelay clusterEventRelay;
 
     private final BlockingQueue<FileChangeEvent> eventQueue = new LinkedBlockingQueue<>();
     private final ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
@@ -33,10 +41,16 @@ public class MonitoringService {
     private final Map<Path, Long> pathToLibraryIdMap = new ConcurrentHashMap<>();
     private final Map<Long, Boolean> libraryWatchStatusMap = new ConcurrentHashMap<>();
 
-    public MonitoringService(LibraryFileEventProcessor libraryFileEventProcessor, WatchService watchService, MonitoringTask monitoringTask) {
+    public MonitoringService(LibraryFileEventProcessor libraryFileEventProcessor,
+                             WatchService watchService,
+                             MonitoringTask monitoringTask,
+                             LeaderElectionService leaderElectionService,
+                             ClusterEventRelay clusterEventRelay) {
         this.libraryFileEventProcessor = libraryFileEventProcessor;
         this.watchService = watchService;
         this.monitoringTask = monitoringTask;
+        this.leaderElectionService = leaderElectionService;
+        this.clusterEventRelay = clusterEventRelay;
     }
 
     @PostConstruct
@@ -56,16 +70,38 @@ public class MonitoringService {
         }
     }
 
+    /**
+     * Registers the libraries on this instance only; every instance does this for itself at startup. In fast
+     * startup mode this runs in the background, so a library changed meanwhile keeps its newer watch status.
+     */
     public void registerLibraries(List<Library> libraries) {
-        libraries.forEach(lib -> libraryWatchStatusMap.put(lib.getId(), lib.isWatch()));
-        libraries.stream().filter(Library::isWatch).forEach(this::registerLibrary);
+        libraries.forEach(lib -> libraryWatchStatusMap.putIfAbsent(lib.getId(), lib.isWatch()));
+        libraries.stream()
+                .filter(lib -> libraryWatchStatusMap.getOrDefault(lib.getId(), false))
+                .forEach(this::registerLibraryFolders);
         log.info("Registered {} libraries for recursive monitoring", libraries.size());
     }
 
+    /**
+     * Registers a library here and on the other instances, which keep their watches in sync so a new leader can
+     * take over without rescanning.
+     */
     public void registerLibrary(Library library) {
+        registerLibraryLocally(library);
+        announceLibraryRegistered(library.getId());
+    }
+
+    public void announceLibraryRegistered(Long libraryId) {
+        clusterEventRelay.publish(ClusterEventType.LIBRARY_WATCH, String.valueOf(libraryId), LIBRARY_WATCH_REGISTER);
+    }
+
+    public void registerLibraryLocally(Library library) {
         libraryWatchStatusMap.put(library.getId(), library.isWatch());
         if (!library.isWatch()) return;
+        registerLibraryFolders(library);
+    }
 
+    private void registerLibraryFolders(Library library) {
         int[] registeredCount = {0};
 
         library.getPaths().forEach(libraryPath -> {
@@ -87,6 +123,11 @@ public class MonitoringService {
     }
 
     public void unregisterLibrary(Long libraryId) {
+        unregisterLibraryLocally(libraryId);
+        clusterEventRelay.publish(ClusterEventType.LIBRARY_WATCH, String.valueOf(libraryId), LIBRARY_WATCH_UNREGISTER);
+    }
+
+    public void unregisterLibraryLocally(Long libraryId) {
         Set<Path> pathsToRemove = pathToLibraryIdMap.entrySet().stream()
                 .filter(entry -> entry.getValue().equals(libraryId))
                 .map(Map.Entry::getKey)
@@ -157,6 +198,7 @@ public class MonitoringService {
         if (!(isDir || isRelevantFile)) return;
 
         handleDirectoryEvents(event, fullPath, kind, isDir);
+        if (!leaderElectionService.isLeader()) return;
         queueEvent(event, fullPath, kind);
     }
 
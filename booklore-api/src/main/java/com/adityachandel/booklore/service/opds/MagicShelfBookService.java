@@ -6,15 +6,21 @@ import com.adityachandel.booklore.mapper.custom.BookLoreUserTransformer;
 import com.adityachandel.booklore.model.dto.Book;
 import com.adityachandel.booklore.model.dto.BookLoreUser;
 import com.adityachandel.booklore.model.dto.GroupRule;
+import com.adityachandel.booklore.model.dto.KeysetPage;
 import com.adityachandel.booklore.model.dto.Library;
 import com.adityachandel.booklore.model.entity.BookEntity;
 import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
+import com.adityachandel.booklore.model.entity.BookMetadataEntity;
 import com.adityachandel.booklore.model.entity.MagicShelfEntity;
 import com.adityachandel.booklore.repository.BookRepository;
 import com.adityachandel.booklore.repository.MagicShelfRepository;
 import com.adityachandel.booklore.repository.UserRepository;
 import com.adityachandel.booklore.service.BookRuleEvaluatorService;
+import com.adityachandel.booklore.util.KeysetCursor;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,6 +29,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -44,7 +51,7 @@ public class MagicShelfBookService {
         try {
             GroupRule groupRule = objectMapper.readValue(shelf.getFilterJson(), GroupRule.class);
             Specification<BookEntity> specification = ruleEvaluatorService.toSpecification(groupRule, userId);
-            specification = specification.and(createLibraryFilterSpecification(userId));
+            specification = specification.and(createLibraryFilterSpecification(userId)).and(titleKeyset(null));
             Pageable pageable = PageRequest.of(Math.max(page, 0), size);
 
             Page<BookEntity> booksPage = bookRepository.findAll(specification, pageable);
@@ -56,6 +63,65 @@ public class MagicShelfBookService {
         }
     }
 
+    /**
+     * Keyset variant of {@link #getBooksByMagicShelfId}: seeks past the title/id of the previous page's last book and
+     * skips the count query.
+     */
+    public KeysetPage<Book> getBooksByMagicShelfIdAfter(Long userId, Long magicShelfId, String cursor, int size) {
+        MagicShelfEntity shelf = validateMagicShelfAccess(userId, magicShelfId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<BookEntity> books;
+        try {
+            GroupRule groupRule = objectMapper.readValue(shelf.getFilterJson(), GroupRule.class);
+            Specification<BookEntity> specification = ruleEvaluatorService.toSpecification(groupRule, userId)
+                    .and(createLibraryFilterSpecification(userId))
+                    .and(titleKeyset(after));
+
+            books = bookRepository.findBy(specification, query -> query.limit(size + 1).all());
+        } catch (Exception e) {
+            log.error("Failed to parse or execute magic shelf rules", e);
+            throw new RuntimeException("Failed to parse or execute magic shelf rules: " + e.getMessage(), e);
+        }
+
+        boolean hasNext = books.size() > size;
+        List<Book> pageBooks = (hasNext ? books.subList(0, size) : books).stream()
+                .map(bookMapper::toBook)
+                .map(book -> filterBook(book, userId))
+                .toList();
+
+        return KeysetPage.<Book>builder()
+                .content(pageBooks)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorAfter(pageBooks.getLast()) : null)
+                .build();
+    }
+
+    /**
+     * Cursor that continues after {@code book} in the title/id order used for magic shelves.
+     */
+    public static String cursorAfter(Book book) {
+        return KeysetCursor.of(book.getMetadata() != null ? book.getMetadata().getTitle() : null, book.getId()).encode();
+    }
+
+    /**
+     * Orders by title then id, and with a cursor only keeps the books after it. Missing titles sort as empty strings so
+     * the order and the seek predicate agree.
+     */
+    private Specification<BookEntity> titleKeyset(KeysetCursor after) {
+        return (root, query, cb) -> {
+            Join<BookEntity, BookMetadataEntity> metadata = root.join("metadata", JoinType.LEFT);
+            Expression<String> title = cb.coalesce(metadata.get("title"), "");
+            query.orderBy(cb.asc(title), cb.asc(root.get("id")));
+
+            if (after == null) {
+                return cb.conjunction();
+            }
+            return cb.or(
+                    cb.greaterThan(title, after.key()),
+                    cb.and(cb.equal(title, after.key()), cb.greaterThan(root.get("id"), after.id())));
+        };
+    }
+
     public String getMagicShelfName(Long magicShelfId) {
         return magicShelfRepository.findById(magicShelfId)
                 .map(s -> s.getName() + " - Magic Shelf")
@@ -12,6 +12,7 @@ import com.adityachandel.booklore.repository.BookOpdsRepository;
 import com.adityachandel.booklore.repository.ShelfRepository;
 import com.adityachandel.booklore.repository.UserRepository;
 import com.adityachandel.booklore.util.BookUtils;
+import com.adityachandel.booklore.util.KeysetCursor;
 import com.adityachandel.booklore.service.library.LibraryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -54,19 +56,7 @@ public class OpdsBookService {
     }
 
     public Page<Book> getBooksPage(Long userId, String query, Long libraryId, Long shelfId, int page, int size) {
-        if (userId == null) {
-            throw ApiError.FORBIDDEN.createException("Authentication required");
-        }
-
-        BookLoreUserEntity entity = userRepository.findById(userId)
-                .orElseThrow(() -> ApiError.USER_NOT_FOUND.createException(userId));
-
-        if (entity.getPermissions() == null ||
-                (!entity.getPermissions().isPermissionAccessOpds() && !entity.getPermissions().isPermissionAdmin())) {
-            throw ApiError.FORBIDDEN.createException("You are not allowed to access this resource");
-        }
-
-        BookLoreUser user = bookLoreUserTransformer.toDTO(entity);
+        BookLoreUser user = getOpdsUser(userId);
         boolean isAdmin = user.getPermissions().isAdmin();
         Set<Long> userLibraryIds = user.getAssignedLibraries().stream()
                 .map(Library::getId)
@@ -97,6 +87,95 @@ public class OpdsBookService {
         return applyBookFilters(books, userId);
     }
 
+    /**
+     * Keyset variant of {@link #getBooksPage}: continues after {@code cursor} (null for the first page) in
+     * addedOn/id order and never counts the matching books, so every page costs the same as the first one.
+     */
+    public KeysetPage<Book> getBooksAfter(Long userId, String query, Long libraryId, Long shelfId, String cursor, int size) {
+        BookLoreUser user = getOpdsUser(userId);
+        boolean isAdmin = user.getPermissions().isAdmin();
+        Set<Long> userLibraryIds = user.getAssignedLibraries().stream()
+                .map(Library::getId)
+                .collect(Collectors.toSet());
+        boolean search = query != null && !query.isBlank();
+        String text = search ? BookUtils.normalizeForSearch(query) : null;
+
+        if (shelfId != null) {
+            validateShelfAccess(shelfId, user.getId(), isAdmin);
+            return seekPage(cursor, size,
+                    (addedOn, id, pageable) -> bookOpdsRepository.findBookIdsByShelfIdAfter(shelfId, addedOn, id, pageable),
+                    ids -> bookOpdsRepository.findAllWithMetadataByIdsAndShelfId(ids, shelfId));
+        }
+
+        if (libraryId != null) {
+            validateLibraryAccess(libraryId, userLibraryIds, isAdmin);
+            return seekInLibraries(text, Set.of(libraryId), cursor, size).map(book -> filterBook(book, userId));
+        }
+
+        if (isAdmin) {
+            return search
+                    ? seekPage(cursor, size,
+                    (addedOn, id, pageable) -> bookOpdsRepository.findBookIdsByMetadataSearchAfter(text, addedOn, id, pageable),
+                    bookOpdsRepository::findAllWithFullMetadataByIds)
+                    : seekPage(cursor, size, bookOpdsRepository::findBookIdsAfter, bookOpdsRepository::findAllWithMetadataByIds);
+        }
+
+        return seekInLibraries(text, userLibraryIds, cursor, size).map(book -> filterBook(book, userId));
+    }
+
+    public KeysetPage<Book> getRecentBooksAfter(Long userId, String cursor, int size) {
+        if (userId == null) {
+            throw ApiError.FORBIDDEN.createException("Authentication required");
+        }
+
+        BookLoreUserEntity entity = userRepository.findById(userId)
+                .orElseThrow(() -> ApiError.USER_NOT_FOUND.createException(userId));
+        BookLoreUser user = bookLoreUserTransformer.toDTO(entity);
+
+        if (user.getPermissions().isAdmin()) {
+            return seekPage(cursor, size, bookOpdsRepository::findBookIdsAfter, bookOpdsRepository::findAllWithMetadataByIds);
+        }
+
+        Set<Long> libraryIds = user.getAssignedLibraries().stream()
+                .map(Library::getId)
+                .collect(Collectors.toSet());
+
+        return seekInLibraries(null, libraryIds, cursor, size).map(book -> filterBook(book, userId));
+    }
+
+    public KeysetPage<Book> getBooksByAuthorNameAfter(Long userId, String authorName, String cursor, int size) {
+        if (userId == null) {
+            throw ApiError.FORBIDDEN.createException("Authentication required");
+        }
+
+        BookLoreUserEntity entity = userRepository.findById(userId)
+                .orElseThrow(() -> ApiError.USER_NOT_FOUND.createException(userId));
+        BookLoreUser user = bookLoreUserTransformer.toDTO(entity);
+
+        if (user.getPermissions().isAdmin()) {
+            return seekPage(cursor, size,
+                    (addedOn, id, pageable) -> bookOpdsRepository.findBookIdsByAuthorNameAfter(authorName, addedOn, id, pageable),
+                    bookOpdsRepository::findAllWithFullMetadataByIds);
+        }
+
+        Set<Long> libraryIds = user.getAssignedLibraries().stream()
+                .map(Library::getId)
+                .collect(Collectors.toSet());
+
+        return seekPage(cursor, size,
+                (addedOn, id, pageable) -> bookOpdsRepository.findBookIdsByAuthorNameAndLibraryIdsAfter(authorName, libraryIds, addedOn, id, pageable),
+                ids -> bookOpdsRepository.findAllWithFullMetadataByIdsAndLibraryIds(ids, libraryIds))
+                .map(book -> filterBook(book, userId));
+    }
+
+    /**
+     * Cursor that continues after {@code book} in the addedOn/id order shared by the offset and keyset queries, so an
+     * offset page can hand its "next" link over to the keyset path.
+     */
+    public static String cursorAfter(Book book) {
+        return KeysetCursor.of(book.getAddedOn(), book.getId()).encode();
+    }
+
     public Page<Book> getRecentBooksPage(Long userId, int page, int size) {
         if (userId == null) {
             throw ApiError.FORBIDDEN.createException("Authentication required");
@@ -159,34 +238,6 @@ public class OpdsBookService {
         return books.stream().map(bookMapper::toBook).toList();
     }
 
-    public List<String> getDistinctAuthors(Long userId) {
-        if (userId == null) {
-            return List.of();
-        }
-
-        BookLoreUserEntity entity = userRepository.findById(userId)
-                .orElseThrow(() -> ApiError.USER_NOT_FOUND.createException(userId));
-        BookLoreUser user = bookLoreUserTransformer.toDTO(entity);
-
-        List<com.adityachandel.booklore.model.entity.AuthorEntity> authors;
-
-        if (user.getPermissions().isAdmin()) {
-            authors = bookOpdsRepository.findDistinctAuthors();
-        } else {
-            Set<Long> libraryIds = user.getAssignedLibraries().stream()
-                    .map(Library::getId)
-                    .collect(Collectors.toSet());
-            authors = bookOpdsRepository.findDistinctAuthorsByLibraryIds(libraryIds);
-        }
-
-        return authors.stream()
-                .map(com.adityachandel.booklore.model.entity.AuthorEntity::getName)
-                .filter(Objects::nonNull)
-                .distinct()
-                .sorted()
-                .toList();
-    }
-
     public Page<Book> getBooksByAuthorName(Long userId, String authorName, int page, int size) {
         if (userId == null) {
             throw ApiError.FORBIDDEN.createException("Authentication required");
@@ -221,26 +272,6 @@ public class OpdsBookService {
         return applyBookFilters(booksPage, userId);
     }
 
-    public List<String> getDistinctSeries(Long userId) {
-        if (userId == null) {
-            return List.of();
-        }
-
-        BookLoreUserEntity entity = userRepository.findById(userId)
-                .orElseThrow(() -> ApiError.USER_NOT_FOUND.createException(userId));
-        BookLoreUser user = bookLoreUserTransformer.toDTO(entity);
-
-        if (user.getPermissions().isAdmin()) {
-            return bookOpdsRepository.findDistinctSeries();
-        }
-
-        Set<Long> libraryIds = user.getAssignedLibraries().stream()
-                .map(Library::getId)
-                .collect(Collectors.toSet());
-
-        return bookOpdsRepository.findDistinctSeriesByLibraryIds(libraryIds);
-    }
-
     public Page<Book> getBooksBySeriesName(Long userId, String seriesName, int page, int size) {
         if (userId == null) {
             throw ApiError.FORBIDDEN.createException("Authentication required");
@@ -359,6 +390,63 @@ public class OpdsBookService {
         return createPageFromEntities(books, idPage, pageable);
     }
 
+    private KeysetPage<Book> seekInLibraries(String text, Set<Long> libraryIds, String cursor, int size) {
+        if (text != null) {
+            return seekPage(cursor, size,
+                    (addedOn, id, pageable) -> bookOpdsRepository.findBookIdsByMetadataSearchAndLibraryIdsAfter(text, libraryIds, addedOn, id, pageable),
+                    ids -> bookOpdsRepository.findAllWithFullMetadataByIdsAndLibraryIds(ids, libraryIds));
+        }
+        return seekPage(cursor, size,
+                (addedOn, id, pageable) -> bookOpdsRepository.findBookIdsByLibraryIdsAfter(libraryIds, addedOn, id, pageable),
+                ids -> bookOpdsRepository.findAllWithMetadataByIdsAndLibraryIds(ids, libraryIds));
+    }
+
+    private KeysetPage<Book> seekPage(String cursor, int size, SeekQuery idQuery, Function<List<Long>, List<BookEntity>> loader) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Long> ids = idQuery.find(after != null ? after.instantKey() : null, after != null ? after.id() : null, PageRequest.ofSize(size + 1));
+
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+        if (pageIds.isEmpty()) {
+            return KeysetPage.<Book>builder().content(List.of()).build();
+        }
+
+        Map<Long, BookEntity> bookMap = loader.apply(pageIds).stream()
+                .collect(Collectors.toMap(BookEntity::getId, Function.identity()));
+        List<Book> books = pageIds.stream()
+                .map(bookMap::get)
+                .filter(Objects::nonNull)
+                .map(bookMapper::toBook)
+                .toList();
+
+        return KeysetPage.<Book>builder()
+                .content(books)
+                .hasNext(hasNext && !books.isEmpty())
+                .nextCursor(hasNext && !books.isEmpty() ? cursorAfter(books.getLast()) : null)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface SeekQuery {
+        List<Long> find(Instant afterAddedOn, Long afterId, Pageable pageable);
+    }
+
+    private BookLoreUser getOpdsUser(Long userId) {
+        if (userId == null) {
+            throw ApiError.FORBIDDEN.createException("Authentication required");
+        }
+
+        BookLoreUserEntity entity = userRepository.findById(userId)
+                .orElseThrow(() -> ApiError.USER_NOT_FOUND.createException(userId));
+
+        if (entity.getPermissions() == null ||
+                (!entity.getPermissions().isPermissionAccessOpds() && !entity.getPermissions().isPermissionAdmin())) {
+            throw ApiError.FORBIDDEN.createException("You are not allowed to access this resource");
+        }
+
+        return bookLoreUserTransformer.toDTO(entity);
+    }
+
     private void validateShelfAccess(Long shelfId, Long userId, boolean isAdmin) {
         var shelf = shelfRepository.findById(shelfId)
                 .orElseThrow(() -> ApiError.SHELF_NOT_FOUND.createException(shelfId));
@@ -0,0 +1,241 @@
+package com.adityachandel.booklore.service.opds;
+
+import com.adityachandel.booklore.exception.ApiError;
+import com.adityachandel.booklore.mapper.custom.BookLoreUserTransformer;
+import com.adityachandel.booklore.model.dto.BookLoreUser;
+import com.adityachandel.booklore.model.dto.KeysetPage;
+import com.adityachandel.booklore.model.dto.Library;
+import com.adityachandel.booklore.model.dto.OpdsFacetCountDto;
+import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.repository.BookOpdsRepository;
+import com.adityachandel.booklore.repository.UserRepository;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.cluster.ClusterMessageEvent;
+import com.adityachandel.booklore.service.event.LibraryContentChangedEvent;
+import com.adityachandel.booklore.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Author and series facets for the OPDS navigation feeds. Names are grouped into first-letter buckets and listed a page
+ * at a time with their book counts, all aggregated by the database. Results are cached per set of accessible libraries
+ * and dropped whenever library contents change, on this instance and on the others.
+ */
+@RequiredArgsConstructor
+@Service
+public class OpdsFacetService {
+
+    static final String CACHE_NAME = "opds-facets";
+    static final String OTHER_LETTER = "#";
+    private static final int MAX_ENTRIES = 512;
+    private static final long TTL_NANOS = Duration.ofMinutes(10).toNanos();
+    private static final String ALL_LIBRARIES = "*";
+
+    public enum Kind {
+        AUTHOR, SERIES
+    }
+
+    public record LetterBucket(String letter, long count) {
+    }
+
+    public record FacetEntry(String name, long bookCount) {
+    }
+
+    private record Key(Kind kind, String access, String letter, String cursor, int size) {
+    }
+
+    private record Cached(Object value, long storedAt) {
+    }
+
+    private final BookOpdsRepository bookOpdsRepository;
+    private final UserRepository userRepository;
+    private final BookLoreUserTransformer bookLoreUserTransformer;
+    private final ClusterEventRelay clusterEventRelay;
+
+    private final LinkedHashMap<Key, Cached> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Cached> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long generation;
+
+    /**
+     * Letter buckets with the number of distinct names in each, letters first and {@code #} (digits, symbols and
+     * non-latin scripts) last.
+     */
+    public List<LetterBucket> getLetters(Long userId, Kind kind) {
+        if (userId == null) {
+            return List.of();
+        }
+        BookLoreUser user = getUser(userId);
+        Set<Long> libraryIds = libraryIdsOf(user);
+        if (libraryIds != null && libraryIds.isEmpty()) {
+            return List.of();
+        }
+        return cached(new Key(kind, accessKey(libraryIds), null, null, 0), () -> {
+            List<OpdsFacetCountDto> rows = switch (kind) {
+                case AUTHOR -> libraryIds == null
+                        ? bookOpdsRepository.countAuthorsByLetter()
+                        : bookOpdsRepository.countAuthorsByLetterAndLibraryIds(libraryIds);
+                case SERIES -> libraryIds == null
+                        ? bookOpdsRepository.countSeriesByLetter()
+                        : bookOpdsRepository.countSeriesByLetterAndLibraryIds(libraryIds);
+            };
+            return toBuckets(rows);
+        });
+    }
+
+    /**
+     * Names in the given bucket (all names when {@code letter} is null) in name order, after the cursor, with the number
+     * of accessible books for each.
+     */
+    public KeysetPage<FacetEntry> getEntries(Long userId, Kind kind, String letter, String cursor, int size) {
+        if (userId == null) {
+            return KeysetPage.<FacetEntry>builder().content(List.of()).build();
+        }
+        BookLoreUser user = getUser(userId);
+        Set<Long> libraryIds = libraryIdsOf(user);
+        if (libraryIds != null && libraryIds.isEmpty()) {
+            return KeysetPage.<FacetEntry>builder().content(List.of()).build();
+        }
+        String bucket = letter == null || letter.isBlank() ? null : bucketOf(letter);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        String afterName = after != null ? after.key() : "";
+
+        return cached(new Key(kind, accessKey(libraryIds), bucket, afterName, size), () -> {
+            PageRequest limit = PageRequest.ofSize(size + 1);
+            List<OpdsFacetCountDto> rows = switch (kind) {
+                case AUTHOR -> libraryIds == null
+                        ? bookOpdsRepository.findAuthorBookCounts(bucket, afterName, limit)
+                        : bookOpdsRepository.findAuthorBookCountsByLibraryIds(libraryIds, bucket, afterName, limit);
+                case SERIES -> libraryIds == null
+                        ? bookOpdsRepository.findSeriesBookCounts(bucket, afterName, limit)
+                        : bookOpdsRepository.findSeriesBookCountsByLibraryIds(libraryIds, bucket, afterName, limit);
+            };
+
+            boolean hasNext = rows.size() > size;
+            List<FacetEntry> entries = (hasNext ? rows.subList(0, size) : rows).stream()
+                    .map(row -> new FacetEntry(row.getLabel(), row.getTotal() != null ? row.getTotal() : 0))
+                    .toList();
+            return KeysetPage.<FacetEntry>builder()
+                    .content(entries)
+                    .hasNext(hasNext)
+                    .nextCursor(hasNext ? KeysetCursor.of(entries.getLast().name(), 0).encode() : null)
+                    .build();
+        });
+    }
+
+    /**
+     * Drops all cached facets here and on the other instances.
+     */
+    public void invalidate() {
+        invalidateLocally();
+        clusterEventRelay.publish(ClusterEventType.CACHE_INVALIDATION, CACHE_NAME, ALL_LIBRARIES);
+    }
+
+    @EventListener
+    public void onLibraryContentChanged(LibraryContentChangedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onClusterMessage(ClusterMessageEvent event) {
+        if (event.getType() == ClusterEventType.CACHE_INVALIDATION && CACHE_NAME.equals(event.getTarget())) {
+            invalidateLocally();
+        }
+    }
+
+    synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Bucket for a name or letter: its first letter without accents when that is A-Z, otherwise {@code #}.
+     */
+    static String bucketOf(String name) {
+        if (name == null || name.isEmpty()) {
+            return OTHER_LETTER;
+        }
+        String first = Normalizer.normalize(name.substring(0, name.offsetByCodePoints(0, 1)), Normalizer.Form.NFD);
+        char c = Character.toUpperCase(first.charAt(0));
+        return c >= 'A' && c <= 'Z' ? String.valueOf(c) : OTHER_LETTER;
+    }
+
+    /**
+     * The database groups on the upper-cased first character, so accented and non-latin initials arrive as separate
+     * rows; fold them into the same buckets that {@link #bucketOf} and the entry queries use.
+     */
+    private static List<LetterBucket> toBuckets(List<OpdsFacetCountDto> rows) {
+        Map<String, Long> counts = new TreeMap<>((a, b) -> {
+            if (a.equals(b)) return 0;
+            if (OTHER_LETTER.equals(a)) return 1;
+            if (OTHER_LETTER.equals(b)) return -1;
+            return a.compareTo(b);
+        });
+        for (OpdsFacetCountDto row : rows) {
+            long total = row.getTotal() != null ? row.getTotal() : 0;
+            counts.merge(bucketOf(row.getLabel()), total, Long::sum);
+        }
+        return counts.entrySet().stream()
+                .map(entry -> new LetterBucket(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(Key key, Supplier<T> loader) {
+        long readGeneration;
+        synchronized (this) {
+            Cached hit = cache.get(key);
+            if (hit != null && System.nanoTime() - hit.storedAt() < TTL_NANOS) {
+                return (T) hit.value();
+            }
+            readGeneration = generation;
+        }
+
+        T value = loader.get();
+        synchronized (this) {
+            if (generation == readGeneration) {
+                cache.put(key, new Cached(value, System.nanoTime()));
+            }
+        }
+        return value;
+    }
+
+    private synchronized void invalidateLocally() {
+        generation++;
+        cache.clear();
+    }
+
+    private BookLoreUser getUser(Long userId) {
+        BookLoreUserEntity entity = userRepository.findById(userId)
+                .orElseThrow(() -> ApiError.USER_NOT_FOUND.createException(userId));
+        return bookLoreUserTransformer.toDTO(entity);
+    }
+
+    /**
+     * Null for admins, who see every library.
+     */
+    private static Set<Long> libraryIdsOf(BookLoreUser user) {
+        if (user.getPermissions() != null && user.getPermissions().isAdmin()) {
+            return null;
+        }
+        Set<Long> ids = new TreeSet<>();
+        if (user.getAssignedLibraries() != null) {
+            user.getAssignedLibraries().stream().map(Library::getId).forEach(ids::add);
+        }
+        return ids;
+    }
+
+    private static String accessKey(Set<Long> libraryIds) {
+        return libraryIds == null ? ALL_LIBRARIES : libraryIds.toString();
+    }
+}
@@ -3,6 +3,7 @@ package com.adityachandel.booklore.service.opds;
 import com.adityachandel.booklore.config.security.service.AuthenticationService;
 import com.adityachandel.booklore.config.security.userdetails.OpdsUserDetails;
 import com.adityachandel.booklore.model.dto.Book;
+import com.adityachandel.booklore.model.dto.KeysetPage;
 import com.adityachandel.booklore.model.dto.Library;
 import com.adityachandel.booklore.model.dto.MagicShelf;
 import com.adityachandel.booklore.model.enums.OpdsSortOrder;
@@ -11,8 +12,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
@@ -28,6 +32,7 @@ public class OpdsFeedService {
     private final OpdsBookService opdsBookService;
     private final MagicShelfService magicShelfService;
     private final MagicShelfBookService magicShelfBookService;
+    private final OpdsFacetService opdsFacetService;
 
     public String generateRootNavigation(HttpServletRequest request) {
         var feed = new StringBuilder("""
@@ -245,79 +250,108 @@ public class OpdsFeedService {
     }
 
     public String generateAuthorsNavigation(HttpServletRequest request) {
-        Long userId = getUserId();
-        List<String> authors = opdsBookService.getDistinctAuthors(userId);
-
-        var feed = new StringBuilder("""
-                <?xml version="1.0" encoding="UTF-8"?>
-                <feed xmlns="http://www.w3.org/2005/Atom" xmlns:opds="http://opds-spec.org/2010/catalog">
-                  <id>urn:booklore:navigation:authors</id>
-                  <title>Authors</title>
-                  <updated>%s</updated>
-                  <link rel="self" href="/api/v1/opds/authors" type="application/atom+xml;profile=opds-catalog;kind=navigation"/>
-                  <link rel="start" href="/api/v1/opds" type="application/atom+xml;profile=opds-catalog;kind=navigation"/>
-                  <link rel="search" type="application/opensearchdescription+xml" title="Search" href="/api/v1/opds/search.opds"/>
-                """.formatted(now()));
-
-        for (String author : authors) {
-            feed.append("""
-                      <entry>
-                        <title>%s</title>
-                        <id>urn:booklore:author:%s</id>
-                        <updated>%s</updated>
-                        <link rel="subsection" href="%s" type="application/atom+xml;profile=opds-catalog;kind=acquisition"/>
-                        <content type="text">Books by %s</content>
-                      </entry>
-                    """.formatted(
-                    escapeXml(author),
-                    escapeXml(author),
-                    now(),
-                    escapeXml("/api/v1/opds/catalog?author=" + java.net.URLEncoder.encode(author, java.nio.charset.StandardCharsets.UTF_8)),
-                    escapeXml(author)
-            ));
-        }
-
-        feed.append("</feed>");
-        return feed.toString();
+        return generateFacetNavigation(request, OpdsFacetService.Kind.AUTHOR);
     }
 
     public String generateSeriesNavigation(HttpServletRequest request) {
+        return generateFacetNavigation(request, OpdsFacetService.Kind.SERIES);
+    }
+
+    /**
+     * Without a {@code letter} the feed lists the first-letter buckets with their counts, unless everything fits on one
+     * page, in which case the names are listed directly. With a letter it lists that bucket's names a page at a time.
+     */
+    private String generateFacetNavigation(HttpServletRequest request, OpdsFacetService.Kind kind) {
         Long userId = getUserId();
-        List<String> seriesList = opdsBookService.getDistinctSeries(userId);
+        String letter = request.getParameter("letter");
+        String cursor = request.getParameter("cursor");
+        int size = Math.min(parseLongParam(request, "size", (long) DEFAULT_PAGE_SIZE).intValue(), MAX_PAGE_SIZE);
+        String path = kind == OpdsFacetService.Kind.AUTHOR ? "authors" : "series";
+        String title = kind == OpdsFacetService.Kind.AUTHOR ? "Authors" : "Series";
+        boolean byLetter = letter != null && !letter.isBlank();
 
         var feed = new StringBuilder("""
                 <?xml version="1.0" encoding="UTF-8"?>
                 <feed xmlns="http://www.w3.org/2005/Atom" xmlns:opds="http://opds-spec.org/2010/catalog">
-                  <id>urn:booklore:navigation:series</id>
-                  <title>Series</title>
+                  <id>urn:booklore:navigation:%s</id>
+                  <title>%s</title>
                   <updated>%s</updated>
-                  <link rel="self" href="/api/v1/opds/series" type="application/atom+xml;profile=opds-catalog;kind=navigation"/>
+                  <link rel="self" href="%s" type="application/atom+xml;profile=opds-catalog;kind=navigation"/>
                   <link rel="start" href="/api/v1/opds" type="application/atom+xml;profile=opds-catalog;kind=navigation"/>
                   <link rel="search" type="application/opensearchdescription+xml" title="Search" href="/api/v1/opds/search.opds"/>
-                """.formatted(now()));
+                """.formatted(
+                path,
+                escapeXml(byLetter ? title + " - " + letter : title),
+                now(),
+                escapeXml("/api/v1/opds/" + path + (byLetter ? "?letter=" + URLEncoder.encode(letter, StandardCharsets.UTF_8) : ""))
+        ));
 
-        for (String series : seriesList) {
-            feed.append("""
-                      <entry>
-                        <title>%s</title>
-                        <id>urn:booklore:series:%s</id>
-                        <updated>%s</updated>
-                        <link rel="subsection" href="%s" type="application/atom+xml;profile=opds-catalog;kind=acquisition"/>
-                        <content type="text">Books in the %s series</content>
-                      </entry>
-                    """.formatted(
-                    escapeXml(series),
-                    escapeXml(series),
-                    now(),
-                    escapeXml("/api/v1/opds/catalog?series=" + java.net.URLEncoder.encode(series, java.nio.charset.StandardCharsets.UTF_8)),
-                    escapeXml(series)
-            ));
+        if (!byLetter && (cursor == null || cursor.isBlank())) {
+            List<OpdsFacetService.LetterBucket> buckets = opdsFacetService.getLetters(userId, kind);
+            long total = buckets.stream().mapToLong(OpdsFacetService.LetterBucket::count).sum();
+            if (total > size) {
+                buckets.forEach(bucket -> appendLetterEntry(feed, kind, path, bucket));
+                feed.append("</feed>");
+                return feed.toString();
+            }
+        }
+
+        KeysetPage<OpdsFacetService.FacetEntry> entries = opdsFacetService.getEntries(userId, kind, letter, cursor, size);
+        if (entries.isHasNext()) {
+            feed.append("  <link rel=\"next\" href=\"")
+                    .append(escapeXml(buildCursorUrl(request, entries.getNextCursor(), size)))
+                    .append("\" type=\"application/atom+xml;profile=opds-catalog;kind=navigation\"/>\n");
         }
+        entries.getContent().forEach(entry -> appendFacetEntry(feed, kind, entry));
 
         feed.append("</feed>");
         return feed.toString();
     }
 
+    private void appendLetterEntry(StringBuilder feed, OpdsFacetService.Kind kind, String path, OpdsFacetService.LetterBucket bucket) {
+        String noun = kind == OpdsFacetService.Kind.AUTHOR ? (bucket.count() == 1 ? "author" : "authors") : "series";
+        feed.append("""
+                  <entry>
+                    <title>%s (%d)</title>
+                    <id>urn:booklore:%s:letter:%s</id>
+                    <updated>%s</updated>
+                    <link rel="subsection" href="%s" type="application/atom+xml;profile=opds-catalog;kind=navigation"/>
+                    <content type="text">%d %s</content>
+                  </entry>
+                """.formatted(
+                escapeXml(bucket.letter()),
+                bucket.count(),
+                path,
+                escapeXml(bucket.letter()),
+                now(),
+                escapeXml("/api/v1/opds/" + path + "?letter=" + URLEncoder.encode(bucket.letter(), StandardCharsets.UTF_8)),
+                bucket.count(),
+                noun
+        ));
+    }
+
+    private void appendFacetEntry(StringBuilder feed, OpdsFacetService.Kind kind, OpdsFacetService.FacetEntry entry) {
+        String name = entry.name();
+        String param = kind == OpdsFacetService.Kind.AUTHOR ? "author" : "series";
+        feed.append("""
+                  <entry>
+                    <title>%s</title>
+                    <id>urn:booklore:%s:%s</id>
+                    <updated>%s</updated>
+                    <link rel="subsection" href="%s" type="application/atom+xml;profile=opds-catalog;kind=acquisition"/>
+                    <content type="text">%d %s</content>
+                  </entry>
+                """.formatted(
+                escapeXml(name),
+                param,
+                escapeXml(name),
+                now(),
+                escapeXml("/api/v1/opds/catalog?" + param + "=" + URLEncoder.encode(name, StandardCharsets.UTF_8)),
+                entry.bookCount(),
+                entry.bookCount() == 1 ? "book" : "books"
+        ));
+    }
+
     public String generateCatalogFeed(HttpServletRequest request) {
         Long libraryId = parseLongParam(request, "libraryId", null);
         Long shelfId = parseLongParam(request, "shelfId", null);
@@ -325,29 +359,53 @@ public class OpdsFeedService {
         String query = request.getParameter("q");
         String author = request.getParameter("author");
         String series = request.getParameter("series");
+        String cursor = request.getParameter("cursor");
         int page = Math.max(1, parseLongParam(request, "page", 1L).intValue());
         int size = Math.min(parseLongParam(request, "size", (long) DEFAULT_PAGE_SIZE).intValue(), MAX_PAGE_SIZE);
 
         Long userId = getUserId();
         OpdsSortOrder sortOrder = getSortOrder();
+        boolean bySeries = series != null && !series.isBlank();
+        boolean byAuthor = author != null && !author.isBlank();
+
+        String feedTitle = determineFeedTitle(libraryId, shelfId, magicShelfId, author, series);
+        String feedId = determineFeedId(libraryId, shelfId, magicShelfId, author, series);
+
+        // Series feeds are short and ordered by series number, so they always page by offset
+        if (cursor != null && !cursor.isBlank() && !bySeries) {
+            KeysetPage<Book> keysetPage;
+            if (magicShelfId != null) {
+                keysetPage = magicShelfBookService.getBooksByMagicShelfIdAfter(userId, magicShelfId, cursor, size);
+            } else if (byAuthor) {
+                keysetPage = opdsBookService.getBooksByAuthorNameAfter(userId, author, cursor, size);
+            } else {
+                keysetPage = opdsBookService.getBooksAfter(userId, query, libraryId, shelfId, cursor, size);
+            }
+            return buildKeysetFeed(request, feedId, feedTitle, keysetPage, sortOrder, cursor, size);
+        }
+
         Page<Book> booksPage;
 
         if (magicShelfId != null) {
             booksPage = magicShelfBookService.getBooksByMagicShelfId(userId, magicShelfId, page - 1, size);
-        } else if (author != null && !author.isBlank()) {
+        } else if (byAuthor) {
             booksPage = opdsBookService.getBooksByAuthorName(userId, author, page - 1, size);
-        } else if (series != null && !series.isBlank()) {
+        } else if (bySeries) {
             booksPage = opdsBookService.getBooksBySeriesName(userId, series, page - 1, size);
         } else {
             booksPage = opdsBookService.getBooksPage(userId, query, libraryId, shelfId, page - 1, size);
         }
 
+        // Hand the next page over to the keyset path; the cursor must come from the repository order, before re-sorting
+        String nextCursor = null;
+        if (!bySeries && page < booksPage.getTotalPages() && !booksPage.getContent().isEmpty()) {
+            Book last = booksPage.getContent().getLast();
+            nextCursor = magicShelfId != null ? MagicShelfBookService.cursorAfter(last) : OpdsBookService.cursorAfter(last);
+        }
+
         // Apply user's preferred sort order
         booksPage = opdsBookService.applySortOrder(booksPage, sortOrder);
 
-        String feedTitle = determineFeedTitle(libraryId, shelfId, magicShelfId, author, series);
-        String feedId = determineFeedId(libraryId, shelfId, magicShelfId, author, series);
-
         var feed = new StringBuilder("""
                 <?xml version="1.0" encoding="UTF-8"?>
                 <feed xmlns="http://www.w3.org/2005/Atom" xmlns:dc="http://purl.org/dc/terms/" xmlns:opds="http://opds-spec.org/2010/catalog" xmlns:opensearch="http://a9.com/-/spec/opensearch/1.1/">
@@ -370,7 +428,7 @@ public class OpdsFeedService {
                 escapeXml(buildCurrentUrl(request, page, size))
         ));
 
-        appendPaginationLinks(feed, request, page, booksPage.getTotalPages(), size);
+        appendPaginationLinks(feed, request, page, booksPage.getTotalPages(), size, nextCursor);
 
         booksPage.getContent().forEach(book -> appendBookEntry(feed, book));
 
@@ -381,11 +439,21 @@ public class OpdsFeedService {
     public String generateRecentFeed(HttpServletRequest request) {
         Long userId = getUserId();
         OpdsSortOrder sortOrder = getSortOrder();
+        String cursor = request.getParameter("cursor");
         int page = Math.max(1, parseLongParam(request, "page", 1L).intValue());
         int size = Math.min(parseLongParam(request, "size", (long) DEFAULT_PAGE_SIZE).intValue(), MAX_PAGE_SIZE);
 
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetPage<Book> keysetPage = opdsBookService.getRecentBooksAfter(userId, cursor, size);
+            return buildKeysetFeed(request, "urn:booklore:catalog:recent", "Recently Added Books", keysetPage, sortOrder, cursor, size);
+        }
+
         Page<Book> booksPage = opdsBookService.getRecentBooksPage(userId, page - 1, size);
-        
+
+        String nextCursor = page < booksPage.getTotalPages() && !booksPage.getContent().isEmpty()
+                ? OpdsBookService.cursorAfter(booksPage.getContent().getLast())
+                : null;
+
         // Apply user's preferred sort order
         booksPage = opdsBookService.applySortOrder(booksPage, sortOrder);
 
@@ -403,7 +471,45 @@ public class OpdsFeedService {
                   <link rel="search" type="application/opensearchdescription+xml" title="Search" href="/api/v1/opds/search.opds"/>
                 """.formatted(now(), booksPage.getTotalElements(), ((page - 1) * size) + 1, size, escapeXml(buildCurrentUrl(request, page, size))));
 
-        appendPaginationLinks(feed, request, page, booksPage.getTotalPages(), size);
+        appendPaginationLinks(feed, request, page, booksPage.getTotalPages(), size, nextCursor);
+
+        booksPage.getContent().forEach(book -> appendBookEntry(feed, book));
+
+        feed.append("</feed>");
+        return feed.toString();
+    }
+
+    /**
+     * Feed for a cursor page. Totals are unknown on this path, so only the first and next links are emitted.
+     */
+    private String buildKeysetFeed(HttpServletRequest request, String feedId, String feedTitle, KeysetPage<Book> keysetPage, OpdsSortOrder sortOrder, String cursor, int size) {
+        Page<Book> booksPage = opdsBookService.applySortOrder(new PageImpl<>(keysetPage.getContent()), sortOrder);
+
+        var feed = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <feed xmlns="http://www.w3.org/2005/Atom" xmlns:dc="http://purl.org/dc/terms/" xmlns:opds="http://opds-spec.org/2010/catalog" xmlns:opensearch="http://a9.com/-/spec/opensearch/1.1/">
+                  <id>%s</id>
+                  <title>%s</title>
+                  <updated>%s</updated>
+                  <opensearch:itemsPerPage>%d</opensearch:itemsPerPage>
+                  <link rel="self" href="%s" type="application/atom+xml;profile=opds-catalog;kind=acquisition"/>
+                  <link rel="start" href="/api/v1/opds" type="application/atom+xml;profile=opds-catalog;kind=navigation"/>
+                  <link rel="search" type="application/opensearchdescription+xml" title="Search" href="/api/v1/opds/search.opds"/>
+                  <link rel="first" href="%s" type="application/atom+xml;profile=opds-catalog;kind=acquisition"/>
+                """.formatted(
+                feedId,
+                escapeXml(feedTitle),
+                now(),
+                size,
+                escapeXml(buildCursorUrl(request, cursor, size)),
+                escapeXml(buildPaginationUrl(request, 1, size))
+        ));
+
+        if (keysetPage.isHasNext()) {
+            feed.append("  <link rel=\"next\" href=\"")
+                    .append(escapeXml(buildCursorUrl(request, keysetPage.getNextCursor(), size)))
+                    .append("\" type=\"application/atom+xml;profile=opds-catalog;kind=acquisition\"/>\n");
+        }
 
         booksPage.getContent().forEach(book -> appendBookEntry(feed, book));
 
@@ -448,7 +554,7 @@ public class OpdsFeedService {
                 """;
     }
 
-    private void appendPaginationLinks(StringBuilder feed, HttpServletRequest request, int currentPage, int totalPages, int size) {
+    private void appendPaginationLinks(StringBuilder feed, HttpServletRequest request, int currentPage, int totalPages, int size, String nextCursor) {
         if (totalPages > 0) {
             feed.append("  <link rel=\"first\" href=\"")
                     .append(escapeXml(buildPaginationUrl(request, 1, size)))
@@ -460,8 +566,9 @@ public class OpdsFeedService {
                     .append("\" type=\"application/atom+xml;profile=opds-catalog;kind=acquisition\"/>\n");
         }
         if (currentPage < totalPages) {
+            String nextUrl = nextCursor != null ? buildCursorUrl(request, nextCursor, size) : buildPaginationUrl(request, currentPage + 1, size);
             feed.append("  <link rel=\"next\" href=\"")
-                    .append(escapeXml(buildPaginationUrl(request, currentPage + 1, size)))
+                    .append(escapeXml(nextUrl))
                     .append("\" type=\"application/atom+xml;profile=opds-catalog;kind=acquisition\"/>\n");
         }
         if (totalPages > 0) {
@@ -472,19 +579,25 @@ public class OpdsFeedService {
     }
 
     private String buildPaginationUrl(HttpServletRequest request, int page, int size) {
+        return buildBaseUrl(request).append("page=").append(page).append("&size=").append(size).toString();
+    }
+
+    private String buildCursorUrl(HttpServletRequest request, String cursor, int size) {
+        return buildBaseUrl(request).append("cursor=").append(cursor).append("&size=").append(size).toString();
+    }
+
+    private StringBuilder buildBaseUrl(HttpServletRequest request) {
         String url = request.getRequestURI();
         StringBuilder result = new StringBuilder(url).append("?");
 
         String queryString = request.getQueryString();
         if (queryString != null) {
             java.util.Arrays.stream(queryString.split("&"))
-                    .filter(param -> !param.startsWith("page=") && !param.startsWith("size="))
+                    .filter(param -> !param.startsWith("page=") && !param.startsWith("size=") && !param.startsWith("cursor="))
                     .forEach(param -> result.append(param).append("&"));
         }
 
-        result.append("page=").append(page).append("&size=").append(size);
-
-        return result.toString();
+        return result;
     }
 
     private String buildCurrentUrl(HttpServletRequest request, int page, int size) {
@@ -4,11 +4,14 @@ import com.adityachandel.booklore.exception.ApiError;
 import com.adityachandel.booklore.model.entity.BookEntity;
 import com.adityachandel.booklore.repository.BookRepository;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import com.adityachandel.booklore.service.cache.DiskCacheManager;
+import com.adityachandel.booklore.service.cache.DiskCacheRegion;
 import com.adityachandel.booklore.util.FileService;
 import com.adityachandel.booklore.util.FileUtils;
 import com.github.junrar.Archive;
 import com.github.junrar.exception.RarException;
 import com.github.junrar.rarfile.FileHeader;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.archivers.sevenz.SevenZArchiveEntry;
@@ -44,10 +47,18 @@ public class CbxReaderService {
     private static final String CBR_EXTENSION = ".cbr";
     private static final String CB7_EXTENSION = ".cb7";
     private static final String[] SUPPORTED_IMAGE_EXTENSIONS = {".jpg", ".jpeg", ".png", ".webp"};
+    public static final String CACHE_REGION = "cbx";
 
     private final BookRepository bookRepository;
     private final AppSettingService appSettingService;
     private final FileService fileService;
+    private final DiskCacheManager diskCacheManager;
+
+    @PostConstruct
+    public void registerCache() {
+        diskCacheManager.register(new DiskCacheRegion(CACHE_REGION, Path.of(fileService.getCbxCachePath()),
+                () -> mbToBytes(appSettingService.getAppSettings().getCbxCacheSizeInMb())));
+    }
 
     public List<Integer> getAvailablePages(Long bookId) {
         BookEntity bookEntity = bookRepository.findById(bookId).orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(bookId));
@@ -64,7 +75,6 @@ public class CbxReaderService {
                 log.warn("Cache skipped: Estimated archive size {} exceeds max cache size {}", estimatedSize, maxCacheSizeBytes);
                 throw ApiError.CACHE_TOO_LARGE.createException();
             }
-            enforceCacheLimit();
 
             if (needsCacheRefresh(cbzPath, cacheInfoPath)) {
                 log.info("Invalidating cache for book {}", bookId);
@@ -72,12 +82,9 @@ public class CbxReaderService {
                 Files.createDirectories(cacheDir);
                 extractCbxArchive(cbzPath, cacheDir);
                 writeCacheInfo(cbzPath, cacheInfoPath);
-                if (!Files.exists(cacheDir)) {
-                    log.warn("Cache for book {} was deleted during enforcement. Re-extracting.", bookId);
-                    Files.createDirectories(cacheDir);
-                    extractCbxArchive(cbzPath, cacheDir);
-                    writeCacheInfo(cbzPath, cacheInfoPath);
-                }
+                diskCacheManager.admit(CACHE_REGION, String.valueOf(bookId), getDirectorySize(cacheDir));
+            } else if (!diskCacheManager.touch(CACHE_REGION, String.valueOf(bookId))) {
+                diskCacheManager.admit(CACHE_REGION, String.valueOf(bookId), getDirectorySize(cacheDir));
             }
         } catch (IOException e) {
             log.error("Failed to cache CBZ for book {}", bookId, e);
@@ -249,53 +256,6 @@ public class CbxReaderService {
         Files.writeString(cacheInfoPath, String.valueOf(lastModified), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
     }
 
-    private void enforceCacheLimit() {
-        try {
-            Path cacheRoot = Path.of(fileService.getCbxCachePath());
-            if (!Files.exists(cacheRoot) || !Files.isDirectory(cacheRoot)) {
-                return;
-            }
-            long totalSize = 0L;
-            List<Path> cacheDirs;
-            try (Stream<Path> stream = Files.list(cacheRoot)) {
-                cacheDirs = stream.filter(Files::isDirectory).collect(Collectors.toList());
-            }
-
-            for (Path dir : cacheDirs) {
-                totalSize += getDirectorySize(dir);
-            }
-
-            long maxCacheSizeBytes = mbToBytes(appSettingService.getAppSettings().getCbxCacheSizeInMb());
-
-            while (totalSize > maxCacheSizeBytes && !cacheDirs.isEmpty()) {
-                Path leastRecentlyReadDir = cacheDirs.stream()
-                        .min(Comparator.comparingLong(this::getLastReadTime))
-                        .orElse(null);
-
-                long sizeFreed = getDirectorySize(leastRecentlyReadDir);
-                FileUtils.deleteDirectoryRecursively(leastRecentlyReadDir);
-                cacheDirs.remove(leastRecentlyReadDir);
-                totalSize -= sizeFreed;
-                log.info("Deleted cache directory {} to enforce cache size limit", leastRecentlyReadDir);
-            }
-        } catch (IOException e) {
-            log.error("Error enforcing cache size limit", e);
-        }
-    }
-
-    private long getLastReadTime(Path cacheDir) {
-        Path cacheInfoPath = cacheDir.resolve(CACHE_INFO_FILENAME);
-        if (!Files.exists(cacheInfoPath)) {
-            return Long.MIN_VALUE;
-        }
-        try {
-            String content = Files.readString(cacheInfoPath).trim();
-            return Long.parseLong(content);
-        } catch (Exception e) {
-            return Long.MIN_VALUE;
-        }
-    }
-
     private long getDirectorySize(Path dir) {
         try (Stream<Path> paths = Files.walk(dir)) {
             return paths
@@ -0,0 +1,145 @@
+package com.adityachandel.booklore.service.reader;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.lang3.StringUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Where every entry of an EPUB lives in the file, read once from the ZIP central directory, together with the media
+ * types declared in the package document. Entries can then be served without opening the archive again.
+ */
+@Slf4j
+public class EpubArchiveIndex {
+
+    public record Entry(String name, int method, long dataOffset, long compressedSize, long size, String mediaType) {
+    }
+
+    private final String opfPath;
+    private final Map<String, Entry> entries;
+
+    private EpubArchiveIndex(String opfPath, Map<String, Entry> entries) {
+        this.opfPath = opfPath;
+        this.entries = entries;
+    }
+
+    public static EpubArchiveIndex read(Path epubFile) throws IOException {
+        try (ZipFile zip = ZipFile.builder().setPath(epubFile).get()) {
+            String opfPath = findOpfPath(zip);
+            Map<String, String> mediaTypes = opfPath != null ? readMediaTypes(zip, opfPath) : Collections.emptyMap();
+
+            Map<String, Entry> entries = new HashMap<>();
+            Enumeration<ZipArchiveEntry> zipEntries = zip.getEntries();
+            while (zipEntries.hasMoreElements()) {
+                ZipArchiveEntry zipEntry = zipEntries.nextElement();
+                if (zipEntry.isDirectory()) {
+                    continue;
+                }
+                entries.put(zipEntry.getName(), new Entry(zipEntry.getName(), zipEntry.getMethod(), zipEntry.getDataOffset(),
+                        zipEntry.getCompressedSize(), zipEntry.getSize(), mediaTypes.get(zipEntry.getName())));
+            }
+            return new EpubArchiveIndex(opfPath, entries);
+        }
+    }
+
+    public Optional<Entry> find(String name) {
+        return Optional.ofNullable(entries.get(name));
+    }
+
+    public String getOpfPath() {
+        return opfPath;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String findOpfPath(ZipFile zip) {
+        ZipArchiveEntry container = zip.getEntry("META-INF/container.xml");
+        if (container == null) return null;
+        try (InputStream in = zip.getInputStream(container)) {
+            NodeList roots = newDocumentBuilder().parse(in).getElementsByTagNameNS("*", "rootfile");
+            if (roots.getLength() == 0) return null;
+            String fullPath = ((Element) roots.item(0)).getAttribute("full-path");
+            return StringUtils.isBlank(fullPath) ? null : fullPath;
+        } catch (Exception e) {
+            log.debug("Failed to read container.xml: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, String> readMediaTypes(ZipFile zip, String opfPath) {
+        ZipArchiveEntry opf = zip.getEntry(opfPath);
+        if (opf == null) return Collections.emptyMap();
+        Map<String, String> mediaTypes = new HashMap<>();
+        try (InputStream in = zip.getInputStream(opf)) {
+            Document doc = newDocumentBuilder().parse(in);
+            NodeList items = doc.getElementsByTagNameNS("*", "item");
+            for (int i = 0; i < items.getLength(); i++) {
+                Element item = (Element) items.item(i);
+                String href = resolvePath(opfPath, item.getAttribute("href"));
+                String mediaType = item.getAttribute("media-type");
+                if (href != null && StringUtils.isNotBlank(mediaType)) {
+                    mediaTypes.put(href, mediaType);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Failed to read package document {}: {}", opfPath, e.getMessage());
+        }
+        mediaTypes.put(opfPath, "application/oebps-package+xml");
+        return mediaTypes;
+    }
+
+    private static DocumentBuilder newDocumentBuilder() throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        return dbf.newDocumentBuilder();
+    }
+
+    /**
+     * Resolves an href from the package document against its folder, the same way the metadata extractor does.
+     */
+    static String resolvePath(String opfPath, String href) {
+        if (href == null || href.isEmpty()) return null;
+        String decoded;
+        try {
+            decoded = URLDecoder.decode(href.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            decoded = href;
+        }
+        if (decoded.startsWith("/")) return decoded.substring(1);
+
+        int lastSlash = opfPath.lastIndexOf('/');
+        String basePath = (lastSlash == -1) ? "" : opfPath.substring(0, lastSlash + 1);
+
+        LinkedList<String> parts = new LinkedList<>();
+        for (String part : (basePath + decoded).split("/")) {
+            if ("..".equals(part)) {
+                if (!parts.isEmpty()) parts.removeLast();
+            } else if (!".".equals(part) && !part.isEmpty()) {
+                parts.add(part);
+            }
+        }
+        return String.join("/", parts);
+    }
+}
@@ -0,0 +1,171 @@
+package com.adityachandel.booklore.service.reader;
+
+import com.adityachandel.booklore.exception.ApiError;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.enums.BookFileType;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.service.book.BookContentService;
+import com.adityachandel.booklore.util.FileRegionWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Serves single entries of an EPUB so the reader only downloads the chapters and resources it displays. The central
+ * directory of each book is read once and kept in a small LRU cache keyed by the file version; stored entries are
+ * then written as raw slices of the file and deflated entries are inflated on the fly.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EpubReaderService {
+
+    private static final int MAX_CACHED_BOOKS = 64;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final BookRepository bookRepository;
+
+    private final Map<String, EpubArchiveIndex> indexCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, EpubArchiveIndex> eldest) {
+            return size() > MAX_CACHED_BOOKS;
+        }
+    };
+
+    public void streamEntry(long bookId, String entryPath, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BookEntity bookEntity = bookRepository.findById(bookId).orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(bookId));
+        if (bookEntity.getBookType() != BookFileType.EPUB) {
+            throw ApiError.INVALID_INPUT.createException("Book " + bookId + " is not an EPUB");
+        }
+        String name = normalizeEntryPath(entryPath);
+
+        Path file = bookEntity.getFullFilePath().toAbsolutePath().normalize();
+        if (!Files.isRegularFile(file)) {
+            throw ApiError.FILE_NOT_FOUND.createException(file.getFileName());
+        }
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String eTag = BookContentService.eTag(bookEntity.getCurrentHash(), Files.size(file), lastModified);
+
+        EpubArchiveIndex.Entry entry = getIndex(eTag, file).find(name)
+                .orElseThrow(() -> ApiError.FILE_NOT_FOUND.createException(name));
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(contentType(entry));
+        response.setContentLengthLong(entry.size());
+        if ("HEAD".equals(request.getMethod()) || entry.size() == 0) {
+            return;
+        }
+
+        if (entry.method() == ZipEntry.STORED) {
+            FileRegionWriter.write(file, entry.dataOffset(), entry.size(), request, response);
+        } else if (entry.method() == ZipEntry.DEFLATED) {
+            writeInflated(file, entry, response.getOutputStream());
+        } else {
+            writeFromArchive(file, entry, response.getOutputStream());
+        }
+    }
+
+    private EpubArchiveIndex getIndex(String eTag, Path file) throws IOException {
+        synchronized (indexCache) {
+            EpubArchiveIndex cached = indexCache.get(eTag);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        EpubArchiveIndex index = EpubArchiveIndex.read(file);
+        log.debug("Indexed {} entries of {}", index.size(), file.getFileName());
+        synchronized (indexCache) {
+            indexCache.put(eTag, index);
+        }
+        return index;
+    }
+
+    private String normalizeEntryPath(String entryPath) {
+        String name = entryPath == null ? "" : entryPath;
+        while (name.startsWith("/")) {
+            name = name.substring(1);
+        }
+        if (name.isEmpty() || name.contains("\\")) {
+            throw ApiError.INVALID_INPUT.createException("Invalid EPUB entry path");
+        }
+        for (String part : name.split("/")) {
+            if ("..".equals(part)) {
+                throw ApiError.INVALID_INPUT.createException("Invalid EPUB entry path");
+            }
+        }
+        return name;
+    }
+
+    private String contentType(EpubArchiveIndex.Entry entry) {
+        if (entry.mediaType() != null) {
+            return entry.mediaType();
+        }
+        return MediaTypeFactory.getMediaType(entry.name()).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    private void writeInflated(Path file, EpubArchiveIndex.Entry entry, OutputStream out) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(entry.dataOffset());
+            InputStream in = new InflaterInputStream(Channels.newInputStream(channel), inflater, BUFFER_SIZE);
+            copy(in, out, entry.size());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Anything other than stored or deflated is rare in an EPUB; let commons-compress decode it.
+     */
+    private void writeFromArchive(Path file, EpubArchiveIndex.Entry entry, OutputStream out) throws IOException {
+        try (ZipFile zip = ZipFile.builder().setPath(file).get()) {
+            ZipArchiveEntry zipEntry = zip.getEntry(entry.name());
+            if (zipEntry == null) {
+                throw ApiError.FILE_NOT_FOUND.createException(entry.name());
+            }
+            try (InputStream in = zip.getInputStream(zipEntry)) {
+                copy(in, out, entry.size());
+            }
+        }
+    }
+
+    private void copy(InputStream in, OutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new IOException("Unexpected end of EPUB entry");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+}
@@ -4,8 +4,11 @@ import com.adityachandel.booklore.exception.ApiError;
 import com.adityachandel.booklore.model.entity.BookEntity;
 import com.adityachandel.booklore.repository.BookRepository;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import com.adityachandel.booklore.service.cache.DiskCacheManager;
+import com.adityachandel.booklore.service.cache.DiskCacheRegion;
 import com.adityachandel.booklore.util.FileService;
 import com.adityachandel.booklore.util.FileUtils;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.Loader;
@@ -32,10 +35,18 @@ public class PdfReaderService {
 
     private static final String CACHE_INFO_FILENAME = ".cache-info";
     private static final Pattern NON_DIGIT_PATTERN = Pattern.compile("\\D+");
+    public static final String CACHE_REGION = "pdf";
 
     private final BookRepository bookRepository;
     private final AppSettingService appSettingService;
     private final FileService fileService;
+    private final DiskCacheManager diskCacheManager;
+
+    @PostConstruct
+    public void registerCache() {
+        diskCacheManager.register(new DiskCacheRegion(CACHE_REGION, Path.of(fileService.getPdfCachePath()),
+                () -> appSettingService.getAppSettings().getPdfCacheSizeInMb() * 1024L * 1024L));
+    }
 
     public List<Integer> getAvailablePages(Long bookId) throws IOException {
         BookEntity bookEntity = bookRepository.findById(bookId).orElseThrow(() -> ApiError.BOOK_NOT_FOUND.createException(bookId));
@@ -58,6 +69,9 @@ public class PdfReaderService {
                 Files.createDirectories(cacheDir);
                 extractPdfPages(pdfPath, cacheDir);
                 writeCacheInfo(pdfPath, cacheInfoPath);
+                diskCacheManager.admit(CACHE_REGION, String.valueOf(bookId), getDirectorySize(cacheDir));
+            } else if (!diskCacheManager.touch(CACHE_REGION, String.valueOf(bookId))) {
+                diskCacheManager.admit(CACHE_REGION, String.valueOf(bookId), getDirectorySize(cacheDir));
             }
 
             try (Stream<Path> stream = Files.list(cacheDir)) {
@@ -130,6 +144,12 @@ public class PdfReaderService {
         Files.writeString(cacheInfoPath, String.valueOf(lastModified), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
     }
 
+    private long getDirectorySize(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+
     private int extractPageNumber(String filename) {
         try {
             return Integer.parseInt(NON_DIGIT_PATTERN.matcher(filename).replaceAll(""));
@@ -2,6 +2,7 @@ package com.adityachandel.booklore.service.recommender;
 
 import com.adityachandel.booklore.service.book.BookQueryService;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import com.adityachandel.booklore.service.cluster.LeaderElectionService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,12 +17,15 @@ public class BookRecommendationScheduler {
     private final BookQueryService bookQueryService;
     private final AppSettingService appSettingService;
     private final BookVectorService vectorService;
+    private final LeaderElectionService leaderElectionService;
 
     private static final int RECOMMENDATION_LIMIT = 25;
 
     @Scheduled(cron = "0 0 2 * * *")
     @Transactional
     public void updateAllSimilarBooks() {
-
+        if (!leaderElectionService.isLeader()) {
+            return;
+        }
     }
 }
\ No newline at end of file
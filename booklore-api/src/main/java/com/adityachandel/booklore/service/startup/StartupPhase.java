@@ -0,0 +1,39 @@
+package com.adityachandel.booklore.service.startup;
+
+import lombok.Getter;
+
+/**
+ * Timing of one startup phase. Offsets are in milliseconds since the JVM started.
+ */
+@Getter
+public class StartupPhase {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String name;
+    private final boolean deferred;
+    private volatile Status status = Status.PENDING;
+    private volatile String thread;
+    private volatile Long startedAtMillis;
+    private volatile Long durationMillis;
+    private volatile String error;
+
+    StartupPhase(String name, boolean deferred) {
+        this.name = name;
+        this.deferred = deferred;
+    }
+
+    void start(long startedAtMillis, String thread) {
+        this.startedAtMillis = startedAtMillis;
+        this.thread = thread;
+        this.status = Status.RUNNING;
+    }
+
+    void finish(long durationMillis, String error) {
+        this.durationMillis = durationMillis;
+        this.error = error;
+        this.status = error == null ? Status.COMPLETED : Status.FAILED;
+    }
+}
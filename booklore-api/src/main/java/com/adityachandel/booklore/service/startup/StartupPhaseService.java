@@ -0,0 +1,124 @@
+package com.adityachandel.booklore.service.startup;
+
+import com.adityachandel.booklore.config.AppProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs and times the heavy work done while the application starts (watcher registration, icon loading, cache
+ * warm-up, task scheduling).
+ * <p>
+ * Normally deferrable work runs right where it is requested, as it always did. In fast startup mode it is held back
+ * until the application is ready and then run one phase after another on a background thread, so the instance
+ * serves requests while libraries are still being registered. Every phase is recorded for the
+ * {@code startupphases} actuator endpoint.
+ */
+@Slf4j
+@Service
+public class StartupPhaseService {
+
+    private final boolean fastStartup;
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final List<StartupPhase> phases = new CopyOnWriteArrayList<>();
+    private final List<Runnable> pending = new ArrayList<>();
+    private final ExecutorService deferredExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "startup-deferred");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private boolean ready;
+    private volatile Long readyAtMillis;
+
+    public StartupPhaseService(AppProperties appProperties) {
+        this.fastStartup = appProperties.getStartup().isFast();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        readyAtMillis = System.currentTimeMillis() - jvmStartMillis;
+        List<Runnable> toRun;
+        synchronized (this) {
+            ready = true;
+            toRun = new ArrayList<>(pending);
+            pending.clear();
+        }
+        log.info("Application ready {} ms after JVM start{}", readyAtMillis,
+                toRun.isEmpty() ? "" : ", running " + toRun.size() + " deferred startup phase(s) in the background");
+        toRun.forEach(deferredExecutor::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deferredExecutor.shutdownNow();
+    }
+
+    public boolean isFastStartup() {
+        return fastStartup;
+    }
+
+    /**
+     * Runs the work now and records how long it took.
+     */
+    public void run(String name, Runnable work) {
+        StartupPhase phase = register(name, false);
+        execute(phase, work);
+    }
+
+    /**
+     * Runs the work now, or in fast startup mode in the background once the application is ready.
+     */
+    public void defer(String name, Runnable work) {
+        if (!fastStartup) {
+            run(name, work);
+            return;
+        }
+        StartupPhase phase = register(name, true);
+        Runnable task = () -> execute(phase, work);
+        synchronized (this) {
+            if (!ready) {
+                pending.add(task);
+                return;
+            }
+        }
+        deferredExecutor.submit(task);
+    }
+
+    public StartupReport getReport() {
+        return new StartupReport(fastStartup, readyAtMillis, List.copyOf(phases));
+    }
+
+    private StartupPhase register(String name, boolean deferred) {
+        StartupPhase phase = new StartupPhase(name, deferred);
+        phases.add(phase);
+        return phase;
+    }
+
+    private void execute(StartupPhase phase, Runnable work) {
+        long start = System.currentTimeMillis();
+        phase.start(start - jvmStartMillis, Thread.currentThread().getName());
+        try {
+            work.run();
+            phase.finish(System.currentTimeMillis() - start, null);
+            if (phase.isDeferred()) {
+                log.info("Deferred startup phase '{}' finished in {} ms", phase.getName(), phase.getDurationMillis());
+            }
+        } catch (RuntimeException e) {
+            phase.finish(System.currentTimeMillis() - start, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            if (!phase.isDeferred()) {
+                throw e;
+            }
+            log.error("Deferred startup phase '{}' failed: {}", phase.getName(), e.getMessage(), e);
+        }
+    }
+}
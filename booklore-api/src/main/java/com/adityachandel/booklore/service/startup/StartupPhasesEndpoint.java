@@ -0,0 +1,23 @@
+package com.adityachandel.booklore.service.startup;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the application's own startup phases at {@code /actuator/startupphases}, next to Spring's
+ * {@code /actuator/startup} which covers bean creation.
+ */
+@Component
+@Endpoint(id = "startupphases")
+@AllArgsConstructor
+public class StartupPhasesEndpoint {
+
+    private final StartupPhaseService startupPhaseService;
+
+    @ReadOperation
+    public StartupReport startupPhases() {
+        return startupPhaseService.getReport();
+    }
+}
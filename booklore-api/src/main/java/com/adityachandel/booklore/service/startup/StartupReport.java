@@ -0,0 +1,6 @@
+package com.adityachandel.booklore.service.startup;
+
+import java.util.List;
+
+public record StartupReport(boolean fastStartup, Long readyAtMillis, List<StartupPhase> phases) {
+}
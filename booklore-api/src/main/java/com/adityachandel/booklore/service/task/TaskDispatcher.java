@@ -0,0 +1,199 @@
+package com.adityachandel.booklore.service.task;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.model.enums.TaskPriority;
+import com.adityachandel.booklore.model.enums.TaskResourceClass;
+import com.adityachandel.booklore.model.enums.TaskType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits tasks by resource class. Each {@link TaskResourceClass} has a configurable number of slots; a task waits
+ * for a slot of its type's class before it runs and gives it back when it finishes.
+ * <p>
+ * Interactive tasks are admitted ahead of background ones and only count against each other, so a user-started task
+ * never waits behind cron work. Background tasks start only while nothing interactive is waiting and the class as a
+ * whole is under its limit, which means that once interactive work shows up, background work of that class stops
+ * being started until it is done. Running tasks are never interrupted.
+ */
+@Slf4j
+@Service
+public class TaskDispatcher {
+
+    private final Map<TaskResourceClass, ResourceSlots> slots = new EnumMap<>(TaskResourceClass.class);
+    private final Duration syncWait;
+
+    public TaskDispatcher(AppProperties appProperties) {
+        AppProperties.Tasks tasks = appProperties.getTasks();
+        this.syncWait = Duration.ofSeconds(Math.max(0, tasks.getSyncWaitSeconds()));
+        for (TaskResourceClass resourceClass : TaskResourceClass.values()) {
+            int limit = Math.max(1, switch (resourceClass) {
+                case DISK_IO -> tasks.getDiskIoConcurrency();
+                case CPU -> tasks.getCpuConcurrency();
+                case NETWORK -> tasks.getNetworkConcurrency();
+                case DATABASE -> tasks.getDatabaseConcurrency();
+            });
+            slots.put(resourceClass, new ResourceSlots(resourceClass, limit));
+        }
+    }
+
+    /**
+     * Blocks until the task may run. The returned lease must be closed when the task is done.
+     */
+    public Lease acquire(String taskId, TaskType taskType, TaskPriority priority) throws InterruptedException {
+        ResourceSlots resourceSlots = slots.get(taskType.getResourceClass());
+        resourceSlots.acquire(taskId, priority, -1);
+        return new Lease(resourceSlots, priority);
+    }
+
+    /**
+     * For tasks that run on the caller's thread, such as a request: waits at most the configured sync wait and
+     * returns null if no slot became free in time.
+     */
+    public Lease tryAcquire(String taskId, TaskType taskType, TaskPriority priority) throws InterruptedException {
+        return tryAcquire(taskId, taskType, priority, syncWait);
+    }
+
+    Lease tryAcquire(String taskId, TaskType taskType, TaskPriority priority, Duration timeout) throws InterruptedException {
+        ResourceSlots resourceSlots = slots.get(taskType.getResourceClass());
+        if (!resourceSlots.acquire(taskId, priority, timeout.toNanos())) {
+            return null;
+        }
+        return new Lease(resourceSlots, priority);
+    }
+
+    public int getRunningCount(TaskResourceClass resourceClass) {
+        return slots.get(resourceClass).running();
+    }
+
+    public int getWaitingCount(TaskResourceClass resourceClass) {
+        return slots.get(resourceClass).waiting();
+    }
+
+    public static final class Lease implements AutoCloseable {
+        private final ResourceSlots resourceSlots;
+        private final TaskPriority priority;
+        private boolean released;
+
+        private Lease(ResourceSlots resourceSlots, TaskPriority priority) {
+            this.resourceSlots = resourceSlots;
+            this.priority = priority;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                resourceSlots.release(priority);
+            }
+        }
+    }
+
+    private static final class ResourceSlots {
+        private final TaskResourceClass resourceClass;
+        private final int limit;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final Deque<String> interactiveWaiting = new ArrayDeque<>();
+        private final Deque<String> backgroundWaiting = new ArrayDeque<>();
+        private int interactiveRunning;
+        private int backgroundRunning;
+
+        ResourceSlots(TaskResourceClass resourceClass, int limit) {
+            this.resourceClass = resourceClass;
+            this.limit = limit;
+        }
+
+        /**
+         * Waits for a slot, without limit when {@code timeoutNanos} is negative. Returns false if the time ran out.
+         */
+        boolean acquire(String taskId, TaskPriority priority, long timeoutNanos) throws InterruptedException {
+            boolean interactive = priority == TaskPriority.INTERACTIVE;
+            Deque<String> queue = interactive ? interactiveWaiting : backgroundWaiting;
+            lock.lock();
+            try {
+                queue.addLast(taskId);
+                if (!canStart(taskId, interactive)) {
+                    log.info("Task {} queued for a {} slot ({} running, {} interactive and {} background waiting)",
+                            taskId, resourceClass, interactiveRunning + backgroundRunning, interactiveWaiting.size(), backgroundWaiting.size());
+                }
+                long remaining = timeoutNanos;
+                while (!canStart(taskId, interactive)) {
+                    if (timeoutNanos < 0) {
+                        changed.await();
+                    } else if (remaining > 0) {
+                        remaining = changed.awaitNanos(remaining);
+                    } else {
+                        log.info("Task {} gave up waiting for a {} slot", taskId, resourceClass);
+                        queue.remove(taskId);
+                        changed.signalAll();
+                        return false;
+                    }
+                }
+                queue.removeFirst();
+                if (interactive) {
+                    interactiveRunning++;
+                } else {
+                    backgroundRunning++;
+                }
+                changed.signalAll();
+                return true;
+            } catch (InterruptedException e) {
+                queue.remove(taskId);
+                changed.signalAll();
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(TaskPriority priority) {
+            lock.lock();
+            try {
+                if (priority == TaskPriority.INTERACTIVE) {
+                    interactiveRunning--;
+                } else {
+                    backgroundRunning--;
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean canStart(String taskId, boolean interactive) {
+            if (interactive) {
+                return taskId.equals(interactiveWaiting.peekFirst()) && interactiveRunning < limit;
+            }
+            return taskId.equals(backgroundWaiting.peekFirst())
+                    && interactiveWaiting.isEmpty()
+                    && interactiveRunning + backgroundRunning < limit;
+        }
+
+        int running() {
+            lock.lock();
+            try {
+                return interactiveRunning + backgroundRunning;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int waiting() {
+            lock.lock();
+            try {
+                return interactiveWaiting.size() + backgroundWaiting.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.adityachandel.booklore.repository.TaskHistoryRepository;
 import com.adityachandel.booklore.model.entity.TaskHistoryEntity;
 import com.adityachandel.booklore.task.TaskStatus;
 import com.adityachandel.booklore.model.dto.response.TasksHistoryResponse;
+import com.adityachandel.booklore.model.enums.TaskPriority;
 import com.adityachandel.booklore.model.enums.TaskType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,19 +22,36 @@ import java.util.stream.Collectors;
 public class TaskHistoryService {
 
     private final TaskHistoryRepository taskHistoryRepository;
+    private final Set<String> localTaskIds = ConcurrentHashMap.newKeySet();
 
     @Transactional
     public void createTask(String taskId, TaskType type, Long userId, Map<String, Object> options) {
+        createTask(taskId, type, userId, options, TaskPriority.BACKGROUND, null);
+    }
+
+    @Transactional
+    public void createTask(String taskId, TaskType type, Long userId, Map<String, Object> options, TaskPriority priority, String nodeId) {
         TaskHistoryEntity task = TaskHistoryEntity.builder()
                 .id(taskId)
                 .type(type)
                 .status(TaskStatus.ACCEPTED)
+                .priority(priority)
                 .userId(userId)
+                .nodeId(nodeId)
                 .createdAt(LocalDateTime.now())
                 .progressPercentage(0)
                 .taskOptions(options)
                 .build();
         taskHistoryRepository.save(task);
+        localTaskIds.add(taskId);
+    }
+
+    /**
+     * Whether this process created or took over the task and has not finished it yet. A row that carries this
+     * node's id but is unknown here was left behind by an earlier run of the node.
+     */
+    public boolean isOwnedByThisProcess(String taskId) {
+        return localTaskIds.contains(taskId);
     }
 
     @Transactional
@@ -49,6 +68,19 @@ public class TaskHistoryService {
 
             taskHistoryRepository.save(task);
         });
+        if (status == TaskStatus.COMPLETED || status == TaskStatus.FAILED) {
+            localTaskIds.remove(taskId);
+        }
+    }
+
+    @Transactional
+    public void updateTaskProgress(String taskId, int progressPercentage, String message) {
+        taskHistoryRepository.findById(taskId).ifPresent(task -> {
+            task.setProgressPercentage(progressPercentage);
+            task.setMessage(message);
+            task.setUpdatedAt(LocalDateTime.now());
+            taskHistoryRepository.save(task);
+        });
     }
 
     @Transactional
@@ -61,6 +93,31 @@ public class TaskHistoryService {
             taskHistoryRepository.save(task);
             log.error("Task failed: id={}", taskId);
         });
+        localTaskIds.remove(taskId);
+    }
+
+    /**
+     * Hands a task over to the given instance and puts it back in the queue.
+     */
+    @Transactional
+    public void requeueTask(String taskId, String nodeId, String message) {
+        taskHistoryRepository.findById(taskId).ifPresent(task -> {
+            task.setStatus(TaskStatus.ACCEPTED);
+            task.setNodeId(nodeId);
+            task.setMessage(message);
+            task.setUpdatedAt(LocalDateTime.now());
+            taskHistoryRepository.save(task);
+        });
+        localTaskIds.add(taskId);
+    }
+
+    /**
+     * Tasks that were queued or running when the application stopped, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskHistoryEntity> getUnfinishedTasks(LocalDateTime createdBefore) {
+        return taskHistoryRepository.findByStatusInAndCreatedAtBeforeOrderByCreatedAtAsc(
+                List.of(TaskStatus.ACCEPTED, TaskStatus.IN_PROGRESS), createdBefore);
     }
 
     @Transactional(readOnly = true)
@@ -8,7 +8,10 @@ import com.adityachandel.booklore.model.dto.request.TaskCreateRequest;
 import com.adityachandel.booklore.model.dto.response.TaskCancelResponse;
 import com.adityachandel.booklore.model.dto.response.TaskCreateResponse;
 import com.adityachandel.booklore.model.entity.TaskCronConfigurationEntity;
+import com.adityachandel.booklore.model.entity.TaskHistoryEntity;
+import com.adityachandel.booklore.model.enums.TaskPriority;
 import com.adityachandel.booklore.model.enums.TaskType;
+import com.adityachandel.booklore.service.cluster.LeaderElectionService;
 import com.adityachandel.booklore.task.tasks.Task;
 import com.adityachandel.booklore.task.TaskCancellationManager;
 import com.adityachandel.booklore.task.TaskStatus;
@@ -24,6 +27,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +53,8 @@ public class TaskService {
     private final ObjectMapper objectMapper;
     private final TaskScheduler taskScheduler;
     private final Map<TaskType, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
+    private final TaskDispatcher taskDispatcher;
+    private final LeaderElectionService leaderElectionService;
 
     public TaskService(
             AuthenticationService authenticationService,
@@ -58,7 +64,9 @@ public class TaskService {
             TaskCancellationManager cancellationManager,
             Executor taskExecutor,
             ObjectMapper objectMapper,
-            TaskScheduler taskScheduler) {
+            TaskScheduler taskScheduler,
+            TaskDispatcher taskDispatcher,
+            LeaderElectionService leaderElectionService) {
         this.authenticationService = authenticationService;
         this.taskHistoryService = taskHistoryService;
         this.taskCronService = taskCronService;
@@ -67,6 +75,8 @@ public class TaskService {
         this.taskExecutor = taskExecutor;
         this.objectMapper = objectMapper;
         this.taskScheduler = taskScheduler;
+        this.taskDispatcher = taskDispatcher;
+        this.leaderElectionService = leaderElectionService;
     }
 
     public void initializeScheduledTasks() {
@@ -75,6 +85,62 @@ public class TaskService {
         enabledConfigs.forEach(this::scheduleTask);
     }
 
+    /**
+     * Queues async tasks that were still waiting or running when their instance stopped, so they run again here.
+     * They run as the system user. Tasks that cannot be resumed are marked as failed. In cluster mode only the
+     * leader does this, and only for tasks of instances that are gone.
+     */
+    public synchronized void resumeUnfinishedTasks() {
+        if (!leaderElectionService.isLeader()) {
+            return;
+        }
+        List<TaskHistoryEntity> unfinished = taskHistoryService.getUnfinishedTasks(LocalDateTime.now()).stream()
+                .filter(this::isOrphaned)
+                .toList();
+        if (unfinished.isEmpty()) {
+            return;
+        }
+        log.info("Resuming {} unfinished task(s) from before the restart", unfinished.size());
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(authenticationService.getSystemUser(), null, List.of()));
+
+        for (TaskHistoryEntity entity : unfinished) {
+            TaskType taskType = entity.getType();
+            String taskId = entity.getId();
+            // Types outside the registry, such as data migrations, start over on their own with a new row
+            if (taskType == null || !taskRegistry.containsKey(taskType) || !taskType.isAsync()
+                    || (!taskType.isParallel() && runningTasks.putIfAbsent(taskType, taskId) != null)) {
+                taskHistoryService.updateTaskError(taskId, "Interrupted by a restart");
+                continue;
+            }
+            TaskPriority priority = entity.getPriority() != null ? entity.getPriority() : TaskPriority.BACKGROUND;
+            TaskCreateRequest request = TaskCreateRequest.builder()
+                    .taskId(taskId)
+                    .taskType(taskType)
+                    .triggeredByCron(priority == TaskPriority.BACKGROUND)
+                    .options(entity.getTaskOptions())
+                    .build();
+            taskHistoryService.requeueTask(taskId, leaderElectionService.getNodeId(), "Queued again after a restart");
+            taskExecutor.execute(() ->
+                    SecurityContextVirtualThread.runWithSecurityContext(securityContext, () ->
+                            executeAsyncTask(taskId, request, taskType, priority)
+                    )
+            );
+        }
+    }
+
+    /**
+     * Rows of this node (or without a node) are orphaned unless this process started or took them over; a resumed
+     * task keeps its original creation time, so that cannot tell them apart.
+     */
+    private boolean isOrphaned(TaskHistoryEntity task) {
+        String owner = task.getNodeId();
+        if (owner == null || owner.equals(leaderElectionService.getNodeId()) || !leaderElectionService.isClusterEnabled()) {
+            return !taskHistoryService.isOwnedByThisProcess(task.getId());
+        }
+        return !leaderElectionService.isNodeAlive(owner);
+    }
+
     public void rescheduleTask(TaskType taskType) {
         cancelScheduledTask(taskType);
         taskCronService.getCronConfigOrDefault(taskType);
@@ -134,6 +200,10 @@ public class TaskService {
     }
 
     public void executeCronTask(TaskType taskType) {
+        if (!leaderElectionService.isLeader()) {
+            log.debug("Skipping cron-scheduled task {} on a follower instance", taskType);
+            return;
+        }
         log.info("Executing cron-scheduled task: {}", taskType);
         try {
             BookLoreUser systemUser = authenticationService.getSystemUser();
@@ -161,10 +231,11 @@ public class TaskService {
         }
         BookLoreUser user = authenticationService.getAuthenticatedUser();
         TaskType taskType = request.getTaskType();
+        TaskPriority priority = request.isTriggeredByCron() ? TaskPriority.BACKGROUND : TaskPriority.INTERACTIVE;
         if (taskType.isAsync()) {
-            return runAsync(request, user, taskType);
+            return runAsync(request, user, taskType, priority);
         } else {
-            return runSync(request, user, taskType);
+            return runSync(request, user, taskType, priority, true);
         }
     }
 
@@ -175,14 +246,14 @@ public class TaskService {
         BookLoreUser systemUser = authenticationService.getSystemUser();
         TaskType taskType = request.getTaskType();
         if (taskType.isAsync()) {
-            runAsync(request, systemUser, taskType);
+            runAsync(request, systemUser, taskType, TaskPriority.BACKGROUND);
         } else {
-            runSync(request, systemUser, taskType);
+            runSync(request, systemUser, taskType, TaskPriority.BACKGROUND, false);
         }
     }
 
-    private TaskCreateResponse runAsync(TaskCreateRequest request, BookLoreUser user, TaskType taskType) {
-        String taskId = initializeTask(request, user, taskType);
+    private TaskCreateResponse runAsync(TaskCreateRequest request, BookLoreUser user, TaskType taskType, TaskPriority priority) {
+        String taskId = initializeTask(request, user, taskType, priority);
         TaskCreateResponse response = TaskCreateResponse.builder()
                 .taskId(taskId)
                 .taskType(taskType)
@@ -191,7 +262,7 @@ public class TaskService {
         SecurityContext securityContext = SecurityContextHolder.getContext();
         taskExecutor.execute(() ->
                 SecurityContextVirtualThread.runWithSecurityContext(securityContext, () ->
-                        executeAsyncTask(taskId, request, taskType)
+                        executeAsyncTask(taskId, request, taskType, priority)
                 )
         );
         return response;
@@ -213,8 +284,8 @@ public class TaskService {
                 .build();
     }
 
-    private void executeAsyncTask(String taskId, TaskCreateRequest request, TaskType taskType) {
-        try {
+    private void executeAsyncTask(String taskId, TaskCreateRequest request, TaskType taskType, TaskPriority priority) {
+        try (TaskDispatcher.Lease ignored = acquireSlot(taskId, taskType, priority)) {
             taskHistoryService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, "Task execution started");
             request.setTaskId(taskId);
             if (cancellationManager.isTaskCancelled(taskId)) {
@@ -240,9 +311,13 @@ public class TaskService {
         }
     }
 
-    private TaskCreateResponse runSync(TaskCreateRequest request, BookLoreUser user, TaskType taskType) {
-        String taskId = initializeTask(request, user, taskType);
-        try {
+    /**
+     * Runs the task on the calling thread. A caller that must not wait indefinitely, such as a request, gets a
+     * 503 when no slot of the task's resource class frees up within the configured sync wait.
+     */
+    private TaskCreateResponse runSync(TaskCreateRequest request, BookLoreUser user, TaskType taskType, TaskPriority priority, boolean boundedWait) {
+        String taskId = initializeTask(request, user, taskType, priority);
+        try (TaskDispatcher.Lease ignored = boundedWait ? tryAcquireSlot(taskId, taskType, priority) : acquireSlot(taskId, taskType, priority)) {
             taskHistoryService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, "Task execution started");
             request.setTaskId(taskId);
             TaskCreateResponse response = executeTask(request);
@@ -260,7 +335,30 @@ public class TaskService {
         }
     }
 
-    private String initializeTask(TaskCreateRequest request, BookLoreUser user, TaskType taskType) {
+    private TaskDispatcher.Lease acquireSlot(String taskId, TaskType taskType, TaskPriority priority) {
+        try {
+            return taskDispatcher.acquire(taskId, taskType, priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Interrupted while waiting to run task " + taskId, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private TaskDispatcher.Lease tryAcquireSlot(String taskId, TaskType taskType, TaskPriority priority) {
+        TaskDispatcher.Lease lease;
+        try {
+            lease = taskDispatcher.tryAcquire(taskId, taskType, priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Interrupted while waiting to run task " + taskId, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (lease == null) {
+            throw new APIException("Too many " + taskType.getResourceClass() + " tasks are running, please try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return lease;
+    }
+
+    private String initializeTask(TaskCreateRequest request, BookLoreUser user, TaskType taskType, TaskPriority priority) {
         if (!taskType.isParallel()) {
             String existingTaskId = runningTasks.putIfAbsent(taskType, "");
             if (existingTaskId != null) {
@@ -273,7 +371,7 @@ public class TaskService {
             runningTasks.put(taskType, taskId);
         }
         Map<String, Object> options = convertOptionsToMap(request.getOptions());
-        taskHistoryService.createTask(taskId, taskType, user.getId(), options);
+        taskHistoryService.createTask(taskId, taskType, user.getId(), options, priority, leaderElectionService.getNodeId());
         return taskId;
     }
 
@@ -65,17 +65,7 @@ public class FileUploadService {
             tempPath = createTempFile(UPLOAD_TEMP_PREFIX, originalFileName);
             file.transferTo(tempPath);
 
-            final BookFileExtension fileExtension = getFileExtension(originalFileName);
-            final BookMetadata metadata = extractMetadata(fileExtension, tempPath.toFile());
-            final String uploadPattern = fileMovingHelper.getFileNamingPattern(libraryEntity);
-
-            final String relativePath = PathPatternResolver.resolvePattern(metadata, uploadPattern, originalFileName);
-            final Path finalPath = Paths.get(libraryPathEntity.getPath(), relativePath);
-
-            validateFinalPath(finalPath);
-            moveFileToFinalLocation(tempPath, finalPath);
-
-            log.info("File uploaded to final location: {}", finalPath);
+            placeInLibrary(tempPath, originalFileName, libraryEntity, libraryPathEntity);
 
         } catch (IOException e) {
             log.error("Failed to upload file: {}", originalFileName, e);
@@ -85,6 +75,68 @@ public class FileUploadService {
         }
     }
 
+    /**
+     * Moves a fully received file into the library path, under the name given by the library's naming pattern.
+     */
+    public Path moveToLibrary(Path source, String originalFileName, long libraryId, long pathId) throws IOException {
+        final LibraryEntity libraryEntity = findLibraryById(libraryId);
+        final LibraryPathEntity libraryPathEntity = findLibraryPathById(libraryEntity, pathId);
+        return placeInLibrary(source, originalFileName, libraryEntity, libraryPathEntity);
+    }
+
+    /**
+     * Moves a fully received file into the book-drop folder under its original name.
+     */
+    public Path moveToBookdrop(Path source, String originalFileName) throws IOException {
+        final Path dropFolder = getBookdropFolder();
+        Files.createDirectories(dropFolder);
+
+        final Path finalPath = dropFolder.resolve(originalFileName);
+        validateFinalPath(finalPath);
+        Files.move(source, finalPath);
+
+        log.info("File moved to book-drop folder: {}", finalPath);
+        return finalPath;
+    }
+
+    public Path getLibraryPath(long libraryId, long pathId) {
+        final LibraryEntity libraryEntity = findLibraryById(libraryId);
+        return Paths.get(findLibraryPathById(libraryEntity, pathId).getPath());
+    }
+
+    public Path getBookdropFolder() {
+        return Paths.get(appProperties.getBookdropFolder());
+    }
+
+    /**
+     * Checks the name and size of an upload before any of its content is received.
+     */
+    public void validateUpload(String originalFilename, long fileSize) {
+        if (originalFilename == null || BookFileExtension.fromFileName(originalFilename).isEmpty()) {
+            throw ApiError.INVALID_FILE_FORMAT.createException("Unsupported file extension");
+        }
+
+        final int maxSizeMb = appSettingService.getAppSettings().getMaxFileUploadSizeInMb();
+        if (fileSize > maxSizeMb * MB_TO_BYTES_MULTIPLIER) {
+            throw ApiError.FILE_TOO_LARGE.createException(maxSizeMb);
+        }
+    }
+
+    private Path placeInLibrary(Path source, String originalFileName, LibraryEntity libraryEntity, LibraryPathEntity libraryPathEntity) throws IOException {
+        final BookFileExtension fileExtension = getFileExtension(originalFileName);
+        final BookMetadata metadata = extractMetadata(fileExtension, source.toFile());
+        final String uploadPattern = fileMovingHelper.getFileNamingPattern(libraryEntity);
+
+        final String relativePath = PathPatternResolver.resolvePattern(metadata, uploadPattern, originalFileName);
+        final Path finalPath = Paths.get(libraryPathEntity.getPath(), relativePath);
+
+        validateFinalPath(finalPath);
+        moveFileToFinalLocation(source, finalPath);
+
+        log.info("File uploaded to final location: {}", finalPath);
+        return finalPath;
+    }
+
     @Transactional
     public AdditionalFile uploadAdditionalFile(Long bookId, MultipartFile file, AdditionalFileType additionalFileType, String description) {
         final BookEntity book = findBookById(bookId);
@@ -120,9 +172,6 @@ public class FileUploadService {
     public Book uploadFileBookDrop(MultipartFile file) throws IOException {
         validateFile(file);
 
-        final Path dropFolder = Paths.get(appProperties.getBookdropFolder());
-        Files.createDirectories(dropFolder);
-
         final String originalFilename = getValidatedFileName(file);
         Path tempPath = null;
 
@@ -130,11 +179,7 @@ public class FileUploadService {
             tempPath = createTempFile(BOOKDROP_TEMP_PREFIX, originalFilename);
             file.transferTo(tempPath);
 
-            final Path finalPath = dropFolder.resolve(originalFilename);
-            validateFinalPath(finalPath);
-            Files.move(tempPath, finalPath);
-
-            log.info("File moved to book-drop folder: {}", finalPath);
+            moveToBookdrop(tempPath, originalFilename);
             return null;
 
         } finally {
@@ -230,14 +275,6 @@ public class FileUploadService {
     }
 
     private void validateFile(MultipartFile file) {
-        final String originalFilename = file.getOriginalFilename();
-        if (originalFilename == null || BookFileExtension.fromFileName(originalFilename).isEmpty()) {
-            throw ApiError.INVALID_FILE_FORMAT.createException("Unsupported file extension");
-        }
-
-        final int maxSizeMb = appSettingService.getAppSettings().getMaxFileUploadSizeInMb();
-        if (file.getSize() > maxSizeMb * MB_TO_BYTES_MULTIPLIER) {
-            throw ApiError.FILE_TOO_LARGE.createException(maxSizeMb);
-        }
+        validateUpload(file.getOriginalFilename(), file.getSize());
     }
 }
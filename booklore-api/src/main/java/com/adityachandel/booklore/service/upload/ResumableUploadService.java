@@ -0,0 +1,345 @@
+package com.adityachandel.booklore.service.upload;
+
+import com.adityachandel.booklore.config.security.service.AuthenticationService;
+import com.adityachandel.booklore.exception.ApiError;
+import com.adityachandel.booklore.model.dto.request.UploadSessionRequest;
+import com.adityachandel.booklore.model.dto.response.UploadSessionResponse;
+import com.adityachandel.booklore.model.entity.LibraryPathEntity;
+import com.adityachandel.booklore.model.enums.BookFileExtension;
+import com.adityachandel.booklore.model.enums.BookFileType;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.LibraryPathRepository;
+import com.adityachandel.booklore.service.file.BookFormatSniffer;
+import com.adityachandel.booklore.service.file.StreamingFingerprint;
+import com.adityachandel.booklore.util.FileUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Receives book uploads in chunks that can be resumed after a dropped connection. Chunks are written straight into a
+ * hidden staging folder on the target volume, so completing an upload is a rename rather than a copy. While the bytes
+ * stream through, each chunk is checked against its SHA-256, the format is sniffed from the first kilobyte and the
+ * book fingerprint is computed, so mismatched files and duplicates are rejected as soon as that is known.
+ * <p>
+ * Sessions live in memory on the instance that created them; in cluster mode all chunks of an upload must reach the
+ * same instance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumableUploadService {
+
+    public static final int CHUNK_SIZE = 8 * 1024 * 1024;
+    static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    static final Duration SESSION_TTL = Duration.ofHours(24);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileUploadService fileUploadService;
+    private final BookRepository bookRepository;
+    private final LibraryPathRepository libraryPathRepository;
+    private final AuthenticationService authenticationService;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public UploadSessionResponse createSession(UploadSessionRequest request) {
+        String fileName = request.getFileName();
+        if (!fileName.equals(Paths.get(fileName).getFileName().toString())) {
+            throw ApiError.INVALID_INPUT.createException("File name must not contain a path");
+        }
+        fileUploadService.validateUpload(fileName, request.getFileSize());
+
+        Path root = request.getLibraryId() == null
+                ? fileUploadService.getBookdropFolder()
+                : fileUploadService.getLibraryPath(request.getLibraryId(), request.getPathId());
+        String uploadId = UUID.randomUUID().toString();
+        Path stagingFile = root.resolve(FileUtils.UPLOAD_STAGING_DIR).resolve(uploadId).resolve(fileName);
+        try {
+            Files.createDirectories(stagingFile.getParent());
+            Files.createFile(stagingFile);
+        } catch (IOException e) {
+            log.error("Failed to create staging file for upload {}: {}", uploadId, stagingFile, e);
+            throw ApiError.DIRECTORY_CREATION_FAILED.createException(stagingFile.getParent());
+        }
+
+        UploadSession session = new UploadSession(uploadId, currentUserId(), fileName, request.getFileSize(),
+                request.getLibraryId(), request.getPathId(), stagingFile);
+        sessions.put(uploadId, session);
+        log.info("Started upload {} for '{}' ({} bytes)", uploadId, fileName, request.getFileSize());
+        return toResponse(session);
+    }
+
+    public UploadSessionResponse getSession(String uploadId) {
+        return toResponse(findSession(uploadId));
+    }
+
+    /**
+     * Appends one chunk at the given offset, which must equal the session's current offset. The chunk is kept only
+     * if its SHA-256 matches {@code checksum}; otherwise the file is cut back and the offset stays where it was.
+     */
+    public UploadSessionResponse writeChunk(String uploadId, long offset, String checksum, InputStream body) {
+        UploadSession session = findSession(uploadId);
+        if (!session.getLock().tryLock()) {
+            throw ApiError.CONFLICT.createException("Another chunk is being written for upload " + uploadId);
+        }
+        try {
+            if (session.isCompleted()) {
+                throw ApiError.CONFLICT.createException("Upload " + uploadId + " is already completed");
+            }
+            if (offset != session.getOffset()) {
+                throw ApiError.CONFLICT.createException("Upload " + uploadId + " is at offset " + session.getOffset());
+            }
+            if (checksum == null || checksum.isBlank()) {
+                throw ApiError.INVALID_INPUT.createException("Chunk checksum is required");
+            }
+
+            StreamingFingerprint fingerprint = session.getFingerprint().copy();
+            long written = receiveChunk(session, fingerprint, checksum, body);
+            session.advance(written, fingerprint);
+            inspect(session);
+            return toResponse(session);
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a fully received upload into its library path or the book-drop folder.
+     */
+    public UploadSessionResponse complete(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        if (!session.getLock().tryLock()) {
+            throw ApiError.CONFLICT.createException("Another chunk is being written for upload " + uploadId);
+        }
+        try {
+            if (session.isCompleted()) {
+                return toResponse(session);
+            }
+            if (session.getOffset() != session.getFileSize()) {
+                throw ApiError.CONFLICT.createException("Upload " + uploadId + " is incomplete: "
+                        + session.getOffset() + " of " + session.getFileSize() + " bytes received");
+            }
+            inspect(session);
+
+            Path finalPath = session.isBookdrop()
+                    ? fileUploadService.moveToBookdrop(session.getStagingFile(), session.getFileName())
+                    : fileUploadService.moveToLibrary(session.getStagingFile(), session.getFileName(), session.getLibraryId(), session.getPathId());
+            session.markCompleted();
+            sessions.remove(uploadId);
+            deleteStaging(session.getStagingFile());
+            log.info("Completed upload {} to {}", uploadId, finalPath);
+            return toResponse(session);
+        } catch (IOException e) {
+            log.error("Failed to complete upload {}: {}", uploadId, session.getFileName(), e);
+            throw ApiError.FILE_READ_ERROR.createException(e.getMessage());
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    public void abort(String uploadId) {
+        discard(findSession(uploadId));
+    }
+
+    /**
+     * Drops sessions that have been idle past their lifetime, and staging folders left behind by a restart.
+     */
+    @Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void removeExpired() {
+        Instant cutoff = Instant.now().minus(SESSION_TTL);
+        sessions.values().stream()
+                .filter(session -> session.getLastActivity().isBefore(cutoff))
+                .toList()
+                .forEach(session -> {
+                    log.info("Upload {} expired after {} of {} bytes", session.getId(), session.getOffset(), session.getFileSize());
+                    discard(session);
+                });
+
+        List<Path> roots = new ArrayList<>();
+        roots.add(fileUploadService.getBookdropFolder());
+        libraryPathRepository.findAll().stream().map(LibraryPathEntity::getPath).map(Paths::get).forEach(roots::add);
+        Set<String> activeIds = sessions.keySet();
+        for (Path root : roots) {
+            removeOrphanedStaging(root.resolve(FileUtils.UPLOAD_STAGING_DIR), activeIds, cutoff);
+        }
+    }
+
+    private long receiveChunk(UploadSession session, StreamingFingerprint fingerprint, String checksum, InputStream body) {
+        long offset = session.getOffset();
+        long limit = Math.min(MAX_CHUNK_SIZE, session.getFileSize() - offset);
+        MessageDigest sha256 = sha256();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(session.getStagingFile(), StandardOpenOption.WRITE)) {
+            try {
+                channel.position(offset);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    if (written + read > limit) {
+                        throw ApiError.INVALID_INPUT.createException("Chunk is larger than the " + limit + " bytes allowed at offset " + offset);
+                    }
+                    sha256.update(buffer, 0, read);
+                    fingerprint.update(buffer, 0, read);
+                    session.captureHeader(offset + written, buffer, read);
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                    while (byteBuffer.hasRemaining()) {
+                        channel.write(byteBuffer);
+                    }
+                    written += read;
+                }
+                if (!HexFormat.of().formatHex(sha256.digest()).equalsIgnoreCase(checksum.trim())) {
+                    throw ApiError.INVALID_INPUT.createException("Chunk checksum does not match");
+                }
+                channel.force(false);
+                return written;
+            } catch (IOException | RuntimeException e) {
+                channel.truncate(offset);
+                throw e;
+            }
+        } catch (IOException e) {
+            log.warn("Chunk for upload {} at offset {} failed: {}", session.getId(), offset, e.getMessage());
+            throw ApiError.FILE_READ_ERROR.createException(e.getMessage());
+        }
+    }
+
+    /**
+     * Sniffs the format once the header is in, and checks for duplicates once the fingerprint is final. Either
+     * failure ends the upload.
+     */
+    private void inspect(UploadSession session) {
+        long headerBytes = Math.min(session.getFileSize(), BookFormatSniffer.HEADER_BYTES);
+        if (session.getDetectedFormat() == null && session.getOffset() >= headerBytes) {
+            BookFileType expected = BookFileExtension.fromFileName(session.getFileName()).map(BookFileExtension::getType).orElse(null);
+            Optional<BookFileType> detected = BookFormatSniffer.detect(session.getHeader(), (int) headerBytes);
+            if (detected.isEmpty() || detected.get() != expected) {
+                discard(session);
+                throw ApiError.UNSUPPORTED_FILE_TYPE.createException("Content of '" + session.getFileName() + "' is "
+                        + detected.map(Enum::name).orElse("not a supported book format") + ", not " + expected);
+            }
+            session.setDetectedFormat(detected.get());
+        }
+
+        if (session.getFileHash() == null && session.getFingerprint().isComplete(session.getFileSize())) {
+            String hash = session.getFingerprint().getHash();
+            if (bookRepository.existsActiveByCurrentHash(hash)) {
+                discard(session);
+                throw ApiError.CONFLICT.createException("A book with the same content as '" + session.getFileName() + "' already exists");
+            }
+            session.setFileHash(hash);
+        }
+    }
+
+    private UploadSession findSession(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || session.getUserId() != currentUserId()) {
+            throw ApiError.GENERIC_NOT_FOUND.createException("Upload not found: " + uploadId);
+        }
+        session.touch();
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        sessions.remove(session.getId());
+        deleteStaging(session.getStagingFile());
+    }
+
+    private void deleteStaging(Path stagingFile) {
+        Path sessionDir = stagingFile.getParent();
+        try {
+            Files.deleteIfExists(stagingFile);
+            Files.deleteIfExists(sessionDir);
+            Files.deleteIfExists(sessionDir.getParent());
+        } catch (DirectoryNotEmptyException e) {
+            log.debug("Staging folder still in use: {}", e.getFile());
+        } catch (IOException e) {
+            log.warn("Failed to clean up staging folder {}", sessionDir, e);
+        }
+    }
+
+    private void removeOrphanedStaging(Path stagingRoot, Set<String> activeIds, Instant cutoff) {
+        if (!Files.isDirectory(stagingRoot)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.list(stagingRoot)) {
+            List<Path> orphans = dirs
+                    .filter(dir -> !activeIds.contains(dir.getFileName().toString()))
+                    .filter(dir -> lastModified(dir).isBefore(cutoff))
+                    .toList();
+            for (Path orphan : orphans) {
+                log.info("Removing abandoned upload staging folder {}", orphan);
+                FileUtils.deleteDirectoryRecursively(orphan);
+            }
+            Files.deleteIfExists(stagingRoot);
+        } catch (DirectoryNotEmptyException e) {
+            log.debug("Staging folder still in use: {}", stagingRoot);
+        } catch (IOException e) {
+            log.warn("Failed to clean up staging folder {}", stagingRoot, e);
+        }
+    }
+
+    private Instant lastModified(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.map(this::modifiedTime).max(Instant::compareTo).orElse(Instant.EPOCH);
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private Instant modifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private long currentUserId() {
+        return authenticationService.getAuthenticatedUser().getId();
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        return UploadSessionResponse.builder()
+                .uploadId(session.getId())
+                .fileName(session.getFileName())
+                .fileSize(session.getFileSize())
+                .offset(session.getOffset())
+                .chunkSize(CHUNK_SIZE)
+                .detectedFormat(session.getDetectedFormat())
+                .fileHash(session.getFileHash())
+                .completed(session.isCompleted())
+                .build();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.adityachandel.booklore.service.upload;
+
+import com.adityachandel.booklore.model.enums.BookFileType;
+import com.adityachandel.booklore.service.file.BookFormatSniffer;
+import com.adityachandel.booklore.service.file.StreamingFingerprint;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * State of one resumable upload. The offset only moves forward once a chunk has been written, checksummed and
+ * flushed, so it is always a safe point to resume from.
+ */
+@Getter
+public class UploadSession {
+
+    private final String id;
+    private final long userId;
+    private final String fileName;
+    private final long fileSize;
+    private final Long libraryId;
+    private final Long pathId;
+    private final Path stagingFile;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final byte[] header = new byte[BookFormatSniffer.HEADER_BYTES];
+
+    private long offset;
+    private StreamingFingerprint fingerprint = new StreamingFingerprint();
+    private BookFileType detectedFormat;
+    private String fileHash;
+    private boolean completed;
+    private Instant lastActivity = Instant.now();
+
+    UploadSession(String id, long userId, String fileName, long fileSize, Long libraryId, Long pathId, Path stagingFile) {
+        this.id = id;
+        this.userId = userId;
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.libraryId = libraryId;
+        this.pathId = pathId;
+        this.stagingFile = stagingFile;
+    }
+
+    public boolean isBookdrop() {
+        return libraryId == null;
+    }
+
+    /**
+     * Copies the part of a chunk that falls within the sniffed header. Bytes of a chunk that is later rejected are
+     * overwritten when it is sent again, and never read beyond the acknowledged offset.
+     */
+    void captureHeader(long position, byte[] data, int length) {
+        if (position >= header.length) {
+            return;
+        }
+        int count = (int) Math.min(length, header.length - position);
+        System.arraycopy(data, 0, header, (int) position, count);
+    }
+
+    void advance(long bytes, StreamingFingerprint fingerprint) {
+        this.offset += bytes;
+        this.fingerprint = fingerprint;
+        touch();
+    }
+
+    void setDetectedFormat(BookFileType detectedFormat) {
+        this.detectedFormat = detectedFormat;
+    }
+
+    void setFileHash(String fileHash) {
+        this.fileHash = fileHash;
+    }
+
+    void markCompleted() {
+        this.completed = true;
+        touch();
+    }
+
+    void touch() {
+        this.lastActivity = Instant.now();
+    }
+}
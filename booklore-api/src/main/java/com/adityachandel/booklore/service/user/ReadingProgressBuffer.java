@@ -0,0 +1,281 @@
+package com.adityachandel.booklore.service.user;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
+import com.adityachandel.booklore.model.entity.UserBookProgressEntity;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.UserBookProgressRepository;
+import com.adityachandel.booklore.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for reading progress coming from the web reader, Kobo and KOReader.
+ * <p>
+ * Updates are queued per (user, book) and written every {@value #FLUSH_INTERVAL_MS} ms as one batched
+ * load-and-save per user. Updates for the same row are applied in client-timestamp order, and the newest
+ * applied timestamp is stored on the row, so an update older than what was already written is ignored even
+ * when it arrives in a later flush window. Rows that fail to write are re-queued up to
+ * {@value #MAX_WRITE_ATTEMPTS} times. Anything that reads or rewrites a progress row must call
+ * {@link #flush(long, Collection)} (or {@link #flushUser(long)}) first so that it sees the buffered values;
+ * flushes lock per user, so that only waits for a write of the same user's rows. The buffer is drained on
+ * shutdown.
+ */
+@Slf4j
+@Service
+public class ReadingProgressBuffer {
+
+    static final long FLUSH_INTERVAL_MS = 2000;
+    static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final UserBookProgressRepository progressRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<Long, ReentrantLock> userLocks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReadingProgressBuffer(UserBookProgressRepository progressRepository,
+                                 BookRepository bookRepository,
+                                 UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.progressRepository = progressRepository;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        flushScheduler.scheduleWithFixedDelay(this::flushAll, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        try {
+            flushScheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+    }
+
+    /**
+     * Queues a progress change. {@code update} only sets the fields owned by the caller; it is applied to the
+     * freshly loaded (or newly created) row at flush time. {@code afterFlush} is optional and runs once the
+     * row has been committed, with the final state of the row; when several updates for a row are coalesced
+     * only the most recent {@code afterFlush} runs.
+     */
+    public void submit(long userId, long bookId, Instant clientTimestamp,
+                       Consumer<UserBookProgressEntity> update, Consumer<UserBookProgressEntity> afterFlush) {
+        Instant timestamp = clientTimestamp != null ? clientTimestamp : Instant.now();
+        pending.merge(new Key(userId, bookId), Pending.of(new TimedUpdate(timestamp, update, afterFlush)), Pending::merge);
+    }
+
+    public void flush(long userId, Collection<Long> bookIds) {
+        if (pending.isEmpty()) return;
+        Set<Long> ids = bookIds instanceof Set<Long> set ? set : new HashSet<>(bookIds);
+        flushUser(userId, key -> ids.contains(key.bookId()));
+    }
+
+    public void flushUser(long userId) {
+        if (pending.isEmpty()) return;
+        flushUser(userId, key -> true);
+    }
+
+    public void flushAll() {
+        pending.keySet().stream()
+                .map(Key::userId)
+                .distinct()
+                .toList()
+                .forEach(userId -> flushUser(userId, key -> true));
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void flushUser(long userId, Predicate<Key> filter) {
+        ReentrantLock lock = userLocks.computeIfAbsent(userId, id -> new ReentrantLock());
+        lock.lock();
+        try {
+            Map<Key, Pending> batch = new HashMap<>();
+            for (Key key : List.copyOf(pending.keySet())) {
+                if (key.userId() == userId && filter.test(key)) {
+                    Pending removed = pending.remove(key);
+                    if (removed != null) {
+                        batch.put(key, removed);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } catch (Exception e) {
+            log.error("Failed to flush buffered reading progress for user {}", userId, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Map<Key, Pending> batch) {
+        List<Runnable> callbacks;
+        try {
+            callbacks = transactionTemplate.execute(status -> persist(batch));
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.forEach((key, value) -> requeue(key, value, e));
+                return;
+            }
+            log.warn("Batched reading progress flush failed, retrying {} rows individually: {}", batch.size(), e.getMessage());
+            batch.forEach((key, value) -> write(Map.of(key, value)));
+            return;
+        }
+        if (callbacks != null) {
+            callbacks.forEach(this::runCallback);
+        }
+    }
+
+    private void requeue(Key key, Pending failed, Exception cause) {
+        Pending retry = failed.failedAttempt();
+        if (retry.attempts() >= MAX_WRITE_ATTEMPTS) {
+            log.error("Dropping reading progress update for {} after {} attempts: {}", key, retry.attempts(), cause.getMessage());
+            return;
+        }
+        log.warn("Reading progress write for {} failed (attempt {}), will retry: {}", key, retry.attempts(), cause.getMessage());
+        pending.merge(key, retry, Pending::merge);
+    }
+
+    private List<Runnable> persist(Map<Key, Pending> batch) {
+        List<Runnable> callbacks = new ArrayList<>();
+        List<UserBookProgressEntity> toSave = new ArrayList<>();
+        Map<Long, List<Key>> keysByUser = batch.keySet().stream().collect(Collectors.groupingBy(Key::userId));
+
+        keysByUser.forEach((userId, keys) -> {
+            Set<Long> bookIds = keys.stream().map(Key::bookId).collect(Collectors.toSet());
+            Map<Long, UserBookProgressEntity> rows = progressRepository.findByUserIdAndBookIdIn(userId, bookIds).stream()
+                    .collect(Collectors.toMap(progress -> progress.getBook().getId(), progress -> progress, (a, b) -> a));
+
+            Set<Long> missing = new HashSet<>(bookIds);
+            missing.removeAll(rows.keySet());
+            if (!missing.isEmpty()) {
+                BookLoreUserEntity user = userRepository.findById(userId).orElse(null);
+                Map<Long, BookEntity> books = bookRepository.findAllById(missing).stream()
+                        .collect(Collectors.toMap(BookEntity::getId, book -> book));
+                for (Long bookId : missing) {
+                    BookEntity book = books.get(bookId);
+                    if (user == null || book == null) {
+                        log.warn("Discarding reading progress for missing user {} or book {}", userId, bookId);
+                        continue;
+                    }
+                    UserBookProgressEntity progress = new UserBookProgressEntity();
+                    progress.setUser(user);
+                    progress.setBook(book);
+                    rows.put(bookId, progress);
+                }
+            }
+
+            for (Key key : keys) {
+                UserBookProgressEntity progress = rows.get(key.bookId());
+                if (progress == null) continue;
+                Pending updates = batch.get(key);
+                if (!updates.applyTo(progress)) {
+                    log.debug("Ignoring stale reading progress for {}", key);
+                    continue;
+                }
+                toSave.add(progress);
+                updates.afterFlush().ifPresent(callback -> callbacks.add(() -> callback.accept(progress)));
+            }
+        });
+
+        progressRepository.saveAll(toSave);
+        log.debug("Flushed {} buffered reading progress rows", toSave.size());
+        return callbacks;
+    }
+
+    private void runCallback(Runnable callback) {
+        try {
+            callback.run();
+        } catch (Exception e) {
+            log.warn("Reading progress post-flush action failed: {}", e.getMessage());
+        }
+    }
+
+    record Key(long userId, long bookId) {
+    }
+
+    private record TimedUpdate(Instant timestamp, Consumer<UserBookProgressEntity> update,
+                               Consumer<UserBookProgressEntity> afterFlush) {
+    }
+
+    private record Pending(List<TimedUpdate> updates, int attempts) {
+
+        static Pending of(TimedUpdate update) {
+            return new Pending(List.of(update), 0);
+        }
+
+        Pending merge(Pending other) {
+            List<TimedUpdate> merged = new ArrayList<>(updates.size() + other.updates.size());
+            merged.addAll(updates);
+            merged.addAll(other.updates);
+            merged.sort(Comparator.comparing(TimedUpdate::timestamp));
+            return new Pending(merged, Math.max(attempts, other.attempts));
+        }
+
+        Pending failedAttempt() {
+            return new Pending(updates, attempts + 1);
+        }
+
+        /**
+         * Applies the updates that are not older than the row's stored client timestamp and advances it.
+         * Returns {@code false} when every update was stale and the row is unchanged.
+         */
+        boolean applyTo(UserBookProgressEntity progress) {
+            Instant applied = progress.getProgressClientTime();
+            boolean changed = false;
+            for (TimedUpdate update : updates) {
+                if (applied != null && update.timestamp().isBefore(applied)) {
+                    continue;
+                }
+                update.update().accept(progress);
+                applied = update.timestamp();
+                changed = true;
+            }
+            progress.setProgressClientTime(applied);
+            return changed;
+        }
+
+        Optional<Consumer<UserBookProgressEntity>> afterFlush() {
+            for (int i = updates.size() - 1; i >= 0; i--) {
+                if (updates.get(i).afterFlush() != null) {
+                    return Optional.of(updates.get(i).afterFlush());
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -85,6 +85,10 @@ public class LibraryFileEventProcessor {
     private void handleEvent(FileEvent event) {
         Path path = Paths.get(event.filePath()).toAbsolutePath().normalize();
         String fileName = path.getFileName().toString();
+        if (FileUtils.shouldIgnore(path)) {
+            log.debug("[SKIP] Ignored hidden or staging path '{}'", path);
+            return;
+        }
         log.info("[PROCESS] '{}' event for '{}'", event.eventKind().name(), fileName);
 
         LibraryEntity library = libraryRepository.findById(event.libraryId())
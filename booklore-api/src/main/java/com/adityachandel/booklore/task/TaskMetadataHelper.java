@@ -27,6 +27,10 @@ public class TaskMetadataHelper {
         }
     }
 
+    public static String getCacheSizeString(long sizeInBytes) {
+        return "Current cache size: " + formatBytes(sizeInBytes);
+    }
+
     private static long calculateDirectorySize(Path directory) throws IOException {
         try (Stream<Path> walk = Files.walk(directory)) {
             return walk
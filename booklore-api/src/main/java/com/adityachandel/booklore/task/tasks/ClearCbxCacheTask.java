@@ -3,27 +3,22 @@ package com.adityachandel.booklore.task.tasks;
 import com.adityachandel.booklore.model.dto.request.TaskCreateRequest;
 import com.adityachandel.booklore.model.dto.response.TaskCreateResponse;
 import com.adityachandel.booklore.model.enums.TaskType;
+import com.adityachandel.booklore.service.cache.DiskCacheManager;
+import com.adityachandel.booklore.service.reader.CbxReaderService;
 import com.adityachandel.booklore.task.TaskMetadataHelper;
 import com.adityachandel.booklore.task.TaskStatus;
-import com.adityachandel.booklore.util.FileService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Comparator;
 import java.util.UUID;
-import java.util.stream.Stream;
 
 @AllArgsConstructor
 @Component
 @Slf4j
 public class ClearCbxCacheTask implements Task {
 
-    private FileService fileService;
+    private DiskCacheManager diskCacheManager;
 
     @Override
     public TaskCreateResponse execute(TaskCreateRequest request) {
@@ -35,26 +30,8 @@ public class ClearCbxCacheTask implements Task {
         log.info("{}: Task started", getTaskType());
 
         try {
-            String cbxCachePath = fileService.getCbxCachePath();
-            Path cachePath = Paths.get(cbxCachePath);
-
-            if (Files.exists(cachePath) && Files.isDirectory(cachePath)) {
-                try (Stream<Path> walk = Files.walk(cachePath)) {
-                    walk.sorted(Comparator.reverseOrder())
-                            .forEach(path -> {
-                                try {
-                                    Files.delete(path);
-                                } catch (IOException e) {
-                                    log.error("Failed to delete file: {} - {}", path, e.getMessage());
-                                }
-                            });
-                }
-
-                Files.createDirectories(cachePath);
-                log.info("{}: Cache cleared and directory recreated", getTaskType());
-            } else {
-                log.warn("{}: Cache path does not exist or is not a directory: {}", getTaskType(), cbxCachePath);
-            }
+            diskCacheManager.clear(CbxReaderService.CACHE_REGION);
+            log.info("{}: Cache cleared and directory recreated", getTaskType());
 
             builder.status(TaskStatus.COMPLETED);
         } catch (Exception e) {
@@ -76,6 +53,6 @@ public class ClearCbxCacheTask implements Task {
 
     @Override
     public String getMetadata() {
-        return TaskMetadataHelper.getCacheSizeString(fileService.getCbxCachePath());
+        return TaskMetadataHelper.getCacheSizeString(diskCacheManager.getRegionSize(CbxReaderService.CACHE_REGION));
     }
 }
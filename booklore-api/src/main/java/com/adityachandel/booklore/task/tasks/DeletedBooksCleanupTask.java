@@ -4,6 +4,7 @@ import com.adityachandel.booklore.model.dto.request.TaskCreateRequest;
 import com.adityachandel.booklore.model.dto.response.TaskCreateResponse;
 import com.adityachandel.booklore.model.enums.TaskType;
 import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.service.book.BookPurgeService;
 import com.adityachandel.booklore.task.TaskStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ import java.util.UUID;
 public class DeletedBooksCleanupTask implements Task {
 
     private final BookRepository bookRepository;
+    private final BookPurgeService bookPurgeService;
 
     @Override
     public TaskCreateResponse execute(TaskCreateRequest request) {
@@ -33,10 +35,10 @@ public class DeletedBooksCleanupTask implements Task {
             int deletedCount;
             if (request.isTriggeredByCron()) {
                 Instant cutoff = Instant.now().minus(7, ChronoUnit.DAYS);
-                deletedCount = bookRepository.deleteSoftDeletedBefore(cutoff);
+                deletedCount = bookPurgeService.purge(bookRepository.findSoftDeletedIdsBefore(cutoff), false);
                 log.info("{}: Removed {} deleted books older than {}", getTaskType(), deletedCount, cutoff);
             } else {
-                deletedCount = bookRepository.deleteAllSoftDeleted();
+                deletedCount = bookPurgeService.purge(bookRepository.findAllSoftDeletedIds(), false);
                 log.info("{}: Removed all {} deleted books (on-demand execution)", getTaskType(), deletedCount);
             }
             builder.status(TaskStatus.COMPLETED);
@@ -0,0 +1,62 @@
+package com.adityachandel.booklore.task.tasks;
+
+import com.adityachandel.booklore.model.dto.request.TaskCreateRequest;
+import com.adityachandel.booklore.model.dto.response.TaskCreateResponse;
+import com.adityachandel.booklore.model.enums.TaskType;
+import com.adityachandel.booklore.repository.UserRepository;
+import com.adityachandel.booklore.service.ReadingSessionRollupService;
+import com.adityachandel.booklore.task.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recomputes the reading session rollups of every user, {@value #CHUNK_SIZE} users per transaction. Users without any
+ * sessions left have their rollup rows cleared.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RebuildReadingStatsTask implements Task {
+
+    static final int CHUNK_SIZE = 20;
+
+    private final UserRepository userRepository;
+    private final ReadingSessionRollupService readingSessionRollupService;
+
+    @Override
+    public TaskCreateResponse execute(TaskCreateRequest request) {
+        TaskCreateResponse.TaskCreateResponseBuilder builder = TaskCreateResponse.builder()
+                .taskId(UUID.randomUUID().toString())
+                .taskType(getTaskType());
+
+        long startTime = System.currentTimeMillis();
+        log.info("{}: Task started", getTaskType());
+
+        try {
+            List<Long> userIds = userRepository.findAllIds();
+            for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+                readingSessionRollupService.rebuildForUsers(userIds.subList(from, Math.min(from + CHUNK_SIZE, userIds.size())));
+            }
+            log.info("{}: Rebuilt reading stats of {} users", getTaskType(), userIds.size());
+            builder.status(TaskStatus.COMPLETED);
+        } catch (Exception e) {
+            log.error("{}: Error rebuilding reading stats", getTaskType(), e);
+            builder.status(TaskStatus.FAILED);
+            throw new RuntimeException("Failed to rebuild reading stats", e);
+        }
+
+        long endTime = System.currentTimeMillis();
+        log.info("{}: Task completed. Duration: {} ms", getTaskType(), endTime - startTime);
+
+        return builder.build();
+    }
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.REBUILD_READING_STATS;
+    }
+}
@@ -4,6 +4,9 @@ import com.adityachandel.booklore.model.entity.AuthorEntity;
 import com.adityachandel.booklore.model.entity.BookMetadataEntity;
 import lombok.experimental.UtilityClass;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.regex.Pattern;
 
 @UtilityClass
@@ -16,24 +19,36 @@ public class BookUtils {
 
     public static String buildSearchText(BookMetadataEntity e) {
         if (e == null) return null;
-        
-        StringBuilder sb = new StringBuilder(256);
-        if (e.getTitle() != null) sb.append(e.getTitle()).append(" ");
-        if (e.getSubtitle() != null) sb.append(e.getSubtitle()).append(" ");
-        if (e.getSeriesName() != null) sb.append(e.getSeriesName()).append(" ");
-        
+
+        List<String> authorNames = new ArrayList<>();
         try {
             if (e.getAuthors() != null) {
                 for (AuthorEntity author : e.getAuthors()) {
-                    if (author != null && author.getName() != null) {
-                        sb.append(author.getName()).append(" ");
+                    if (author != null) {
+                        authorNames.add(author.getName());
                     }
                 }
             }
         } catch (Exception ex) {
             // LazyInitializationException or similar - authors won't be included in search text
         }
-        
+
+        return buildSearchText(e.getTitle(), e.getSubtitle(), e.getSeriesName(), authorNames);
+    }
+
+    /**
+     * Same as {@link #buildSearchText(BookMetadataEntity)} for callers that only have the raw column values.
+     */
+    public static String buildSearchText(String title, String subtitle, String seriesName, Collection<String> authorNames) {
+        StringBuilder sb = new StringBuilder(256);
+        if (title != null) sb.append(title).append(" ");
+        if (subtitle != null) sb.append(subtitle).append(" ");
+        if (seriesName != null) sb.append(seriesName).append(" ");
+        if (authorNames != null) {
+            for (String name : authorNames) {
+                if (name != null) sb.append(name).append(" ");
+            }
+        }
         return normalizeForSearch(sb.toString().trim());
     }
 
@@ -0,0 +1,47 @@
+package com.adityachandel.booklore.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a byte region of a file as the response body without copying it through the heap: through Tomcat's
+ * sendfile when the connector offers it, and through {@link FileChannel#transferTo} otherwise.
+ */
+@UtilityClass
+public class FileRegionWriter {
+
+    public final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    public final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    public final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    public final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public void write(Path file, long start, long count, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().normalize().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
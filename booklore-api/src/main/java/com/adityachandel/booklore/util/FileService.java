@@ -6,6 +6,7 @@ import com.adityachandel.booklore.model.dto.settings.CoverCroppingSettings;
 import com.adityachandel.booklore.model.entity.BookMetadataEntity;
 import com.adityachandel.booklore.repository.BookMetadataRepository;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import com.adityachandel.booklore.service.book.CoverImageCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
@@ -23,6 +24,7 @@ import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -43,6 +45,7 @@ public class FileService {
     private final RestTemplate restTemplate;
     private final AppSettingService appSettingService;
     private final BookMetadataRepository bookMetadataRepository;
+    private final CoverImageCache coverImageCache;
 
     private static final double TARGET_COVER_ASPECT_RATIO = 1.5;
     private static final int SMART_CROP_COLOR_TOLERANCE = 30;
@@ -111,12 +114,12 @@ public class FileService {
         return Paths.get(appProperties.getPathConfig(), "pdf_cache").toString();
     }
 
-    public String getTempBookdropCoverImagePath(long bookdropFileId) {
-        return Paths.get(appProperties.getPathConfig(), "bookdrop_temp", bookdropFileId + ".jpg").toString();
+    public String getConversionCachePath() {
+        return Paths.get(appProperties.getPathConfig(), "conversion_cache").toString();
     }
 
-    public String getToolsKepubifyPath() {
-        return Paths.get(appProperties.getPathConfig(), "tools", "kepubify").toString();
+    public String getTempBookdropCoverImagePath(long bookdropFileId) {
+        return Paths.get(appProperties.getPathConfig(), "bookdrop_temp", bookdropFileId + ".jpg").toString();
     }
 
     // ========================================
@@ -308,15 +311,15 @@ public class FileService {
                 rgbImage = resized;
             }
 
-            File originalFile = new File(folder, COVER_FILENAME);
-            boolean originalSaved = ImageIO.write(rgbImage, IMAGE_FORMAT, originalFile);
+            boolean originalSaved = writeJpeg(rgbImage, new File(folder, COVER_FILENAME)) != null;
 
             thumb = resizeImage(rgbImage, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
-            File thumbnailFile = new File(folder, THUMBNAIL_FILENAME);
-            boolean thumbnailSaved = ImageIO.write(thumb, IMAGE_FORMAT, thumbnailFile);
+            byte[] thumbnailBytes = writeJpeg(thumb, new File(folder, THUMBNAIL_FILENAME));
+            boolean thumbnailSaved = thumbnailBytes != null;
 
+            coverImageCache.invalidate(bookId);
             if (originalSaved && thumbnailSaved) {
-                bookMetadataRepository.updateCoverTimestamp(bookId, Instant.now());
+                bookMetadataRepository.updateCover(bookId, Instant.now(), CoverImageCache.contentHash(thumbnailBytes));
             }
             return originalSaved && thumbnailSaved;
         } finally {
@@ -337,6 +340,20 @@ public class FileService {
         }
     }
 
+    /**
+     * Encodes the image once and writes those bytes, so the caller can hash exactly what is on disk. Returns null
+     * when no JPEG writer accepted the image.
+     */
+    private byte[] writeJpeg(BufferedImage image, File file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, IMAGE_FORMAT, out)) {
+            return null;
+        }
+        byte[] bytes = out.toByteArray();
+        Files.write(file.toPath(), bytes);
+        return bytes;
+    }
+
     private BufferedImage applyCoverCropping(BufferedImage image) {
         CoverCroppingSettings settings = appSettingService.getAppSettings().getCoverCroppingSettings();
         if (settings == null) {
@@ -447,6 +464,7 @@ public class FileService {
 
     public void deleteBookCovers(Set<Long> bookIds) {
         for (Long bookId : bookIds) {
+            coverImageCache.invalidate(bookId);
             String bookCoverFolder = getImagesFolder(bookId);
             Path folderPath = Paths.get(bookCoverFolder);
             try {
@@ -16,6 +16,7 @@ import java.util.Optional;
 public class FileUtils {
 
     private final String FILE_NOT_FOUND_MESSAGE = "File does not exist: ";
+    public final String UPLOAD_STAGING_DIR = ".booklore-uploads";
 
     public String getBookFullPath(BookEntity bookEntity) {
         return Path.of(bookEntity.getLibraryPath().getPath(), bookEntity.getFileSubPath(), bookEntity.getFileName())
@@ -65,7 +66,7 @@ public class FileUtils {
             return true;
         }
         for (Path part : path) {
-            if (".caltrash".equals(part.toString())) {
+            if (".caltrash".equals(part.toString()) || UPLOAD_STAGING_DIR.equals(part.toString())) {
                 return true;
             }
         }
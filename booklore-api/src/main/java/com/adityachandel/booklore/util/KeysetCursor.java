@@ -0,0 +1,62 @@
+package com.adityachandel.booklore.util;
+
+import com.adityachandel.booklore.exception.ApiError;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset (seek) page: the value of the leading sort column plus the book or file id that
+ * breaks ties. Clients only ever see the opaque token produced by {@link #encode()} and hand it back unchanged to get
+ * the next page, so the next query starts right after this row instead of skipping an offset.
+ */
+public record KeysetCursor(String key, long id) {
+
+    private static final char SEPARATOR = '\u0000';
+
+    public static KeysetCursor of(Instant key, long id) {
+        return new KeysetCursor(key.toString(), id);
+    }
+
+    public static KeysetCursor of(String key, long id) {
+        return new KeysetCursor(key != null ? key : "", id);
+    }
+
+    public static KeysetCursor of(long id) {
+        return new KeysetCursor("", id);
+    }
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a missing or blank token, which callers treat as "start from the first row".
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw ApiError.INVALID_INPUT.createException("Invalid page cursor");
+            }
+            return new KeysetCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw ApiError.INVALID_INPUT.createException("Invalid page cursor");
+        }
+    }
+
+    public Instant instantKey() {
+        try {
+            return Instant.parse(key);
+        } catch (DateTimeParseException e) {
+            throw ApiError.INVALID_INPUT.createException("Invalid page cursor");
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,176 +28,317 @@ public class PathPatternResolver {
     private final String TRUNCATION_SUFFIX = " et al.";
     private final int SUFFIX_BYTES = TRUNCATION_SUFFIX.getBytes(StandardCharsets.UTF_8).length;
 
-    private final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
-    private final Pattern CONTROL_CHARACTER_PATTERN = Pattern.compile("\\p{Cntrl}");
-    private final Pattern INVALID_CHARS_PATTERN = Pattern.compile("[\\\\/:*?\"<>|]");
+    private final String INVALID_CHARS = "\\/:*?\"<>|";
+    private final Pattern OPTIONAL_BLOCK_PATTERN = Pattern.compile("<([^<>]*)>");
     private final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{(.*?)}");
     private final Pattern COMMA_SPACE_PATTERN = Pattern.compile(", ");
     private final Pattern SLASH_PATTERN = Pattern.compile("/");
 
+    private final int MAX_CACHED_PATTERNS = 64;
+    private final Map<String, CompiledPattern> COMPILED_PATTERNS = new ConcurrentHashMap<>();
+
     public String resolvePattern(BookEntity book, String pattern) {
         String currentFilename = book.getFileName() != null ? book.getFileName().trim() : "";
         return resolvePattern(book.getMetadata(), pattern, currentFilename);
     }
 
     public String resolvePattern(BookMetadata metadata, String pattern, String filename) {
-        MetadataProvider metadataProvider = MetadataProvider.from(metadata);
-        return resolvePattern(metadataProvider, pattern, filename);
+        return compiled(pattern).resolve(metadata, filename);
     }
 
     public String resolvePattern(BookMetadataEntity metadata, String pattern, String filename) {
-        MetadataProvider metadataProvider = MetadataProvider.from(metadata);
-        return resolvePattern(metadataProvider, pattern, filename);
+        return compiled(pattern).resolve(metadata, filename);
     }
 
-    private String resolvePattern(MetadataProvider metadata, String pattern, String filename) {
+    /**
+     * Parses a naming pattern once into a {@link CompiledPattern} that can be resolved for any number of books,
+     * from any number of threads, without re-parsing the pattern.
+     */
+    public CompiledPattern compile(String pattern) {
         if (pattern == null || pattern.isBlank()) {
-            return filename;
+            return new CompiledPattern(null, List.of(), false);
         }
 
-        String filenameBase = "Untitled";
-        if (filename != null && !filename.isBlank()) {
-            int lastDot = filename.lastIndexOf('.');
-            if (lastDot > 0) {
-                filenameBase = filename.substring(0, lastDot);
-            } else {
-                filenameBase = filename;
+        List<Segment> segments = new ArrayList<>();
+        Matcher blockMatcher = OPTIONAL_BLOCK_PATTERN.matcher(pattern);
+        int position = 0;
+        while (blockMatcher.find()) {
+            parsePlaceholders(pattern.substring(position, blockMatcher.start()), segments, true);
+            List<Segment> blockParts = new ArrayList<>();
+            if (parsePlaceholders(blockMatcher.group(1), blockParts, false)) {
+                segments.add(new OptionalBlock(blockParts));
             }
+            position = blockMatcher.end();
         }
+        parsePlaceholders(pattern.substring(position), segments, true);
 
-        String title = sanitize(metadata != null && metadata.getTitle() != null
-                ? metadata.getTitle()
-                : filenameBase);
-
-        String subtitle = sanitize(metadata != null ? metadata.getSubtitle() : "");
-
-        String authors = sanitize(
-                metadata != null
-                        ? truncateAuthorsForFilesystem(String.join(", ", metadata.getAuthors()))
-                        : ""
-        );
-        String year = sanitize(
-                metadata != null && metadata.getPublishedDate() != null
-                        ? String.valueOf(metadata.getPublishedDate().getYear())
-                        : ""
-        );
-        String series = sanitize(metadata != null ? metadata.getSeriesName() : "");
-        String seriesIndex = "";
-        if (metadata != null && metadata.getSeriesNumber() != null) {
-            Float seriesNumber = metadata.getSeriesNumber();
-            seriesIndex = (seriesNumber % 1 == 0)
-                    ? String.valueOf(seriesNumber.intValue())
-                    : seriesNumber.toString();
-            seriesIndex = sanitize(seriesIndex);
-        }
-        String language = sanitize(metadata != null ? metadata.getLanguage() : "");
-        String publisher = sanitize(metadata != null ? metadata.getPublisher() : "");
-        String isbn = sanitize(
-                metadata != null
-                        ? (metadata.getIsbn13() != null
-                        ? metadata.getIsbn13()
-                        : metadata.getIsbn10() != null
-                        ? metadata.getIsbn10()
-                        : "")
-                        : ""
-        );
-
-        Map<String, String> values = new LinkedHashMap<>();
-        values.put("authors", authors);
-        values.put("title", truncatePathComponent(title, MAX_COMPONENT_BYTES));
-        values.put("subtitle", truncatePathComponent(subtitle, MAX_COMPONENT_BYTES));
-        values.put("year", year);
-        values.put("series", truncatePathComponent(series, MAX_COMPONENT_BYTES));
-        values.put("seriesIndex", seriesIndex);
-        values.put("language", language);
-        values.put("publisher", truncatePathComponent(publisher, MAX_COMPONENT_BYTES));
-        values.put("isbn", isbn);
-        values.put("currentFilename", filename);
-
-        return resolvePatternWithValues(pattern, values, filename);
+        boolean keepsFilename = pattern.contains("{extension}") || pattern.contains("{currentFilename}");
+        return new CompiledPattern(pattern, List.copyOf(segments), !keepsFilename);
     }
 
-    private String resolvePatternWithValues(String pattern, Map<String, String> values, String currentFilename) {
-        String extension = "";
-        int lastDot = currentFilename.lastIndexOf('.');
-        if (lastDot >= 0 && lastDot < currentFilename.length() - 1) {
-            extension = sanitize(currentFilename.substring(lastDot + 1));  // e.g. "epub"
+    private CompiledPattern compiled(String pattern) {
+        if (pattern == null) {
+            return compile(null);
         }
+        CompiledPattern compiled = COMPILED_PATTERNS.get(pattern);
+        if (compiled == null) {
+            if (COMPILED_PATTERNS.size() >= MAX_CACHED_PATTERNS) {
+                COMPILED_PATTERNS.clear();
+            }
+            compiled = COMPILED_PATTERNS.computeIfAbsent(pattern, PathPatternResolver::compile);
+        }
+        return compiled;
+    }
 
-        values.put("extension", extension);
+    /**
+     * Splits {@code text} into literal and placeholder segments. Unknown placeholders are kept verbatim at the top
+     * level; inside an optional block they can never have a value, so the whole block is dropped (returns false).
+     */
+    private boolean parsePlaceholders(String text, List<Segment> segments, boolean keepUnknown) {
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(text);
+        int position = 0;
+        while (matcher.find()) {
+            if (matcher.start() > position) {
+                segments.add(new Literal(text.substring(position, matcher.start())));
+            }
+            Placeholder placeholder = Placeholder.byKey(matcher.group(1));
+            if (placeholder != null) {
+                segments.add(placeholder);
+            } else if (keepUnknown) {
+                segments.add(new Literal(matcher.group()));
+            } else {
+                return false;
+            }
+            position = matcher.end();
+        }
+        if (position < text.length()) {
+            segments.add(new Literal(text.substring(position)));
+        }
+        return true;
+    }
 
-        // Handle optional blocks enclosed in <...>
-        Pattern optionalBlockPattern = Pattern.compile("<([^<>]*)>");
-        Matcher matcher = optionalBlockPattern.matcher(pattern);
-        StringBuilder resolved = new StringBuilder(1024);
+    /**
+     * A naming pattern parsed into literal text, placeholders and optional {@code <...>} blocks. Placeholder values
+     * are only computed for the placeholders the pattern actually uses.
+     */
+    public static final class CompiledPattern {
 
-        while (matcher.find()) {
-            String block = matcher.group(1);
-            Matcher placeholderMatcher = PLACEHOLDER_PATTERN.matcher(block);
-            boolean allHaveValues = true;
-
-            // Check if all placeholders inside optional block have non-blank values
-            while (placeholderMatcher.find()) {
-                String key = placeholderMatcher.group(1);
-                String value = values.getOrDefault(key, "");
-                if (value.isBlank()) {
-                    allHaveValues = false;
-                    break;
-                }
+        private final String pattern;
+        private final List<Segment> segments;
+        private final boolean appendExtension;
+
+        private CompiledPattern(String pattern, List<Segment> segments, boolean appendExtension) {
+            this.pattern = pattern;
+            this.segments = segments;
+            this.appendExtension = appendExtension;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public String resolve(BookEntity book) {
+            String currentFilename = book.getFileName() != null ? book.getFileName().trim() : "";
+            return resolve(book.getMetadata(), currentFilename);
+        }
+
+        public String resolve(BookMetadata metadata, String filename) {
+            return resolve(MetadataProvider.from(metadata), filename);
+        }
+
+        public String resolve(BookMetadataEntity metadata, String filename) {
+            return resolve(MetadataProvider.from(metadata), filename);
+        }
+
+        private String resolve(MetadataProvider metadata, String filename) {
+            if (pattern == null) {
+                return filename;
             }
 
-            if (allHaveValues) {
-                String resolvedBlock = block;
-                for (Map.Entry<String, String> entry : values.entrySet()) {
-                    resolvedBlock = resolvedBlock.replace("{" + entry.getKey() + "}", entry.getValue());
-                }
-                matcher.appendReplacement(resolved, Matcher.quoteReplacement(resolvedBlock));
-            } else {
-                matcher.appendReplacement(resolved, "");
+            Values values = new Values(metadata, filename != null ? filename : "");
+            StringBuilder resolved = new StringBuilder(256);
+            for (Segment segment : segments) {
+                segment.appendTo(resolved, values);
+            }
+
+            String result = resolved.toString();
+            if (result.isBlank()) {
+                return validateFinalPath(filename != null ? filename : "untitled");
+            }
+
+            String extension = values.get(Placeholder.EXTENSION);
+            if (appendExtension && !extension.isBlank()) {
+                result += "." + extension;
             }
+            return validateFinalPath(result);
         }
-        matcher.appendTail(resolved);
+    }
 
-        String result = resolved.toString();
+    private sealed interface Segment permits Literal, Placeholder, OptionalBlock {
+        void appendTo(StringBuilder target, Values values);
+    }
 
-        // Replace known placeholders with values, preserve unknown ones
-        Matcher placeholderMatcher = PLACEHOLDER_PATTERN.matcher(result);
-        StringBuilder finalResult = new StringBuilder(1024);
+    private record Literal(String text) implements Segment {
+        @Override
+        public void appendTo(StringBuilder target, Values values) {
+            target.append(text);
+        }
+    }
 
-        while (placeholderMatcher.find()) {
-            String key = placeholderMatcher.group(1);
-            if (values.containsKey(key)) {
-                String replacement = values.get(key);
-                placeholderMatcher.appendReplacement(finalResult, Matcher.quoteReplacement(replacement));
-            } else {
-                // Preserve unknown placeholders (e.g., {foo})
-                placeholderMatcher.appendReplacement(finalResult, Matcher.quoteReplacement("{" + key + "}"));
+    private record OptionalBlock(List<Segment> parts) implements Segment {
+        @Override
+        public void appendTo(StringBuilder target, Values values) {
+            for (Segment part : parts) {
+                if (part instanceof Placeholder placeholder && values.get(placeholder).isBlank()) {
+                    return;
+                }
+            }
+            for (Segment part : parts) {
+                part.appendTo(target, values);
             }
         }
-        placeholderMatcher.appendTail(finalResult);
+    }
 
-        result = finalResult.toString();
+    private enum Placeholder implements Segment {
+        AUTHORS("authors"),
+        TITLE("title"),
+        SUBTITLE("subtitle"),
+        YEAR("year"),
+        SERIES("series"),
+        SERIES_INDEX("seriesIndex"),
+        LANGUAGE("language"),
+        PUBLISHER("publisher"),
+        ISBN("isbn"),
+        CURRENT_FILENAME("currentFilename"),
+        EXTENSION("extension");
+
+        private static final Map<String, Placeholder> BY_KEY = new HashMap<>();
+
+        static {
+            for (Placeholder placeholder : values()) {
+                BY_KEY.put(placeholder.key, placeholder);
+            }
+        }
 
-        boolean usedFallbackFilename = false;
-        if (result.isBlank()) {
-            result = values.getOrDefault("currentFilename", "untitled");
-            usedFallbackFilename = true;
+        private final String key;
+
+        Placeholder(String key) {
+            this.key = key;
         }
 
-        boolean patternIncludesExtension = pattern.contains("{extension}");
-        boolean patternIncludesFullFilename = pattern.contains("{currentFilename}");
-        
-        if (!usedFallbackFilename && !patternIncludesExtension && !patternIncludesFullFilename && !extension.isBlank()) {
-            result += "." + extension;
+        static Placeholder byKey(String key) {
+            return BY_KEY.get(key);
         }
 
-        return validateFinalPath(result);
+        @Override
+        public void appendTo(StringBuilder target, Values values) {
+            target.append(values.get(this));
+        }
     }
 
+    /**
+     * Sanitised, truncated placeholder values of one book, computed on first use.
+     */
+    private static final class Values {
+
+        private final MetadataProvider metadata;
+        private final String filename;
+        private final String[] computed = new String[Placeholder.values().length];
+
+        private Values(MetadataProvider metadata, String filename) {
+            this.metadata = metadata;
+            this.filename = filename;
+        }
+
+        String get(Placeholder placeholder) {
+            String value = computed[placeholder.ordinal()];
+            if (value == null) {
+                value = compute(placeholder);
+                computed[placeholder.ordinal()] = value;
+            }
+            return value;
+        }
+
+        private String compute(Placeholder placeholder) {
+            return switch (placeholder) {
+                case AUTHORS -> sanitize(metadata != null ? truncateAuthorsForFilesystem(String.join(", ", metadata.getAuthors())) : "");
+                case TITLE -> truncatePathComponent(sanitize(metadata != null && metadata.getTitle() != null ? metadata.getTitle() : filenameBase()), MAX_COMPONENT_BYTES);
+                case SUBTITLE -> truncatePathComponent(sanitize(metadata != null ? metadata.getSubtitle() : ""), MAX_COMPONENT_BYTES);
+                case YEAR -> sanitize(metadata != null && metadata.getPublishedDate() != null ? String.valueOf(metadata.getPublishedDate().getYear()) : "");
+                case SERIES -> truncatePathComponent(sanitize(metadata != null ? metadata.getSeriesName() : ""), MAX_COMPONENT_BYTES);
+                case SERIES_INDEX -> seriesIndex();
+                case LANGUAGE -> sanitize(metadata != null ? metadata.getLanguage() : "");
+                case PUBLISHER -> truncatePathComponent(sanitize(metadata != null ? metadata.getPublisher() : ""), MAX_COMPONENT_BYTES);
+                case ISBN -> sanitize(metadata == null ? "" : metadata.getIsbn13() != null ? metadata.getIsbn13() : metadata.getIsbn10() != null ? metadata.getIsbn10() : "");
+                case CURRENT_FILENAME -> filename;
+                case EXTENSION -> extension();
+            };
+        }
+
+        private String filenameBase() {
+            if (filename.isBlank()) {
+                return "Untitled";
+            }
+            int lastDot = filename.lastIndexOf('.');
+            return lastDot > 0 ? filename.substring(0, lastDot) : filename;
+        }
+
+        private String seriesIndex() {
+            if (metadata == null || metadata.getSeriesNumber() == null) {
+                return "";
+            }
+            Float seriesNumber = metadata.getSeriesNumber();
+            return sanitize((seriesNumber % 1 == 0) ? String.valueOf(seriesNumber.intValue()) : seriesNumber.toString());
+        }
+
+        private String extension() {
+            int lastDot = filename.lastIndexOf('.');
+            if (lastDot >= 0 && lastDot < filename.length() - 1) {
+                return sanitize(filename.substring(lastDot + 1));
+            }
+            return "";
+        }
+    }
+
+    /**
+     * Removes characters that are invalid in file names and control characters, collapses whitespace runs to a
+     * single space and trims, in one pass.
+     */
     private String sanitize(String input) {
-        if (input == null) return "";
-        return WHITESPACE_PATTERN.matcher(CONTROL_CHARACTER_PATTERN.matcher(INVALID_CHARS_PATTERN.matcher(input).replaceAll("")).replaceAll("")).replaceAll(" ")
-                .trim();
+        if (input == null || input.isEmpty()) return "";
+        StringBuilder result = new StringBuilder(input.length());
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (INVALID_CHARS.indexOf(c) >= 0 || Character.isISOControl(c) && c < 0x80) {
+                continue;
+            }
+            if (c == ' ' && !result.isEmpty() && result.charAt(result.length() - 1) == ' ') {
+                continue;
+            }
+            result.append(c);
+        }
+        return result.toString().trim();
+    }
+
+    /**
+     * UTF-8 encoded length of {@code value}, without encoding it.
+     */
+    private int utf8Length(String value) {
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
     }
 
     private String truncateAuthorsForFilesystem(String authors) {
@@ -204,8 +346,7 @@ public class PathPatternResolver {
             return authors;
         }
 
-        byte[] originalBytes = authors.getBytes(StandardCharsets.UTF_8);
-        if (originalBytes.length <= MAX_AUTHOR_BYTES) {
+        if (utf8Length(authors) <= MAX_AUTHOR_BYTES) {
             return authors;
         }
 
@@ -218,7 +359,7 @@ public class PathPatternResolver {
             String author = authorArray[i];
 
             int separatorBytes = (i > 0) ? 2 : 0;
-            int authorBytes = author.getBytes(StandardCharsets.UTF_8).length;
+            int authorBytes = utf8Length(author);
 
             if (currentBytes + separatorBytes + authorBytes > MAX_AUTHOR_BYTES) {
                 if (result.isEmpty()) {
@@ -243,8 +384,8 @@ public class PathPatternResolver {
             return component;
         }
 
-        byte[] bytes = component.getBytes(StandardCharsets.UTF_8);
-        if (bytes.length <= maxBytes) {
+        int length = utf8Length(component);
+        if (length <= maxBytes) {
             return component;
         }
 
@@ -257,7 +398,7 @@ public class PathPatternResolver {
         String truncated = component.substring(0, charBuffer.position());
         if (!truncated.equals(component)) {
             log.debug("Truncated path component from {} to {} bytes for filesystem safety",
-                bytes.length, truncated.getBytes(StandardCharsets.UTF_8).length);
+                length, utf8Length(truncated));
         }
         return truncated;
     }
@@ -274,7 +415,7 @@ public class PathPatternResolver {
             if (isLastComponent && component.contains(".")) {
                 component = truncateFilenameWithExtension(component);
             } else {
-                if (component.getBytes(StandardCharsets.UTF_8).length > MAX_FILESYSTEM_COMPONENT_BYTES) {
+                if (utf8Length(component) > MAX_FILESYSTEM_COMPONENT_BYTES) {
                     component = truncatePathComponent(component, MAX_FILESYSTEM_COMPONENT_BYTES);
                 }
                 while (component != null && !component.isEmpty() && component.endsWith(".")) {
@@ -292,7 +433,7 @@ public class PathPatternResolver {
         int lastDotIndex = filename.lastIndexOf('.');
         if (lastDotIndex == -1 || lastDotIndex == 0) {
             // No extension or dot is at start (hidden file), treat as normal component
-            if (filename.getBytes(StandardCharsets.UTF_8).length > MAX_FILESYSTEM_COMPONENT_BYTES) {
+            if (utf8Length(filename) > MAX_FILESYSTEM_COMPONENT_BYTES) {
                 return truncatePathComponent(filename, MAX_FILESYSTEM_COMPONENT_BYTES);
             }
             return filename;
@@ -301,11 +442,11 @@ public class PathPatternResolver {
         String extension = filename.substring(lastDotIndex); // includes dot
         String name = filename.substring(0, lastDotIndex);
 
-        int extBytes = extension.getBytes(StandardCharsets.UTF_8).length;
+        int extBytes = utf8Length(extension);
 
         if (extBytes > 50) {
             log.warn("Unusually long extension detected: {}", extension);
-            if (filename.getBytes(StandardCharsets.UTF_8).length > MAX_FILESYSTEM_COMPONENT_BYTES) {
+            if (utf8Length(filename) > MAX_FILESYSTEM_COMPONENT_BYTES) {
                  return truncatePathComponent(filename, MAX_FILESYSTEM_COMPONENT_BYTES);
             }
             return filename;
@@ -313,7 +454,7 @@ public class PathPatternResolver {
 
         int maxNameBytes = MAX_FILESYSTEM_COMPONENT_BYTES - extBytes;
 
-        if (name.getBytes(StandardCharsets.UTF_8).length > maxNameBytes) {
+        if (utf8Length(name) > maxNameBytes) {
             String truncatedName = truncatePathComponent(name, maxNameBytes);
             return truncatedName + extension;
         }
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS app_migration_checkpoint
+(
+    migration_key     VARCHAR(100) PRIMARY KEY COMMENT 'Key of the app_migration this checkpoint belongs to',
+    last_processed_id BIGINT    NOT NULL DEFAULT 0 COMMENT 'Highest id covered by the last committed chunk',
+    processed_count   BIGINT    NOT NULL DEFAULT 0 COMMENT 'Number of rows processed so far',
+    updated_at        TIMESTAMP NOT NULL COMMENT 'When the last chunk was committed'
+) COMMENT = 'Progress of chunked application-level data migrations, used to resume after a restart';
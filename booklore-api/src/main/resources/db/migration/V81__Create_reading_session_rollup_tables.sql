@@ -0,0 +1,39 @@
+CREATE TABLE IF NOT EXISTS reading_session_user_daily
+(
+    user_id                BIGINT NOT NULL,
+    session_date           DATE   NOT NULL,
+    session_count          BIGINT NOT NULL DEFAULT 0,
+    total_duration_seconds BIGINT NOT NULL DEFAULT 0,
+    total_progress_delta   DOUBLE NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, session_date),
+    CONSTRAINT fk_rs_user_daily_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) COMMENT = 'Reading sessions per user and day, keyed by the date of the session start time';
+
+CREATE TABLE IF NOT EXISTS reading_session_book_daily
+(
+    user_id                BIGINT      NOT NULL,
+    session_date           DATE        NOT NULL,
+    book_id                BIGINT      NOT NULL,
+    book_type              VARCHAR(10) NOT NULL,
+    session_count          BIGINT      NOT NULL DEFAULT 0,
+    total_duration_seconds BIGINT      NOT NULL DEFAULT 0,
+    total_progress_delta   DOUBLE      NOT NULL DEFAULT 0,
+    first_start_time       DATETIME    NOT NULL,
+    last_end_time          DATETIME    NOT NULL,
+    PRIMARY KEY (user_id, session_date, book_id, book_type),
+    CONSTRAINT fk_rs_book_daily_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_rs_book_daily_book FOREIGN KEY (book_id) REFERENCES book (id) ON DELETE CASCADE
+) COMMENT = 'Reading sessions per user, book and day, keyed by the date of the session start time';
+
+CREATE INDEX IF NOT EXISTS idx_rs_book_daily_book ON reading_session_book_daily (book_id);
+
+CREATE TABLE IF NOT EXISTS reading_session_user_totals
+(
+    user_id                BIGINT PRIMARY KEY,
+    session_count          BIGINT   NOT NULL DEFAULT 0,
+    total_duration_seconds BIGINT   NOT NULL DEFAULT 0,
+    total_progress_delta   DOUBLE   NOT NULL DEFAULT 0,
+    first_start_time       DATETIME NOT NULL,
+    last_end_time          DATETIME NOT NULL,
+    CONSTRAINT fk_rs_user_totals_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) COMMENT = 'Lifetime reading session totals per user';
@@ -0,0 +1,4 @@
+ALTER TABLE tasks
+    ADD COLUMN priority VARCHAR(20) NOT NULL DEFAULT 'BACKGROUND';
+
+CREATE INDEX idx_tasks_status_created_at ON tasks (status, created_at);
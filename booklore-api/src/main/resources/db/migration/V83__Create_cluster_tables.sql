@@ -0,0 +1,33 @@
+CREATE TABLE IF NOT EXISTS cluster_node
+(
+    node_id    VARCHAR(64) PRIMARY KEY,
+    started_at DATETIME(3) NOT NULL,
+    last_seen  DATETIME(3) NOT NULL
+) COMMENT = 'Running API instances in cluster mode, kept alive by a heartbeat';
+
+CREATE TABLE IF NOT EXISTS cluster_lease
+(
+    name        VARCHAR(64) PRIMARY KEY,
+    owner_node  VARCHAR(64) NOT NULL DEFAULT '',
+    acquired_at DATETIME(3) NULL,
+    expires_at  DATETIME(3) NOT NULL
+) COMMENT = 'Time-limited locks; the holder of the leader lease runs watchers and scheduled tasks';
+
+INSERT IGNORE INTO cluster_lease (name, owner_node, expires_at)
+VALUES ('leader', '', '1970-01-01 00:00:01');
+
+CREATE TABLE IF NOT EXISTS cluster_event
+(
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    origin_node VARCHAR(64)  NOT NULL,
+    type        VARCHAR(30)  NOT NULL,
+    target      VARCHAR(255) NULL COMMENT 'Username for user messages, cache name for invalidations',
+    destination VARCHAR(255) NULL,
+    payload     LONGTEXT     NULL,
+    created_at  DATETIME(3)  NOT NULL
+) COMMENT = 'Events published by one instance and replayed on the others';
+
+CREATE INDEX IF NOT EXISTS idx_cluster_event_created_at ON cluster_event (created_at);
+
+ALTER TABLE tasks
+    ADD COLUMN node_id VARCHAR(64) NULL;
@@ -0,0 +1,2 @@
+ALTER TABLE book_metadata
+    ADD COLUMN cover_hash VARCHAR(16) NULL;
@@ -0,0 +1,2 @@
+CREATE INDEX idx_book_added_on_id ON book (added_on, id);
+CREATE INDEX idx_bookdrop_file_status_id ON bookdrop_file (status, id);
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS book_file_cleanup
+(
+    book_id      BIGINT PRIMARY KEY COMMENT 'Id of the deleted book the file belonged to',
+    file_path    VARCHAR(1000) NOT NULL COMMENT 'Full path of the book file that is still to be removed',
+    library_root VARCHAR(1000) NOT NULL COMMENT 'Library path the file lives under, where empty folder cleanup stops',
+    created_at   TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'When the book was deleted'
+) COMMENT = 'Files of deleted books that are not removed from disk yet; library scans skip these paths';
@@ -0,0 +1,2 @@
+ALTER TABLE user_book_progress
+    ADD COLUMN IF NOT EXISTS progress_client_time TIMESTAMP(6) NULL COMMENT 'Client timestamp of the newest progress update applied to this row; older updates are ignored';
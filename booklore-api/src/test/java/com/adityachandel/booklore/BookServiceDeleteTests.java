@@ -2,12 +2,15 @@ package com.adityachandel.booklore;
 
 import com.adityachandel.booklore.config.security.service.AuthenticationService;
 import com.adityachandel.booklore.mapper.BookMapper;
+import com.adityachandel.booklore.model.dto.response.BookDeletionResponse;
 import com.adityachandel.booklore.repository.*;
 import com.adityachandel.booklore.service.book.BookDownloadService;
 import com.adityachandel.booklore.service.book.BookQueryService;
+import com.adityachandel.booklore.service.book.BookPurgeService;
 import com.adityachandel.booklore.service.book.BookService;
+import com.adityachandel.booklore.service.book.CoverImageCache;
+import com.adityachandel.booklore.service.user.ReadingProgressBuffer;
 import com.adityachandel.booklore.service.user.UserProgressService;
-import com.adityachandel.booklore.service.monitoring.MonitoringRegistrationService;
 import com.adityachandel.booklore.service.kobo.KoboReadingStateService;
 import com.adityachandel.booklore.util.FileService;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +19,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +36,7 @@ import static org.assertj.core.api.Assertions.assertThatCode;
 class BookServiceDeleteTests {
 
     private BookService bookService;
+    private BookPurgeService bookPurgeService;
 
     @TempDir
     Path tempDir;
@@ -50,8 +57,9 @@ class BookServiceDeleteTests {
         BookQueryService bookQueryService = Mockito.mock(BookQueryService.class);
         UserProgressService userProgressService = Mockito.mock(UserProgressService.class);
         BookDownloadService bookDownloadService = Mockito.mock(BookDownloadService.class);
-        MonitoringRegistrationService monitoringRegistrationService = Mockito.mock(MonitoringRegistrationService.class);
         KoboReadingStateService koboReadingStateService = Mockito.mock(KoboReadingStateService.class);
+        ReadingProgressBuffer readingProgressBuffer = Mockito.mock(ReadingProgressBuffer.class);
+        bookPurgeService = Mockito.mock(BookPurgeService.class);
 
         bookService = new BookService(
                 bookRepository,
@@ -68,11 +76,33 @@ class BookServiceDeleteTests {
                 bookQueryService,
                 userProgressService,
                 bookDownloadService,
-                monitoringRegistrationService,
-                koboReadingStateService
+                koboReadingStateService,
+                readingProgressBuffer,
+                Mockito.mock(CoverImageCache.class),
+                bookPurgeService
         );
     }
 
+    @Test
+    void deleteBooks_reportsFilesStillOnDiskWithMultiStatus() {
+        Mockito.when(bookPurgeService.purgeWithFiles(Set.of(1L, 2L))).thenReturn(List.of(2L));
+
+        ResponseEntity<BookDeletionResponse> response = bookService.deleteBooks(Set.of(1L, 2L));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.MULTI_STATUS);
+        assertThat(response.getBody().getFailedFileDeletions()).containsExactly(2L);
+    }
+
+    @Test
+    void deleteBooks_answersOkWhenEveryFileIsGone() {
+        Mockito.when(bookPurgeService.purgeWithFiles(Set.of(1L))).thenReturn(List.of());
+
+        ResponseEntity<BookDeletionResponse> response = bookService.deleteBooks(Set.of(1L));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getFailedFileDeletions()).isEmpty();
+    }
+
     @Test
     void deletesEmptyDirectoriesUpToLibraryRoot() throws IOException {
         Path libraryRoot = tempDir.resolve("libraryRoot");
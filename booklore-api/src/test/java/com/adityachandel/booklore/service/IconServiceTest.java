@@ -3,6 +3,7 @@ package com.adityachandel.booklore.service;
 import com.adityachandel.booklore.config.AppProperties;
 import com.adityachandel.booklore.exception.APIException;
 import com.adityachandel.booklore.model.dto.request.SvgIconCreateRequest;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
 import org.junit.jupiter.api.*;
 import org.springframework.data.domain.Page;
 
@@ -11,6 +12,7 @@ import java.nio.file.*;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class IconServiceTest {
@@ -34,7 +36,7 @@ class IconServiceTest {
                 return TEST_DIR;
             }
         };
-        iconService = new IconService(appProperties);
+        iconService = new IconService(appProperties, mock(ClusterEventRelay.class));
         iconsSvgPath = Paths.get(TEST_DIR, "icons", SVG_DIR);
         Files.createDirectories(iconsSvgPath);
         iconService.init();
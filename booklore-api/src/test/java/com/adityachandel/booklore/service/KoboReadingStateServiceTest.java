@@ -19,6 +19,8 @@ import com.adityachandel.booklore.service.hardcover.HardcoverSyncService;
 import com.adityachandel.booklore.service.kobo.KoboReadingStateBuilder;
 import com.adityachandel.booklore.service.kobo.KoboReadingStateService;
 import com.adityachandel.booklore.service.kobo.KoboSettingsService;
+import com.adityachandel.booklore.service.user.ReadingProgressBuffer;
+import com.adityachandel.booklore.service.user.ReadingProgressBufferStubs;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -68,6 +70,9 @@ class KoboReadingStateServiceTest {
     @Mock
     private HardcoverSyncService hardcoverSyncService;
 
+    @Mock
+    private ReadingProgressBuffer readingProgressBuffer;
+
     @InjectMocks
     private KoboReadingStateService service;
 
@@ -96,6 +101,8 @@ class KoboReadingStateServiceTest {
 
         when(authenticationService.getAuthenticatedUser()).thenReturn(testUser);
         when(koboSettingsService.getCurrentUserSettings()).thenReturn(testSettings);
+
+        ReadingProgressBufferStubs.writeThrough(readingProgressBuffer, progressRepository, bookRepository, userRepository);
     }
 
     @Test
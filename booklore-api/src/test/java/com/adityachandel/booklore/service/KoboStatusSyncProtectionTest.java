@@ -18,6 +18,8 @@ import com.adityachandel.booklore.service.hardcover.HardcoverSyncService;
 import com.adityachandel.booklore.service.kobo.KoboReadingStateBuilder;
 import com.adityachandel.booklore.service.kobo.KoboReadingStateService;
 import com.adityachandel.booklore.service.kobo.KoboSettingsService;
+import com.adityachandel.booklore.service.user.ReadingProgressBuffer;
+import com.adityachandel.booklore.service.user.ReadingProgressBufferStubs;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -62,6 +64,9 @@ class KoboStatusSyncProtectionTest {
     @Mock
     private HardcoverSyncService hardcoverSyncService;
 
+    @Mock
+    private ReadingProgressBuffer readingProgressBuffer;
+
     @InjectMocks
     private KoboReadingStateService service;
 
@@ -86,6 +91,8 @@ class KoboStatusSyncProtectionTest {
         when(koboSettingsService.getCurrentUserSettings()).thenReturn(testSettings);
         when(bookRepository.findById(100L)).thenReturn(Optional.of(testBook));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUserEntity));
+
+        ReadingProgressBufferStubs.writeThrough(readingProgressBuffer, progressRepository, bookRepository, userRepository);
     }
 
     private void setupMocksForSave(String entitlementId, KoboReadingState readingState) {
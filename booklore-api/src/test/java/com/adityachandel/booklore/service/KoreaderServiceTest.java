@@ -15,6 +15,8 @@ import com.adityachandel.booklore.repository.UserBookProgressRepository;
 import com.adityachandel.booklore.repository.UserRepository;
 import com.adityachandel.booklore.repository.KoreaderUserRepository;
 import com.adityachandel.booklore.service.koreader.KoreaderService;
+import com.adityachandel.booklore.service.user.ReadingProgressBuffer;
+import com.adityachandel.booklore.service.user.ReadingProgressBufferStubs;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -41,6 +43,8 @@ class KoreaderServiceTest {
     UserRepository userRepo;
     @Mock
     KoreaderUserRepository koreaderUserRepo;
+    @Mock
+    ReadingProgressBuffer readingProgressBuffer;
 
     @InjectMocks
     KoreaderService service;
@@ -58,6 +62,7 @@ class KoreaderServiceTest {
         when(auth.getPrincipal()).thenReturn(details);
         context.setAuthentication(auth);
         SecurityContextHolder.setContext(context);
+        ReadingProgressBufferStubs.writeThrough(readingProgressBuffer, progressRepo, bookRepo, userRepo);
     }
 
     @AfterEach
@@ -185,6 +190,7 @@ class KoreaderServiceTest {
         var book = new BookEntity();
         book.setId(7L);
         when(bookRepo.findByCurrentHash("h")).thenReturn(Optional.of(book));
+        when(bookRepo.findById(7L)).thenReturn(Optional.of(book));
         var user = new BookLoreUserEntity();
         user.setId(42L);
         when(userRepo.findById(42L)).thenReturn(Optional.of(user));
@@ -21,7 +21,9 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -211,6 +213,34 @@ class OpdsBookServiceTest {
         opdsBookService.getRecentBooksPage(details.getOpdsUserV2().getUserId(), 0, 10);
     }
 
+    @Test
+    void getRecentBooksAfter_seeksPastCursorWithoutCounting() {
+        v2UserDetails(1L, true, Set.of(1L));
+        Instant addedOn = Instant.parse("2025-01-01T00:00:00Z");
+        List<BookEntity> entities = new ArrayList<>();
+        for (long id = 3; id >= 1; id--) {
+            BookEntity entity = mock(BookEntity.class);
+            when(entity.getId()).thenReturn(id);
+            when(bookMapper.toBook(entity)).thenReturn(Book.builder().id(id).addedOn(addedOn).build());
+            entities.add(entity);
+        }
+        when(bookOpdsRepository.findBookIdsAfter(isNull(), isNull(), any())).thenReturn(List.of(3L, 2L, 1L));
+        when(bookOpdsRepository.findBookIdsAfter(eq(addedOn), eq(2L), any())).thenReturn(List.of(1L));
+        when(bookOpdsRepository.findAllWithMetadataByIds(List.of(3L, 2L))).thenReturn(entities.subList(0, 2));
+        when(bookOpdsRepository.findAllWithMetadataByIds(List.of(1L))).thenReturn(entities.subList(2, 3));
+
+        KeysetPage<Book> first = opdsBookService.getRecentBooksAfter(1L, null, 2);
+        KeysetPage<Book> second = opdsBookService.getRecentBooksAfter(1L, first.getNextCursor(), 2);
+
+        assertThat(first.getContent()).extracting(Book::getId).containsExactly(3L, 2L);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Book::getId).containsExactly(1L);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verify(bookOpdsRepository).findBookIdsAfter(isNull(), isNull(), eq(PageRequest.ofSize(3)));
+        verify(bookOpdsRepository, never()).findRecentBookIds(any());
+    }
+
     @Test
     void getRecentBooksPage_appliesBookFilters_forNonAdminV2User() {
         OpdsUserDetails details = v2UserDetails(2L, false, Set.of(1L, 2L));
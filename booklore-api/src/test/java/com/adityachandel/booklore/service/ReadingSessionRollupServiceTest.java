@@ -0,0 +1,51 @@
+package com.adityachandel.booklore.service;
+
+import com.adityachandel.booklore.repository.ReadingSessionBookDailyRepository;
+import com.adityachandel.booklore.repository.ReadingSessionUserDailyRepository;
+import com.adityachandel.booklore.repository.ReadingSessionUserTotalsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadingSessionRollupServiceTest {
+
+    @Mock
+    ReadingSessionUserDailyRepository userDailyRepository;
+    @Mock
+    ReadingSessionBookDailyRepository bookDailyRepository;
+    @Mock
+    ReadingSessionUserTotalsRepository userTotalsRepository;
+
+    @InjectMocks
+    ReadingSessionRollupService rollupService;
+
+    @Test
+    void removeBooks_subtractsOnlyTheRemovedBooksAndLeavesOtherRollupsAlone() {
+        List<Long> bookIds = List.of(3L, 4L);
+
+        rollupService.removeBooks(bookIds);
+
+        InOrder order = inOrder(userDailyRepository, userTotalsRepository);
+        order.verify(userDailyRepository).subtractBooks(bookIds);
+        order.verify(userTotalsRepository).subtractBooks(bookIds);
+        order.verify(userDailyRepository).deleteEmptiedByBooks(bookIds);
+        order.verify(userTotalsRepository).deleteEmptiedByBooks(bookIds);
+        verifyNoMoreInteractions(userDailyRepository, userTotalsRepository);
+        verifyNoInteractions(bookDailyRepository);
+    }
+
+    @Test
+    void removeBooks_ignoresEmptyInput() {
+        rollupService.removeBooks(List.of());
+
+        verifyNoInteractions(userDailyRepository, bookDailyRepository, userTotalsRepository);
+    }
+}
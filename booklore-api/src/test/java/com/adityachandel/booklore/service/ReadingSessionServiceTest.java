@@ -0,0 +1,117 @@
+package com.adityachandel.booklore.service;
+
+import com.adityachandel.booklore.config.security.service.AuthenticationService;
+import com.adityachandel.booklore.model.dto.BookLoreUser;
+import com.adityachandel.booklore.model.dto.request.ReadingSessionRequest;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
+import com.adityachandel.booklore.model.entity.ReadingSessionEntity;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.ReadingSessionBookDailyRepository;
+import com.adityachandel.booklore.repository.ReadingSessionRepository;
+import com.adityachandel.booklore.repository.ReadingSessionUserDailyRepository;
+import com.adityachandel.booklore.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadingSessionServiceTest {
+
+    @Mock
+    AuthenticationService authenticationService;
+    @Mock
+    ReadingSessionRepository readingSessionRepository;
+    @Mock
+    BookRepository bookRepository;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    ReadingSessionRollupService readingSessionRollupService;
+    @Mock
+    ReadingSessionUserDailyRepository userDailyRepository;
+    @Mock
+    ReadingSessionBookDailyRepository bookDailyRepository;
+
+    @InjectMocks
+    ReadingSessionService readingSessionService;
+
+    @BeforeEach
+    void setUp() {
+        BookLoreUser user = new BookLoreUser();
+        user.setId(1L);
+        lenient().when(authenticationService.getAuthenticatedUser()).thenReturn(user);
+    }
+
+    @Test
+    void recordSession_addsSavedSessionToRollups() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(BookLoreUserEntity.builder().id(1L).build()));
+        when(bookRepository.findById(5L)).thenReturn(Optional.of(BookEntity.builder().id(5L).build()));
+        when(readingSessionRepository.save(any())).thenAnswer(invocation -> {
+            ReadingSessionEntity session = invocation.getArgument(0);
+            session.setId(42L);
+            return session;
+        });
+
+        ReadingSessionRequest request = new ReadingSessionRequest();
+        request.setBookId(5L);
+        request.setStartTime(Instant.parse("2025-03-01T10:00:00Z"));
+        request.setEndTime(Instant.parse("2025-03-01T10:30:00Z"));
+        request.setDurationSeconds(1800);
+        readingSessionService.recordSession(request);
+
+        InOrder inOrder = inOrder(readingSessionRepository, readingSessionRollupService);
+        inOrder.verify(readingSessionRepository).save(any());
+        inOrder.verify(readingSessionRollupService).addSession(42L);
+    }
+
+    @Test
+    void getSessionHeatmapForYear_readsUserDailyRollupForTheWholeYear() {
+        when(userDailyRepository.findSessionCountsByUserAndDateRange(any(), any(), any())).thenReturn(List.of());
+
+        readingSessionService.getSessionHeatmapForYear(2025);
+
+        verify(userDailyRepository).findSessionCountsByUserAndDateRange(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        verifyNoInteractions(readingSessionRepository);
+    }
+
+    @Test
+    void getSessionTimelineForWeek_readsBookDailyRollupForTheWeek() {
+        when(bookDailyRepository.findTimelineByUserAndDateRange(any(), any(), any())).thenReturn(List.of());
+
+        readingSessionService.getSessionTimelineForWeek(2025, 10);
+
+        verify(bookDailyRepository).findTimelineByUserAndDateRange(1L, LocalDate.of(2025, 3, 9), LocalDate.of(2025, 3, 15));
+    }
+
+    @Test
+    void getSessionTimelineForWeek_returnsEmptyForWeeksOutsideTheYear() {
+        assertThat(readingSessionService.getSessionTimelineForWeek(2025, 60)).isEmpty();
+        verifyNoInteractions(bookDailyRepository);
+    }
+
+    @Test
+    void weekRange_matchesMysqlWeekModeZero() {
+        // 2025-01-01 is a Wednesday, so week 0 runs until Saturday and week 1 starts on Sunday the 5th.
+        assertThat(ReadingSessionService.weekRange(2025, 0)).containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 4));
+        assertThat(ReadingSessionService.weekRange(2025, 1)).containsExactly(LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 11));
+        assertThat(ReadingSessionService.weekRange(2025, 52)).containsExactly(LocalDate.of(2025, 12, 28), LocalDate.of(2025, 12, 31));
+        assertThat(ReadingSessionService.weekRange(2025, 53)).isNull();
+        // 2023-01-01 is a Sunday, so there is no week 0.
+        assertThat(ReadingSessionService.weekRange(2023, 0)).isNull();
+        assertThat(ReadingSessionService.weekRange(2023, 1)).containsExactly(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 7));
+    }
+}
@@ -0,0 +1,155 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.LibraryPathEntity;
+import com.adityachandel.booklore.model.enums.BookFileType;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.util.FileRegionWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookContentServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private byte[] content;
+    private BookContentService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = new byte[10_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(tempDir.resolve("book.pdf"), content);
+
+        BookEntity book = BookEntity.builder()
+                .id(1L)
+                .libraryPath(LibraryPathEntity.builder().path(tempDir.toString()).build())
+                .fileSubPath("")
+                .fileName("book.pdf")
+                .bookType(BookFileType.PDF)
+                .currentHash("abc123")
+                .build();
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        service = new BookContentService(bookRepository);
+    }
+
+    @Test
+    void streamBookContent_servesWholeFileWithValidators() throws IOException {
+        MockHttpServletResponse response = stream(new MockHttpServletRequest("GET", "/content"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"abc123-");
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+    }
+
+    @Test
+    void streamBookContent_servesRequestedRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/content");
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 100-199/10000");
+        assertThat(response.getContentLengthLong()).isEqualTo(100);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+    }
+
+    @Test
+    void streamBookContent_suffixRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/content");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-500");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 9500-9999/10000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 9_500, 10_000));
+    }
+
+    @Test
+    void streamBookContent_unsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/content");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20000-");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10000");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void streamBookContent_staleIfRangeGetsWholeFile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/content");
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(content.length);
+    }
+
+    @Test
+    void streamBookContent_matchingIfRangeGetsRange() throws IOException {
+        String eTag = stream(new MockHttpServletRequest("GET", "/content")).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/content");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, eTag);
+
+        assertThat(stream(request).getStatus()).isEqualTo(206);
+    }
+
+    @Test
+    void streamBookContent_matchingIfNoneMatchIsNotModified() throws IOException {
+        String eTag = stream(new MockHttpServletRequest("GET", "/content")).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/content");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void streamBookContent_handsRangeToContainerSendfile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/content");
+        request.setAttribute(FileRegionWriter.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(FileRegionWriter.SENDFILE_FILENAME)).isEqualTo(tempDir.resolve("book.pdf").toAbsolutePath().normalize().toString());
+        assertThat(request.getAttribute(FileRegionWriter.SENDFILE_START)).isEqualTo(100L);
+        assertThat(request.getAttribute(FileRegionWriter.SENDFILE_END)).isEqualTo(200L);
+    }
+
+    private MockHttpServletResponse stream(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.streamBookContent(1L, request, response);
+        return response;
+    }
+}
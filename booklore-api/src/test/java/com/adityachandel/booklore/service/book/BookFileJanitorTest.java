@@ -0,0 +1,150 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.model.entity.BookFileCleanupEntity;
+import com.adityachandel.booklore.model.enums.PermissionType;
+import com.adityachandel.booklore.model.websocket.Topic;
+import com.adityachandel.booklore.repository.BookFileCleanupRepository;
+import com.adityachandel.booklore.service.NotificationService;
+import com.adityachandel.booklore.service.cache.DiskCacheManager;
+import com.adityachandel.booklore.service.file.FileMoveHelper;
+import com.adityachandel.booklore.service.monitoring.MonitoringRegistrationService;
+import com.adityachandel.booklore.service.reader.CbxReaderService;
+import com.adityachandel.booklore.util.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookFileJanitorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileService fileService;
+    private CoverImageCache coverImageCache;
+    private DiskCacheManager diskCacheManager;
+    private FileMoveHelper fileMoveHelper;
+    private MonitoringRegistrationService monitoringRegistrationService;
+    private NotificationService notificationService;
+    private BookFileCleanupRepository bookFileCleanupRepository;
+    private ScheduledExecutorService executor;
+    private BookFileJanitor janitor;
+
+    @BeforeEach
+    void setUp() {
+        fileService = mock(FileService.class);
+        coverImageCache = mock(CoverImageCache.class);
+        diskCacheManager = mock(DiskCacheManager.class);
+        fileMoveHelper = mock(FileMoveHelper.class);
+        notificationService = mock(NotificationService.class);
+        monitoringRegistrationService = mock(MonitoringRegistrationService.class);
+        bookFileCleanupRepository = mock(BookFileCleanupRepository.class);
+        executor = mock(ScheduledExecutorService.class);
+        janitor = new BookFileJanitor(fileService, coverImageCache, diskCacheManager, fileMoveHelper,
+                monitoringRegistrationService, notificationService, bookFileCleanupRepository, executor);
+        when(fileService.getImagesFolder(anyLong())).thenAnswer(inv -> tempDir.resolve("images/" + inv.getArgument(0)).toString());
+        when(fileService.getBookMetadataBackupPath(anyLong())).thenAnswer(inv -> tempDir.resolve("backup/" + inv.getArgument(0)).toString());
+    }
+
+    @Test
+    void clean_removesBookFileCoversBackupsAndCaches() throws IOException {
+        Path root = Files.createDirectories(tempDir.resolve("library"));
+        Path bookFile = Files.writeString(Files.createDirectories(root.resolve("Author")).resolve("book.epub"), "x");
+        Path cover = Files.writeString(Files.createDirectories(tempDir.resolve("images/7")).resolve("cover.jpg"), "c");
+        Files.createDirectories(tempDir.resolve("backup/7"));
+
+        boolean cleaned = janitor.clean(new BookFileJanitor.Job(7L, bookFile, root), 1);
+
+        assertThat(cleaned).isTrue();
+        assertThat(bookFile).doesNotExist();
+        assertThat(cover.getParent()).doesNotExist();
+        assertThat(tempDir.resolve("backup/7")).doesNotExist();
+        verify(coverImageCache).invalidate(7L);
+        verify(diskCacheManager).remove(CbxReaderService.CACHE_REGION, "7");
+        verify(fileMoveHelper).deleteEmptyParentDirsUpToLibraryFolders(bookFile.getParent(), Set.of(root));
+        verify(bookFileCleanupRepository).deleteByBookId(7L);
+    }
+
+    @Test
+    void deleteFilesAndSubmit_returnsBooksWhoseFileIsStillThereAndQueuesTheRest() throws IOException {
+        Path root = Files.createDirectories(tempDir.resolve("library"));
+        Path deletable = Files.writeString(Files.createDirectories(root.resolve("Author")).resolve("book.epub"), "x");
+        BookFileJanitor.Job stuck = unreachableBookFile(8L);
+
+        List<Long> failed = janitor.deleteFilesAndSubmit(List.of(new BookFileJanitor.Job(7L, deletable, root), stuck));
+
+        assertThat(failed).containsExactly(8L);
+        assertThat(deletable).doesNotExist();
+        assertThat(stuck.bookFile()).exists();
+        verify(bookFileCleanupRepository).deleteByBookId(7L);
+        verify(bookFileCleanupRepository, never()).deleteByBookId(8L);
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void clean_keepsCleanupRecordWhileFileCannotBeDeleted() throws IOException {
+        BookFileJanitor.Job job = unreachableBookFile(8L);
+
+        assertThat(janitor.clean(job, 1)).isFalse();
+
+        verify(bookFileCleanupRepository, never()).deleteByBookId(anyLong());
+    }
+
+    @Test
+    void resumePending_queuesFilesLeftOverFromLastRun() {
+        when(bookFileCleanupRepository.findAll()).thenReturn(List.of(
+                new BookFileCleanupEntity(5L, "/books/Author/book.epub", "/books", LocalDateTime.now())));
+
+        janitor.resumePending();
+
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void run_retriesFailedJobsWithBackoffInsteadOfReporting() throws IOException {
+        BookFileJanitor.Job job = unreachableBookFile(8L);
+
+        janitor.run(List.of(job), 1, null);
+
+        verify(executor).schedule(any(Runnable.class), eq(BookFileJanitor.RETRY_DELAY_MS), eq(TimeUnit.MILLISECONDS));
+        verify(notificationService, never()).sendMessageToPermissions(eq(Topic.LOG), any(), any());
+    }
+
+    @Test
+    void run_reportsJobsStillFailingOnLastAttempt() throws IOException {
+        BookFileJanitor.Job job = unreachableBookFile(9L);
+
+        janitor.run(List.of(job), BookFileJanitor.MAX_ATTEMPTS, null);
+
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+        verify(notificationService).sendMessageToPermissions(eq(Topic.LOG), any(), eq(Set.of(PermissionType.ADMIN)));
+        verifyNoInteractions(coverImageCache);
+    }
+
+    private BookFileJanitor.Job unreachableBookFile(long bookId) throws IOException {
+        Path root = Files.createDirectories(tempDir.resolve("library"));
+        Path bookFile = Files.writeString(root.resolve(bookId + ".epub"), "x");
+        doThrow(new IllegalStateException("share offline")).when(monitoringRegistrationService).unregisterSpecificPath(root);
+        return new BookFileJanitor.Job(bookId, bookFile, root);
+    }
+
+    @Test
+    void submit_doesNothingForEmptyBatch() {
+        janitor.submit(List.of());
+
+        verifyNoInteractions(executor);
+    }
+}
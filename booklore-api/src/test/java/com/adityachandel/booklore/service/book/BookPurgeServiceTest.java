@@ -0,0 +1,128 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.model.entity.BookFileCleanupEntity;
+import com.adityachandel.booklore.service.ReadingSessionRollupService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookPurgeServiceTest {
+
+    private EntityManager entityManager;
+    private Query nativeQuery;
+    private Query locationQuery;
+    private BookFileJanitor janitor;
+    private ReadingSessionRollupService rollupService;
+    private PlatformTransactionManager transactionManager;
+    private BookPurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        nativeQuery = mock(Query.class);
+        locationQuery = mock(Query.class);
+        janitor = mock(BookFileJanitor.class);
+        rollupService = mock(ReadingSessionRollupService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        when(entityManager.createNativeQuery(anyString())).thenReturn(nativeQuery);
+        when(nativeQuery.setParameter(eq("ids"), any())).thenReturn(nativeQuery);
+        when(entityManager.createQuery(anyString())).thenReturn(locationQuery);
+        when(locationQuery.setParameter(eq("ids"), any())).thenReturn(locationQuery);
+
+        purgeService = new BookPurgeService(janitor, rollupService, transactionManager);
+        ReflectionTestUtils.setField(purgeService, "entityManager", entityManager);
+    }
+
+    @Test
+    void purge_deletesChildTablesBeforeBookInOneTransactionPerChunk() {
+        List<Long> ids = LongStream.rangeClosed(1, BookPurgeService.CHUNK_SIZE + 1).boxed().toList();
+        Query bookDelete = mock(Query.class);
+        when(entityManager.createNativeQuery("DELETE FROM book WHERE id IN (:ids)")).thenReturn(bookDelete);
+        when(bookDelete.setParameter(eq("ids"), any())).thenReturn(bookDelete);
+        when(bookDelete.executeUpdate()).thenReturn(BookPurgeService.CHUNK_SIZE, 1);
+
+        int deleted = purgeService.purge(ids, false);
+
+        assertThat(deleted).isEqualTo(BookPurgeService.CHUNK_SIZE + 1);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(janitor, times(2)).submit(anyList());
+
+        InOrder order = inOrder(entityManager);
+        order.verify(entityManager).createNativeQuery("DELETE FROM book_metadata_author_mapping WHERE book_id IN (:ids)");
+        order.verify(entityManager).createNativeQuery("DELETE FROM book_metadata WHERE book_id IN (:ids)");
+        order.verify(entityManager).createNativeQuery("DELETE FROM book_additional_file WHERE book_id IN (:ids)");
+        order.verify(entityManager).createNativeQuery("DELETE FROM book WHERE id IN (:ids)");
+    }
+
+    @Test
+    void purge_subtractsOnlyThePurgedBooksFromRollupsBeforeDeletingTheirSessions() {
+        List<Long> ids = LongStream.rangeClosed(1, BookPurgeService.CHUNK_SIZE + 1).boxed().toList();
+
+        purgeService.purge(ids, false);
+
+        InOrder order = inOrder(entityManager, rollupService);
+        order.verify(rollupService).removeBooks(ids.subList(0, BookPurgeService.CHUNK_SIZE));
+        order.verify(entityManager).createNativeQuery("DELETE FROM reading_sessions WHERE book_id IN (:ids)");
+        order.verify(rollupService).removeBooks(ids.subList(BookPurgeService.CHUNK_SIZE, ids.size()));
+        order.verify(entityManager).createNativeQuery("DELETE FROM reading_sessions WHERE book_id IN (:ids)");
+        verify(rollupService, never()).rebuildForUsers(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void purge_withBookFilesQueuesFileLocationsForTheJanitor() {
+        when(locationQuery.getResultList()).thenReturn(List.<Object[]>of(
+                new Object[]{5L, "/books", "Author", "book.epub"},
+                new Object[]{6L, null, null, null}));
+        when(nativeQuery.executeUpdate()).thenReturn(2);
+
+        purgeService.purge(List.of(5L, 6L), true);
+
+        ArgumentCaptor<List<BookFileJanitor.Job>> jobs = ArgumentCaptor.forClass(List.class);
+        verify(janitor).submit(jobs.capture());
+        assertThat(jobs.getValue()).containsExactly(
+                new BookFileJanitor.Job(5L, Path.of("/books", "Author", "book.epub"), Path.of("/books")),
+                new BookFileJanitor.Job(6L, null, null));
+
+        ArgumentCaptor<BookFileCleanupEntity> pending = ArgumentCaptor.forClass(BookFileCleanupEntity.class);
+        InOrder order = inOrder(entityManager);
+        order.verify(entityManager).persist(pending.capture());
+        order.verify(entityManager).createNativeQuery("DELETE FROM book WHERE id IN (:ids)");
+        assertThat(pending.getValue().getBookId()).isEqualTo(5L);
+        assertThat(pending.getValue().getFilePath()).isEqualTo(Path.of("/books", "Author", "book.epub").toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void purgeWithFiles_returnsBooksWhoseFileSurvivedTheFirstAttempt() {
+        when(locationQuery.getResultList()).thenReturn(List.<Object[]>of(new Object[]{5L, "/books", "Author", "book.epub"}));
+        when(janitor.deleteFilesAndSubmit(anyList())).thenReturn(List.of(5L));
+
+        List<Long> failed = purgeService.purgeWithFiles(List.of(5L));
+
+        assertThat(failed).containsExactly(5L);
+        verify(janitor, never()).submit(anyList());
+    }
+
+    @Test
+    void purge_ignoresEmptyInput() {
+        assertThat(purgeService.purge(List.of(), true)).isZero();
+
+        verifyNoInteractions(entityManager, janitor, rollupService, transactionManager);
+    }
+}
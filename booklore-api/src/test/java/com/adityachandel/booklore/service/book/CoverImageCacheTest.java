@@ -0,0 +1,117 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.cluster.ClusterMessageEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CoverImageCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ClusterEventRelay clusterEventRelay;
+    private CoverImageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getCoverCache().setMaxMemoryMb(1);
+        clusterEventRelay = mock(ClusterEventRelay.class);
+        cache = new CoverImageCache(appProperties, clusterEventRelay);
+    }
+
+    @Test
+    void get_servesFromMemoryAfterFirstRead() throws IOException {
+        Path file = write("1.jpg", 1_000, (byte) 1);
+
+        CoverImageCache.CachedImage first = cache.get(1L, CoverImageCache.Kind.THUMBNAIL, file).orElseThrow();
+        Files.delete(file);
+        CoverImageCache.CachedImage second = cache.get(1L, CoverImageCache.Kind.THUMBNAIL, file).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.hash()).isEqualTo(CoverImageCache.contentHash(second.data())).hasSize(16);
+        assertThat(cache.getUsedBytes()).isEqualTo(1_000);
+    }
+
+    @Test
+    void get_missingFileIsEmpty() {
+        Optional<CoverImageCache.CachedImage> image = cache.get(1L, CoverImageCache.Kind.COVER, tempDir.resolve("missing.jpg"));
+
+        assertThat(image).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidate_dropsBothKindsAndNotifiesOtherInstances() throws IOException {
+        Path thumbnail = write("t.jpg", 1_000, (byte) 1);
+        Path cover = write("c.jpg", 2_000, (byte) 2);
+        cache.get(7L, CoverImageCache.Kind.THUMBNAIL, thumbnail);
+        cache.get(7L, CoverImageCache.Kind.COVER, cover);
+
+        cache.invalidate(7L);
+        Files.write(thumbnail, filled(1_000, (byte) 3));
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getUsedBytes()).isZero();
+        assertThat(cache.get(7L, CoverImageCache.Kind.THUMBNAIL, thumbnail).orElseThrow().data()[0]).isEqualTo((byte) 3);
+        verify(clusterEventRelay).publish(ClusterEventType.CACHE_INVALIDATION, CoverImageCache.CACHE_NAME, "7");
+    }
+
+    @Test
+    void onClusterMessage_dropsEntry() throws IOException {
+        cache.get(3L, CoverImageCache.Kind.THUMBNAIL, write("3.jpg", 1_000, (byte) 1));
+
+        cache.onClusterMessage(new ClusterMessageEvent(this, ClusterEventType.CACHE_INVALIDATION, CoverImageCache.CACHE_NAME, "3"));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedOverBudget() throws IOException {
+        int entrySize = 40 * 1024;
+        for (long bookId = 1; bookId <= 30; bookId++) {
+            cache.get(bookId, CoverImageCache.Kind.THUMBNAIL, write(bookId + ".jpg", entrySize, (byte) bookId));
+            if (bookId > 1) {
+                cache.get(1L, CoverImageCache.Kind.THUMBNAIL, tempDir.resolve("1.jpg"));
+            }
+        }
+
+        assertThat(cache.getUsedBytes()).isLessThanOrEqualTo(1024 * 1024);
+        Files.delete(tempDir.resolve("1.jpg"));
+        Files.delete(tempDir.resolve("2.jpg"));
+        assertThat(cache.get(1L, CoverImageCache.Kind.THUMBNAIL, tempDir.resolve("1.jpg"))).isPresent();
+        assertThat(cache.get(2L, CoverImageCache.Kind.THUMBNAIL, tempDir.resolve("2.jpg"))).isEmpty();
+    }
+
+    @Test
+    void get_doesNotKeepOversizedImages() throws IOException {
+        Path file = write("big.jpg", 100 * 1024, (byte) 1);
+
+        assertThat(cache.get(1L, CoverImageCache.Kind.COVER, file)).isPresent();
+        assertThat(cache.size()).isZero();
+    }
+
+    private Path write(String name, int size, byte value) throws IOException {
+        return Files.write(tempDir.resolve(name), filled(size, value));
+    }
+
+    private static byte[] filled(int size, byte value) {
+        byte[] data = new byte[size];
+        Arrays.fill(data, value);
+        return data;
+    }
+}
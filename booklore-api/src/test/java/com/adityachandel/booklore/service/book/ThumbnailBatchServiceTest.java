@@ -0,0 +1,72 @@
+package com.adityachandel.booklore.service.book;
+
+import com.adityachandel.booklore.exception.APIException;
+import com.adityachandel.booklore.util.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ThumbnailBatchServiceTest {
+
+    private CoverImageCache coverImageCache;
+    private ThumbnailBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        coverImageCache = mock(CoverImageCache.class);
+        FileService fileService = mock(FileService.class);
+        when(fileService.getThumbnailFile(anyLong())).thenAnswer(invocation -> "/covers/" + invocation.getArgument(0) + "/thumbnail.jpg");
+        service = new ThumbnailBatchService(coverImageCache, fileService);
+    }
+
+    @Test
+    void resolveBatch_dropsDuplicatesKeepingOrder() {
+        assertThat(service.resolveBatch(List.of(3L, 1L, 3L, 2L))).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void resolveBatch_rejectsEmptyAndOversizedBatches() {
+        List<Long> tooMany = LongStream.rangeClosed(1, ThumbnailBatchService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThatThrownBy(() -> service.resolveBatch(Collections.emptyList())).isInstanceOf(APIException.class);
+        assertThatThrownBy(() -> service.resolveBatch(tooMany)).isInstanceOf(APIException.class);
+    }
+
+    @Test
+    void writeThumbnails_writesOnePartPerAvailableThumbnail() throws Exception {
+        when(coverImageCache.get(eq(1L), eq(CoverImageCache.Kind.THUMBNAIL), any(Path.class)))
+                .thenReturn(Optional.of(new CoverImageCache.CachedImage("one".getBytes(StandardCharsets.US_ASCII), "aaaa")));
+        when(coverImageCache.get(eq(2L), eq(CoverImageCache.Kind.THUMBNAIL), any(Path.class)))
+                .thenReturn(Optional.empty());
+        when(coverImageCache.get(eq(3L), eq(CoverImageCache.Kind.THUMBNAIL), any(Path.class)))
+                .thenReturn(Optional.of(new CoverImageCache.CachedImage("three".getBytes(StandardCharsets.US_ASCII), "cccc")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int written = service.writeThumbnails(List.of(3L, 2L, 1L), "b", out);
+
+        assertThat(written).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo(
+                "--b\r\n"
+                        + "Content-Type: image/jpeg\r\nContent-Length: 5\r\nX-Book-Id: 3\r\nETag: \"cccc\"\r\n\r\n"
+                        + "three\r\n"
+                        + "--b\r\n"
+                        + "Content-Type: image/jpeg\r\nContent-Length: 3\r\nX-Book-Id: 1\r\nETag: \"aaaa\"\r\n\r\n"
+                        + "one\r\n"
+                        + "--b--\r\n");
+    }
+}
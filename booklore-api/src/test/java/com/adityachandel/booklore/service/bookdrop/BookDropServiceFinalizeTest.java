@@ -3,6 +3,7 @@ package com.adityachandel.booklore.service.bookdrop;
 import com.adityachandel.booklore.config.AppProperties;
 import com.adityachandel.booklore.model.dto.request.BookdropFinalizeRequest;
 import com.adityachandel.booklore.model.dto.response.BookdropFinalizeResult;
+import com.adityachandel.booklore.model.entity.BookdropFileEntity;
 import com.adityachandel.booklore.repository.BookdropFileRepository;
 import com.adityachandel.booklore.repository.LibraryRepository;
 import com.adityachandel.booklore.service.NotificationService;
@@ -18,6 +19,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -78,4 +81,25 @@ class BookDropServiceFinalizeTest {
         verify(bookdropFileRepository).findAllExcludingIdsFlat(List.of(3L));
         verify(bookdropFileRepository, never()).findAllIds();
     }
+
+    @Test
+    void finalizeImport_duplicateFile_isReportedAsFailedWithoutMoving() {
+        BookdropFinalizeRequest.BookdropFinalizeFile file = new BookdropFinalizeRequest.BookdropFinalizeFile();
+        file.setFileId(5L);
+        BookdropFinalizeRequest request = new BookdropFinalizeRequest();
+        request.setSelectAll(false);
+        request.setFiles(List.of(file));
+        request.setDefaultLibraryId(1L);
+        request.setDefaultPathId(1L);
+
+        BookdropFileEntity duplicate = BookdropFileEntity.builder()
+                .id(5L).fileName("book.epub").filePath("/bookdrop/book.epub").status(BookdropFileEntity.Status.DUPLICATE).build();
+        when(bookdropFileRepository.findAllById(anyList())).thenReturn(List.of(duplicate));
+
+        BookdropFinalizeResult result = bookDropService.finalizeImport(request);
+
+        assertEquals(1, result.getFailed());
+        assertFalse(result.getResults().getFirst().isSuccess());
+        verifyNoInteractions(fileMovingHelper);
+    }
 }
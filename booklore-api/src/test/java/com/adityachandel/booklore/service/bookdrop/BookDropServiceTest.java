@@ -7,6 +7,7 @@ import com.adityachandel.booklore.model.dto.Book;
 import com.adityachandel.booklore.model.dto.BookMetadata;
 import com.adityachandel.booklore.model.dto.BookdropFile;
 import com.adityachandel.booklore.model.dto.BookdropFileNotification;
+import com.adityachandel.booklore.model.dto.KeysetPage;
 import com.adityachandel.booklore.model.dto.request.BookdropFinalizeRequest;
 import com.adityachandel.booklore.model.dto.response.BookdropFinalizeResult;
 import com.adityachandel.booklore.model.entity.BookEntity;
@@ -187,6 +188,28 @@ class BookDropServiceTest {
         verify(mapper).toDto(bookdropFileEntity);
     }
 
+    @Test
+    void getFilesByStatusAfter_ShouldSeekPastCursorAndSkipCount() {
+        BookdropFileEntity second = new BookdropFileEntity();
+        second.setId(5L);
+        when(bookdropFileRepository.findByStatusAfter(BookdropFileEntity.Status.PENDING_REVIEW, 0L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(bookdropFileEntity, second));
+        when(bookdropFileRepository.findByStatusAfter(BookdropFileEntity.Status.PENDING_REVIEW, 1L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(second));
+        when(mapper.toDto(any(BookdropFileEntity.class))).thenReturn(bookdropFile);
+
+        KeysetPage<BookdropFile> first = bookDropService.getFilesByStatusAfter("pending", null, 1, false);
+        KeysetPage<BookdropFile> next = bookDropService.getFilesByStatusAfter("pending", first.getNextCursor(), 1, false);
+
+        assertEquals(1, first.getContent().size());
+        assertTrue(first.isHasNext());
+        assertNull(first.getTotalElements());
+        assertEquals(1, next.getContent().size());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+        verify(bookdropFileRepository, never()).countByStatus(any());
+    }
+
     @Test
     void getBookdropCover_WhenCoverExists_ShouldReturnResource() throws IOException {
         long bookdropId = 1L;
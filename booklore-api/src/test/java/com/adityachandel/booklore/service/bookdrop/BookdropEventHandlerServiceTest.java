@@ -0,0 +1,116 @@
+package com.adityachandel.booklore.service.bookdrop;
+
+import com.adityachandel.booklore.model.BookDropFileEvent;
+import com.adityachandel.booklore.model.dto.settings.AppSettings;
+import com.adityachandel.booklore.model.entity.BookdropFileEntity;
+import com.adityachandel.booklore.repository.BookAdditionalFileRepository;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.BookdropFileRepository;
+import com.adityachandel.booklore.service.NotificationService;
+import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookdropEventHandlerServiceTest {
+
+    @Mock
+    BookdropFileRepository bookdropFileRepository;
+    @Mock
+    BookRepository bookRepository;
+    @Mock
+    BookAdditionalFileRepository bookAdditionalFileRepository;
+    @Mock
+    NotificationService notificationService;
+    @Mock
+    BookdropNotificationService bookdropNotificationService;
+    @Mock
+    AppSettingService appSettingService;
+    @Mock
+    BookdropMetadataService bookdropMetadataService;
+
+    @TempDir
+    Path tempDir;
+
+    BookdropEventHandlerService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookdropEventHandlerService(bookdropFileRepository, bookRepository, bookAdditionalFileRepository,
+                notificationService, bookdropNotificationService, appSettingService, bookdropMetadataService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void processFile_fileAlreadyInLibrary_isRecordedAsDuplicate() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("book.epub"), "content");
+        when(bookdropFileRepository.findByFilePath(anyString())).thenReturn(Optional.empty());
+        when(bookRepository.existsActiveByCurrentHash(anyString())).thenReturn(true);
+
+        service.processFile(new BookDropFileEvent(file, StandardWatchEventKinds.ENTRY_CREATE));
+
+        verify(bookdropFileRepository).save(argThat(entity -> entity.getStatus() == BookdropFileEntity.Status.DUPLICATE
+                && entity.getFilePath().equals(file.toAbsolutePath().toString())));
+        verifyNoInteractions(bookdropMetadataService);
+    }
+
+    @Test
+    void processFile_recordedDuplicate_isNotHashedAgain() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("book.epub"), "content");
+        BookdropFileEntity duplicate = BookdropFileEntity.builder().id(3L).status(BookdropFileEntity.Status.DUPLICATE).build();
+        when(bookdropFileRepository.findByFilePath(file.toAbsolutePath().toString())).thenReturn(Optional.of(duplicate));
+
+        service.processFile(new BookDropFileEvent(file, StandardWatchEventKinds.ENTRY_CREATE));
+
+        verifyNoInteractions(bookRepository, bookAdditionalFileRepository, bookdropMetadataService);
+        verify(bookdropFileRepository, never()).save(any());
+    }
+
+    @Test
+    void processFile_newFile_extractsAndFetchesMetadataInBackground() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("book.epub"), "content");
+        when(bookdropFileRepository.findByFilePath(anyString())).thenReturn(Optional.empty());
+        when(bookRepository.existsActiveByCurrentHash(anyString())).thenReturn(false);
+        when(bookAdditionalFileRepository.findByAltFormatCurrentHash(anyString())).thenReturn(Optional.empty());
+        when(bookdropFileRepository.save(any())).thenAnswer(invocation -> {
+            BookdropFileEntity entity = invocation.getArgument(0);
+            entity.setId(7L);
+            return entity;
+        });
+        when(appSettingService.getAppSettings()).thenReturn(AppSettings.builder().metadataDownloadOnBookdrop(true).build());
+
+        service.processFile(new BookDropFileEvent(file, StandardWatchEventKinds.ENTRY_CREATE));
+
+        verify(bookdropMetadataService, timeout(2000)).attachInitialMetadata(7L);
+        verify(bookdropMetadataService, timeout(2000)).attachFetchedMetadata(7L);
+    }
+
+    @Test
+    void flushNotifications_sendsSingleSummaryForManyChanges() {
+        service.processFile(new BookDropFileEvent(tempDir.resolve("a.epub"), StandardWatchEventKinds.ENTRY_DELETE));
+        service.processFile(new BookDropFileEvent(tempDir.resolve("b.epub"), StandardWatchEventKinds.ENTRY_DELETE));
+
+        service.flushNotifications();
+        service.flushNotifications();
+
+        verify(bookdropNotificationService, times(1)).sendBookdropFileSummaryNotification();
+    }
+}
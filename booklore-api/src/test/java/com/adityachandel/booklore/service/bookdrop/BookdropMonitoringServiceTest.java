@@ -1,6 +1,8 @@
 package com.adityachandel.booklore.service.bookdrop;
 
 import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.service.cluster.LeaderElectionService;
+import com.adityachandel.booklore.service.startup.StartupPhaseService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -27,9 +29,11 @@ class BookdropMonitoringServiceTest {
     void setUp() {
         appProperties = mock(AppProperties.class);
         eventHandler = mock(BookdropEventHandlerService.class);
+        LeaderElectionService leaderElectionService = mock(LeaderElectionService.class);
+        when(leaderElectionService.isLeader()).thenReturn(true);
         
         when(appProperties.getBookdropFolder()).thenReturn(tempDir.toString());
-        monitoringService = new BookdropMonitoringService(appProperties, eventHandler);
+        monitoringService = new BookdropMonitoringService(appProperties, eventHandler, leaderElectionService, new StartupPhaseService(new AppProperties()));
     }
 
     @Test
@@ -640,5 +640,42 @@ class FilenamePatternExtractorTest {
         assertNotNull(result2);
         assertEquals(20.0f, result2.getSeriesNumber());
     }
-}
 
+    @Test
+    void bulkExtract_WithLargeBatch_ExtractsInParallelAndKeepsFileOrder() {
+        List<BookdropFileEntity> files = new java.util.ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            files.add(createFileEntity(id, id % 10 == 0 ? "Unrelated " + id + ".cbz" : "Series " + id + " - Ch " + id + ".cbz"));
+        }
+        List<Long> ids = files.stream().map(BookdropFileEntity::getId).toList();
+
+        BookdropPatternExtractRequest request = new BookdropPatternExtractRequest();
+        request.setPattern("{SeriesName} - Ch {SeriesNumber}");
+        request.setSelectAll(false);
+        request.setSelectedIds(ids);
+        request.setPreview(false);
+
+        when(metadataHelper.resolveFileIds(false, null, ids)).thenReturn(ids);
+        when(bookdropFileRepository.findAllById(ids)).thenReturn(files);
+        when(metadataHelper.getCurrentMetadata(any())).thenReturn(new BookMetadata());
+
+        BookdropPatternExtractResult result = extractor.bulkExtract(request);
+
+        assertEquals(200, result.getTotalFiles());
+        assertEquals(180, result.getSuccessfullyExtracted());
+        assertEquals(20, result.getFailed());
+        assertEquals(ids, result.getResults().stream().map(BookdropPatternExtractResult.FileExtractionResult::getFileId).toList());
+        assertEquals(42.0f, result.getResults().get(41).getExtractedMetadata().getSeriesNumber());
+    }
+
+    @Test
+    void extractFromFilename_WithPathologicalFilename_ReturnsWithoutTimeout() {
+        String filename = " ".repeat(5000) + ".epub";
+        String pattern = "{SeriesName} {Title} {Authors} {Publisher} {Subtitle} - {Language}x";
+
+        BookMetadata result = assertTimeoutPreemptively(java.time.Duration.ofSeconds(1),
+                () -> extractor.extractFromFilename(filename, pattern));
+
+        assertNull(result);
+    }
+}
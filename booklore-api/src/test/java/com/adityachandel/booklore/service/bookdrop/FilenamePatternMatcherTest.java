@@ -0,0 +1,51 @@
+package com.adityachandel.booklore.service.bookdrop;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilenamePatternMatcherTest {
+
+    @Test
+    void compile_WithBlankPattern_ReturnsNull() {
+        assertNull(FilenamePatternMatcher.compile(null));
+        assertNull(FilenamePatternMatcher.compile("  "));
+    }
+
+    @Test
+    void match_TextCapturesAreShortestExceptAtTheEnd() {
+        FilenamePatternMatcher matcher = FilenamePatternMatcher.compile("{Authors} - {Title}");
+
+        assertArrayEquals(new String[]{"Jane Doe", "Part One - Part Two"}, matcher.match("Jane Doe - Part One - Part Two"));
+    }
+
+    @Test
+    void match_FindsTheLeftmostMatchAnywhereInTheName() {
+        FilenamePatternMatcher matcher = FilenamePatternMatcher.compile("Vol.{SeriesNumber}");
+
+        assertArrayEquals(new String[]{"12.5"}, matcher.match("Chronicles Vol.12.5 (of 20)"));
+    }
+
+    @Test
+    void match_RetriesLaterDelimitersWhenATypedCaptureFails() {
+        FilenamePatternMatcher matcher = FilenamePatternMatcher.compile("{Title} - {ISBN13}");
+
+        assertArrayEquals(new String[]{"Dune - Deluxe", "9780441172719"}, matcher.match("Dune - Deluxe - 9780441172719"));
+    }
+
+    @Test
+    void match_DateFormatPrefersTwoDigitFieldsButFallsBackToOne() {
+        FilenamePatternMatcher matcher = FilenamePatternMatcher.compile("{Title} ({Published:yyyy-M-d})");
+
+        assertArrayEquals(new String[]{"Dune", "1965-8-1"}, matcher.match("Dune (1965-8-1)"));
+        assertArrayEquals(new String[]{"Dune", "1965-12-31"}, matcher.match("Dune (1965-12-31)"));
+    }
+
+    @Test
+    void match_WithNoMatch_ReturnsNull() {
+        FilenamePatternMatcher matcher = FilenamePatternMatcher.compile("{SeriesName} #{SeriesNumber}");
+
+        assertNull(matcher.match("Chronicles #"));
+        assertNull(matcher.match("Chronicles"));
+    }
+}
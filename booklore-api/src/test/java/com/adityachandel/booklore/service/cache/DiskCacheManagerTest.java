@@ -0,0 +1,117 @@
+package com.adityachandel.booklore.service.cache;
+
+import com.adityachandel.booklore.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiskCacheManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AppProperties appProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private DiskCacheManager manager;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.setPathConfig(tempDir.toString());
+        meterRegistry = new SimpleMeterRegistry();
+        manager = newManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    void admit_evictsLeastRecentlyUsedAcrossRegions() throws IOException {
+        store("cbx", "1", 400);
+        manager.admit("cbx", "1", 400);
+        store("pdf", "2", 400);
+        manager.admit("pdf", "2", 400);
+        manager.touch("cbx", "1");
+
+        store("pdf", "3", 400);
+        manager.admit("pdf", "3", 400);
+
+        assertThat(tempDir.resolve("pdf/2")).doesNotExist();
+        assertThat(tempDir.resolve("cbx/1")).exists();
+        assertThat(manager.getTotalSize()).isEqualTo(800);
+        assertThat(meterRegistry.counter("booklore.disk.cache.evictions", "region", "pdf").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("booklore.disk.cache.hits", "region", "cbx").count()).isEqualTo(1);
+    }
+
+    @Test
+    void admit_neverEvictsTheEntryBeingAdmitted() throws IOException {
+        store("cbx", "big", 1_500);
+        manager.admit("cbx", "big", 1_500);
+
+        assertThat(tempDir.resolve("cbx/big")).exists();
+        assertThat(manager.getRegionEntries("cbx")).isEqualTo(1);
+    }
+
+    @Test
+    void journal_restoresSizesAndRecencyWithoutMeasuring() throws Exception {
+        store("cbx", "1", 100);
+        manager.admit("cbx", "1", 300);
+        store("pdf", "2", 100);
+        manager.admit("pdf", "2", 300);
+        Thread.sleep(5);
+        manager.touch("cbx", "1");
+        manager.close();
+
+        manager = newManager();
+        store("pdf", "3", 700);
+        manager.admit("pdf", "3", 700);
+
+        assertThat(manager.getRegionSize("cbx")).isEqualTo(300);
+        assertThat(tempDir.resolve("pdf/2")).doesNotExist();
+        assertThat(tempDir.resolve("cbx/1")).exists();
+    }
+
+    @Test
+    void load_adoptsEntriesMissingFromJournal() throws IOException {
+        store("cbx", "legacy", 250);
+
+        assertThat(manager.touch("cbx", "legacy")).isTrue();
+        assertThat(manager.getRegionSize("cbx")).isEqualTo(250);
+    }
+
+    @Test
+    void clear_emptiesOnlyThatRegion() throws IOException {
+        store("cbx", "1", 100);
+        manager.admit("cbx", "1", 100);
+        store("pdf", "2", 100);
+        manager.admit("pdf", "2", 100);
+
+        manager.clear("cbx");
+
+        assertThat(tempDir.resolve("cbx")).isEmptyDirectory();
+        assertThat(manager.getRegionSize("cbx")).isZero();
+        assertThat(manager.touch("pdf", "2")).isTrue();
+    }
+
+    private DiskCacheManager newManager() {
+        DiskCacheManager cacheManager = new DiskCacheManager(appProperties, meterRegistry);
+        cacheManager.register(new DiskCacheRegion("cbx", tempDir.resolve("cbx"), () -> 500));
+        cacheManager.register(new DiskCacheRegion("pdf", tempDir.resolve("pdf"), () -> 500));
+        return cacheManager;
+    }
+
+    private void store(String region, String id, int bytes) throws IOException {
+        Path dir = Files.createDirectories(tempDir.resolve(region).resolve(id));
+        Files.write(dir.resolve("page.jpg"), new byte[bytes]);
+    }
+}
@@ -0,0 +1,132 @@
+package com.adityachandel.booklore.service.cluster;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.model.entity.ClusterEventEntity;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.repository.ClusterEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterEventRelayTest {
+
+    @Mock
+    SimpMessagingTemplate messagingTemplate;
+    @Mock
+    ClusterEventRepository eventRepository;
+    @Mock
+    LeaderElectionService leaderElectionService;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    AppProperties appProperties;
+    ClusterEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getCluster().setRelayPollMillis(3_600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    @Test
+    void sendToUser_withoutCluster_onlyDeliversLocally() {
+        relay = newRelay();
+        relay.start();
+
+        relay.sendToUser("alice", "/queue/log", Map.of("message", "hi"));
+        relay.poll();
+
+        verify(messagingTemplate).convertAndSendToUser("alice", "/queue/log", Map.of("message", "hi"));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendToUser_inCluster_writesTheMessageOnTheNextPoll() {
+        appProperties.getCluster().setEnabled(true);
+        when(leaderElectionService.getNodeId()).thenReturn("node-a");
+        relay = newRelay();
+        relay.start();
+
+        relay.sendToUser("alice", "/queue/log", Map.of("message", "hi"));
+        relay.publish(ClusterEventType.CACHE_INVALIDATION, "app-settings", null);
+        verify(eventRepository, never()).saveAll(any());
+        relay.poll();
+
+        ArgumentCaptor<List<ClusterEventEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(ClusterEventEntity::getType)
+                .containsExactly(ClusterEventType.USER_MESSAGE, ClusterEventType.CACHE_INVALIDATION);
+        ClusterEventEntity message = saved.getValue().getFirst();
+        assertThat(message.getOriginNode()).isEqualTo("node-a");
+        assertThat(message.getTarget()).isEqualTo("alice");
+        assertThat(message.getDestination()).isEqualTo("/queue/log");
+        assertThat(message.getPayload()).isEqualTo("{\"message\":\"hi\"}");
+    }
+
+    @Test
+    void poll_deliversForeignEventsOnce() {
+        appProperties.getCluster().setEnabled(true);
+        when(leaderElectionService.getNodeId()).thenReturn("node-a");
+        when(eventRepository.findMaxId()).thenReturn(10L);
+        ClusterEventEntity message = event(11L, ClusterEventType.USER_MESSAGE, "bob", "/queue/book-add", "{\"id\":5}");
+        ClusterEventEntity invalidation = event(12L, ClusterEventType.CACHE_INVALIDATION, "app-settings", null, null);
+        when(eventRepository.findForeignEventsAfter(eq(10L), eq("node-a"), any()))
+                .thenReturn(List.of(message, invalidation), List.of(message, invalidation));
+        relay = newRelay();
+        relay.start();
+
+        relay.poll();
+        relay.poll();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("bob"), eq("/queue/book-add"), payload.capture());
+        assertThat(((JsonNode) payload.getValue()).get("id").asInt()).isEqualTo(5);
+        ArgumentCaptor<ClusterMessageEvent> published = ArgumentCaptor.forClass(ClusterMessageEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(published.capture());
+        assertThat(published.getValue().getType()).isEqualTo(ClusterEventType.CACHE_INVALIDATION);
+        assertThat(published.getValue().getTarget()).isEqualTo("app-settings");
+    }
+
+    private ClusterEventRelay newRelay() {
+        return new ClusterEventRelay(messagingTemplate, eventRepository, leaderElectionService, eventPublisher,
+                new ObjectMapper(), transactionManager, appProperties);
+    }
+
+    private ClusterEventEntity event(long id, ClusterEventType type, String target, String destination, String payload) {
+        return ClusterEventEntity.builder()
+                .id(id)
+                .originNode("node-b")
+                .type(type)
+                .target(target)
+                .destination(destination)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
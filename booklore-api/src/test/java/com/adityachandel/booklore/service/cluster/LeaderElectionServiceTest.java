@@ -0,0 +1,118 @@
+package com.adityachandel.booklore.service.cluster;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.repository.ClusterLeaseRepository;
+import com.adityachandel.booklore.repository.ClusterNodeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderElectionServiceTest {
+
+    @Mock
+    ClusterLeaseRepository leaseRepository;
+    @Mock
+    ClusterNodeRepository nodeRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    AppProperties appProperties;
+    LeaderElectionService service;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getCluster().setNodeId("node-a");
+        appProperties.getCluster().setHeartbeatSeconds(3600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void disabledCluster_isAlwaysLeaderAndNeverTouchesTheDatabase() {
+        service = newService();
+        service.start();
+
+        assertThat(service.isLeader()).isTrue();
+        assertThat(service.isNodeAlive("node-a")).isTrue();
+        assertThat(service.isNodeAlive("node-b")).isFalse();
+        verifyNoInteractions(leaseRepository, nodeRepository);
+    }
+
+    @Test
+    void start_takesTheLeaseWithoutPublishingAnEvent() {
+        appProperties.getCluster().setEnabled(true);
+        when(leaseRepository.tryAcquire(LeaderElectionService.LEADER_LEASE, "node-a", 30)).thenReturn(1);
+        service = newService();
+
+        service.start();
+
+        assertThat(service.isLeader()).isTrue();
+        verify(nodeRepository).heartbeat("node-a");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void heartbeat_publishesLeadershipChanges() {
+        appProperties.getCluster().setEnabled(true);
+        when(leaseRepository.tryAcquire(anyString(), anyString(), anyInt())).thenReturn(0, 1, 0);
+        service = newService();
+        service.start();
+        assertThat(service.isLeader()).isFalse();
+
+        service.heartbeat();
+        service.heartbeat();
+
+        ArgumentCaptor<LeadershipChangedEvent> events = ArgumentCaptor.forClass(LeadershipChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(LeadershipChangedEvent::isLeader).containsExactly(true, false);
+        assertThat(service.isLeader()).isFalse();
+    }
+
+    @Test
+    void heartbeat_stepsDownWhenTheDatabaseIsUnreachable() {
+        appProperties.getCluster().setEnabled(true);
+        when(leaseRepository.tryAcquire(anyString(), anyString(), anyInt())).thenReturn(1);
+        service = newService();
+        service.start();
+        doThrow(new IllegalStateException("connection refused")).when(nodeRepository).heartbeat("node-a");
+
+        service.heartbeat();
+
+        assertThat(service.isLeader()).isFalse();
+        verify(eventPublisher).publishEvent(any(LeadershipChangedEvent.class));
+    }
+
+    @Test
+    void isNodeAlive_asksTheDatabaseForOtherNodes() {
+        appProperties.getCluster().setEnabled(true);
+        when(nodeRepository.countAlive("node-b", 30)).thenReturn(1L);
+        when(nodeRepository.countAlive("node-c", 30)).thenReturn(0L);
+        service = newService();
+
+        assertThat(service.isNodeAlive("node-b")).isTrue();
+        assertThat(service.isNodeAlive("node-c")).isFalse();
+    }
+
+    private LeaderElectionService newService() {
+        return new LeaderElectionService(appProperties, leaseRepository, nodeRepository, eventPublisher, transactionManager);
+    }
+}
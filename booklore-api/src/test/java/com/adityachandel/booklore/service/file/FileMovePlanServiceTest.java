@@ -0,0 +1,122 @@
+package com.adityachandel.booklore.service.file;
+
+import com.adityachandel.booklore.model.dto.response.FileMovePlanEntry;
+import com.adityachandel.booklore.model.dto.response.FileMovePlanSummary;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.BookMetadataEntity;
+import com.adityachandel.booklore.model.entity.LibraryPathEntity;
+import com.adityachandel.booklore.model.enums.FileMovePlanStatus;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.LibraryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FileMovePlanServiceTest {
+
+    @Mock
+    BookRepository bookRepository;
+    @Mock
+    LibraryRepository libraryRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path libraryRoot;
+
+    FileMovePlanService service;
+    LibraryPathEntity libraryPath;
+
+    @BeforeEach
+    void setUp() {
+        service = new FileMovePlanService(bookRepository, libraryRepository, new FileMoveHelper(null, null), transactionManager);
+        libraryPath = LibraryPathEntity.builder().id(1L).path(libraryRoot.toString()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void plan_classifiesMovesAndCollisionsInIdOrder() {
+        List<BookEntity> books = List.of(
+                book(1L, "Dune", "", "dune.epub"),
+                book(2L, "Already There", "", "Already There.epub"),
+                book(3L, "Dune", "old", "dune-copy.epub"),
+                book(4L, "Emma", "", "emma.epub"));
+        when(bookRepository.findActiveIdsByLibraryIdAfter(eq(9L), eq(0L), any())).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(bookRepository.findActiveIdsByLibraryIdAfter(eq(9L), eq(4L), any())).thenReturn(List.of());
+        when(bookRepository.findBooksWithMetadataAndAuthors(List.of(1L, 2L, 3L, 4L))).thenReturn(new ArrayList<>(books.reversed()));
+
+        List<FileMovePlanEntry> entries = new ArrayList<>();
+        FileMovePlanSummary summary = service.plan(9L, "<{series}/>{title}", entries::addAll, () -> false);
+
+        assertThat(entries).extracting(FileMovePlanEntry::getBookId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(entries).extracting(FileMovePlanEntry::getStatus).containsExactly(
+                FileMovePlanStatus.MOVE,
+                FileMovePlanStatus.UNCHANGED,
+                FileMovePlanStatus.COLLISION,
+                FileMovePlanStatus.MOVE);
+        assertThat(entries.get(2).getConflictingBookId()).isEqualTo(1L);
+        assertThat(entries.get(0).getTargetPath()).isEqualTo(libraryRoot.resolve("Dune.epub").toString());
+        assertThat(summary.getTotal()).isEqualTo(4);
+        assertThat(summary.getCounts())
+                .containsEntry(FileMovePlanStatus.MOVE, 2L)
+                .containsEntry(FileMovePlanStatus.UNCHANGED, 1L)
+                .containsEntry(FileMovePlanStatus.COLLISION, 1L);
+    }
+
+    @Test
+    void plan_flagsTargetsThatAlreadyExistOnDisk() throws Exception {
+        Files.createFile(libraryRoot.resolve("Occupied.epub"));
+        when(bookRepository.findActiveIdsByLibraryIdAfter(eq(9L), anyLong(), any())).thenReturn(List.of(4L), List.of());
+        when(bookRepository.findBooksWithMetadataAndAuthors(List.of(4L))).thenReturn(List.of(book(4L, "Occupied", "in", "occupied.epub")));
+
+        List<FileMovePlanEntry> entries = new ArrayList<>();
+        service.plan(9L, "{title}", entries::addAll, () -> false);
+
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.getStatus()).isEqualTo(FileMovePlanStatus.TARGET_EXISTS);
+            assertThat(entry.getTargetPath()).isEqualTo(libraryRoot.resolve("Occupied.epub").toString());
+        });
+    }
+
+    @Test
+    void plan_stopsWhenCancelled() {
+        FileMovePlanSummary summary = service.plan(9L, "{title}", batch -> {
+        }, () -> true);
+
+        assertThat(summary.getTotal()).isZero();
+        assertThat(summary.getCounts()).isEqualTo(Map.of());
+    }
+
+    private BookEntity book(long id, String title, String subPath, String fileName) {
+        BookEntity book = BookEntity.builder()
+                .id(id)
+                .fileName(fileName)
+                .fileSubPath(subPath)
+                .libraryPath(libraryPath)
+                .build();
+        book.setMetadata(BookMetadataEntity.builder().bookId(id).title(title).build());
+        return book;
+    }
+}
@@ -0,0 +1,70 @@
+package com.adityachandel.booklore.service.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingFingerprintTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 700, 1024, 1500, 4096, 5000, 70_000, 300_000})
+    void update_matchesFileFingerprint(int size) throws IOException {
+        byte[] data = randomBytes(size);
+        Path file = Files.write(tempDir.resolve("book.pdf"), data);
+
+        StreamingFingerprint fingerprint = new StreamingFingerprint();
+        int chunk = 777;
+        for (int offset = 0; offset < size; offset += chunk) {
+            fingerprint.update(data, offset, Math.min(chunk, size - offset));
+        }
+
+        assertThat(fingerprint.isComplete(size)).isTrue();
+        assertThat(fingerprint.getHash()).isEqualTo(FileFingerprint.generateHash(file));
+    }
+
+    @Test
+    void isComplete_onceLastSampledBlockIsSeen() {
+        long size = 10L * 1024 * 1024;
+        long required = StreamingFingerprint.requiredBytes(size);
+        StreamingFingerprint fingerprint = new StreamingFingerprint();
+
+        fingerprint.update(new byte[(int) required - 1], 0, (int) required - 1);
+        assertThat(fingerprint.isComplete(size)).isFalse();
+        fingerprint.update(new byte[1], 0, 1);
+
+        assertThat(fingerprint.isComplete(size)).isTrue();
+        assertThat(required).isEqualTo(4L * 1024 * 1024 + 1024);
+    }
+
+    @Test
+    void copy_leavesOriginalUntouched() {
+        byte[] data = randomBytes(2_000);
+        StreamingFingerprint original = new StreamingFingerprint();
+        original.update(data, 0, 1_000);
+        String before = original.getHash();
+
+        StreamingFingerprint copy = original.copy();
+        copy.update(data, 1_000, 1_000);
+
+        assertThat(original.getHash()).isEqualTo(before);
+        assertThat(original.getPosition()).isEqualTo(1_000);
+        assertThat(copy.getPosition()).isEqualTo(2_000);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -12,7 +12,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
@@ -134,6 +138,60 @@ class CbxConversionServiceTest {
         verifyPageOrderInEpub(epubFile, 5);
     }
 
+    @Test
+    void estimateJpegQuality_ReadsQualityFromQuantizationTable() throws IOException {
+        BufferedImage image = createTestImage("Page", Color.RED);
+
+        assertThat(CbxConversionService.estimateJpegQuality(encodeJpeg(image, 0.5f))).isBetween(48, 52);
+        assertThat(CbxConversionService.estimateJpegQuality(encodeJpeg(image, 0.95f))).isBetween(93, 97);
+        assertThat(CbxConversionService.estimateJpegQuality(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xD9})).isEqualTo(-1);
+    }
+
+    @Test
+    void convertCbxToEpub_WithJpegBelowTargetQuality_ShouldPassPageThrough() throws Exception {
+        byte[] page = encodeJpeg(createTestImage("Page 1", Color.RED), 0.6f);
+        File cbzFile = createCbzFile("low-quality.cbz", new String[]{"page01.jpg"}, new byte[][]{page});
+
+        File epubFile = cbxConversionService.convertCbxToEpub(cbzFile, tempDir.toFile(), testBookEntity, 85);
+
+        assertThat(readEntry(epubFile, "OEBPS/Images/page-0001.jpg")).isEqualTo(page);
+    }
+
+    @Test
+    void convertCbxToEpub_WithJpegAboveTargetQuality_ShouldReencodePage() throws Exception {
+        byte[] page = encodeJpeg(createTestImage("Page 1", Color.RED), 0.98f);
+        File cbzFile = createCbzFile("high-quality.cbz", new String[]{"page01.jpg"}, new byte[][]{page});
+
+        File epubFile = cbxConversionService.convertCbxToEpub(cbzFile, tempDir.toFile(), testBookEntity, 70);
+
+        byte[] converted = readEntry(epubFile, "OEBPS/Images/page-0001.jpg");
+        assertThat(converted).isNotEqualTo(page);
+        assertThat(CbxConversionService.estimateJpegQuality(converted)).isBetween(68, 72);
+    }
+
+    @Test
+    void convertCbxToEpub_WithPagesStoredOutOfOrderAndTinyBudget_ShouldWritePagesInOrder() throws Exception {
+        CbxConversionService constrained = new CbxConversionService(2, 1);
+        byte[][] pages = {
+                encodeJpeg(createTestImage("Page 3", Color.BLUE), 0.5f),
+                encodeJpeg(createTestImage("Page 1", Color.RED), 0.5f),
+                encodeJpeg(createTestImage("Page 2", Color.GREEN), 0.5f)
+        };
+        File cbzFile = createCbzFile("shuffled.cbz", new String[]{"page03.jpg", "page01.jpg", "page02.jpg"}, pages);
+
+        try {
+            File epubFile = constrained.convertCbxToEpub(cbzFile, tempDir.toFile(), testBookEntity, 85);
+
+            assertThat(readEntry(epubFile, "OEBPS/Images/cover.jpg")).isEqualTo(pages[1]);
+            assertThat(readEntry(epubFile, "OEBPS/Images/page-0001.jpg")).isEqualTo(pages[1]);
+            assertThat(readEntry(epubFile, "OEBPS/Images/page-0002.jpg")).isEqualTo(pages[2]);
+            assertThat(readEntry(epubFile, "OEBPS/Images/page-0003.jpg")).isEqualTo(pages[0]);
+            assertThat(tempDir.resolve("cbx_extracted_images")).doesNotExist();
+        } finally {
+            constrained.shutdown();
+        }
+    }
+
     private File createTestCbzFile() throws IOException {
         File cbzFile = Files.createFile(tempDir.resolve("test-comic.cbz")).toFile();
         
@@ -181,6 +239,43 @@ class CbxConversionServiceTest {
         return cbzFile;
     }
 
+    private File createCbzFile(String fileName, String[] entryNames, byte[][] contents) throws IOException {
+        File cbzFile = Files.createFile(tempDir.resolve(fileName)).toFile();
+
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(new FileOutputStream(cbzFile))) {
+            for (int i = 0; i < entryNames.length; i++) {
+                zipOut.putArchiveEntry(new ZipArchiveEntry(entryNames[i]));
+                zipOut.write(contents[i]);
+                zipOut.closeArchiveEntry();
+            }
+        }
+
+        return cbzFile;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] readEntry(File epubFile, String name) throws IOException {
+        try (ZipFile zipFile = ZipFile.builder().setFile(epubFile).get();
+             InputStream inputStream = zipFile.getInputStream(zipFile.getEntry(name))) {
+            return inputStream.readAllBytes();
+        }
+    }
+
     private BufferedImage createTestImage(String text, Color backgroundColor) {
         BufferedImage image = new BufferedImage(200, 300, BufferedImage.TYPE_INT_RGB);
         Graphics2D g2d = image.createGraphics();
@@ -0,0 +1,179 @@
+package com.adityachandel.booklore.service.kobo;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KEPUB Transformer Tests")
+class KepubTransformerTest {
+
+    private static final String CHAPTER = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!DOCTYPE html>
+            <html xmlns="http://www.w3.org/1999/xhtml">
+            <head><title>One</title></head>
+            <body>
+            <h1>Chapter One</h1>
+            <p>It was dark. "Who?" she asked! Then <em>nothing</em> happened.</p>
+            <p><img src="a.jpg" alt=""/></p>
+            <script>var x = 1;</script>
+            </body>
+            </html>
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private KepubTransformer transformer;
+
+    @BeforeEach
+    void setUp() {
+        transformer = new KepubTransformer();
+    }
+
+    @Test
+    void transformDocument_wrapsSentencesInNumberedKoboSpans() {
+        String result = transform(CHAPTER, false);
+
+        assertThat(result).startsWith("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
+        assertThat(result).contains("<h1><span class=\"koboSpan\" id=\"kobo.1.1\">Chapter One</span></h1>");
+        assertThat(result).contains("<p><span class=\"koboSpan\" id=\"kobo.2.1\">It was dark. </span>"
+                + "<span class=\"koboSpan\" id=\"kobo.2.2\">\"Who?\" </span>"
+                + "<span class=\"koboSpan\" id=\"kobo.2.3\">she asked! </span>"
+                + "<span class=\"koboSpan\" id=\"kobo.2.4\">Then </span>"
+                + "<em><span class=\"koboSpan\" id=\"kobo.2.5\">nothing</span></em> "
+                + "<span class=\"koboSpan\" id=\"kobo.2.6\">happened.</span></p>");
+        assertThat(result).contains("<p><span class=\"koboSpan\" id=\"kobo.3.1\"><img src=\"a.jpg\" alt=\"\"/></span></p>");
+        assertThat(result).contains("<script>var x = 1;</script>");
+    }
+
+    @Test
+    void transformDocument_wrapsBodyAndAddsKoboStyles() {
+        String result = transform(CHAPTER, false);
+
+        assertThat(result).contains("<body><div id=\"book-columns\"><div id=\"book-inner\">");
+        assertThat(result).contains("</div></div></body>");
+        assertThat(result).contains("<style type=\"text/css\" class=\"kobostylehacks\">" + KepubTransformer.KOBO_STYLE + "</style></head>");
+        assertThat(result).doesNotContain("hyphens");
+    }
+
+    @Test
+    void transformDocument_addsHyphenationStyleWhenRequested() {
+        assertThat(transform(CHAPTER, true)).contains(KepubTransformer.KOBO_STYLE + " " + KepubTransformer.HYPHENATION_STYLE + "</style>");
+    }
+
+    @Test
+    void transformDocument_selfClosesOnlyVoidElements() {
+        String result = transform("<html xmlns=\"http://www.w3.org/1999/xhtml\"><head/><body>"
+                + "<p><a id=\"p12\"></a>Text<br/>More</p><div/><hr></hr></body></html>", false);
+
+        assertThat(result).contains("<p><a id=\"p12\"></a><span class=\"koboSpan\" id=\"kobo.1.1\">Text</span><br/>");
+        assertThat(result).contains("<div></div><hr/>");
+    }
+
+    /**
+     * Golden-file check of the full document markup. Update {@code kepub/expected-chapter.kepub.xhtml} deliberately
+     * when the transformer's output is meant to change.
+     */
+    @Test
+    void transformDocument_matchesExpectedKepubMarkup() throws IOException {
+        String result = transform(resource("kepub/chapter.xhtml"), false);
+
+        assertThat(result).isEqualTo(resource("kepub/expected-chapter.kepub.xhtml"));
+    }
+
+    @Test
+    void transformDocument_acceptsUndeclaredHtmlEntities() {
+        String result = transform("<html xmlns=\"http://www.w3.org/1999/xhtml\"><head/><body>"
+                + "<p>A&nbsp;B &amp; C&mdash;D</p></body></html>", false);
+
+        assertThat(result).contains("<span class=\"koboSpan\" id=\"kobo.1.1\">A\u00A0B &amp; C\u2014D</span>");
+    }
+
+    @Test
+    void transformDocument_doesNotNestExistingKoboSpans() {
+        String kepub = transform(CHAPTER, false);
+
+        assertThat(transform(kepub, false)).doesNotContain("<span class=\"koboSpan\" id=\"kobo.1.1\"><span");
+    }
+
+    @Test
+    void transformDocument_copiesMalformedDocumentUnchanged() {
+        byte[] malformed = "<html><body><p>Unclosed</body></html>".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(transformer.transformDocument("broken.xhtml", malformed, false)).isSameAs(malformed);
+    }
+
+    @Test
+    void transform_writesStoredMimetypeFirstAndCopiesResourcesVerbatim() throws IOException {
+        byte[] image = new byte[4096];
+        new Random(1).nextBytes(image);
+        File epub = createEpub(image);
+        File kepub = tempDir.resolve("book.kepub.epub").toFile();
+
+        transformer.transform(epub, kepub, false);
+
+        try (ZipFile zipFile = ZipFile.builder().setFile(kepub).get()) {
+            List<ZipArchiveEntry> entries = Collections.list(zipFile.getEntriesInPhysicalOrder());
+            assertThat(entries).extracting(ZipArchiveEntry::getName)
+                    .containsExactly("mimetype", "META-INF/container.xml", "OEBPS/content.opf", "OEBPS/chapter1.xhtml", "OEBPS/a.jpg");
+            assertThat(entries.getFirst().getMethod()).isEqualTo(ZipArchiveEntry.STORED);
+            assertThat(read(zipFile, "mimetype")).isEqualTo("application/epub+zip");
+            assertThat(read(zipFile, "OEBPS/content.opf")).isEqualTo("<package/>");
+            assertThat(read(zipFile, "OEBPS/chapter1.xhtml")).contains("id=\"kobo.1.1\"");
+            try (InputStream in = zipFile.getInputStream(zipFile.getEntry("OEBPS/a.jpg"))) {
+                assertThat(in.readAllBytes()).isEqualTo(image);
+            }
+        }
+    }
+
+    private String transform(String document, boolean hyphenate) {
+        return new String(transformer.transformDocument("chapter.xhtml", document.getBytes(StandardCharsets.UTF_8), hyphenate), StandardCharsets.UTF_8);
+    }
+
+    private String resource(String name) throws IOException {
+        try (InputStream in = Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(name), name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private File createEpub(byte[] image) throws IOException {
+        File epub = tempDir.resolve("book.epub").toFile();
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(epub)) {
+            addEntry(zipOut, "mimetype", "application/epub+zip".getBytes(StandardCharsets.US_ASCII));
+            addEntry(zipOut, "META-INF/container.xml", "<container/>".getBytes(StandardCharsets.UTF_8));
+            addEntry(zipOut, "OEBPS/content.opf", "<package/>".getBytes(StandardCharsets.UTF_8));
+            addEntry(zipOut, "OEBPS/chapter1.xhtml", CHAPTER.getBytes(StandardCharsets.UTF_8));
+            addEntry(zipOut, "OEBPS/a.jpg", image);
+        }
+        return epub;
+    }
+
+    private void addEntry(ZipArchiveOutputStream zipOut, String name, byte[] content) throws IOException {
+        zipOut.putArchiveEntry(new ZipArchiveEntry(name));
+        zipOut.write(content);
+        zipOut.closeArchiveEntry();
+    }
+
+    private String read(ZipFile zipFile, String name) throws IOException {
+        try (InputStream in = zipFile.getInputStream(zipFile.getEntry(name))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -22,13 +22,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Collection;
 import java.util.HashSet;
-import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
@@ -36,10 +36,8 @@ import static org.mockito.Mockito.verify;
 @ExtendWith(MockitoExtension.class)
 class BookMetadataUpdaterCategoryTest {
 
-    @Mock private AuthorRepository authorRepository;
-    @Mock private CategoryRepository categoryRepository;
-    @Mock private MoodRepository moodRepository;
-    @Mock private TagRepository tagRepository;
+    @Mock private MetadataDictionaryService metadataDictionaryService;
+    @Mock private MetadataDictionaryService.NameDictionary<CategoryEntity> categoryDictionary;
     @Mock private BookRepository bookRepository;
     @Mock private FileService fileService;
     @Mock private MetadataMatchService metadataMatchService;
@@ -57,13 +55,14 @@ class BookMetadataUpdaterCategoryTest {
         appSettings.setMetadataPersistenceSettings(new MetadataPersistenceSettings());
         lenient().when(appSettingService.getAppSettings()).thenReturn(appSettings);
 
-        lenient().when(categoryRepository.findByName(anyString())).thenAnswer(invocation -> {
-            String name = invocation.getArgument(0);
-            return Optional.of(CategoryEntity.builder().name(name).build());
+        lenient().when(metadataDictionaryService.categories()).thenReturn(categoryDictionary);
+        lenient().when(categoryDictionary.resolve(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(0);
+            return names.stream()
+                    .filter(name -> name != null && !name.isBlank())
+                    .map(name -> CategoryEntity.builder().name(name).build())
+                    .collect(Collectors.toCollection(HashSet::new));
         });
-
-        lenient().when(categoryRepository.save(any(CategoryEntity.class))).thenAnswer(invocation ->
-            invocation.getArgument(0));
     }
     @Test
     void replaceAll_withMergeFalse_shouldClearAndAddNew() {
@@ -254,23 +253,19 @@ class BookMetadataUpdaterCategoryTest {
     }
 
     @Test
-    void whenNewCategoryDoesNotExist_shouldCreateIt() {
+    void whenNewCategoryDoesNotExist_shouldResolveItThroughDictionary() {
         BookEntity bookEntity = createBookWithCategories();
         BookMetadata newMetadata = new BookMetadata();
         newMetadata.setCategories(Set.of("BrandNew"));
 
-        when(categoryRepository.findByName("BrandNew")).thenReturn(Optional.empty());
-        when(categoryRepository.save(any(CategoryEntity.class))).thenAnswer(invocation -> {
-            CategoryEntity saved = invocation.getArgument(0);
-            saved.setId(999L);
-            return saved;
-        });
+        when(categoryDictionary.resolve(Set.of("BrandNew")))
+                .thenReturn(new HashSet<>(Set.of(CategoryEntity.builder().id(999L).name("BrandNew").build())));
 
         MetadataUpdateContext context = createContext(bookEntity, newMetadata, false, MetadataReplaceMode.REPLACE_ALL);
 
         bookMetadataUpdater.setBookMetadata(context);
 
-        verify(categoryRepository).save(any(CategoryEntity.class));
+        verify(categoryDictionary).resolve(Set.of("BrandNew"));
         Set<CategoryEntity> categories = bookEntity.getMetadata().getCategories();
         assertEquals(1, categories.size());
         assertTrue(containsCategory(categories, "BrandNew"));
@@ -24,7 +24,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,10 +32,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class BookMetadataUpdaterTest {
 
-    @Mock private AuthorRepository authorRepository;
-    @Mock private CategoryRepository categoryRepository;
-    @Mock private MoodRepository moodRepository;
-    @Mock private TagRepository tagRepository;
+    @Mock private MetadataDictionaryService metadataDictionaryService;
+    @Mock private MetadataDictionaryService.NameDictionary<MoodEntity> moodDictionary;
+    @Mock private MetadataDictionaryService.NameDictionary<TagEntity> tagDictionary;
     @Mock private BookRepository bookRepository;
     @Mock private FileService fileService;
     @Mock private MetadataMatchService metadataMatchService;
@@ -81,7 +79,8 @@ class BookMetadataUpdaterTest {
                 .replaceMode(MetadataReplaceMode.REPLACE_ALL)
                 .build();
 
-        when(tagRepository.findByName("Tag1")).thenReturn(Optional.of(TagEntity.builder().name("Tag1").build()));
+        when(metadataDictionaryService.tags()).thenReturn(tagDictionary);
+        when(tagDictionary.resolve(Set.of("Tag1"))).thenReturn(Set.of(TagEntity.builder().name("Tag1").build()));
 
         bookMetadataUpdater.setBookMetadata(context);
 
@@ -146,7 +145,8 @@ class BookMetadataUpdaterTest {
                 .replaceMode(MetadataReplaceMode.REPLACE_ALL)
                 .build();
 
-        when(tagRepository.findByName("Tag3")).thenReturn(Optional.of(TagEntity.builder().name("Tag3").build()));
+        when(metadataDictionaryService.tags()).thenReturn(tagDictionary);
+        when(tagDictionary.resolve(Set.of("Tag3"))).thenReturn(Set.of(TagEntity.builder().name("Tag3").build()));
 
         // Act
         bookMetadataUpdater.setBookMetadata(context);
@@ -183,7 +183,8 @@ class BookMetadataUpdaterTest {
                 .replaceMode(MetadataReplaceMode.REPLACE_ALL)
                 .build();
 
-        when(moodRepository.findByName("Mood1")).thenReturn(Optional.of(MoodEntity.builder().name("Mood1").build()));
+        when(metadataDictionaryService.moods()).thenReturn(moodDictionary);
+        when(moodDictionary.resolve(Set.of("Mood1"))).thenReturn(Set.of(MoodEntity.builder().name("Mood1").build()));
 
         bookMetadataUpdater.setBookMetadata(context);
 
@@ -250,7 +251,8 @@ class BookMetadataUpdaterTest {
                 .replaceMode(MetadataReplaceMode.REPLACE_ALL)
                 .build();
 
-        when(moodRepository.findByName("Mood3")).thenReturn(Optional.of(MoodEntity.builder().name("Mood3").build()));
+        when(metadataDictionaryService.moods()).thenReturn(moodDictionary);
+        when(moodDictionary.resolve(Set.of("Mood3"))).thenReturn(Set.of(MoodEntity.builder().name("Mood3").build()));
 
         bookMetadataUpdater.setBookMetadata(context);
 
@@ -0,0 +1,134 @@
+package com.adityachandel.booklore.service.metadata;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MetadataConsolidationEngineTest {
+
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private MetadataConsolidationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        engine = new MetadataConsolidationEngine(jdbcTemplate);
+        ReflectionTestUtils.setField(engine, "entityManager", entityManager);
+    }
+
+    private Query stubQuery(String sql, List<?> result) {
+        Query query = mock(Query.class);
+        when(entityManager.createNativeQuery(sql)).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(result);
+        return query;
+    }
+
+    @Test
+    void remap_copiesMappingsToEachTargetThenDeletesSources() {
+        stubQuery("SELECT DISTINCT book_id FROM book_metadata_tag_mapping WHERE tag_id IN (:ids)", List.of(10L, 11L));
+        Query insert = stubQuery("INSERT IGNORE INTO book_metadata_tag_mapping (book_id, tag_id) "
+                + "SELECT DISTINCT book_id, :target FROM book_metadata_tag_mapping WHERE tag_id IN (:ids)", List.of());
+        stubQuery("DELETE FROM book_metadata_tag_mapping WHERE tag_id IN (:ids)", List.of());
+        stubQuery("DELETE FROM tag WHERE id IN (:ids)", List.of());
+
+        Set<Long> affected = engine.remap(MetadataConsolidationEngine.Mapping.TAG, List.of(1L, 2L, 100L), List.of(100L));
+
+        assertThat(affected).containsExactly(10L, 11L);
+        verify(insert).setParameter("target", 100L);
+        verify(insert).setParameter("ids", List.of(1L, 2L));
+
+        InOrder order = inOrder(entityManager);
+        order.verify(entityManager).flush();
+        order.verify(entityManager).createNativeQuery(startsWith("INSERT IGNORE INTO book_metadata_tag_mapping"));
+        order.verify(entityManager).createNativeQuery("DELETE FROM book_metadata_tag_mapping WHERE tag_id IN (:ids)");
+        order.verify(entityManager).createNativeQuery("DELETE FROM tag WHERE id IN (:ids)");
+        order.verify(entityManager).clear();
+    }
+
+    @Test
+    void remap_withoutBooksStillDeletesTheValues() {
+        stubQuery("SELECT DISTINCT book_id FROM book_metadata_author_mapping WHERE author_id IN (:ids)", List.of());
+        stubQuery("DELETE FROM author WHERE id IN (:ids)", List.of());
+
+        assertThat(engine.remap(MetadataConsolidationEngine.Mapping.AUTHOR, List.of(3L), List.of(4L))).isEmpty();
+
+        verify(entityManager, never()).createNativeQuery(startsWith("INSERT"));
+        verify(entityManager).createNativeQuery("DELETE FROM author WHERE id IN (:ids)");
+    }
+
+    @Test
+    void remap_ontoItselfDoesNothing() {
+        assertThat(engine.remap(MetadataConsolidationEngine.Mapping.CATEGORY, List.of(5L), List.of(5L))).isEmpty();
+
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void rewrite_clearingSeriesAlsoClearsNumberAndTotal() {
+        stubQuery("SELECT book_id FROM book_metadata WHERE LOWER(series_name) IN (:values)", List.of(7L));
+        Query update = stubQuery("UPDATE book_metadata SET series_name = NULL, series_number = NULL, series_total = NULL "
+                + "WHERE LOWER(series_name) IN (:values)", List.of());
+
+        Set<Long> affected = engine.rewrite(MetadataConsolidationEngine.Column.SERIES, List.of("Dune", "DUNE"), null);
+
+        assertThat(affected).containsExactly(7L);
+        verify(update).setParameter("values", List.of("dune"));
+        verify(update).executeUpdate();
+    }
+
+    @Test
+    void rewrite_setsNewValueOnMatchingBooks() {
+        stubQuery("SELECT book_id FROM book_metadata WHERE LOWER(publisher) IN (:values)", List.of(8L, 9L));
+        Query update = stubQuery("UPDATE book_metadata SET publisher = :value WHERE LOWER(publisher) IN (:values)", List.of());
+
+        assertThat(engine.rewrite(MetadataConsolidationEngine.Column.PUBLISHER, List.of("Tor"), "Tor Books"))
+                .containsExactly(8L, 9L);
+        verify(update).setParameter("value", "Tor Books");
+        verify(update).executeUpdate();
+    }
+
+    @Test
+    void rewrite_skipsUpdateWhenNoBookMatches() {
+        stubQuery("SELECT book_id FROM book_metadata WHERE LOWER(language) IN (:values)", List.of());
+
+        assertThat(engine.rewrite(MetadataConsolidationEngine.Column.LANGUAGE, List.of("xx"), "en")).isEmpty();
+
+        verify(entityManager, never()).createNativeQuery(startsWith("UPDATE"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshSearchText_rebuildsTextFromColumnsAndAuthors() {
+        stubQuery("""
+                SELECT m.book_id, a.name
+                FROM book_metadata_author_mapping m
+                JOIN author a ON a.id = m.author_id
+                WHERE m.book_id IN (:ids)
+                """, List.<Object[]>of(new Object[]{1L, "Frank Herbert"}));
+        stubQuery("SELECT book_id, title, subtitle, series_name FROM book_metadata WHERE book_id IN (:ids)",
+                List.<Object[]>of(new Object[]{1L, "Dune", null, "Dune Chronicles"}, new Object[]{2L, "Émile", null, null}));
+
+        engine.refreshSearchText(Set.of(1L, 2L));
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE book_metadata SET search_text = ? WHERE book_id = ?"), updates.capture());
+        assertThat(updates.getValue()).containsExactlyInAnyOrder(
+                new Object[]{"dune dune chronicles frank herbert", 1L},
+                new Object[]{"emile", 2L});
+    }
+}
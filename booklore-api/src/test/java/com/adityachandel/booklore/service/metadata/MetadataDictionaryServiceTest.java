@@ -0,0 +1,124 @@
+package com.adityachandel.booklore.service.metadata;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.model.entity.AuthorEntity;
+import com.adityachandel.booklore.repository.AuthorRepository;
+import com.adityachandel.booklore.repository.CategoryRepository;
+import com.adityachandel.booklore.repository.MoodRepository;
+import com.adityachandel.booklore.repository.TagRepository;
+import com.adityachandel.booklore.service.startup.StartupPhaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetadataDictionaryServiceTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    AuthorRepository authorRepository;
+    @Mock
+    CategoryRepository categoryRepository;
+    @Mock
+    MoodRepository moodRepository;
+    @Mock
+    TagRepository tagRepository;
+
+    MetadataDictionaryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MetadataDictionaryService(jdbcTemplate, authorRepository, categoryRepository, moodRepository, tagRepository, new StartupPhaseService(new AppProperties()));
+    }
+
+    @Test
+    void resolve_knownNameIgnoringCase_loadsByIdWithoutInserting() {
+        AuthorEntity alice = author(1L, "Alice");
+        service.authors().put(alice);
+        when(authorRepository.findAllById(Set.of(1L))).thenReturn(List.of(alice));
+
+        Set<AuthorEntity> resolved = service.authors().resolve(List.of("ALICE"));
+
+        assertThat(resolved).containsExactly(alice);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        verify(authorRepository, never()).findAllByNameIn(any());
+    }
+
+    @Test
+    void resolve_unknownNames_insertsInOneBatchAndCachesIds() {
+        AuthorEntity alice = author(1L, "Alice");
+        AuthorEntity bob = author(2L, "Bob");
+        when(authorRepository.findAllByNameIn(List.of("Alice", "Bob"))).thenReturn(List.of(alice, bob));
+
+        Set<AuthorEntity> resolved = service.authors().resolve(List.of("Alice", "alice", "Bob", " "));
+
+        assertThat(resolved).containsExactlyInAnyOrder(alice, bob);
+        verify(jdbcTemplate).batchUpdate(eq("INSERT IGNORE INTO author (name) VALUES (?)"), eq(List.of("Alice", "Bob")), eq(500), any());
+        assertThat(service.authors().size()).isEqualTo(2);
+    }
+
+    @Test
+    void resolve_staleCachedId_isEvictedAndRecreated() {
+        service.authors().put(author(1L, "Alice"));
+        AuthorEntity recreated = author(5L, "Alice");
+        when(authorRepository.findAllById(Set.of(1L))).thenReturn(List.of());
+        when(authorRepository.findAllByNameIn(List.of("Alice"))).thenReturn(List.of(recreated));
+
+        Set<AuthorEntity> resolved = service.authors().resolve(List.of("Alice"));
+
+        assertThat(resolved).containsExactly(recreated);
+        assertThat(service.authors().size()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_removesAllKeysForId() {
+        AuthorEntity alice = author(1L, "Alice");
+        service.authors().put(alice);
+        alice.setName("Alicia");
+        service.authors().put(alice);
+        assertThat(service.authors().size()).isEqualTo(1);
+
+        service.authors().evict(alice);
+
+        assertThat(service.authors().size()).isZero();
+    }
+
+    @Test
+    void put_renamedEntity_dropsOldNameAndKeepsOtherEntries() {
+        AuthorEntity alice = author(1L, "Alice");
+        AuthorEntity bob = author(2L, "Bob");
+        service.authors().put(alice);
+        service.authors().put(bob);
+        alice.setName("Alicia");
+        service.authors().put(alice);
+
+        when(authorRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(alice, bob));
+        assertThat(service.authors().resolve(List.of("alicia", "BOB"))).containsExactlyInAnyOrder(alice, bob);
+
+        service.authors().evict(bob);
+        assertThat(service.authors().size()).isEqualTo(1);
+    }
+
+    @Test
+    void resolve_truncatesOverlongNames() {
+        String longName = "a".repeat(300);
+        when(authorRepository.findAllByNameIn(List.of("a".repeat(255)))).thenReturn(List.of(author(1L, "a".repeat(255))));
+
+        assertThat(service.authors().resolve(List.of(longName))).hasSize(1);
+    }
+
+    private AuthorEntity author(Long id, String name) {
+        return AuthorEntity.builder().id(id).name(name).build();
+    }
+}
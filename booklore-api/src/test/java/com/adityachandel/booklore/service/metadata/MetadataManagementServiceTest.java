@@ -4,25 +4,27 @@ import com.adityachandel.booklore.model.entity.*;
 import com.adityachandel.booklore.model.enums.MergeMetadataType;
 import com.adityachandel.booklore.repository.*;
 import com.adityachandel.booklore.service.appsettings.AppSettingService;
+import com.adityachandel.booklore.service.event.LibraryContentChangedEvent;
+import com.adityachandel.booklore.service.metadata.MetadataConsolidationEngine.Column;
+import com.adityachandel.booklore.service.metadata.MetadataConsolidationEngine.Mapping;
 import com.adityachandel.booklore.service.metadata.writer.MetadataWriterFactory;
 import com.adityachandel.booklore.model.dto.settings.AppSettings;
 import com.adityachandel.booklore.model.dto.settings.MetadataPersistenceSettings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,388 +45,293 @@ class MetadataManagementServiceTest {
     AppSettingService appSettingService;
     @Mock
     MetadataWriterFactory metadataWriterFactory;
+    @Mock
+    MetadataDictionaryService metadataDictionaryService;
+    @Mock
+    MetadataDictionaryService.NameDictionary<AuthorEntity> authorDictionary;
+    @Mock
+    MetadataDictionaryService.NameDictionary<CategoryEntity> categoryDictionary;
+    @Mock
+    MetadataDictionaryService.NameDictionary<MoodEntity> moodDictionary;
+    @Mock
+    MetadataDictionaryService.NameDictionary<TagEntity> tagDictionary;
+    @Mock
+    MetadataConsolidationEngine consolidationEngine;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     MetadataManagementService service;
 
-    @Captor
-    ArgumentCaptor<List<BookMetadataEntity>> bookListCaptor;
+    private MetadataPersistenceSettings persistenceSettings;
 
     @BeforeEach
     void setUp() {
         AppSettings appSettings = new AppSettings();
-        appSettings.setMetadataPersistenceSettings(new MetadataPersistenceSettings());
+        persistenceSettings = new MetadataPersistenceSettings();
+        appSettings.setMetadataPersistenceSettings(persistenceSettings);
         when(appSettingService.getAppSettings()).thenReturn(appSettings);
+        lenient().when(metadataDictionaryService.authors()).thenReturn(authorDictionary);
+        lenient().when(metadataDictionaryService.categories()).thenReturn(categoryDictionary);
+        lenient().when(metadataDictionaryService.moods()).thenReturn(moodDictionary);
+        lenient().when(metadataDictionaryService.tags()).thenReturn(tagDictionary);
     }
 
     @Test
-    void mergeAuthors_createsTargetAndMovesBooksAndDeletesOldAuthor() {
-        String targetName = "New Author";
-        String oldName = "Old Author";
-
+    void mergeAuthors_createsTargetRemapsOldAuthorAndRefreshesSearchText() {
         AuthorEntity oldAuthor = new AuthorEntity();
         oldAuthor.setId(1L);
-        oldAuthor.setName(oldName);
+        oldAuthor.setName("Old Author");
 
-        when(authorRepository.findByNameIgnoreCase(targetName)).thenReturn(Optional.empty());
+        when(authorRepository.findByNameIgnoreCase("New Author")).thenReturn(Optional.empty());
         when(authorRepository.save(any(AuthorEntity.class))).thenAnswer(invocation -> {
             AuthorEntity a = invocation.getArgument(0);
             a.setId(2L);
-            a.setName(a.getName());
             return a;
         });
+        when(authorRepository.findByNameIgnoreCase("Old Author")).thenReturn(Optional.of(oldAuthor));
+        when(consolidationEngine.remap(Mapping.AUTHOR, List.of(1L), Set.of(2L))).thenReturn(Set.of(10L, 11L));
 
-        when(authorRepository.findByNameIgnoreCase(oldName)).thenReturn(Optional.of(oldAuthor));
-
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<AuthorEntity> authorsSet = new HashSet<>();
-        authorsSet.add(oldAuthor);
-        when(metadata.getAuthors()).thenReturn(authorsSet);
-
-        when(bookMetadataRepository.findAllByAuthorsContaining(oldAuthor)).thenReturn(List.of(metadata));
-
-        service.consolidateMetadata(MergeMetadataType.authors, List.of(targetName), List.of(oldName));
-
-        assertThat(authorsSet).doesNotContain(oldAuthor);
-        assertThat(authorsSet).extracting(AuthorEntity::getName).contains(targetName);
+        service.consolidateMetadata(MergeMetadataType.authors, List.of("New Author"), List.of("Old Author"));
 
-        verify(bookMetadataRepository).saveAll(bookListCaptor.capture());
-        List<BookMetadataEntity> saved = bookListCaptor.getValue();
-        assertThat(saved).containsExactly(metadata);
-
-        verify(authorRepository).delete(oldAuthor);
+        verify(consolidationEngine).refreshSearchText(Set.of(10L, 11L));
+        verify(authorDictionary).evict(oldAuthor);
+        verify(eventPublisher).publishEvent(any(LibraryContentChangedEvent.class));
+        verify(bookMetadataRepository, never()).getMetadataForBookIds(any());
     }
 
     @Test
-    void mergeCategories_movesAndDeletesOldCategory() {
-        String targetName = "New Category";
-        String oldName = "Old Category";
-
+    void mergeCategories_remapsOldCategoryWithoutTouchingSearchText() {
         CategoryEntity oldCategory = new CategoryEntity();
         oldCategory.setId(1L);
-        oldCategory.setName(oldName);
-
-        when(categoryRepository.findByNameIgnoreCase(targetName)).thenReturn(Optional.empty());
-        when(categoryRepository.save(any(CategoryEntity.class))).thenAnswer(invocation -> {
-            CategoryEntity c = invocation.getArgument(0);
-            c.setId(2L);
-            return c;
-        });
-
-        when(categoryRepository.findByNameIgnoreCase(oldName)).thenReturn(Optional.of(oldCategory));
-
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<CategoryEntity> categories = new HashSet<>();
-        categories.add(oldCategory);
-        when(metadata.getCategories()).thenReturn(categories);
+        oldCategory.setName("Old Category");
+        CategoryEntity target = new CategoryEntity();
+        target.setId(2L);
+        target.setName("new category");
 
-        when(bookMetadataRepository.findAllByCategoriesContaining(oldCategory)).thenReturn(List.of(metadata));
+        when(categoryRepository.findByNameIgnoreCase("New Category")).thenReturn(Optional.of(target));
+        when(categoryRepository.save(target)).thenReturn(target);
+        when(categoryRepository.findByNameIgnoreCase("Old Category")).thenReturn(Optional.of(oldCategory));
+        when(consolidationEngine.remap(Mapping.CATEGORY, List.of(1L), Set.of(2L))).thenReturn(Set.of(10L));
 
-        service.consolidateMetadata(MergeMetadataType.categories, List.of(targetName), List.of(oldName));
+        service.consolidateMetadata(MergeMetadataType.categories, List.of("New Category"), List.of("Old Category"));
 
-        assertThat(categories).doesNotContain(oldCategory);
-        assertThat(categories).extracting(CategoryEntity::getName).contains(targetName);
-        verify(categoryRepository).delete(oldCategory);
-        verify(bookMetadataRepository).saveAll(bookListCaptor.capture());
+        verify(categoryDictionary).put(target);
+        verify(consolidationEngine, never()).refreshSearchText(anyCollection());
+        verify(eventPublisher).publishEvent(any(LibraryContentChangedEvent.class));
     }
 
     @Test
-    void deleteCategories_removesAndDeletes() {
-        String name = "CategoryToDelete";
-        CategoryEntity cat = new CategoryEntity();
-        cat.setName(name);
-
-        when(categoryRepository.findByNameIgnoreCase(name)).thenReturn(Optional.of(cat));
-
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<CategoryEntity> cats = new HashSet<>();
-        cats.add(cat);
-        when(metadata.getCategories()).thenReturn(cats);
+    void mergeCategories_renamingOntoItselfKeepsTheCategory() {
+        CategoryEntity category = new CategoryEntity();
+        category.setId(5L);
+        category.setName("science fiction");
 
-        when(bookMetadataRepository.findAllByCategoriesContaining(cat)).thenReturn(List.of(metadata));
+        when(categoryRepository.findByNameIgnoreCase("Science Fiction")).thenReturn(Optional.of(category));
+        when(categoryRepository.save(category)).thenReturn(category);
+        when(categoryRepository.findByNameIgnoreCase("science fiction")).thenReturn(Optional.of(category));
 
-        service.deleteMetadata(MergeMetadataType.categories, List.of(name));
+        service.consolidateMetadata(MergeMetadataType.categories, List.of("Science Fiction"), List.of("science fiction"));
 
-        assertThat(cats).doesNotContain(cat);
-        verify(categoryRepository).delete(cat);
-        verify(bookMetadataRepository).saveAll(bookListCaptor.capture());
+        verify(consolidationEngine).remap(Mapping.CATEGORY, List.of(), Set.of(5L));
+        verify(categoryDictionary, never()).evict(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void mergeTags_movesAndDeletesOldTag() {
-        String targetName = "New Tag";
-        String oldName = "Old Tag";
-
-        TagEntity oldTag = new TagEntity();
-        oldTag.setId(1L);
-        oldTag.setName(oldName);
-
-        when(tagRepository.findByNameIgnoreCase(targetName)).thenReturn(Optional.empty());
-        when(tagRepository.save(any(TagEntity.class))).thenAnswer(invocation -> {
-            TagEntity t = invocation.getArgument(0);
-            t.setId(2L);
-            return t;
-        });
-        when(tagRepository.findByNameIgnoreCase(oldName)).thenReturn(Optional.of(oldTag));
+    void mergeTags_mergesMultipleOldTagsInOneRemap() {
+        TagEntity target = new TagEntity();
+        target.setId(100L);
+        target.setName("Target");
+        TagEntity old1 = new TagEntity();
+        old1.setId(1L);
+        TagEntity old2 = new TagEntity();
+        old2.setId(2L);
+
+        when(tagRepository.findByNameIgnoreCase("Target")).thenReturn(Optional.of(target));
+        when(tagRepository.save(target)).thenReturn(target);
+        when(tagRepository.findByNameIgnoreCase("Old1")).thenReturn(Optional.of(old1));
+        when(tagRepository.findByNameIgnoreCase("Old2")).thenReturn(Optional.of(old2));
+
+        service.consolidateMetadata(MergeMetadataType.tags, List.of("Target"), List.of("Old1", "Old2"));
+
+        verify(consolidationEngine).remap(Mapping.TAG, List.of(1L, 2L), Set.of(100L));
+        verify(tagDictionary).evict(old1);
+        verify(tagDictionary).evict(old2);
+    }
 
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<TagEntity> tags = new HashSet<>();
-        tags.add(oldTag);
-        when(metadata.getTags()).thenReturn(tags);
+    @Test
+    void mergeMoods_remapsOldMood() {
+        MoodEntity oldMood = new MoodEntity();
+        oldMood.setId(3L);
 
-        when(bookMetadataRepository.findAllByTagsContaining(oldTag)).thenReturn(List.of(metadata));
+        when(moodRepository.findByNameIgnoreCase("Calm")).thenReturn(Optional.empty());
+        when(moodRepository.save(any(MoodEntity.class))).thenAnswer(invocation -> {
+            MoodEntity m = invocation.getArgument(0);
+            m.setId(4L);
+            return m;
+        });
+        when(moodRepository.findByNameIgnoreCase("Relaxed")).thenReturn(Optional.of(oldMood));
 
-        service.consolidateMetadata(MergeMetadataType.tags, List.of(targetName), List.of(oldName));
+        service.consolidateMetadata(MergeMetadataType.moods, List.of("Calm"), List.of("Relaxed"));
 
-        assertThat(tags).doesNotContain(oldTag);
-        assertThat(tags).extracting(TagEntity::getName).contains(targetName);
-        verify(tagRepository).delete(oldTag);
-        verify(bookMetadataRepository).saveAll(bookListCaptor.capture());
+        verify(consolidationEngine).remap(Mapping.MOOD, List.of(3L), Set.of(4L));
     }
 
     @Test
-    void deleteTags_removesAndDeletes() {
-        String name = "TagToDelete";
-        TagEntity tag = new TagEntity();
-        tag.setName(name);
-
-        when(tagRepository.findByNameIgnoreCase(name)).thenReturn(Optional.of(tag));
-
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<TagEntity> tags = new HashSet<>();
-        tags.add(tag);
-        when(metadata.getTags()).thenReturn(tags);
+    void deleteAuthors_removesMappingsAndRefreshesSearchText() {
+        AuthorEntity author = new AuthorEntity();
+        author.setId(7L);
+        author.setName("Someone");
 
-        when(bookMetadataRepository.findAllByTagsContaining(tag)).thenReturn(List.of(metadata));
+        when(authorRepository.findByName("Someone")).thenReturn(Optional.of(author));
+        when(consolidationEngine.remap(Mapping.AUTHOR, List.of(7L), Set.of())).thenReturn(Set.of(20L));
 
-        service.deleteMetadata(MergeMetadataType.tags, List.of(name));
+        service.deleteMetadata(MergeMetadataType.authors, List.of("Someone"));
 
-        assertThat(tags).doesNotContain(tag);
-        verify(tagRepository).delete(tag);
-        verify(bookMetadataRepository).saveAll(bookListCaptor.capture());
+        verify(consolidationEngine).refreshSearchText(Set.of(20L));
+        verify(authorDictionary).evict(author);
+        verify(eventPublisher).publishEvent(any(LibraryContentChangedEvent.class));
     }
 
     @Test
-    void mergeMoods_movesAndDeletesOldMood() {
-        String targetName = "New Mood";
-        String oldName = "Old Mood";
+    void deleteCategories_removesMappingsWithoutTargets() {
+        CategoryEntity category = new CategoryEntity();
+        category.setId(8L);
 
-        MoodEntity oldMood = new MoodEntity();
-        oldMood.setId(1L);
-        oldMood.setName(oldName);
+        when(categoryRepository.findByNameIgnoreCase("Obsolete")).thenReturn(Optional.of(category));
 
-        when(moodRepository.findByNameIgnoreCase(targetName)).thenReturn(Optional.empty());
-        when(moodRepository.save(any(MoodEntity.class))).thenAnswer(invocation -> {
-            MoodEntity m = invocation.getArgument(0);
-            m.setId(2L);
-            return m;
-        });
-        when(moodRepository.findByNameIgnoreCase(oldName)).thenReturn(Optional.of(oldMood));
-
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<MoodEntity> moods = new HashSet<>();
-        moods.add(oldMood);
-        when(metadata.getMoods()).thenReturn(moods);
+        service.deleteMetadata(MergeMetadataType.categories, List.of("Obsolete"));
 
-        when(bookMetadataRepository.findAllByMoodsContaining(oldMood)).thenReturn(List.of(metadata));
-
-        service.consolidateMetadata(MergeMetadataType.moods, List.of(targetName), List.of(oldName));
-
-        assertThat(moods).doesNotContain(oldMood);
-        assertThat(moods).extracting(MoodEntity::getName).contains(targetName);
-        verify(moodRepository).delete(oldMood);
-        verify(bookMetadataRepository).saveAll(bookListCaptor.capture());
+        verify(consolidationEngine).remap(Mapping.CATEGORY, List.of(8L), Set.of());
+        verify(categoryDictionary).evict(category);
     }
 
     @Test
-    void deleteMoods_removesAndDeletes() {
-        String name = "MoodToDelete";
+    void deleteMoods_removesMappingsWithoutTargets() {
         MoodEntity mood = new MoodEntity();
-        mood.setName(name);
-
-        when(moodRepository.findByNameIgnoreCase(name)).thenReturn(Optional.of(mood));
+        mood.setId(9L);
 
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<MoodEntity> moods = new HashSet<>();
-        moods.add(mood);
-        when(metadata.getMoods()).thenReturn(moods);
+        when(moodRepository.findByNameIgnoreCase("Gloomy")).thenReturn(Optional.of(mood));
 
-        when(bookMetadataRepository.findAllByMoodsContaining(mood)).thenReturn(List.of(metadata));
+        service.deleteMetadata(MergeMetadataType.moods, List.of("Gloomy"));
 
-        service.deleteMetadata(MergeMetadataType.moods, List.of(name));
-
-        assertThat(moods).doesNotContain(mood);
-        verify(moodRepository).delete(mood);
-        verify(bookMetadataRepository).saveAll(bookListCaptor.capture());
+        verify(consolidationEngine).remap(Mapping.MOOD, List.of(9L), Set.of());
     }
 
     @Test
-    void deleteSeries_clearsSeriesFields() {
-        String seriesName = "Some Series";
+    void deleteTags_partialMissing_ignoresMissing() {
+        TagEntity presentTag = new TagEntity();
+        presentTag.setId(12L);
+        presentTag.setName("PresentTag");
 
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        when(bookMetadataRepository.findAllBySeriesNameIgnoreCase(seriesName)).thenReturn(List.of(metadata));
+        when(tagRepository.findByNameIgnoreCase("PresentTag")).thenReturn(Optional.of(presentTag));
+        when(tagRepository.findByNameIgnoreCase("MissingTag")).thenReturn(Optional.empty());
 
-        service.deleteMetadata(MergeMetadataType.series, List.of(seriesName));
+        service.deleteMetadata(MergeMetadataType.tags, List.of("PresentTag", "MissingTag"));
 
-        verify(metadata).setSeriesName(null);
-        verify(metadata).setSeriesNumber(null);
-        verify(metadata).setSeriesTotal(null);
-        verify(bookMetadataRepository).saveAll(anyList());
+        verify(consolidationEngine).remap(Mapping.TAG, List.of(12L), Set.of());
     }
 
     @Test
-    void mergeSeries_withMultipleTargets_throws() {
-        List<String> targets = List.of("A", "B");
-        List<String> valuesToMerge = List.of("Old");
+    void mergeSeries_rewritesColumnAndRefreshesSearchText() {
+        when(consolidationEngine.rewrite(Column.SERIES, List.of("Discworld (old)"), "Discworld")).thenReturn(Set.of(30L));
 
-        assertThrows(IllegalArgumentException.class,
-                () -> service.consolidateMetadata(MergeMetadataType.series, targets, valuesToMerge));
-    }
+        service.consolidateMetadata(MergeMetadataType.series, List.of("Discworld"), List.of("Discworld (old)"));
 
-    @Test
-    void mergePublishers_withMultipleTargets_throws() {
-        assertThrows(IllegalArgumentException.class,
-                () -> service.consolidateMetadata(MergeMetadataType.publishers, List.of("P1", "P2"), List.of("Old")));
+        verify(consolidationEngine).refreshSearchText(Set.of(30L));
+        verify(eventPublisher).publishEvent(any(LibraryContentChangedEvent.class));
     }
 
     @Test
-    void mergeLanguages_withMultipleTargets_throws() {
-        assertThrows(IllegalArgumentException.class,
-                () -> service.consolidateMetadata(MergeMetadataType.languages, List.of("L1", "L2"), List.of("Old")));
-    }
+    void mergePublishers_rewritesColumnWithoutTouchingSearchText() {
+        when(consolidationEngine.rewrite(Column.PUBLISHER, List.of("Tor", "TOR Books"), "Tor Books")).thenReturn(Set.of(31L));
 
-    @Test
-    void mergeTags_mergesMultipleOldTagsIntoSingleTarget() {
-        String targetName = "UnifiedTag";
-        String old1 = "OldTag1";
-        String old2 = "OldTag2";
-
-        TagEntity oldTag1 = new TagEntity();
-        oldTag1.setId(1L);
-        oldTag1.setName(old1);
-        TagEntity oldTag2 = new TagEntity();
-        oldTag2.setId(2L);
-        oldTag2.setName(old2);
-
-        when(tagRepository.findByNameIgnoreCase(targetName)).thenReturn(Optional.empty());
-        when(tagRepository.save(any(TagEntity.class))).thenAnswer(invocation -> {
-            TagEntity t = invocation.getArgument(0);
-            t.setId(3L);
-            return t;
-        });
-        when(tagRepository.findByNameIgnoreCase(old1)).thenReturn(Optional.of(oldTag1));
-        when(tagRepository.findByNameIgnoreCase(old2)).thenReturn(Optional.of(oldTag2));
-
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<TagEntity> tags = new HashSet<>();
-        tags.add(oldTag1);
-        tags.add(oldTag2);
-        when(metadata.getTags()).thenReturn(tags);
+        service.consolidateMetadata(MergeMetadataType.publishers, List.of("Tor Books"), List.of("Tor", "TOR Books"));
 
-        when(bookMetadataRepository.findAllByTagsContaining(oldTag1)).thenReturn(List.of(metadata));
-        when(bookMetadataRepository.findAllByTagsContaining(oldTag2)).thenReturn(List.of(metadata));
-
-        service.consolidateMetadata(MergeMetadataType.tags, List.of(targetName), List.of(old1, old2));
-
-        assertThat(tags).doesNotContain(oldTag1, oldTag2);
-        assertThat(tags).extracting(TagEntity::getName).contains(targetName);
-        verify(tagRepository).delete(oldTag1);
-        verify(tagRepository).delete(oldTag2);
-        verify(bookMetadataRepository, times(2)).saveAll(anyList());
+        verify(consolidationEngine, never()).refreshSearchText(anyCollection());
+        verify(eventPublisher).publishEvent(any(LibraryContentChangedEvent.class));
     }
 
     @Test
-    void mergeCategories_doesNotDuplicateExistingTarget() {
-        String targetName = "CatTarget";
-        String oldName = "OldCat";
+    void deleteSeries_clearsColumn() {
+        when(consolidationEngine.rewrite(Column.SERIES, List.of("Some Series"), null)).thenReturn(Set.of(40L));
 
-        CategoryEntity target = new CategoryEntity();
-        target.setId(1L);
-        target.setName(targetName);
-        CategoryEntity old = new CategoryEntity();
-        old.setId(2L);
-        old.setName(oldName);
+        service.deleteMetadata(MergeMetadataType.series, List.of("Some Series"));
 
-        when(categoryRepository.findByNameIgnoreCase(targetName)).thenReturn(Optional.of(target));
-        when(categoryRepository.findByNameIgnoreCase(oldName)).thenReturn(Optional.of(old));
-
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<CategoryEntity> cats = new HashSet<>();
-        cats.add(old);
-        cats.add(target);
-        when(metadata.getCategories()).thenReturn(cats);
-
-        when(bookMetadataRepository.findAllByCategoriesContaining(old)).thenReturn(List.of(metadata));
+        verify(consolidationEngine).refreshSearchText(Set.of(40L));
+    }
 
-        service.consolidateMetadata(MergeMetadataType.categories, List.of(targetName), List.of(oldName));
+    @Test
+    void deleteLanguages_clearsColumn() {
+        service.deleteMetadata(MergeMetadataType.languages, List.of("xx"));
 
-        assertThat(cats).doesNotContain(old);
-        assertThat(cats).contains(target);
-        verify(categoryRepository).delete(old);
-        verify(bookMetadataRepository).saveAll(anyList());
+        verify(consolidationEngine).rewrite(Column.LANGUAGE, List.of("xx"), null);
     }
 
     @Test
     void deleteSeries_noBooksDoesNothing() {
-        when(bookMetadataRepository.findAllBySeriesNameIgnoreCase("NoSeries")).thenReturn(List.of());
-        service.deleteMetadata(MergeMetadataType.series, List.of("NoSeries"));
-        verify(bookMetadataRepository, never()).saveAll(anyList());
+        service.deleteMetadata(MergeMetadataType.series, List.of("Nonexistent"));
+
+        verify(consolidationEngine, never()).refreshSearchText(anyCollection());
+        verifyNoInteractions(eventPublisher, bookMetadataRepository);
     }
 
     @Test
     void deletePublishers_noBooksDoesNothing() {
-        when(bookMetadataRepository.findAllByPublisherIgnoreCase("NoPublisher")).thenReturn(List.of());
-        service.deleteMetadata(MergeMetadataType.publishers, List.of("NoPublisher"));
-        verify(bookMetadataRepository, never()).saveAll(anyList());
+        service.deleteMetadata(MergeMetadataType.publishers, List.of("Nonexistent"));
+
+        verifyNoInteractions(eventPublisher, bookMetadataRepository);
     }
 
     @Test
-    void mergeTags_noBooks_deletesOldTag() {
-        String targetName = "TargetTag";
-        String oldName = "OldTag";
-
+    void mergeTags_noBooks_stillDeletesOldTag() {
         TagEntity target = new TagEntity();
-        target.setName(targetName);
+        target.setId(100L);
         TagEntity old = new TagEntity();
-        old.setName(oldName);
-
-        when(tagRepository.findByNameIgnoreCase(targetName)).thenReturn(Optional.of(target));
-        when(tagRepository.findByNameIgnoreCase(oldName)).thenReturn(Optional.of(old));
+        old.setId(1L);
 
-        when(bookMetadataRepository.findAllByTagsContaining(old)).thenReturn(List.of());
+        when(tagRepository.findByNameIgnoreCase("Target")).thenReturn(Optional.of(target));
+        when(tagRepository.save(target)).thenReturn(target);
+        when(tagRepository.findByNameIgnoreCase("Old")).thenReturn(Optional.of(old));
 
-        service.consolidateMetadata(MergeMetadataType.tags, List.of(targetName), List.of(oldName));
+        service.consolidateMetadata(MergeMetadataType.tags, List.of("Target"), List.of("Old"));
 
-        verify(bookMetadataRepository).saveAll(bookListCaptor.capture());
-        List<BookMetadataEntity> saved = bookListCaptor.getValue();
-        assertThat(saved).isEmpty();
-        verify(tagRepository).delete(old);
+        verify(consolidationEngine).remap(Mapping.TAG, List.of(1L), Set.of(100L));
+        verify(tagDictionary).evict(old);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void deleteTags_partialMissing_ignoresMissing() {
-        String present = "PresentTag";
-        String missing = "MissingTag";
+    void writeToFile_loadsOnlyAffectedBooks() {
+        persistenceSettings.setSaveToOriginalFile(true);
+        when(consolidationEngine.rewrite(Column.PUBLISHER, List.of("Old"), "New")).thenReturn(Set.of(50L));
+        when(bookMetadataRepository.getMetadataForBookIds(List.of(50L))).thenReturn(List.of(new BookMetadataEntity()));
 
-        TagEntity presentTag = new TagEntity();
-        presentTag.setName(present);
+        service.consolidateMetadata(MergeMetadataType.publishers, List.of("New"), List.of("Old"));
 
-        when(tagRepository.findByNameIgnoreCase(present)).thenReturn(Optional.of(presentTag));
-        when(tagRepository.findByNameIgnoreCase(missing)).thenReturn(Optional.empty());
+        verify(bookMetadataRepository).getMetadataForBookIds(List.of(50L));
+    }
 
-        BookMetadataEntity metadata = mock(BookMetadataEntity.class);
-        Set<TagEntity> tags = new HashSet<>();
-        tags.add(presentTag);
-        when(metadata.getTags()).thenReturn(tags);
+    @Test
+    void mergeSeries_withMultipleTargets_throws() {
+        List<String> targets = List.of("A", "B");
+        List<String> valuesToMerge = List.of("Old");
 
-        when(bookMetadataRepository.findAllByTagsContaining(presentTag)).thenReturn(List.of(metadata));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.consolidateMetadata(MergeMetadataType.series, targets, valuesToMerge));
+        verifyNoInteractions(consolidationEngine);
+    }
 
-        service.deleteMetadata(MergeMetadataType.tags, List.of(present, missing));
+    @Test
+    void mergePublishers_withMultipleTargets_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.consolidateMetadata(MergeMetadataType.publishers, List.of("P1", "P2"), List.of("Old")));
+    }
 
-        assertThat(tags).doesNotContain(presentTag);
-        verify(tagRepository).delete(presentTag);
-        verify(tagRepository, never()).delete(argThat(t -> missing.equals(t.getName())));
-        verify(bookMetadataRepository).saveAll(anyList());
+    @Test
+    void mergeLanguages_withMultipleTargets_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.consolidateMetadata(MergeMetadataType.languages, List.of("L1", "L2"), List.of("Old")));
     }
 }
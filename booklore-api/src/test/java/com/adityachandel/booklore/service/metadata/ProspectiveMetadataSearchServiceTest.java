@@ -0,0 +1,86 @@
+package com.adityachandel.booklore.service.metadata;
+
+import com.adityachandel.booklore.model.dto.Book;
+import com.adityachandel.booklore.model.dto.BookMetadata;
+import com.adityachandel.booklore.model.dto.request.FetchMetadataRequest;
+import com.adityachandel.booklore.model.enums.MetadataProvider;
+import com.adityachandel.booklore.service.metadata.parser.BookParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProspectiveMetadataSearchServiceTest {
+
+    @Mock
+    BookParser fastParser;
+    @Mock
+    BookParser slowParser;
+
+    ProspectiveMetadataSearchService service;
+    CountDownLatch slowInterrupted = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        service = new ProspectiveMetadataSearchService(
+                Map.of(MetadataProvider.Google, fastParser, MetadataProvider.Amazon, slowParser), Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void search_fastProviderCompletesWhileSlowProviderMissesDeadline() throws Exception {
+        BookMetadata candidate = BookMetadata.builder().title("Dune").build();
+        when(fastParser.fetchMetadata(any(), any())).thenReturn(List.of(candidate));
+        when(slowParser.fetchMetadata(any(), any())).thenAnswer(invocation -> blockUntilInterrupted());
+
+        Map<MetadataProvider, CompletableFuture<List<BookMetadata>>> searches = service.search(Book.builder().build(), request());
+
+        assertThat(searches.get(MetadataProvider.Google).get(1, TimeUnit.SECONDS)).containsExactly(candidate);
+        assertThatThrownBy(() -> searches.get(MetadataProvider.Amazon).get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(slowInterrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void search_cancellingAFutureInterruptsTheLookup() throws Exception {
+        when(slowParser.fetchMetadata(any(), any())).thenAnswer(invocation -> blockUntilInterrupted());
+        FetchMetadataRequest request = FetchMetadataRequest.builder().providers(List.of(MetadataProvider.Amazon)).build();
+
+        service.search(Book.builder().build(), request).get(MetadataProvider.Amazon).cancel(true);
+
+        assertThat(slowInterrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private List<BookMetadata> blockUntilInterrupted() {
+        try {
+            Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+            slowInterrupted.countDown();
+        }
+        return List.of();
+    }
+
+    private FetchMetadataRequest request() {
+        return FetchMetadataRequest.builder().providers(List.of(MetadataProvider.Google, MetadataProvider.Amazon)).build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.adityachandel.booklore.service.metadata.writer;
+
+import com.adityachandel.booklore.model.entity.BookMetadataEntity;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.encryption.AccessPermission;
+import org.apache.pdfbox.pdmodel.encryption.StandardProtectionPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfMetadataWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PdfMetadataWriter writer;
+    private BookMetadataEntity metadata;
+
+    @BeforeEach
+    void setup() {
+        writer = new PdfMetadataWriter();
+        metadata = new BookMetadataEntity();
+        metadata.setTitle("New Title");
+        metadata.setDescription("A description");
+    }
+
+    @Test
+    void writeMetadataToFile_appendsIncrementalUpdate() throws Exception {
+        File pdf = createPdf(tempDir.resolve("book.pdf"), false);
+        byte[] original = Files.readAllBytes(pdf.toPath());
+
+        writer.writeMetadataToFile(pdf, metadata, null, null);
+
+        byte[] updated = Files.readAllBytes(pdf.toPath());
+        assertTrue(updated.length > original.length);
+        assertArrayEquals(original, Arrays.copyOf(updated, original.length), "original bytes must be left untouched");
+        try (PDDocument doc = Loader.loadPDF(pdf)) {
+            assertEquals("New Title", doc.getDocumentInformation().getTitle());
+            assertNotNull(doc.getDocumentCatalog().getMetadata());
+            assertEquals(3, doc.getNumberOfPages());
+        }
+    }
+
+    @Test
+    void writeMetadataToFile_repeatedWritesKeepLatestValues() throws Exception {
+        File pdf = createPdf(tempDir.resolve("book.pdf"), false);
+
+        writer.writeMetadataToFile(pdf, metadata, null, null);
+        metadata.setTitle("Second Title");
+        writer.writeMetadataToFile(pdf, metadata, null, null);
+
+        try (PDDocument doc = Loader.loadPDF(pdf)) {
+            assertEquals("Second Title", doc.getDocumentInformation().getTitle());
+        }
+    }
+
+    @Test
+    void writeMetadataToFile_encryptedFileIsRewritten() throws Exception {
+        File pdf = createPdf(tempDir.resolve("locked.pdf"), true);
+        byte[] original = Files.readAllBytes(pdf.toPath());
+
+        writer.writeMetadataToFile(pdf, metadata, null, null);
+
+        byte[] updated = Files.readAllBytes(pdf.toPath());
+        assertFalse(Arrays.equals(original, Arrays.copyOf(updated, original.length)));
+        try (PDDocument doc = Loader.loadPDF(pdf)) {
+            assertFalse(doc.isEncrypted());
+            assertEquals("New Title", doc.getDocumentInformation().getTitle());
+        }
+    }
+
+    private File createPdf(Path path, boolean encrypted) throws Exception {
+        try (PDDocument doc = new PDDocument()) {
+            for (int i = 0; i < 3; i++) {
+                doc.addPage(new PDPage());
+            }
+            doc.getDocumentInformation().setTitle("Old Title");
+            if (encrypted) {
+                StandardProtectionPolicy policy = new StandardProtectionPolicy("owner", "", new AccessPermission());
+                policy.setEncryptionKeyLength(128);
+                doc.protect(policy);
+            }
+            doc.save(path.toFile());
+        }
+        return path.toFile();
+    }
+}
@@ -0,0 +1,150 @@
+package com.adityachandel.booklore.service.migration;
+
+import com.adityachandel.booklore.config.security.service.AuthenticationService;
+import com.adityachandel.booklore.model.dto.BookLoreUser;
+import com.adityachandel.booklore.model.entity.AppMigrationCheckpointEntity;
+import com.adityachandel.booklore.model.entity.AppMigrationEntity;
+import com.adityachandel.booklore.repository.AppMigrationCheckpointRepository;
+import com.adityachandel.booklore.repository.AppMigrationRepository;
+import com.adityachandel.booklore.service.NotificationService;
+import com.adityachandel.booklore.service.task.TaskHistoryService;
+import com.adityachandel.booklore.task.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataMigrationRunnerTest {
+
+    @Mock
+    AppMigrationRepository migrationRepository;
+    @Mock
+    AppMigrationCheckpointRepository checkpointRepository;
+    @Mock
+    TaskHistoryService taskHistoryService;
+    @Mock
+    NotificationService notificationService;
+    @Mock
+    AuthenticationService authenticationService;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    DataMigrationRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new DataMigrationRunner(migrationRepository, checkpointRepository, taskHistoryService,
+                notificationService, authenticationService, transactionManager);
+        lenient().when(authenticationService.getSystemUser()).thenReturn(BookLoreUser.builder().id(-1L).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    void runChunked_resumesAfterCheckpointAndRecordsCompletion() {
+        FakeMigration migration = new FakeMigration(List.of(11L, 12L, 13L, 14L, 15L), 2);
+        when(migrationRepository.existsById("fake")).thenReturn(false);
+        when(checkpointRepository.findById("fake"))
+                .thenReturn(Optional.of(new AppMigrationCheckpointEntity("fake", 10L, 10L, LocalDateTime.now())));
+
+        runner.runChunked(migration);
+
+        assertThat(migration.migratedChunks).containsExactly(List.of(11L, 12L), List.of(13L, 14L), List.of(15L));
+        ArgumentCaptor<AppMigrationCheckpointEntity> checkpointCaptor = ArgumentCaptor.forClass(AppMigrationCheckpointEntity.class);
+        verify(checkpointRepository, times(3)).save(checkpointCaptor.capture());
+        assertThat(checkpointCaptor.getValue().getLastProcessedId()).isEqualTo(15L);
+        assertThat(checkpointCaptor.getValue().getProcessedCount()).isEqualTo(15L);
+        verify(migrationRepository).save(any(AppMigrationEntity.class));
+        verify(checkpointRepository).deleteById("fake");
+        verify(taskHistoryService).updateTaskStatus(anyString(), eq(TaskStatus.COMPLETED), anyString());
+    }
+
+    @Test
+    void runChunked_skipsCompletedMigration() {
+        FakeMigration migration = new FakeMigration(List.of(1L), 10);
+        when(migrationRepository.existsById("fake")).thenReturn(true);
+
+        runner.runChunked(migration);
+
+        assertThat(migration.migratedChunks).isEmpty();
+        verifyNoInteractions(taskHistoryService, checkpointRepository);
+    }
+
+    @Test
+    void runChunked_failingChunkKeepsCheckpointAndFailsTask() {
+        FakeMigration migration = new FakeMigration(List.of(1L, 2L, 3L), 1);
+        migration.failOn = 2L;
+        when(migrationRepository.existsById("fake")).thenReturn(false);
+        when(checkpointRepository.findById("fake")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> runner.runChunked(migration)).isInstanceOf(IllegalStateException.class);
+
+        verify(checkpointRepository, times(1)).save(any());
+        verify(migrationRepository, never()).save(any());
+        verify(taskHistoryService).updateTaskError(anyString(), eq("boom"));
+    }
+
+    private static class FakeMigration implements ChunkedMigration {
+
+        private final List<Long> ids;
+        private final int chunkSize;
+        private final List<List<Long>> migratedChunks = new ArrayList<>();
+        private Long failOn;
+
+        FakeMigration(List<Long> ids, int chunkSize) {
+            this.ids = ids;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public String getKey() {
+            return "fake";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Fake migration";
+        }
+
+        @Override
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        @Override
+        public long countRemaining(long afterId) {
+            return ids.stream().filter(id -> id > afterId).count();
+        }
+
+        @Override
+        public List<Long> findNextChunk(long afterId, int limit) {
+            return ids.stream().filter(id -> id > afterId).limit(limit).toList();
+        }
+
+        @Override
+        public void migrateChunk(List<Long> chunk) {
+            if (failOn != null && chunk.contains(failOn)) {
+                throw new IllegalStateException("boom");
+            }
+            migratedChunks.add(chunk);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.adityachandel.booklore.service.monitoring;
 
 import com.adityachandel.booklore.model.dto.Library;
 import com.adityachandel.booklore.model.dto.LibraryPath;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.cluster.LeaderElectionService;
 import com.adityachandel.booklore.service.watcher.LibraryFileEventProcessor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,13 +29,16 @@ class MonitoringServiceTest {
     LibraryFileEventProcessor processor;
     MonitoringTask monitoringTask;
     WatchService watchService;
+    LeaderElectionService leaderElectionService;
 
     @BeforeEach
     void setup() throws Exception {
         processor = mock(LibraryFileEventProcessor.class);
         monitoringTask = mock(MonitoringTask.class);
         watchService = FileSystems.getDefault().newWatchService();
-        service = Mockito.spy(new MonitoringService(processor, watchService, monitoringTask));
+        leaderElectionService = mock(LeaderElectionService.class);
+        when(leaderElectionService.isLeader()).thenReturn(true);
+        service = Mockito.spy(new MonitoringService(processor, watchService, monitoringTask, leaderElectionService, mock(ClusterEventRelay.class)));
     }
 
     @AfterEach
@@ -152,6 +157,26 @@ class MonitoringServiceTest {
         verify(processor, timeout(2_000)).processFile(eq(StandardWatchEventKinds.ENTRY_CREATE), eq(123L), eq(watched.toString()), eq(file.toString()));
     }
 
+    @Test
+    void handleFileChangeEvent_onFollower_doesNotQueueFileEvents() throws Exception {
+        when(leaderElectionService.isLeader()).thenReturn(false);
+        Path watched = tmp.resolve("follower");
+        Files.createDirectories(watched);
+        Path file = watched.resolve("book.epub");
+        Files.writeString(file, "x");
+
+        FileChangeEvent ev = mock(FileChangeEvent.class);
+        when(ev.getFilePath()).thenReturn(file);
+        doReturn(StandardWatchEventKinds.ENTRY_CREATE).when(ev).getEventKind();
+        when(ev.getWatchedFolder()).thenReturn(watched);
+
+        service.handleFileChangeEvent(ev);
+
+        Field queueField = MonitoringService.class.getDeclaredField("eventQueue");
+        queueField.setAccessible(true);
+        assertTrue(((Collection<?>) queueField.get(service)).isEmpty());
+    }
+
     @Test
     void handleWatchKeyInvalidation_removesInvalidPath_and_cancelsKey() throws Exception {
         Path invalid = tmp.resolve("inv");
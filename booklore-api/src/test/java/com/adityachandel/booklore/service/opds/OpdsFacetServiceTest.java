@@ -0,0 +1,140 @@
+package com.adityachandel.booklore.service.opds;
+
+import com.adityachandel.booklore.mapper.custom.BookLoreUserTransformer;
+import com.adityachandel.booklore.model.dto.BookLoreUser;
+import com.adityachandel.booklore.model.dto.KeysetPage;
+import com.adityachandel.booklore.model.dto.Library;
+import com.adityachandel.booklore.model.dto.OpdsFacetCountDto;
+import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
+import com.adityachandel.booklore.model.enums.ClusterEventType;
+import com.adityachandel.booklore.repository.BookOpdsRepository;
+import com.adityachandel.booklore.repository.UserRepository;
+import com.adityachandel.booklore.service.cluster.ClusterEventRelay;
+import com.adityachandel.booklore.service.cluster.ClusterMessageEvent;
+import com.adityachandel.booklore.service.event.LibraryContentChangedEvent;
+import com.adityachandel.booklore.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OpdsFacetServiceTest {
+
+    private static final Long ADMIN_ID = 1L;
+    private static final Long READER_ID = 2L;
+
+    private BookOpdsRepository bookOpdsRepository;
+    private ClusterEventRelay clusterEventRelay;
+    private OpdsFacetService opdsFacetService;
+
+    @BeforeEach
+    void setUp() {
+        bookOpdsRepository = mock(BookOpdsRepository.class);
+        clusterEventRelay = mock(ClusterEventRelay.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        BookLoreUserTransformer transformer = mock(BookLoreUserTransformer.class);
+        stubUser(userRepository, transformer, ADMIN_ID, true, List.of());
+        stubUser(userRepository, transformer, READER_ID, false, List.of(Library.builder().id(7L).build(), Library.builder().id(3L).build()));
+        opdsFacetService = new OpdsFacetService(bookOpdsRepository, userRepository, transformer, clusterEventRelay);
+    }
+
+    private void stubUser(UserRepository userRepository, BookLoreUserTransformer transformer, Long id, boolean admin, List<Library> libraries) {
+        BookLoreUserEntity entity = mock(BookLoreUserEntity.class);
+        BookLoreUser user = mock(BookLoreUser.class);
+        BookLoreUser.UserPermissions permissions = mock(BookLoreUser.UserPermissions.class);
+        when(userRepository.findById(id)).thenReturn(Optional.of(entity));
+        when(transformer.toDTO(entity)).thenReturn(user);
+        when(user.getPermissions()).thenReturn(permissions);
+        when(permissions.isAdmin()).thenReturn(admin);
+        when(user.getAssignedLibraries()).thenReturn(libraries);
+    }
+
+    private static OpdsFacetCountDto row(String label, long total) {
+        return new OpdsFacetCountDto() {
+            @Override
+            public String getLabel() {
+                return label;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    @Test
+    void getLetters_foldsAccentedAndNonLatinInitialsIntoBuckets() {
+        when(bookOpdsRepository.countAuthorsByLetter()).thenReturn(List.of(
+                row("É", 2), row("E", 5), row("1", 1), row("Ж", 3), row("A", 4)));
+
+        List<OpdsFacetService.LetterBucket> buckets = opdsFacetService.getLetters(ADMIN_ID, OpdsFacetService.Kind.AUTHOR);
+
+        assertThat(buckets).containsExactly(
+                new OpdsFacetService.LetterBucket("A", 4),
+                new OpdsFacetService.LetterBucket("E", 7),
+                new OpdsFacetService.LetterBucket("#", 4));
+    }
+
+    @Test
+    void getLetters_isCachedPerLibraryAccessSetUntilContentChanges() {
+        when(bookOpdsRepository.countSeriesByLetter()).thenReturn(List.of(row("D", 1)));
+        when(bookOpdsRepository.countSeriesByLetterAndLibraryIds(Set.of(3L, 7L))).thenReturn(List.of(row("F", 2)));
+
+        opdsFacetService.getLetters(ADMIN_ID, OpdsFacetService.Kind.SERIES);
+        opdsFacetService.getLetters(ADMIN_ID, OpdsFacetService.Kind.SERIES);
+        assertThat(opdsFacetService.getLetters(READER_ID, OpdsFacetService.Kind.SERIES))
+                .containsExactly(new OpdsFacetService.LetterBucket("F", 2));
+
+        verify(bookOpdsRepository, times(1)).countSeriesByLetter();
+        verify(bookOpdsRepository, times(1)).countSeriesByLetterAndLibraryIds(Set.of(3L, 7L));
+
+        opdsFacetService.onLibraryContentChanged(new LibraryContentChangedEvent(this));
+        opdsFacetService.getLetters(ADMIN_ID, OpdsFacetService.Kind.SERIES);
+
+        verify(bookOpdsRepository, times(2)).countSeriesByLetter();
+        verify(clusterEventRelay).publish(ClusterEventType.CACHE_INVALIDATION, OpdsFacetService.CACHE_NAME, "*");
+    }
+
+    @Test
+    void getEntries_seeksPastNameCursorAndReportsNextPage() {
+        when(bookOpdsRepository.findAuthorBookCounts(eq("T"), eq("Terry"), any(Pageable.class)))
+                .thenReturn(List.of(row("Thomas", 3), row("Tolkien", 9), row("Twain", 2)));
+
+        KeysetPage<OpdsFacetService.FacetEntry> page = opdsFacetService.getEntries(
+                ADMIN_ID, OpdsFacetService.Kind.AUTHOR, "t", KeysetCursor.of("Terry", 0).encode(), 2);
+
+        assertThat(page.getContent()).containsExactly(
+                new OpdsFacetService.FacetEntry("Thomas", 3),
+                new OpdsFacetService.FacetEntry("Tolkien", 9));
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor()).key()).isEqualTo("Tolkien");
+    }
+
+    @Test
+    void onClusterMessage_dropsCacheWithoutRepublishing() {
+        when(bookOpdsRepository.countAuthorsByLetter()).thenReturn(List.of(row("A", 1)));
+        opdsFacetService.getLetters(ADMIN_ID, OpdsFacetService.Kind.AUTHOR);
+        assertThat(opdsFacetService.size()).isEqualTo(1);
+
+        opdsFacetService.onClusterMessage(new ClusterMessageEvent(this, ClusterEventType.CACHE_INVALIDATION, OpdsFacetService.CACHE_NAME, "*"));
+
+        assertThat(opdsFacetService.size()).isZero();
+        verify(clusterEventRelay, never()).publish(any(), any(), any());
+    }
+
+    @Test
+    void bucketOf_mapsNamesToLatinInitialOrOther() {
+        assertThat(OpdsFacetService.bucketOf("émile")).isEqualTo("E");
+        assertThat(OpdsFacetService.bucketOf("42 Tales")).isEqualTo("#");
+        assertThat(OpdsFacetService.bucketOf("#")).isEqualTo("#");
+    }
+}
@@ -4,6 +4,7 @@ import com.adityachandel.booklore.config.security.service.AuthenticationService;
 import com.adityachandel.booklore.config.security.userdetails.OpdsUserDetails;
 import com.adityachandel.booklore.model.dto.Book;
 import com.adityachandel.booklore.model.dto.BookMetadata;
+import com.adityachandel.booklore.model.dto.KeysetPage;
 import com.adityachandel.booklore.model.dto.Library;
 import com.adityachandel.booklore.model.dto.OpdsUserV2;
 import com.adityachandel.booklore.model.entity.ShelfEntity;
@@ -34,6 +35,7 @@ class OpdsFeedServiceTest {
     private OpdsBookService opdsBookService;
     private MagicShelfService magicShelfService;
     private MagicShelfBookService magicShelfBookService;
+    private OpdsFacetService opdsFacetService;
     private OpdsFeedService opdsFeedService;
     private HttpServletRequest request;
 
@@ -43,7 +45,8 @@ class OpdsFeedServiceTest {
         opdsBookService = mock(OpdsBookService.class);
         magicShelfService = mock(MagicShelfService.class);
         magicShelfBookService = mock(MagicShelfBookService.class);
-        opdsFeedService = new OpdsFeedService(authenticationService, opdsBookService, magicShelfService, magicShelfBookService);
+        opdsFacetService = mock(OpdsFacetService.class);
+        opdsFeedService = new OpdsFeedService(authenticationService, opdsBookService, magicShelfService, magicShelfBookService, opdsFacetService);
         request = mock(HttpServletRequest.class);
     }
 
@@ -182,6 +185,52 @@ class OpdsFeedServiceTest {
         assertThat(xml).contains("</feed>");
     }
 
+    @Test
+    void generateCatalogFeed_withCursorUsesKeysetPageWithoutTotals() {
+        mockAuthenticatedUser();
+
+        when(request.getParameter("cursor")).thenReturn("abc");
+        when(request.getRequestURI()).thenReturn("/api/v1/opds/catalog");
+        when(request.getQueryString()).thenReturn("libraryId=3&cursor=abc");
+
+        Book book = Book.builder()
+                .id(12L)
+                .bookType(BookFileType.EPUB)
+                .addedOn(FIXED_INSTANT)
+                .metadata(BookMetadata.builder().title("Deep Page Book").build())
+                .build();
+        KeysetPage<Book> keysetPage = KeysetPage.<Book>builder().content(List.of(book)).hasNext(true).nextCursor("next123").build();
+        when(opdsBookService.getBooksAfter(TEST_USER_ID, null, null, null, "abc", 50)).thenReturn(keysetPage);
+        when(opdsBookService.applySortOrder(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        String xml = opdsFeedService.generateCatalogFeed(request);
+
+        assertThat(xml).contains("Deep Page Book");
+        assertThat(xml).contains("/api/v1/opds/catalog?libraryId=3&amp;cursor=next123&amp;size=50");
+        assertThat(xml).contains("/api/v1/opds/catalog?libraryId=3&amp;page=1&amp;size=50");
+        assertThat(xml).doesNotContain("totalResults");
+        verify(opdsBookService, never()).getBooksPage(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void generateRecentFeed_nextLinkContinuesWithCursor() {
+        mockAuthenticatedUser();
+
+        when(request.getRequestURI()).thenReturn("/api/v1/opds/recent");
+        when(request.getQueryString()).thenReturn(null);
+
+        Book book = Book.builder().id(11L).bookType(BookFileType.PDF).addedOn(FIXED_INSTANT)
+                .metadata(BookMetadata.builder().title("Recent Book").build()).build();
+        Page<Book> page = new PageImpl<>(List.of(book), PageRequest.of(0, 1), 3);
+        when(opdsBookService.getRecentBooksPage(TEST_USER_ID, 0, 50)).thenReturn(page);
+        when(opdsBookService.applySortOrder(any(), any())).thenReturn(page);
+
+        String xml = opdsFeedService.generateRecentFeed(request);
+
+        assertThat(xml).contains("rel=\"next\" href=\"/api/v1/opds/recent?cursor=" + OpdsBookService.cursorAfter(book) + "&amp;size=50\"");
+        assertThat(xml).contains("<opensearch:totalResults>3</opensearch:totalResults>");
+    }
+
     @Test
     void generateRecentFeed_shouldReturnFeedWithBooks() {
         mockAuthenticatedUser();
@@ -254,6 +303,43 @@ class OpdsFeedServiceTest {
         assertThat(xml).contains("</feed>");
     }
 
+    @Test
+    void generateAuthorsNavigation_listsLetterBucketsWhenNamesExceedOnePage() {
+        mockAuthenticatedUser();
+        when(opdsFacetService.getLetters(TEST_USER_ID, OpdsFacetService.Kind.AUTHOR)).thenReturn(List.of(
+                new OpdsFacetService.LetterBucket("A", 40),
+                new OpdsFacetService.LetterBucket("#", 20)));
+
+        String xml = opdsFeedService.generateAuthorsNavigation(request);
+
+        assertThat(xml).contains("<title>A (40)</title>");
+        assertThat(xml).contains("/api/v1/opds/authors?letter=%23");
+        assertThat(xml).contains("20 authors");
+        verify(opdsFacetService, never()).getEntries(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void generateSeriesNavigation_withLetterListsEntriesWithCountsAndNextCursor() {
+        mockAuthenticatedUser();
+        when(request.getParameter("letter")).thenReturn("D");
+        when(request.getRequestURI()).thenReturn("/api/v1/opds/series");
+        when(request.getQueryString()).thenReturn("letter=D");
+        when(opdsFacetService.getEntries(TEST_USER_ID, OpdsFacetService.Kind.SERIES, "D", null, 50)).thenReturn(
+                KeysetPage.<OpdsFacetService.FacetEntry>builder()
+                        .content(List.of(new OpdsFacetService.FacetEntry("Dune", 6)))
+                        .hasNext(true)
+                        .nextCursor("abc")
+                        .build());
+
+        String xml = opdsFeedService.generateSeriesNavigation(request);
+
+        assertThat(xml).contains("<title>Dune</title>");
+        assertThat(xml).contains("6 books");
+        assertThat(xml).contains("/api/v1/opds/catalog?series=Dune");
+        assertThat(xml).contains("rel=\"next\" href=\"/api/v1/opds/series?letter=D&amp;cursor=abc&amp;size=50\"");
+        verify(opdsFacetService, never()).getLetters(any(), any());
+    }
+
     @Test
     void getOpenSearchDescription_shouldReturnValidXml() {
         String xml = opdsFeedService.getOpenSearchDescription();
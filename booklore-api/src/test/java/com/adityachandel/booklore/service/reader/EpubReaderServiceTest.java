@@ -0,0 +1,165 @@
+package com.adityachandel.booklore.service.reader;
+
+import com.adityachandel.booklore.exception.APIException;
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.LibraryPathEntity;
+import com.adityachandel.booklore.model.enums.BookFileType;
+import com.adityachandel.booklore.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EpubReaderServiceTest {
+
+    private static final String CONTAINER = """
+            <?xml version="1.0"?>
+            <container version="1.0" xmlns="urn:oasis:names:tc:opendocument:xmlns:container">
+              <rootfiles>
+                <rootfile full-path="OEBPS/content.opf" media-type="application/oebps-package+xml"/>
+              </rootfiles>
+            </container>
+            """;
+
+    private static final String OPF = """
+            <?xml version="1.0"?>
+            <package xmlns="http://www.idpf.org/2007/opf" version="3.0">
+              <manifest>
+                <item id="ch1" href="Text/chapter%201.xhtml" media-type="application/xhtml+xml"/>
+                <item id="cover" href="../images/cover.jpg" media-type="image/jpeg"/>
+              </manifest>
+            </package>
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private String chapter;
+    private byte[] cover;
+    private EpubReaderService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        chapter = "<html><body>" + "Lorem ipsum dolor sit amet. ".repeat(500) + "</body></html>";
+        cover = new byte[3_000];
+        for (int i = 0; i < cover.length; i++) {
+            cover[i] = (byte) (i * 31);
+        }
+
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(tempDir.resolve("book.epub")))) {
+            putStored(zip, "mimetype", "application/epub+zip".getBytes(StandardCharsets.US_ASCII));
+            putDeflated(zip, "META-INF/container.xml", CONTAINER.getBytes(StandardCharsets.UTF_8));
+            putDeflated(zip, "OEBPS/content.opf", OPF.getBytes(StandardCharsets.UTF_8));
+            putDeflated(zip, "OEBPS/Text/chapter 1.xhtml", chapter.getBytes(StandardCharsets.UTF_8));
+            putStored(zip, "images/cover.jpg", cover);
+        }
+
+        BookEntity book = BookEntity.builder()
+                .id(1L)
+                .libraryPath(LibraryPathEntity.builder().path(tempDir.toString()).build())
+                .fileSubPath("")
+                .fileName("book.epub")
+                .bookType(BookFileType.EPUB)
+                .currentHash("abc123")
+                .build();
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        service = new EpubReaderService(bookRepository);
+    }
+
+    @Test
+    void streamEntry_inflatesDeflatedEntryWithManifestMediaType() throws IOException {
+        MockHttpServletResponse response = stream("/OEBPS/Text/chapter 1.xhtml", new MockHttpServletRequest("GET", "/epub"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("application/xhtml+xml");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(chapter);
+        assertThat(response.getContentLengthLong()).isEqualTo(chapter.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void streamEntry_servesStoredEntryAsRawSlice() throws IOException {
+        MockHttpServletResponse response = stream("/images/cover.jpg", new MockHttpServletRequest("GET", "/epub"));
+
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getContentAsByteArray()).isEqualTo(cover);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"abc123-");
+    }
+
+    @Test
+    void streamEntry_matchingIfNoneMatchIsNotModified() throws IOException {
+        String eTag = stream("/mimetype", new MockHttpServletRequest("GET", "/epub")).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/epub");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        MockHttpServletResponse response = stream("/OEBPS/content.opf", request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void streamEntry_missingEntryIsNotFound() {
+        assertThatExceptionOfType(APIException.class)
+                .isThrownBy(() -> stream("/OEBPS/Text/missing.xhtml", new MockHttpServletRequest("GET", "/epub")))
+                .satisfies(ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void streamEntry_rejectsParentSegments() {
+        assertThatExceptionOfType(APIException.class)
+                .isThrownBy(() -> stream("/OEBPS/../../etc/passwd", new MockHttpServletRequest("GET", "/epub")))
+                .satisfies(ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void resolvePath_followsPackageFolderAndDecodes() {
+        assertThat(EpubArchiveIndex.resolvePath("OEBPS/content.opf", "Text/chapter%201.xhtml")).isEqualTo("OEBPS/Text/chapter 1.xhtml");
+        assertThat(EpubArchiveIndex.resolvePath("OEBPS/content.opf", "../images/cover.jpg")).isEqualTo("images/cover.jpg");
+        assertThat(EpubArchiveIndex.resolvePath("content.opf", "a+b.xhtml")).isEqualTo("a+b.xhtml");
+    }
+
+    private MockHttpServletResponse stream(String entryPath, MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.streamEntry(1L, entryPath, request, response);
+        return response;
+    }
+
+    private static void putStored(ZipOutputStream zip, String name, byte[] data) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(data.length);
+        entry.setCompressedSize(data.length);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        entry.setCrc(crc.getValue());
+        write(zip, entry, data);
+    }
+
+    private static void putDeflated(ZipOutputStream zip, String name, byte[] data) throws IOException {
+        write(zip, new ZipEntry(name), data);
+    }
+
+    private static void write(ZipOutputStream zip, ZipEntry entry, byte[] data) throws IOException {
+        zip.putNextEntry(entry);
+        zip.write(data);
+        zip.closeEntry();
+    }
+}
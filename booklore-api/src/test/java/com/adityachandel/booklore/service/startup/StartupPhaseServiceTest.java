@@ -0,0 +1,103 @@
+package com.adityachandel.booklore.service.startup;
+
+import com.adityachandel.booklore.config.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StartupPhaseServiceTest {
+
+    private StartupPhaseService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void defer_withoutFastStartup_runsImmediately() {
+        service = new StartupPhaseService(new AppProperties());
+        AtomicBoolean ran = new AtomicBoolean();
+
+        service.defer("watchers", () -> ran.set(true));
+
+        assertThat(ran).isTrue();
+        StartupPhase phase = service.getReport().phases().getFirst();
+        assertThat(phase.getName()).isEqualTo("watchers");
+        assertThat(phase.isDeferred()).isFalse();
+        assertThat(phase.getStatus()).isEqualTo(StartupPhase.Status.COMPLETED);
+    }
+
+    @Test
+    void defer_withFastStartup_waitsForApplicationReady() throws Exception {
+        service = new StartupPhaseService(fastStartup());
+        CountDownLatch ran = new CountDownLatch(1);
+
+        service.defer("watchers", ran::countDown);
+
+        assertThat(ran.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(service.getReport().phases().getFirst().getStatus()).isEqualTo(StartupPhase.Status.PENDING);
+
+        service.onApplicationReady();
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        waitUntil(() -> service.getReport().phases().getFirst().getStatus() == StartupPhase.Status.COMPLETED);
+        assertThat(service.getReport().readyAtMillis()).isNotNull();
+        assertThat(service.getReport().phases().getFirst().getThread()).isEqualTo("startup-deferred");
+    }
+
+    @Test
+    void defer_afterApplicationReady_runsInBackground() throws Exception {
+        service = new StartupPhaseService(fastStartup());
+        service.onApplicationReady();
+        CountDownLatch ran = new CountDownLatch(1);
+
+        service.defer("dictionary", ran::countDown);
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void defer_failedBackgroundPhase_isRecorded() throws Exception {
+        service = new StartupPhaseService(fastStartup());
+        service.defer("icons", () -> {
+            throw new IllegalStateException("disk gone");
+        });
+
+        service.onApplicationReady();
+
+        waitUntil(() -> service.getReport().phases().getFirst().getStatus() == StartupPhase.Status.FAILED);
+        assertThat(service.getReport().phases().getFirst().getError()).isEqualTo("disk gone");
+    }
+
+    @Test
+    void run_failureIsRethrown() {
+        service = new StartupPhaseService(new AppProperties());
+
+        assertThatThrownBy(() -> service.run("icons", () -> {
+            throw new IllegalStateException("disk gone");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(service.getReport().phases().getFirst().getStatus()).isEqualTo(StartupPhase.Status.FAILED);
+    }
+
+    private AppProperties fastStartup() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getStartup().setFast(true);
+        return appProperties;
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
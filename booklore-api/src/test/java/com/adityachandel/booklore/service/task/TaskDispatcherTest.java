@@ -0,0 +1,146 @@
+package com.adityachandel.booklore.service.task;
+
+import com.adityachandel.booklore.config.AppProperties;
+import com.adityachandel.booklore.model.enums.TaskPriority;
+import com.adityachandel.booklore.model.enums.TaskResourceClass;
+import com.adityachandel.booklore.model.enums.TaskType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskDispatcherTest {
+
+    private TaskDispatcher dispatcher;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getTasks().setCpuConcurrency(2);
+        dispatcher = new TaskDispatcher(appProperties);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void acquire_waitsWhileClassIsFull() throws Exception {
+        TaskDispatcher.Lease first = dispatcher.acquire("a", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.BACKGROUND);
+        TaskDispatcher.Lease second = dispatcher.acquire("b", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.BACKGROUND);
+        CompletableFuture<TaskDispatcher.Lease> third = acquireAsync("c", TaskPriority.BACKGROUND);
+
+        waitUntil(() -> dispatcher.getWaitingCount(TaskResourceClass.CPU) == 1);
+        assertThat(third).isNotDone();
+        assertThat(dispatcher.getRunningCount(TaskResourceClass.CPU)).isEqualTo(2);
+
+        first.close();
+        third.get(5, TimeUnit.SECONDS).close();
+        second.close();
+        assertThat(dispatcher.getRunningCount(TaskResourceClass.CPU)).isZero();
+    }
+
+    @Test
+    void tryAcquire_givesUpWhenNoSlotFreesInTime() throws Exception {
+        TaskDispatcher.Lease first = dispatcher.acquire("a", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.INTERACTIVE);
+        TaskDispatcher.Lease second = dispatcher.acquire("b", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.INTERACTIVE);
+
+        assertThat(dispatcher.tryAcquire("c", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.INTERACTIVE, Duration.ofMillis(50))).isNull();
+        assertThat(dispatcher.getWaitingCount(TaskResourceClass.CPU)).isZero();
+
+        first.close();
+        TaskDispatcher.Lease third = dispatcher.tryAcquire("d", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.INTERACTIVE, Duration.ofMillis(50));
+        assertThat(third).isNotNull();
+        third.close();
+        second.close();
+        assertThat(dispatcher.getRunningCount(TaskResourceClass.CPU)).isZero();
+    }
+
+    @Test
+    void acquire_otherClassesAreNotBlocked() throws Exception {
+        try (TaskDispatcher.Lease ignored = dispatcher.acquire("a", TaskType.SYNC_LIBRARY_FILES, TaskPriority.BACKGROUND);
+             TaskDispatcher.Lease cpu = dispatcher.acquire("b", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.BACKGROUND)) {
+            assertThat(dispatcher.getRunningCount(TaskResourceClass.DISK_IO)).isEqualTo(1);
+            assertThat(dispatcher.getRunningCount(TaskResourceClass.CPU)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void acquire_interactiveIsAdmittedWhileBackgroundFillsClass() throws Exception {
+        TaskDispatcher.Lease first = dispatcher.acquire("a", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.BACKGROUND);
+        TaskDispatcher.Lease second = dispatcher.acquire("b", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.BACKGROUND);
+
+        TaskDispatcher.Lease interactive = acquireAsync("c", TaskPriority.INTERACTIVE).get(5, TimeUnit.SECONDS);
+
+        assertThat(dispatcher.getRunningCount(TaskResourceClass.CPU)).isEqualTo(3);
+        interactive.close();
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void acquire_backgroundWaitsBehindQueuedInteractiveWork() throws Exception {
+        TaskDispatcher.Lease[] interactive = {
+                dispatcher.acquire("i1", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.INTERACTIVE),
+                dispatcher.acquire("i2", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.INTERACTIVE)
+        };
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        CompletableFuture<TaskDispatcher.Lease> queuedInteractive = acquireAsync("i3", TaskPriority.INTERACTIVE, admitted);
+        waitUntil(() -> dispatcher.getWaitingCount(TaskResourceClass.CPU) == 1);
+        CompletableFuture<TaskDispatcher.Lease> background = acquireAsync("b1", TaskPriority.BACKGROUND, admitted);
+        waitUntil(() -> dispatcher.getWaitingCount(TaskResourceClass.CPU) == 2);
+
+        interactive[0].close();
+        queuedInteractive.get(5, TimeUnit.SECONDS).close();
+        interactive[1].close();
+        background.get(5, TimeUnit.SECONDS).close();
+
+        assertThat(admitted).containsExactly("i3", "b1");
+    }
+
+    @Test
+    void lease_closeIsIdempotent() throws Exception {
+        TaskDispatcher.Lease lease = dispatcher.acquire("a", TaskType.UPDATE_BOOK_RECOMMENDATIONS, TaskPriority.BACKGROUND);
+        lease.close();
+        lease.close();
+        assertThat(dispatcher.getRunningCount(TaskResourceClass.CPU)).isZero();
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private CompletableFuture<TaskDispatcher.Lease> acquireAsync(String taskId, TaskPriority priority) {
+        return acquireAsync(taskId, priority, new CopyOnWriteArrayList<>());
+    }
+
+    private CompletableFuture<TaskDispatcher.Lease> acquireAsync(String taskId, TaskPriority priority, List<String> admitted) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                TaskDispatcher.Lease lease = dispatcher.acquire(taskId, TaskType.UPDATE_BOOK_RECOMMENDATIONS, priority);
+                admitted.add(taskId);
+                return lease;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }, executor);
+    }
+}
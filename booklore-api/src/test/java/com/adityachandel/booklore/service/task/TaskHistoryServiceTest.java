@@ -63,6 +63,26 @@ class TaskHistoryServiceTest {
         assertNotNull(saved.getCreatedAt());
     }
 
+    @Test
+    void testIsOwnedByThisProcess_tracksCreatedAndRequeuedTasksUntilTheyFinish() {
+        when(taskHistoryRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        taskHistoryService.createTask("created", TaskType.UPDATE_BOOK_RECOMMENDATIONS, 1L, Map.of());
+        taskHistoryService.requeueTask("requeued", "node-1", "Queued again after a restart");
+
+        assertTrue(taskHistoryService.isOwnedByThisProcess("created"));
+        assertTrue(taskHistoryService.isOwnedByThisProcess("requeued"));
+        assertFalse(taskHistoryService.isOwnedByThisProcess("from-earlier-run"));
+
+        taskHistoryService.updateTaskStatus("created", TaskStatus.IN_PROGRESS, "running");
+        assertTrue(taskHistoryService.isOwnedByThisProcess("created"));
+
+        taskHistoryService.updateTaskStatus("created", TaskStatus.COMPLETED, "done");
+        taskHistoryService.updateTaskError("requeued", "boom");
+        assertFalse(taskHistoryService.isOwnedByThisProcess("created"));
+        assertFalse(taskHistoryService.isOwnedByThisProcess("requeued"));
+    }
+
     @Test
     void testUpdateTaskStatus_foundAndUpdated() {
         String taskId = "task2";
@@ -1,5 +1,6 @@
 package com.adityachandel.booklore.service.task;
 
+import com.adityachandel.booklore.config.AppProperties;
 import com.adityachandel.booklore.config.security.service.AuthenticationService;
 import com.adityachandel.booklore.exception.APIException;
 import com.adityachandel.booklore.model.dto.BookLoreUser;
@@ -7,9 +8,13 @@ import com.adityachandel.booklore.model.dto.TaskInfo;
 import com.adityachandel.booklore.model.dto.request.TaskCreateRequest;
 import com.adityachandel.booklore.model.dto.response.CronConfig;
 import com.adityachandel.booklore.model.dto.response.TaskCreateResponse;
+import com.adityachandel.booklore.model.entity.TaskHistoryEntity;
+import com.adityachandel.booklore.model.enums.TaskPriority;
 import com.adityachandel.booklore.model.enums.TaskType;
+import com.adityachandel.booklore.service.cluster.LeaderElectionService;
 import com.adityachandel.booklore.task.tasks.Task;
 import com.adityachandel.booklore.task.TaskCancellationManager;
+import com.adityachandel.booklore.task.TaskStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -17,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.TaskScheduler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -33,6 +39,7 @@ class TaskServiceTest {
     private Executor taskExecutor;
     private ObjectMapper objectMapper;
     private TaskScheduler taskScheduler;
+    private LeaderElectionService leaderElectionService;
     private TaskService taskService;
     private Task mockTask;
 
@@ -45,6 +52,9 @@ class TaskServiceTest {
         taskExecutor = mock(Executor.class);
         objectMapper = mock(ObjectMapper.class);
         taskScheduler = mock(TaskScheduler.class);
+        leaderElectionService = mock(LeaderElectionService.class);
+        when(leaderElectionService.isLeader()).thenReturn(true);
+        when(leaderElectionService.getNodeId()).thenReturn("node-1");
 
         mockTask = mock(Task.class);
         when(mockTask.getTaskType()).thenReturn(TaskType.CLEANUP_TEMP_METADATA);
@@ -57,7 +67,9 @@ class TaskServiceTest {
                 cancellationManager,
                 taskExecutor,
                 objectMapper,
-                taskScheduler
+                taskScheduler,
+                new TaskDispatcher(new AppProperties()),
+                leaderElectionService
         );
     }
 
@@ -144,7 +156,9 @@ class TaskServiceTest {
                 cancellationManager,
                 taskExecutor,
                 objectMapper,
-                taskScheduler
+                taskScheduler,
+                new TaskDispatcher(new AppProperties()),
+                leaderElectionService
         );
 
         BookLoreUser user = new BookLoreUser();
@@ -185,7 +199,9 @@ class TaskServiceTest {
                 cancellationManager,
                 taskExecutor,
                 objectMapper,
-                taskScheduler
+                taskScheduler,
+                new TaskDispatcher(new AppProperties()),
+                leaderElectionService
         );
 
         BookLoreUser user = new BookLoreUser();
@@ -275,4 +291,154 @@ class TaskServiceTest {
         when(taskCronService.getCronConfigOrDefault(TaskType.CLEANUP_TEMP_METADATA)).thenReturn(cronConfig);
         assertDoesNotThrow(() -> taskService.rescheduleTask(TaskType.CLEANUP_TEMP_METADATA));
     }
+
+    @Test
+    void testResumeUnfinishedTasksRequeuesAsyncTasksAndFailsSyncOnes() {
+        Task asyncTask = mock(Task.class);
+        when(asyncTask.getTaskType()).thenReturn(TaskType.UPDATE_BOOK_RECOMMENDATIONS);
+        taskService = new TaskService(
+                authenticationService,
+                taskHistoryService,
+                taskCronService,
+                List.of(mockTask, asyncTask),
+                cancellationManager,
+                taskExecutor,
+                objectMapper,
+                taskScheduler,
+                new TaskDispatcher(new AppProperties()),
+                leaderElectionService
+        );
+        BookLoreUser systemUser = new BookLoreUser();
+        systemUser.setId(10L);
+        systemUser.setUsername("system");
+        when(authenticationService.getSystemUser()).thenReturn(systemUser);
+        LocalDateTime beforeStart = LocalDateTime.now().minusMinutes(5);
+        when(taskHistoryService.getUnfinishedTasks(any())).thenReturn(List.of(
+                TaskHistoryEntity.builder().id("async-1").type(TaskType.UPDATE_BOOK_RECOMMENDATIONS).priority(TaskPriority.INTERACTIVE).createdAt(beforeStart).build(),
+                TaskHistoryEntity.builder().id("sync-1").type(TaskType.CLEANUP_TEMP_METADATA).createdAt(beforeStart).build()));
+
+        taskService.resumeUnfinishedTasks();
+
+        verify(taskHistoryService).requeueTask(eq("async-1"), eq("node-1"), anyString());
+        verify(taskExecutor).execute(any());
+        verify(taskHistoryService).updateTaskError("sync-1", "Interrupted by a restart");
+    }
+
+    @Test
+    void testResumeUnfinishedTasksLeavesTasksThisProcessIsRunning() {
+        Task asyncTask = mock(Task.class);
+        when(asyncTask.getTaskType()).thenReturn(TaskType.UPDATE_BOOK_RECOMMENDATIONS);
+        taskService = new TaskService(
+                authenticationService,
+                taskHistoryService,
+                taskCronService,
+                List.of(asyncTask),
+                cancellationManager,
+                taskExecutor,
+                objectMapper,
+                taskScheduler,
+                new TaskDispatcher(new AppProperties()),
+                leaderElectionService
+        );
+        when(taskHistoryService.isOwnedByThisProcess("resumed-earlier")).thenReturn(true);
+        when(taskHistoryService.getUnfinishedTasks(any())).thenReturn(List.of(
+                TaskHistoryEntity.builder().id("resumed-earlier").type(TaskType.UPDATE_BOOK_RECOMMENDATIONS).nodeId("node-1")
+                        .createdAt(LocalDateTime.now().minusHours(1)).build()));
+
+        taskService.resumeUnfinishedTasks();
+
+        verify(taskHistoryService, never()).requeueTask(any(), any(), any());
+        verify(taskHistoryService, never()).updateTaskError(any(), any());
+        verifyNoInteractions(taskExecutor);
+    }
+
+    @Test
+    void testResumeUnfinishedTasksClosesRowsOfUnregisteredTypes() {
+        BookLoreUser systemUser = new BookLoreUser();
+        systemUser.setId(10L);
+        when(authenticationService.getSystemUser()).thenReturn(systemUser);
+        when(taskHistoryService.getUnfinishedTasks(any())).thenReturn(List.of(
+                TaskHistoryEntity.builder().id("migration-1").type(TaskType.DATA_MIGRATION).createdAt(LocalDateTime.now().minusMinutes(5)).build()));
+
+        taskService.resumeUnfinishedTasks();
+
+        verify(taskHistoryService).updateTaskError("migration-1", "Interrupted by a restart");
+        verify(taskHistoryService, never()).requeueTask(any(), any(), any());
+        verifyNoInteractions(taskExecutor);
+    }
+
+    @Test
+    void testSyncTaskFailsFastWhenResourceClassIsBusy() throws Exception {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getTasks().setDatabaseConcurrency(1);
+        appProperties.getTasks().setSyncWaitSeconds(0);
+        TaskDispatcher dispatcher = new TaskDispatcher(appProperties);
+        taskService = new TaskService(
+                authenticationService,
+                taskHistoryService,
+                taskCronService,
+                List.of(mockTask),
+                cancellationManager,
+                taskExecutor,
+                objectMapper,
+                taskScheduler,
+                dispatcher,
+                leaderElectionService
+        );
+        BookLoreUser user = new BookLoreUser();
+        user.setId(1L);
+        user.setUsername("user1");
+        when(authenticationService.getAuthenticatedUser()).thenReturn(user);
+        TaskCreateRequest req = TaskCreateRequest.builder().taskType(TaskType.CLEANUP_TEMP_METADATA).triggeredByCron(false).build();
+
+        try (TaskDispatcher.Lease ignored = dispatcher.acquire("busy", TaskType.CLEANUP_DELETED_BOOKS, TaskPriority.INTERACTIVE)) {
+            APIException ex = assertThrows(APIException.class, () -> taskService.runAsUser(req));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        }
+        verify(mockTask, never()).execute(any());
+        verify(taskHistoryService).updateTaskError(anyString(), contains("try again later"));
+    }
+
+    @Test
+    void testResumeUnfinishedTasksSkipsTasksOfLiveNodesInCluster() {
+        Task asyncTask = mock(Task.class);
+        when(asyncTask.getTaskType()).thenReturn(TaskType.UPDATE_BOOK_RECOMMENDATIONS);
+        taskService = new TaskService(
+                authenticationService,
+                taskHistoryService,
+                taskCronService,
+                List.of(asyncTask),
+                cancellationManager,
+                taskExecutor,
+                objectMapper,
+                taskScheduler,
+                new TaskDispatcher(new AppProperties()),
+                leaderElectionService
+        );
+        BookLoreUser systemUser = new BookLoreUser();
+        systemUser.setId(10L);
+        when(authenticationService.getSystemUser()).thenReturn(systemUser);
+        when(leaderElectionService.isClusterEnabled()).thenReturn(true);
+        when(leaderElectionService.isNodeAlive("node-2")).thenReturn(true);
+        when(leaderElectionService.isNodeAlive("node-3")).thenReturn(false);
+        when(taskHistoryService.getUnfinishedTasks(any())).thenReturn(List.of(
+                TaskHistoryEntity.builder().id("running-elsewhere").type(TaskType.UPDATE_BOOK_RECOMMENDATIONS).nodeId("node-2").createdAt(LocalDateTime.now()).build(),
+                TaskHistoryEntity.builder().id("orphaned").type(TaskType.UPDATE_BOOK_RECOMMENDATIONS).nodeId("node-3").createdAt(LocalDateTime.now()).build()));
+
+        taskService.resumeUnfinishedTasks();
+
+        verify(taskHistoryService).requeueTask(eq("orphaned"), eq("node-1"), anyString());
+        verify(taskHistoryService, never()).requeueTask(eq("running-elsewhere"), any(), any());
+        verify(taskExecutor, times(1)).execute(any());
+    }
+
+    @Test
+    void testCronTaskIsSkippedOnFollower() {
+        when(leaderElectionService.isLeader()).thenReturn(false);
+
+        taskService.executeCronTask(TaskType.CLEANUP_TEMP_METADATA);
+
+        verifyNoInteractions(taskHistoryService);
+        verify(mockTask, never()).execute(any());
+    }
 }
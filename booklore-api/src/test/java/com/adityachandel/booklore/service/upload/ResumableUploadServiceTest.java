@@ -0,0 +1,165 @@
+package com.adityachandel.booklore.service.upload;
+
+import com.adityachandel.booklore.config.security.service.AuthenticationService;
+import com.adityachandel.booklore.exception.APIException;
+import com.adityachandel.booklore.model.dto.BookLoreUser;
+import com.adityachandel.booklore.model.dto.request.UploadSessionRequest;
+import com.adityachandel.booklore.model.dto.response.UploadSessionResponse;
+import com.adityachandel.booklore.model.enums.BookFileType;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.LibraryPathRepository;
+import com.adityachandel.booklore.service.file.FileFingerprint;
+import com.adityachandel.booklore.util.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumableUploadServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileUploadService fileUploadService;
+    private BookRepository bookRepository;
+    private ResumableUploadService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileUploadService = mock(FileUploadService.class);
+        bookRepository = mock(BookRepository.class);
+        AuthenticationService authenticationService = mock(AuthenticationService.class);
+        when(authenticationService.getAuthenticatedUser()).thenReturn(BookLoreUser.builder().id(1L).build());
+        when(fileUploadService.getBookdropFolder()).thenReturn(tempDir);
+        when(fileUploadService.moveToBookdrop(any(Path.class), anyString())).thenAnswer(invocation -> {
+            Path target = tempDir.resolve(invocation.<String>getArgument(1));
+            return Files.move(invocation.getArgument(0), target);
+        });
+        service = new ResumableUploadService(fileUploadService, bookRepository, mock(LibraryPathRepository.class), authenticationService);
+    }
+
+    @Test
+    void chunks_areWrittenInPlaceAndCompletedIntoBookdrop() throws IOException {
+        byte[] content = pdf(20_000);
+        UploadSessionResponse session = start("book.pdf", content.length);
+
+        UploadSessionResponse afterFirst = write(session.getUploadId(), content, 0, 8_000);
+        write(session.getUploadId(), content, 8_000, 12_000);
+        UploadSessionResponse completed = service.complete(session.getUploadId());
+
+        assertThat(afterFirst.getOffset()).isEqualTo(8_000);
+        assertThat(afterFirst.getDetectedFormat()).isEqualTo(BookFileType.PDF);
+        Path finalPath = tempDir.resolve("book.pdf");
+        assertThat(Files.readAllBytes(finalPath)).isEqualTo(content);
+        assertThat(completed.isCompleted()).isTrue();
+        assertThat(completed.getFileHash()).isEqualTo(FileFingerprint.generateHash(finalPath));
+        assertThat(tempDir.resolve(FileUtils.UPLOAD_STAGING_DIR)).doesNotExist();
+    }
+
+    @Test
+    void writeChunk_badChecksumKeepsOffset() {
+        byte[] content = pdf(4_000);
+        UploadSessionResponse session = start("book.pdf", content.length);
+        write(session.getUploadId(), content, 0, 2_000);
+
+        assertThatExceptionOfType(APIException.class)
+                .isThrownBy(() -> service.writeChunk(session.getUploadId(), 2_000, sha256(new byte[1]), new ByteArrayInputStream(content, 2_000, 2_000)))
+                .satisfies(ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+
+        assertThat(service.getSession(session.getUploadId()).getOffset()).isEqualTo(2_000);
+        UploadSessionResponse resumed = write(session.getUploadId(), content, 2_000, 2_000);
+        assertThat(resumed.getOffset()).isEqualTo(4_000);
+    }
+
+    @Test
+    void writeChunk_wrongOffsetIsConflict() {
+        byte[] content = pdf(4_000);
+        UploadSessionResponse session = start("book.pdf", content.length);
+
+        assertThatExceptionOfType(APIException.class)
+                .isThrownBy(() -> write(session.getUploadId(), content, 1_000, 1_000))
+                .satisfies(ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void writeChunk_contentNotMatchingExtensionEndsUpload() {
+        byte[] content = pdf(4_000);
+        UploadSessionResponse session = start("book.epub", content.length);
+
+        assertThatExceptionOfType(APIException.class)
+                .isThrownBy(() -> write(session.getUploadId(), content, 0, 2_000))
+                .satisfies(ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+
+        assertThat(tempDir.resolve(FileUtils.UPLOAD_STAGING_DIR)).doesNotExist();
+        assertThatExceptionOfType(APIException.class).isThrownBy(() -> service.getSession(session.getUploadId()));
+    }
+
+    @Test
+    void writeChunk_duplicateRejectedBeforeUploadFinishes() throws IOException {
+        byte[] content = pdf(10 * 1024 * 1024);
+        Path existing = Files.write(tempDir.resolve("existing.pdf"), content);
+        when(bookRepository.existsActiveByCurrentHash(FileFingerprint.generateHash(existing))).thenReturn(true);
+        UploadSessionResponse session = start("copy.pdf", content.length);
+
+        write(session.getUploadId(), content, 0, 4 * 1024 * 1024);
+        assertThatExceptionOfType(APIException.class)
+                .isThrownBy(() -> write(session.getUploadId(), content, 4 * 1024 * 1024, 1024 * 1024))
+                .satisfies(ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+
+        verify(fileUploadService, never()).moveToBookdrop(any(Path.class), eq("copy.pdf"));
+        assertThat(tempDir.resolve(FileUtils.UPLOAD_STAGING_DIR)).doesNotExist();
+    }
+
+    @Test
+    void createSession_rejectsPathsInFileName() {
+        UploadSessionRequest request = UploadSessionRequest.builder().fileName("../escape.pdf").fileSize(10L).build();
+
+        assertThatExceptionOfType(APIException.class).isThrownBy(() -> service.createSession(request));
+    }
+
+    private UploadSessionResponse start(String fileName, long size) {
+        return service.createSession(UploadSessionRequest.builder().fileName(fileName).fileSize(size).build());
+    }
+
+    private UploadSessionResponse write(String uploadId, byte[] content, int offset, int length) {
+        byte[] chunk = Arrays.copyOfRange(content, offset, offset + length);
+        return service.writeChunk(uploadId, offset, sha256(chunk), new ByteArrayInputStream(chunk));
+    }
+
+    private static byte[] pdf(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        byte[] header = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, data, 0, header.length);
+        return data;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.adityachandel.booklore.service.user;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
+import com.adityachandel.booklore.model.entity.UserBookProgressEntity;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.UserBookProgressRepository;
+import com.adityachandel.booklore.repository.UserRepository;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Makes a mocked {@link ReadingProgressBuffer} write every submitted update straight through the given
+ * repositories, so service tests can assert on the saved row as if the buffer had been flushed.
+ */
+public final class ReadingProgressBufferStubs {
+
+    private ReadingProgressBufferStubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void writeThrough(ReadingProgressBuffer buffer,
+                                    UserBookProgressRepository progressRepository,
+                                    BookRepository bookRepository,
+                                    UserRepository userRepository) {
+        lenient().doAnswer(invocation -> {
+            long userId = invocation.getArgument(0);
+            long bookId = invocation.getArgument(1);
+            Consumer<UserBookProgressEntity> update = invocation.getArgument(3);
+            Consumer<UserBookProgressEntity> afterFlush = invocation.getArgument(4);
+
+            UserBookProgressEntity progress = progressRepository.findByUserIdAndBookId(userId, bookId).orElse(null);
+            if (progress == null) {
+                Optional<BookEntity> book = bookRepository.findById(bookId);
+                Optional<BookLoreUserEntity> user = userRepository.findById(userId);
+                if (book.isEmpty() || user.isEmpty()) {
+                    return null;
+                }
+                progress = new UserBookProgressEntity();
+                progress.setBook(book.get());
+                progress.setUser(user.get());
+            }
+            update.accept(progress);
+            progressRepository.save(progress);
+            if (afterFlush != null) {
+                afterFlush.accept(progress);
+            }
+            return null;
+        }).when(buffer).submit(anyLong(), anyLong(), any(), any(), any());
+    }
+}
@@ -0,0 +1,158 @@
+package com.adityachandel.booklore.service.user;
+
+import com.adityachandel.booklore.model.entity.BookEntity;
+import com.adityachandel.booklore.model.entity.BookLoreUserEntity;
+import com.adityachandel.booklore.model.entity.UserBookProgressEntity;
+import com.adityachandel.booklore.repository.BookRepository;
+import com.adityachandel.booklore.repository.UserBookProgressRepository;
+import com.adityachandel.booklore.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadingProgressBufferTest {
+
+    @Mock
+    UserBookProgressRepository progressRepository;
+    @Mock
+    BookRepository bookRepository;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    ReadingProgressBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new ReadingProgressBuffer(progressRepository, bookRepository, userRepository, transactionManager);
+    }
+
+    @Test
+    void flush_coalescesUpdatesAndAppliesThemInClientTimestampOrder() {
+        UserBookProgressEntity existing = progress(1L, 10L);
+        when(progressRepository.findByUserIdAndBookIdIn(1L, Set.of(10L))).thenReturn(List.of(existing));
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+
+        buffer.submit(1L, 10L, t0.plusSeconds(20), p -> p.setPdfProgress(30), null);
+        buffer.submit(1L, 10L, t0, p -> p.setPdfProgress(10), null);
+        buffer.submit(1L, 10L, t0.plusSeconds(10), p -> p.setPersonalRating(4), null);
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+
+        buffer.flushAll();
+
+        assertThat(existing.getPdfProgress()).isEqualTo(30);
+        assertThat(existing.getPersonalRating()).isEqualTo(4);
+        verify(progressRepository, times(1)).saveAll(List.of(existing));
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void flush_createsMissingRowsAndSkipsDeletedBooks() {
+        BookEntity book = BookEntity.builder().id(11L).build();
+        BookLoreUserEntity user = BookLoreUserEntity.builder().id(1L).build();
+        when(progressRepository.findByUserIdAndBookIdIn(eq(1L), anySet())).thenReturn(List.of());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookRepository.findAllById(anySet())).thenReturn(List.of(book));
+
+        buffer.submit(1L, 11L, null, p -> p.setCbxProgress(5), null);
+        buffer.submit(1L, 12L, null, p -> p.setCbxProgress(6), null);
+        buffer.flushAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserBookProgressEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(progressRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(p -> {
+            assertThat(p.getBook()).isSameAs(book);
+            assertThat(p.getUser()).isSameAs(user);
+            assertThat(p.getCbxProgress()).isEqualTo(5);
+        });
+    }
+
+    @Test
+    void flush_onlyWritesRequestedRowsAndRunsLatestAfterFlushOnce() {
+        UserBookProgressEntity first = progress(1L, 10L);
+        when(progressRepository.findByUserIdAndBookIdIn(1L, Set.of(10L))).thenReturn(List.of(first));
+        AtomicInteger callbacks = new AtomicInteger();
+
+        buffer.submit(1L, 10L, Instant.now(), p -> p.setKoboProgressPercent(10f), p -> callbacks.addAndGet(100));
+        buffer.submit(1L, 10L, Instant.now().plusSeconds(1), p -> p.setKoboProgressPercent(20f), p -> callbacks.incrementAndGet());
+        buffer.submit(2L, 10L, Instant.now(), p -> p.setKoboProgressPercent(50f), null);
+
+        buffer.flush(1L, List.of(10L));
+
+        assertThat(first.getKoboProgressPercent()).isEqualTo(20f);
+        assertThat(callbacks.get()).isEqualTo(1);
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+        verify(progressRepository, never()).findByUserIdAndBookIdIn(eq(2L), anySet());
+    }
+
+    @Test
+    void flush_ignoresUpdatesOlderThanTheStoredClientTimestamp() {
+        UserBookProgressEntity existing = progress(1L, 10L);
+        when(progressRepository.findByUserIdAndBookIdIn(1L, Set.of(10L))).thenReturn(List.of(existing));
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+
+        buffer.submit(1L, 10L, t0.plusSeconds(30), p -> p.setEpubProgress("newer"), null);
+        buffer.flushAll();
+        buffer.submit(1L, 10L, t0, p -> p.setEpubProgress("older"), null);
+        buffer.flushAll();
+
+        assertThat(existing.getEpubProgress()).isEqualTo("newer");
+        assertThat(existing.getProgressClientTime()).isEqualTo(t0.plusSeconds(30));
+        verify(progressRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void flush_requeuesFailedRowAndRetriesOnNextFlush() {
+        UserBookProgressEntity existing = progress(1L, 10L);
+        when(progressRepository.findByUserIdAndBookIdIn(1L, Set.of(10L))).thenReturn(List.of(existing));
+        when(progressRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenReturn(List.of(existing));
+
+        buffer.submit(1L, 10L, Instant.now(), p -> p.setPdfProgress(7), null);
+        buffer.flushAll();
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+
+        buffer.flushAll();
+        assertThat(existing.getPdfProgress()).isEqualTo(7);
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void flush_dropsRowAfterMaxWriteAttempts() {
+        when(progressRepository.findByUserIdAndBookIdIn(1L, Set.of(10L))).thenReturn(List.of(progress(1L, 10L)));
+        when(progressRepository.saveAll(anyList())).thenThrow(new IllegalStateException("constraint violation"));
+
+        buffer.submit(1L, 10L, Instant.now(), p -> p.setPdfProgress(7), null);
+        for (int i = 0; i < ReadingProgressBuffer.MAX_WRITE_ATTEMPTS; i++) {
+            buffer.flushAll();
+        }
+
+        assertThat(buffer.pendingCount()).isZero();
+        verify(progressRepository, times(ReadingProgressBuffer.MAX_WRITE_ATTEMPTS)).saveAll(anyList());
+    }
+
+    private UserBookProgressEntity progress(Long userId, Long bookId) {
+        UserBookProgressEntity progress = new UserBookProgressEntity();
+        progress.setUser(BookLoreUserEntity.builder().id(userId).build());
+        progress.setBook(BookEntity.builder().id(bookId).build());
+        return progress;
+    }
+}
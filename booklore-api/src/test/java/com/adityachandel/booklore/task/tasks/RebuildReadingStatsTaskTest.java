@@ -0,0 +1,68 @@
+package com.adityachandel.booklore.task.tasks;
+
+import com.adityachandel.booklore.model.dto.request.TaskCreateRequest;
+import com.adityachandel.booklore.model.dto.response.TaskCreateResponse;
+import com.adityachandel.booklore.model.enums.TaskType;
+import com.adityachandel.booklore.repository.UserRepository;
+import com.adityachandel.booklore.service.ReadingSessionRollupService;
+import com.adityachandel.booklore.task.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RebuildReadingStatsTaskTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReadingSessionRollupService readingSessionRollupService;
+
+    @InjectMocks
+    private RebuildReadingStatsTask task;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (mocks != null) {
+            mocks.close();
+        }
+    }
+
+    @Test
+    void testExecute_rebuildsEveryUserInChunks() {
+        List<Long> userIds = LongStream.rangeClosed(1, RebuildReadingStatsTask.CHUNK_SIZE + 5).boxed().toList();
+        when(userRepository.findAllIds()).thenReturn(userIds);
+
+        TaskCreateResponse response = task.execute(TaskCreateRequest.builder().taskType(TaskType.REBUILD_READING_STATS).build());
+
+        assertEquals(TaskStatus.COMPLETED, response.getStatus());
+        verify(readingSessionRollupService).rebuildForUsers(userIds.subList(0, RebuildReadingStatsTask.CHUNK_SIZE));
+        verify(readingSessionRollupService).rebuildForUsers(userIds.subList(RebuildReadingStatsTask.CHUNK_SIZE, userIds.size()));
+        verifyNoMoreInteractions(readingSessionRollupService);
+    }
+
+    @Test
+    void testExecute_failsWhenRebuildFails() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L));
+        doThrow(new IllegalStateException("boom")).when(readingSessionRollupService).rebuildForUsers(List.of(1L));
+
+        assertThrows(RuntimeException.class,
+                () -> task.execute(TaskCreateRequest.builder().taskType(TaskType.REBUILD_READING_STATS).build()));
+    }
+}
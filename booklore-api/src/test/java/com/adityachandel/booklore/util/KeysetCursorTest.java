@@ -0,0 +1,50 @@
+package com.adityachandel.booklore.util;
+
+import com.adityachandel.booklore.exception.APIException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class KeysetCursorTest {
+
+    @Test
+    void encode_roundTripsInstantKey() {
+        Instant addedOn = Instant.parse("2025-03-04T05:06:07.123456Z");
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(addedOn, 42L).encode());
+
+        assertThat(cursor.instantKey()).isEqualTo(addedOn);
+        assertThat(cursor.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void encode_roundTripsTitlesWithAnyCharacters() {
+        String title = "Ünïcode: a/b?c=d&e 42";
+
+        String token = KeysetCursor.of(title, 7L).encode();
+        KeysetCursor cursor = KeysetCursor.decode(token);
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(cursor.key()).isEqualTo(title);
+        assertThat(cursor.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void decode_blankTokenMeansFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_rejectsMalformedTokens() {
+        assertThatExceptionOfType(APIException.class)
+                .isThrownBy(() -> KeysetCursor.decode("not a cursor!"))
+                .satisfies(ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatExceptionOfType(APIException.class)
+                .isThrownBy(() -> KeysetCursor.decode(KeysetCursor.of("x", 1L).encode()).instantKey());
+    }
+}
@@ -610,4 +610,37 @@ class PathPatternResolverTest {
 
         assertEquals("Book Title", result, "Should not add extension when original file has none");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Compiled patterns resolve like the one-off resolver and are reusable")
+    void testCompiledPattern_matchesResolvePattern() {
+        String pattern = "{authors}/<{series}/><{seriesIndex}. >{title}< - {authors}>< ({year})>";
+        PathPatternResolver.CompiledPattern compiled = PathPatternResolver.compile(pattern);
+
+        BookMetadata inSeries = BookMetadata.builder()
+                .title("The Hobbit")
+                .authors(Set.of("J.R.R. Tolkien"))
+                .seriesName("Middle-earth")
+                .seriesNumber(1f)
+                .publishedDate(LocalDate.of(1937, 9, 21))
+                .build();
+        BookMetadata standalone = BookMetadata.builder()
+                .title("Silmarillion: Tales?")
+                .authors(Set.of("J.R.R. Tolkien"))
+                .build();
+
+        assertEquals("J.R.R. Tolkien/Middle-earth/1. The Hobbit - J.R.R. Tolkien (1937).epub", compiled.resolve(inSeries, "hobbit.epub"));
+        assertEquals("J.R.R. Tolkien/Silmarillion Tales - J.R.R. Tolkien.pdf", compiled.resolve(standalone, "s.pdf"));
+        assertEquals(PathPatternResolver.resolvePattern(inSeries, pattern, "hobbit.epub"), compiled.resolve(inSeries, "hobbit.epub"));
+    }
+
+    @Test
+    @DisplayName("Compiled patterns keep unknown placeholders and drop optional blocks that use them")
+    void testCompiledPattern_unknownPlaceholders() {
+        BookMetadata metadata = BookMetadata.builder().title("Title").build();
+
+        PathPatternResolver.CompiledPattern compiled = PathPatternResolver.compile("{foo}/{title}< [{bar}]>");
+
+        assertEquals("{foo}/Title.epub", compiled.resolve(metadata, "file.epub"));
+    }
+}
@@ -101,6 +101,7 @@ export interface BookMetadata {
   hardcoverRating?: number | null;
   hardcoverReviewCount?: number | null;
   coverUpdatedOn?: string;
+  coverHash?: string;
   authors?: string[];
   categories?: string[];
   moods?: string[];
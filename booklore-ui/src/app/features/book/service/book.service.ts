@@ -1,11 +1,12 @@
 import {inject, Injectable} from '@angular/core';
 import {BehaviorSubject, first, Observable, of, throwError} from 'rxjs';
-import {HttpClient, HttpParams} from '@angular/common/http';
+import {HttpClient, HttpDownloadProgressEvent, HttpEventType, HttpParams} from '@angular/common/http';
 import {catchError, filter, map, tap, shareReplay, finalize, distinctUntilChanged} from 'rxjs/operators';
 import {Book, BookDeletionResponse, BookMetadata, BookRecommendation, BookSetting, BulkMetadataUpdateRequest, MetadataUpdateWrapper, ReadStatus, AdditionalFileType, AdditionalFile} from '../model/book.model';
 import {BookState} from '../model/state/book-state.model';
 import {API_CONFIG} from '../../../core/config/api-config';
 import {FetchMetadataRequest} from '../../metadata/model/request/fetch-metadata-request.model';
+import {ProspectiveMetadataResult} from '../../metadata/model/response/prospective-metadata-result.model';
 import {MetadataRefreshRequest} from '../../metadata/model/request/metadata-refresh-request.model';
 import {MessageService} from 'primeng/api';
 import {ResetProgressType, ResetProgressTypes} from '../../../shared/constants/reset-progress-type';
@@ -223,8 +224,17 @@ export class BookService {
     this.updateLastReadTime(book.id);
   }
 
-  getFileContent(bookId: number): Observable<Blob> {
-    return this.http.get<Blob>(`${this.url}/${bookId}/content`, {responseType: 'blob' as 'json'});
+  getFileContentUrl(bookId: number): string {
+    return `${this.url}/${bookId}/content`;
+  }
+
+  getEpubBaseUrl(bookId: number): string {
+    return `${this.url}/${bookId}/epub/`;
+  }
+
+  getFileContentHeaders(): Record<string, string> {
+    const token = this.authService.getOidcAccessToken() || this.authService.getInternalAccessToken();
+    return token ? {Authorization: `Bearer ${token}`} : {};
   }
 
   getBookByIdFromAPI(bookId: number, withDescription: boolean) {
@@ -452,8 +462,54 @@ export class BookService {
 
   /*------------------ All the metadata related calls go here ------------------*/
 
-  fetchBookMetadata(bookId: number, request: FetchMetadataRequest): Observable<BookMetadata[]> {
-    return this.http.post<BookMetadata[]>(`${this.url}/${bookId}/metadata/prospective`, request);
+  /**
+   * Streams prospective metadata as each provider answers. The endpoint is a POST, which EventSource can't
+   * send, so the server-sent events are parsed from the response text as it downloads. Unsubscribing aborts
+   * the request, which cancels the outstanding provider lookups on the server.
+   */
+  streamBookMetadata(bookId: number, request: FetchMetadataRequest): Observable<ProspectiveMetadataResult> {
+    return new Observable<ProspectiveMetadataResult>(subscriber => {
+      let consumed = 0;
+      const emitFrames = (text: string) => {
+        let end: number;
+        while ((end = text.indexOf('\n\n', consumed)) !== -1) {
+          const frame = text.substring(consumed, end);
+          consumed = end + 2;
+          let eventName = 'message';
+          const data: string[] = [];
+          for (const line of frame.split('\n')) {
+            if (line.startsWith('event:')) {
+              eventName = line.substring(6).trim();
+            } else if (line.startsWith('data:')) {
+              data.push(line.substring(line.startsWith('data: ') ? 6 : 5));
+            }
+          }
+          if (eventName === 'provider-result' && data.length > 0) {
+            subscriber.next(JSON.parse(data.join('\n')) as ProspectiveMetadataResult);
+          } else if (eventName === 'complete') {
+            subscriber.complete();
+            return;
+          }
+        }
+      };
+
+      const subscription = this.http.post(`${this.url}/${bookId}/metadata/prospective/stream`, request, {
+        observe: 'events',
+        reportProgress: true,
+        responseType: 'text'
+      }).subscribe({
+        next: event => {
+          if (event.type === HttpEventType.DownloadProgress) {
+            emitFrames((event as HttpDownloadProgressEvent).partialText ?? '');
+          } else if (event.type === HttpEventType.Response) {
+            emitFrames(event.body ?? '');
+            subscriber.complete();
+          }
+        },
+        error: err => subscriber.error(err)
+      });
+      return () => subscription.unsubscribe();
+    });
   }
 
   updateBookMetadata(bookId: number | undefined, wrapper: MetadataUpdateWrapper, mergeCategories: boolean): Observable<BookMetadata> {
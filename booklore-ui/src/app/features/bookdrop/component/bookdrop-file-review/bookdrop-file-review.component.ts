@@ -95,6 +95,9 @@ export class BookdropFileReviewComponent implements OnInit {
   totalRecords = 0;
   currentPage = 0;
 
+  duplicateFiles: BookdropFile[] = [];
+  duplicateCount = 0;
+
   selectAllAcrossPages = false;
   excludedFiles = new Set<number>();
 
@@ -105,6 +108,7 @@ export class BookdropFileReviewComponent implements OnInit {
       .pipe(startWith({}), tap(() => {
         this.loading = true;
         this.loadPage(0);
+        this.loadDuplicates();
       }))
       .subscribe();
 
@@ -158,6 +162,10 @@ export class BookdropFileReviewComponent implements OnInit {
     return selectedFiles.every(f => f.selectedLibraryId && f.selectedPathId);
   }
 
+  get duplicateNames(): string {
+    return this.duplicateFiles.map(file => file.fileName).join('\n');
+  }
+
   get hasSelectedFiles(): boolean {
     if (this.selectAllAcrossPages) {
       return this.totalRecords > this.excludedFiles.size;
@@ -211,6 +219,51 @@ export class BookdropFileReviewComponent implements OnInit {
       });
   }
 
+  private loadDuplicates(): void {
+    this.bookdropService.getDuplicateFiles(0, 100)
+      .pipe(takeUntilDestroyed(this.destroyRef))
+      .subscribe({
+        next: response => {
+          this.duplicateFiles = response.content;
+          this.duplicateCount = response.totalElements;
+        },
+        error: err => console.error('Error loading duplicate files:', err)
+      });
+  }
+
+  dismissDuplicates(): void {
+    const count = this.duplicateFiles.length;
+    if (count === 0) return;
+
+    this.confirmationService.confirm({
+      message: `Delete ${count} Bookdrop file${count !== 1 ? 's' : ''} that ${count !== 1 ? 'are' : 'is'} already in your library? This action cannot be undone.`,
+      header: 'Dismiss Duplicates',
+      icon: 'pi pi-exclamation-triangle',
+      acceptButtonStyleClass: 'p-button-danger',
+      accept: () => {
+        const selectedIds = this.duplicateFiles.map(file => file.id);
+        this.bookdropService.discardFiles({selectAll: false, selectedIds}).subscribe({
+          next: () => {
+            this.messageService.add({
+              severity: 'success',
+              summary: 'Duplicates Dismissed',
+              detail: 'Files already in your library were removed from the Bookdrop folder.',
+            });
+            this.loadDuplicates();
+          },
+          error: (err) => {
+            console.error('Error dismissing duplicates:', err);
+            this.messageService.add({
+              severity: 'error',
+              summary: 'Dismiss Failed',
+              detail: 'An error occurred while removing duplicate Bookdrop files.',
+            });
+          },
+        });
+      },
+    });
+  }
+
   private async loadAllPagesIntoCache(): Promise<void> {
     const totalPages = Math.ceil(this.totalRecords / this.pageSize);
     const pagePromises: Promise<void>[] = [];
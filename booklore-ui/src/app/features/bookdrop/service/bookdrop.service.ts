@@ -103,6 +103,10 @@ export class BookdropService {
     return this.http.get<Page<BookdropFile>>(`${this.url}/files?status=pending&page=${page}&size=${size}`);
   }
 
+  getDuplicateFiles(page: number = 0, size: number = 50): Observable<Page<BookdropFile>> {
+    return this.http.get<Page<BookdropFile>>(`${this.url}/files?status=duplicate&page=${page}&size=${size}`);
+  }
+
   finalizeImport(payload: BookdropFinalizePayload): Observable<BookdropFinalizeResult> {
     return this.http.post<BookdropFinalizeResult>(`${this.url}/imports/finalize`, payload);
   }
@@ -233,7 +233,7 @@ export class MetadataPickerComponent implements OnInit {
 
       if (metadata) {
         this.originalMetadata = metadata;
-        this.originalMetadata.thumbnailUrl = this.urlHelper.getThumbnailUrl(metadata.bookId, metadata.coverUpdatedOn);
+        this.originalMetadata.thumbnailUrl = this.urlHelper.getThumbnailUrl(metadata.bookId, metadata.coverUpdatedOn, metadata.coverHash);
         this.currentBookId = metadata.bookId;
         this.metadataForm.patchValue({
           title: metadata.title || null,
@@ -264,7 +264,7 @@ export class MetadataPickerComponent implements OnInit {
           seriesName: metadata.seriesName || null,
           seriesNumber: metadata.seriesNumber || null,
           seriesTotal: metadata.seriesTotal || null,
-          thumbnailUrl: this.urlHelper.getCoverUrl(metadata.bookId, metadata.coverUpdatedOn),
+          thumbnailUrl: this.urlHelper.getCoverUrl(metadata.bookId, metadata.coverUpdatedOn, metadata.coverHash),
 
           titleLocked: metadata.titleLocked || false,
           subtitleLocked: metadata.subtitleLocked || false,
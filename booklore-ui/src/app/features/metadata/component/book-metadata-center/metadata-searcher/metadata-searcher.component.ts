@@ -38,6 +38,7 @@ export class MetadataSearcherComponent implements OnInit, OnDestroy {
   form: FormGroup;
   providers: string[] = [];
   allFetchedMetadata: BookMetadata[] = [];
+  unavailableProviders: string[] = [];
   bookId!: number;
   loading: boolean = false;
   searchTriggered = false;
@@ -76,6 +77,7 @@ export class MetadataSearcherComponent implements OnInit, OnDestroy {
               this.cancelRequest$.next();
               this.loading = false;
               this.allFetchedMetadata = [];
+              this.unavailableProviders = [];
               this.selectedFetchedMetadata$.next(null);
             }
             return combineLatest([this.book$, this.appSettings$]);
@@ -140,19 +142,25 @@ export class MetadataSearcherComponent implements OnInit, OnDestroy {
 
       this.loading = true;
       this.cancelRequest$.next();
+      this.allFetchedMetadata = [];
+      this.unavailableProviders = [];
+      const resultsByProvider: BookMetadata[][] = [];
 
-      this.bookService.fetchBookMetadata(fetchRequest.bookId, fetchRequest)
+      this.bookService.streamBookMetadata(fetchRequest.bookId, fetchRequest)
         .pipe(takeUntil(this.cancelRequest$))
         .subscribe({
-          next: (fetchedMetadata) => {
-            this.loading = false;
-            this.allFetchedMetadata = fetchedMetadata.map(m => ({
-              ...m,
-              thumbnailUrl: m.thumbnailUrl
-            }));
+          next: (result) => {
+            if (result.timedOut || result.error) {
+              this.unavailableProviders = [...this.unavailableProviders, result.provider];
+            }
+            resultsByProvider.push(result.metadata ?? []);
+            this.allFetchedMetadata = this.interleave(resultsByProvider);
           },
           error: () => {
             this.loading = false;
+          },
+          complete: () => {
+            this.loading = false;
           }
         });
     } else {
@@ -160,6 +168,19 @@ export class MetadataSearcherComponent implements OnInit, OnDestroy {
     }
   }
 
+  private interleave(resultsByProvider: BookMetadata[][]): BookMetadata[] {
+    const interleaved: BookMetadata[] = [];
+    const maxSize = Math.max(0, ...resultsByProvider.map(results => results.length));
+    for (let i = 0; i < maxSize; i++) {
+      for (const results of resultsByProvider) {
+        if (i < results.length) {
+          interleaved.push(results[i]);
+        }
+      }
+    }
+    return interleaved;
+  }
+
   onBookClick(fetchedMetadata: BookMetadata) {
     this.selectedFetchedMetadata$.next(fetchedMetadata);
   }
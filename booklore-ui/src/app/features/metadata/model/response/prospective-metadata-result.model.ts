@@ -0,0 +1,8 @@
+import {BookMetadata} from '../../../book/model/book.model';
+
+export interface ProspectiveMetadataResult {
+  provider: string;
+  metadata: BookMetadata[];
+  timedOut: boolean;
+  error?: string | null;
+}
@@ -128,91 +128,89 @@ export class EpubReaderComponent implements OnInit, OnDestroy {
 
       const myself$ = this.userService.getMyself();
       const epub$ = this.bookService.getBookByIdFromAPI(bookId, false);
-      const epubData$ = this.bookService.getFileContent(bookId);
       const bookSetting$ = this.bookService.getBookSetting(bookId);
       const bookmarks$ = this.bookMarkService.getBookmarksForBook(bookId);
 
-      forkJoin([myself$, epub$, epubData$, bookSetting$, bookmarks$]).subscribe({
-        next: ([myself, epub, epubData, bookSetting, bookmarks]) => {
+      forkJoin([myself$, epub$, bookSetting$, bookmarks$]).subscribe({
+        next: ([myself, epub, bookSetting, bookmarks]) => {
           this.epub = epub;
           this.bookmarks = bookmarks;
           this.updateBookmarkStatus();
           const individualSetting = bookSetting?.epubSettings;
-          const fileReader = new FileReader();
 
           this.pageTitle.setBookPageTitle(epub);
 
-          fileReader.onload = () => {
-            this.book = ePub(fileReader.result as ArrayBuffer);
-
-            this.book.loaded.navigation.then((nav: any) => {
-              this.chapters = this.extractChapters(nav.toc, 0);
-            });
-
-            const settingScope = myself.userSettings.perBookSetting.epub;
-            const globalSettings = myself.userSettings.epubReaderSetting;
-
-            const resolvedFlow = settingScope === 'Global' ? globalSettings.flow : individualSetting?.flow;
-            const resolvedFontSize = settingScope === 'Global' ? globalSettings.fontSize : individualSetting?.fontSize;
-            const resolvedFontFamily = settingScope === 'Global' ? globalSettings.font : individualSetting?.font;
-            const resolvedTheme = settingScope === 'Global' ? globalSettings.theme : individualSetting?.theme;
-            const resolvedLineHeight = settingScope === 'Global' ? globalSettings.lineHeight : individualSetting?.lineHeight;
-            const resolvedLetterSpacing = settingScope === 'Global' ? globalSettings.letterSpacing : individualSetting?.letterSpacing;
-            const resolvedSpread = settingScope === 'Global' ? globalSettings.spread || 'double' : individualSetting?.spread || 'double';
-
-            if (resolvedTheme != null) this.selectedTheme = resolvedTheme;
-            if (resolvedFontFamily != null) this.selectedFontType = resolvedFontFamily;
-            if (resolvedFontSize != null) this.fontSize = resolvedFontSize;
-            if (resolvedLineHeight != null) this.lineHeight = resolvedLineHeight;
-            if (resolvedLetterSpacing != null) this.letterSpacing = resolvedLetterSpacing;
-            if (resolvedFlow != null) this.selectedFlow = resolvedFlow;
-            if (resolvedSpread != null) this.selectedSpread = resolvedSpread;
-
-            this.rendition = this.book.renderTo(this.epubContainer.nativeElement, {
-              flow: this.selectedFlow ?? 'paginated',
-              manager: this.selectedFlow === 'scrolled' ? 'continuous' : 'default',
-              width: '100%',
-              height: '100%',
-              spread: this.selectedFlow === 'paginated' && !this.isMobileDevice() ? (this.selectedSpread === 'single' ? 'none' : this.selectedSpread) : 'none',
-              allowScriptedContent: true,
-            });
-
-            const baseTheme = EpubThemeUtil.themesMap.get(this.selectedTheme ?? 'black') || {};
-            const combinedTheme = {
-              ...baseTheme,
-              body: {
-                ...baseTheme.body,
-                ...(this.selectedFontType ? {'font-family': this.selectedFontType} : {}),
-                ...(this.lineHeight != null ? {'line-height': this.lineHeight} : {}),
-                ...(this.letterSpacing != null ? {'letter-spacing': `${this.letterSpacing}em`} : {}),
-              },
-              '*': {
-                ...baseTheme['*'],
-                ...(this.lineHeight != null ? {'line-height': this.lineHeight} : {}),
-                ...(this.letterSpacing != null ? {'letter-spacing': `${this.letterSpacing}em`} : {}),
-              },
-            };
-
-            this.rendition.themes.override('font-size', `${this.fontSize}%`);
-            this.rendition.themes.register('custom', combinedTheme);
-            this.rendition.themes.select('custom');
-
-            const displayPromise = this.epub?.epubProgress?.cfi
-              ? this.rendition.display(this.epub.epubProgress.cfi)
-              : this.rendition.display();
-
-            displayPromise.then(() => {
-              this.updateCurrentChapter(this.rendition.currentLocation());
-              this.setupKeyListener();
-              this.trackProgress();
-              this.setupTouchListener();
-              this.isLoading = false;
-              this.startHeaderAutoHide();
-            });
+          this.book = ePub(this.bookService.getEpubBaseUrl(bookId), {
+            openAs: 'directory',
+            requestHeaders: this.bookService.getFileContentHeaders(),
+            // Images, stylesheets and fonts are fetched with the auth header too and handed to the iframe as blob URLs.
+            replacements: 'blobUrl',
+          });
+
+          this.book.loaded.navigation.then((nav: any) => {
+            this.chapters = this.extractChapters(nav.toc, 0);
+          });
 
+          const settingScope = myself.userSettings.perBookSetting.epub;
+          const globalSettings = myself.userSettings.epubReaderSetting;
+
+          const resolvedFlow = settingScope === 'Global' ? globalSettings.flow : individualSetting?.flow;
+          const resolvedFontSize = settingScope === 'Global' ? globalSettings.fontSize : individualSetting?.fontSize;
+          const resolvedFontFamily = settingScope === 'Global' ? globalSettings.font : individualSetting?.font;
+          const resolvedTheme = settingScope === 'Global' ? globalSettings.theme : individualSetting?.theme;
+          const resolvedLineHeight = settingScope === 'Global' ? globalSettings.lineHeight : individualSetting?.lineHeight;
+          const resolvedLetterSpacing = settingScope === 'Global' ? globalSettings.letterSpacing : individualSetting?.letterSpacing;
+          const resolvedSpread = settingScope === 'Global' ? globalSettings.spread || 'double' : individualSetting?.spread || 'double';
+
+          if (resolvedTheme != null) this.selectedTheme = resolvedTheme;
+          if (resolvedFontFamily != null) this.selectedFontType = resolvedFontFamily;
+          if (resolvedFontSize != null) this.fontSize = resolvedFontSize;
+          if (resolvedLineHeight != null) this.lineHeight = resolvedLineHeight;
+          if (resolvedLetterSpacing != null) this.letterSpacing = resolvedLetterSpacing;
+          if (resolvedFlow != null) this.selectedFlow = resolvedFlow;
+          if (resolvedSpread != null) this.selectedSpread = resolvedSpread;
+
+          this.rendition = this.book.renderTo(this.epubContainer.nativeElement, {
+            flow: this.selectedFlow ?? 'paginated',
+            manager: this.selectedFlow === 'scrolled' ? 'continuous' : 'default',
+            width: '100%',
+            height: '100%',
+            spread: this.selectedFlow === 'paginated' && !this.isMobileDevice() ? (this.selectedSpread === 'single' ? 'none' : this.selectedSpread) : 'none',
+            allowScriptedContent: true,
+          });
+
+          const baseTheme = EpubThemeUtil.themesMap.get(this.selectedTheme ?? 'black') || {};
+          const combinedTheme = {
+            ...baseTheme,
+            body: {
+              ...baseTheme.body,
+              ...(this.selectedFontType ? {'font-family': this.selectedFontType} : {}),
+              ...(this.lineHeight != null ? {'line-height': this.lineHeight} : {}),
+              ...(this.letterSpacing != null ? {'letter-spacing': `${this.letterSpacing}em`} : {}),
+            },
+            '*': {
+              ...baseTheme['*'],
+              ...(this.lineHeight != null ? {'line-height': this.lineHeight} : {}),
+              ...(this.letterSpacing != null ? {'letter-spacing': `${this.letterSpacing}em`} : {}),
+            },
           };
 
-          fileReader.readAsArrayBuffer(epubData);
+          this.rendition.themes.override('font-size', `${this.fontSize}%`);
+          this.rendition.themes.register('custom', combinedTheme);
+          this.rendition.themes.select('custom');
+
+          const displayPromise = this.epub?.epubProgress?.cfi
+            ? this.rendition.display(this.epub.epubProgress.cfi)
+            : this.rendition.display();
+
+          displayPromise.then(() => {
+            this.updateCurrentChapter(this.rendition.currentLocation());
+            this.setupKeyListener();
+            this.trackProgress();
+            this.setupTouchListener();
+            this.isLoading = false;
+            this.startHeaderAutoHide();
+          });
         },
         error: () => {
           this.messageService.add({
@@ -538,6 +536,7 @@ export class EpubReaderComponent implements OnInit, OnDestroy {
     }
 
     this.clearHeaderTimeout();
+    this.book?.destroy();
   }
 
   selectTheme(themeKey: string): void {
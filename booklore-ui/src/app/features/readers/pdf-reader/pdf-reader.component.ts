@@ -29,6 +29,7 @@ export class PdfReaderComponent implements OnInit, OnDestroy {
   zoom!: ZoomType;
 
   bookData!: string | Blob;
+  httpHeaders: Record<string, string> = {};
   bookId!: number;
   private appSettingsSubscription!: Subscription;
 
@@ -48,14 +49,12 @@ export class PdfReaderComponent implements OnInit, OnDestroy {
       const myself$ = this.userService.getMyself();
       const book$ = this.bookService.getBookByIdFromAPI(this.bookId, false);
       const bookSetting$ = this.bookService.getBookSetting(this.bookId);
-      const pdfData$ = this.bookService.getFileContent(this.bookId);
 
-      forkJoin([book$, bookSetting$, pdfData$, myself$]).subscribe({
+      forkJoin([book$, bookSetting$, myself$]).subscribe({
         next: (results) => {
           const pdfMeta = results[0];
           const pdfPrefs = results[1];
-          const pdfData = results[2];
-          const myself = results[3];
+          const myself = results[2];
 
           this.pageTitle.setBookPageTitle(pdfMeta);
 
@@ -68,7 +67,8 @@ export class PdfReaderComponent implements OnInit, OnDestroy {
             this.spread = pdfPrefs.pdfSettings?.spread || myself.userSettings.pdfReaderSetting.pageSpread || 'odd';
           }
           this.page = pdfMeta.pdfProgress?.page || 1;
-          this.bookData = pdfData;
+          this.bookData = this.bookService.getFileContentUrl(this.bookId);
+          this.httpHeaders = this.bookService.getFileContentHeaders();
           this.isLoading = false;
         },
         error: () => {
@@ -447,7 +447,8 @@ export class TaskManagementComponent implements OnInit, OnDestroy {
       [TaskType.UPDATE_BOOK_RECOMMENDATIONS]: 'pi-sparkles',
       [TaskType.CLEANUP_DELETED_BOOKS]: 'pi-trash',
       [TaskType.SYNC_LIBRARY_FILES]: 'pi-sync',
-      [TaskType.CLEANUP_TEMP_METADATA]: 'pi-file'
+      [TaskType.CLEANUP_TEMP_METADATA]: 'pi-file',
+      [TaskType.REBUILD_READING_STATS]: 'pi-chart-bar'
     };
     return icons[taskType] || 'pi-cog';
   }
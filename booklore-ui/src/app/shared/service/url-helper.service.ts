@@ -20,12 +20,18 @@ export class UrlHelperService {
     return this.authService.getOidcAccessToken() || this.authService.getInternalAccessToken();
   }
 
+  // <img> requests can't carry an Authorization header, so media URLs keep the token
+  // even on the hash routes. A token refresh changes the URL and costs one refetch per
+  // cover for that token's lifetime; the hash still changes only when the cover does.
   private appendToken(url: string): string {
     const token = this.getToken();
     return token ? `${url}${url.includes('?') ? '&' : '?'}token=${token}` : url;
   }
 
-  getThumbnailUrl(bookId: number, coverUpdatedOn?: string): string {
+  getThumbnailUrl(bookId: number, coverUpdatedOn?: string, coverHash?: string): string {
+    if (coverHash) {
+      return this.appendToken(`${this.mediaBaseUrl}/book/${bookId}/thumbnail/${coverHash}`);
+    }
     if (!coverUpdatedOn) {
       const book = this.bookService.getBookByIdFromState(bookId);
       if (book && book.metadata) {
@@ -50,7 +56,10 @@ export class UrlHelperService {
     return this.appendToken(url);
   }
 
-  getCoverUrl(bookId: number, coverUpdatedOn?: string): string {
+  getCoverUrl(bookId: number, coverUpdatedOn?: string, coverHash?: string): string {
+    if (coverHash) {
+      return this.appendToken(`${this.mediaBaseUrl}/book/${bookId}/cover/${coverHash}`);
+    }
     if (!coverUpdatedOn) {
       const book = this.bookService.getBookByIdFromState(bookId);
       if (book && book.metadata) {